@@ -0,0 +1,396 @@
+package org.gnucash.api.currency;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.gnucash.base.basetypes.complex.GCshCmdtyCurrID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import xyz.schnorxoborx.base.numbers.FixedPointNumber;
+
+/**
+ * Converts amounts between arbitrary commodities/currencies, based on
+ * <em>all</em> price quotes of a GnuCash file (as opposed to
+ * {@link ComplexPriceTable}, which only knows one conversion factor
+ * per commodity/currency, derived from the latest quote).
+ * <br>
+ * Each (from, to) pair with at least one quote is an edge of the graph.
+ * The quote dates of all pairs define the date buckets: Within one bucket,
+ * each edge has one fixed rate, namely the one of its latest quote on or
+ * before the bucket date (or its earliest quote, if there is none yet).
+ * <br>
+ * For each bucket, the factors of all commodities/currencies that are
+ * reachable from the base currency are computed once, on first access
+ * (breadth-first, i.e. with as few triangulation steps as possible),
+ * and then cached. Commodities/currencies that are not connected to the
+ * base currency are converted via a factor table rooted at the
+ * target commodity/currency (cached as well).
+ * <br>
+ * Has to be re-built when the price quotes change.
+ */
+public class PriceConversionGraph {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PriceConversionGraph.class);
+
+    /**
+     * Max. number of date buckets for which the factor tables are cached.
+     */
+    private static final int FACTOR_CACHE_SIZE_MAX = 64; // ::MAGIC
+
+    // ---------------------------------------------------------------
+
+    private static final class Quote {
+	private final LocalDate        date;
+	private final FixedPointNumber value;
+
+	private Quote(final LocalDate date, final FixedPointNumber value) {
+	    this.date = date;
+	    this.value = value;
+	}
+    }
+
+    /**
+     * All quotes of one (from, to) pair, sorted by date (ascending).
+     * 1 unit of "from" is worth <code>value</code> units of "to".
+     */
+    private static final class Edge {
+	private final String      fromKey;
+	private final String      toKey;
+	private final List<Quote> quotes = new ArrayList<Quote>();
+	private boolean           needsSorting = false;
+
+	private Edge(final String fromKey, final String toKey) {
+	    this.fromKey = fromKey;
+	    this.toKey = toKey;
+	}
+
+	private void add(final Quote quote) {
+	    if ( ! quotes.isEmpty() &&
+		 quotes.get(quotes.size() - 1).date.isAfter(quote.date) ) {
+		needsSorting = true;
+	    }
+	    quotes.add(quote);
+	}
+
+	/**
+	 * @param date the bucket date (null means: before all quotes)
+	 * @return the latest quote on or before the given date (of several
+	 *         ones on the same date, the last one added), or the earliest
+	 *         one, if there is none.
+	 */
+	private Quote getQuote(final LocalDate date) {
+	    if ( needsSorting ) {
+		quotes.sort((q1, q2) -> q1.date.compareTo(q2.date)); // stable
+		needsSorting = false;
+	    }
+
+	    if ( date == null ) {
+		return quotes.get(0);
+	    }
+
+	    int low = 0;
+	    int high = quotes.size();
+	    while ( low < high ) {
+		int mid = (low + high) >>> 1;
+		if ( quotes.get(mid).date.isAfter(date) ) {
+		    high = mid;
+		} else {
+		    low = mid + 1;
+		}
+	    }
+
+	    return quotes.get(Math.max(high - 1, 0));
+	}
+    }
+
+    // ---------------------------------------------------------------
+
+    private final String baseKey;
+
+    private final Map<String, Edge>       edgeMap = new LinkedHashMap<String, Edge>();
+    private final Map<String, List<Edge>> adjacency = new HashMap<String, List<Edge>>();
+
+    private final TreeSet<LocalDate> dateSet = new TreeSet<LocalDate>();
+    private LocalDate[]              buckets = null;
+
+    /**
+     * bucket index -> root key -> commodity/currency key -> factor
+     * (value of one unit in root units)
+     */
+    private final Map<Integer, Map<String, Map<String, FixedPointNumber>>> factorCache =
+	    new LinkedHashMap<Integer, Map<String, Map<String, FixedPointNumber>>>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<Integer, Map<String, Map<String, FixedPointNumber>>> eldest) {
+		    return size() > FACTOR_CACHE_SIZE_MAX;
+		}
+	    };
+
+    // ---------------------------------------------------------------
+
+    /**
+     * @param baseCmdtyCurrID the base currency (typically, the default currency
+     *                        of the GnuCash file)
+     */
+    public PriceConversionGraph(final GCshCmdtyCurrID baseCmdtyCurrID) {
+	if ( baseCmdtyCurrID == null ) {
+	    throw new IllegalArgumentException("null base commodity/currency ID given");
+	}
+
+	this.baseKey = getKey(baseCmdtyCurrID);
+    }
+
+    // ---------------------------------------------------------------
+
+    /**
+     * @param fromCmdtyCurrID the commodity/currency the quote is for
+     * @param toCmdtyCurrID   the commodity/currency the quote is in
+     * @param date            the date of the quote
+     * @param value           the value of one unit of fromCmdtyCurrID
+     *                        in units of toCmdtyCurrID
+     */
+    public synchronized void addQuote(final GCshCmdtyCurrID fromCmdtyCurrID, final GCshCmdtyCurrID toCmdtyCurrID,
+	    final LocalDate date, final FixedPointNumber value) {
+	if ( fromCmdtyCurrID == null ) {
+	    throw new IllegalArgumentException("null from-commodity/currency ID given");
+	}
+
+	if ( toCmdtyCurrID == null ) {
+	    throw new IllegalArgumentException("null to-commodity/currency ID given");
+	}
+
+	if ( date == null ) {
+	    throw new IllegalArgumentException("null date given");
+	}
+
+	if ( value == null ) {
+	    throw new IllegalArgumentException("null value given");
+	}
+
+	String fromKey = getKey(fromCmdtyCurrID);
+	String toKey = getKey(toCmdtyCurrID);
+	if ( value.isZero() ||
+	     fromKey.equals(toKey) ) {
+	    LOGGER.warn("addQuote: Ignoring unusable price-quote " + fromKey + " -> " + toKey + ": " + value);
+	    return;
+	}
+
+	String edgeKey = fromKey + "->" + toKey;
+	Edge edge = edgeMap.get(edgeKey);
+	if ( edge == null ) {
+	    edge = new Edge(fromKey, toKey);
+	    edgeMap.put(edgeKey, edge);
+	    getAdjacentEdges(fromKey, true).add(edge);
+	    getAdjacentEdges(toKey, true).add(edge);
+	}
+
+	edge.add(new Quote(date, value.copy()));
+
+	if ( dateSet.add(date) ) {
+	    buckets = null;
+	}
+	factorCache.clear();
+    }
+
+    // ---------------------------------------------------------------
+
+    /**
+     * @param amount          the amount to convert (will not be changed)
+     * @param fromCmdtyCurrID the commodity/currency the amount is in
+     * @param toCmdtyCurrID   the commodity/currency to convert the amount to
+     * @param date            the date the price quotes are to be taken from
+     *                        (null means: the latest ones)
+     * @return the converted amount (a new object), or null if the two
+     *         commodities/currencies are not connected by price quotes
+     */
+    public synchronized FixedPointNumber convert(final FixedPointNumber amount,
+	    final GCshCmdtyCurrID fromCmdtyCurrID, final GCshCmdtyCurrID toCmdtyCurrID,
+	    final LocalDate date) {
+	if ( amount == null ) {
+	    throw new IllegalArgumentException("null amount given");
+	}
+
+	FixedPointNumber factor = getConversionFactor(fromCmdtyCurrID, toCmdtyCurrID, date);
+	if ( factor == null ) {
+	    return null;
+	}
+
+	return amount.copy().multiply(factor);
+    }
+
+    /**
+     * @param fromCmdtyCurrID the commodity/currency to convert from
+     * @param toCmdtyCurrID   the commodity/currency to convert to
+     * @param date            the date the price quotes are to be taken from
+     *                        (null means: the latest ones)
+     * @return the value of one unit of fromCmdtyCurrID in units of
+     *         toCmdtyCurrID (a new object), or null if the two
+     *         commodities/currencies are not connected by price quotes
+     */
+    public synchronized FixedPointNumber getConversionFactor(final GCshCmdtyCurrID fromCmdtyCurrID,
+	    final GCshCmdtyCurrID toCmdtyCurrID, final LocalDate date) {
+	if ( fromCmdtyCurrID == null ) {
+	    throw new IllegalArgumentException("null from-commodity/currency ID given");
+	}
+
+	if ( toCmdtyCurrID == null ) {
+	    throw new IllegalArgumentException("null to-commodity/currency ID given");
+	}
+
+	String fromKey = getKey(fromCmdtyCurrID);
+	String toKey = getKey(toCmdtyCurrID);
+	if ( fromKey.equals(toKey) ) {
+	    return new FixedPointNumber(1);
+	}
+
+	int bucket = getBucket(date);
+
+	Map<String, FixedPointNumber> factors = getFactors(bucket, baseKey);
+	FixedPointNumber fromFactor = factors.get(fromKey);
+	FixedPointNumber toFactor = factors.get(toKey);
+	if ( fromFactor == null ||
+	     toFactor == null ) {
+	    // not (both) connected to the base currency
+	    factors = getFactors(bucket, toKey);
+	    fromFactor = factors.get(fromKey);
+	    toFactor = factors.get(toKey);
+	}
+
+	if ( fromFactor == null ) {
+	    LOGGER.debug("getConversionFactor: No conversion path from " + fromKey + " to " + toKey);
+	    return null;
+	}
+
+	return fromFactor.copy().divide(toFactor);
+    }
+
+    // ---------------------------------------------------------------
+
+    public synchronized int getNofEdges() {
+	return edgeMap.size();
+    }
+
+    public synchronized int getNofBuckets() {
+	return dateSet.size() + 1;
+    }
+
+    // ---------------------------------------------------------------
+
+    /**
+     * @param date the date (null means: after all quotes)
+     * @return the number of quote dates on or before the given date
+     */
+    private int getBucket(final LocalDate date) {
+	if ( buckets == null ) {
+	    buckets = dateSet.toArray(new LocalDate[dateSet.size()]);
+	}
+
+	if ( date == null ) {
+	    return buckets.length;
+	}
+
+	int low = 0;
+	int high = buckets.length;
+	while ( low < high ) {
+	    int mid = (low + high) >>> 1;
+	    if ( buckets[mid].isAfter(date) ) {
+		high = mid;
+	    } else {
+		low = mid + 1;
+	    }
+	}
+
+	return high;
+    }
+
+    private Map<String, FixedPointNumber> getFactors(final int bucket, final String rootKey) {
+	Map<String, Map<String, FixedPointNumber>> factorsByRoot = factorCache.get(bucket);
+	if ( factorsByRoot == null ) {
+	    factorsByRoot = new HashMap<String, Map<String, FixedPointNumber>>();
+	    factorCache.put(bucket, factorsByRoot);
+	}
+
+	Map<String, FixedPointNumber> factors = factorsByRoot.get(rootKey);
+	if ( factors == null ) {
+	    LocalDate bucketDate = ( bucket == 0 ) ? null : buckets[bucket - 1];
+	    factors = computeFactors(rootKey, bucketDate);
+	    factorsByRoot.put(rootKey, factors);
+	}
+
+	return factors;
+    }
+
+    /**
+     * Breadth-first walk from the root over all edges (in both directions).
+     * Of several edges leading to the same commodity/currency on the
+     * same level, the one with the youngest quote wins.
+     */
+    private Map<String, FixedPointNumber> computeFactors(final String rootKey, final LocalDate bucketDate) {
+	Map<String, FixedPointNumber> factors = new HashMap<String, FixedPointNumber>();
+	factors.put(rootKey, new FixedPointNumber(1));
+
+	List<String> level = Collections.singletonList(rootKey);
+	while ( ! level.isEmpty() ) {
+	    Map<String, FixedPointNumber> nextFactors = new LinkedHashMap<String, FixedPointNumber>();
+	    Map<String, LocalDate>        nextDates = new HashMap<String, LocalDate>();
+
+	    for ( String key : level ) {
+		FixedPointNumber factor = factors.get(key);
+		for ( Edge edge : getAdjacentEdges(key, false) ) {
+		    boolean forward = edge.fromKey.equals(key);
+		    String otherKey = forward ? edge.toKey : edge.fromKey;
+		    if ( factors.containsKey(otherKey) ) {
+			continue;
+		    }
+
+		    Quote quote = edge.getQuote(bucketDate);
+		    LocalDate prevDate = nextDates.get(otherKey);
+		    if ( prevDate != null &&
+			 ! quote.date.isAfter(prevDate) ) {
+			continue;
+		    }
+
+		    FixedPointNumber otherFactor = factor.copy();
+		    if ( forward ) {
+			otherFactor.divide(quote.value);
+		    } else {
+			otherFactor.multiply(quote.value);
+		    }
+
+		    nextFactors.put(otherKey, otherFactor);
+		    nextDates.put(otherKey, quote.date);
+		}
+	    }
+
+	    factors.putAll(nextFactors);
+	    level = new ArrayList<String>(nextFactors.keySet());
+	}
+
+	return factors;
+    }
+
+    private List<Edge> getAdjacentEdges(final String key, final boolean create) {
+	List<Edge> result = adjacency.get(key);
+	if ( result == null ) {
+	    if ( ! create ) {
+		return Collections.emptyList();
+	    }
+	    result = new ArrayList<Edge>();
+	    adjacency.put(key, result);
+	}
+
+	return result;
+    }
+
+    private static String getKey(final GCshCmdtyCurrID cmdtyCurrID) {
+	return cmdtyCurrID.getNameSpace() + GCshCmdtyCurrID.SEPARATOR + cmdtyCurrID.getCode();
+    }
+
+}
@@ -37,6 +37,16 @@ public interface GnuCashFile extends GnuCashObject,
                                      HasUserDefinedAttributes 
 {
 
+    /**
+     * How the XML file is turned into the object model.
+     */
+    public enum LoadMode {
+        /** Unmarshal the whole document with JAXB in one go */
+        JAXB,
+        /** Pull-parse the document and unmarshal the book elements one by one */
+        STAX
+    }
+
     /**
      *
      * @return the file on disk we are managing
@@ -214,6 +224,14 @@ public interface GnuCashFile extends GnuCashObject,
 
     Collection<? extends GnuCashTransaction> getTransactions(LocalDate fromDate, LocalDate toDate);
 
+    /**
+     * Looked up in a full-text index (built on first call).
+     * 
+     * @param expr the text to search for (case-insensitive)
+     * @return the transactions the description of which contains the given text
+     */
+    Collection<GnuCashTransaction> getTransactionsByDescription(String expr);
+
     // ---------------------------------------------------------------
 
     /**
@@ -227,6 +245,15 @@ public interface GnuCashFile extends GnuCashObject,
      */
     Collection<GnuCashTransactionSplit> getTransactionSplits();
 
+    /**
+     * Looked up in a full-text index (built on first call).
+     * 
+     * @param expr the text to search for (case-insensitive)
+     * @return the transaction splits the description (memo) of which 
+     *         contains the given text
+     */
+    Collection<GnuCashTransactionSplit> getTransactionSplitsByDescription(String expr);
+
     // ---------------------------------------------------------------
 
     /**
@@ -239,6 +266,14 @@ public interface GnuCashFile extends GnuCashObject,
      */
     GnuCashGenerInvoice getGenerInvoiceByID(GCshID invcID);
 
+    /**
+     * @param lotID the ID of the lot the (generic) invoice has been posted with
+     * @return the invoice(s) posted with that lot (typically exactly one), 
+     *         or an empty list if there is none
+     * @see #getGenerInvoiceByID(GCshID)
+     */
+    List<GnuCashGenerInvoice> getGenerInvoicesByLotID(GCshID lotID);
+
     /**
      * 
      * @param type
@@ -256,6 +291,15 @@ public interface GnuCashFile extends GnuCashObject,
      */
     List<GnuCashGenerInvoice> getGenerInvoices();
 
+    /**
+     * Looked up in a full-text index (built on first call).
+     * 
+     * @param expr the text to search for (case-insensitive)
+     * @return the invoices the description (notes) of which 
+     *         contains the given text
+     */
+    Collection<GnuCashGenerInvoice> getGenerInvoicesByDescription(String expr);
+
     // ----------------------------
 
     /**
@@ -539,6 +583,15 @@ public interface GnuCashFile extends GnuCashObject,
      * @return
      */
     Collection<GnuCashGenerInvoiceEntry> getGenerInvoiceEntries();
+
+    /**
+     * Looked up in a full-text index (built on first call).
+     * 
+     * @param expr the text to search for (case-insensitive)
+     * @return the invoice entries the description of which 
+     *         contains the given text
+     */
+    Collection<GnuCashGenerInvoiceEntry> getGenerInvoiceEntriesByDescription(String expr);
     
     // ---------------------------------------------------------------
 
@@ -922,7 +975,45 @@ public interface GnuCashFile extends GnuCashObject,
      */
     FixedPointNumber getLatestPrice(final GCshCmdtyCurrID cmdtyCurrID);
 
+    /**
+     * @param cmdtyCurrID the commodity/currency to get the price for
+     * @param date        the date to get the price for
+     * @return the latest price-quote in the GnuCash file on or before the 
+     *         given date, in the default currency
+     */
+    FixedPointNumber getPriceAsOf(final GCshCmdtyCurrID cmdtyCurrID, final LocalDate date);
+
+    /**
+     * Converts an amount between two arbitrary commodities/currencies,
+     * using the price quotes valid on the given date (triangulated via 
+     * other commodities/currencies, if necessary).
+     * 
+     * @param amount          the amount to convert (will not be changed)
+     * @param fromCmdtyCurrID the commodity/currency the amount is in
+     * @param toCmdtyCurrID   the commodity/currency to convert to
+     * @param date            the date whose price quotes are to be used
+     *                        (null means: the latest ones)
+     * @return the converted amount, or null if the two commodities/currencies 
+     *         are not connected by price quotes
+     */
+    FixedPointNumber convertAsOf(final FixedPointNumber amount, 
+    		final GCshCmdtyCurrID fromCmdtyCurrID, final GCshCmdtyCurrID toCmdtyCurrID, 
+    		final LocalDate date);
+
     @Deprecated
     FixedPointNumber getLatestPrice(final String pCmdtySpace, final String pCmdtyId);
 
+    // ---------------------------------------------------------------
+
+    /**
+     * Looked up in a reverse index over the user-defined attributes of
+     * all accounts, transactions, splits, customers, vendors, employees, 
+     * commodities, invoices and invoice entries (built on first call).
+     * 
+     * @param name  the (hierarchical) key of the user-defined attribute
+     * @param value the value (exact match)
+     * @return all objects that have that value for that key
+     */
+    Collection<HasUserDefinedAttributes> getObjectsByUserDefinedAttribute(String name, String value);
+
 }
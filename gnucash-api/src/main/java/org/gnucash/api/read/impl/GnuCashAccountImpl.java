@@ -1,15 +1,18 @@
 package org.gnucash.api.read.impl;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import org.gnucash.api.generated.GncAccount;
 import org.gnucash.api.read.GnuCashAccount;
 import org.gnucash.api.read.GnuCashFile;
 import org.gnucash.api.read.GnuCashTransactionSplit;
+import org.gnucash.api.read.impl.hlp.AccountSplitStore;
 import org.gnucash.api.read.impl.hlp.HasUserDefinedAttributesImpl;
+import org.gnucash.api.read.impl.hlp.PeerFieldCache;
+import org.gnucash.api.read.impl.hlp.PeerIDCache;
 import org.gnucash.api.read.impl.hlp.SimpleAccount;
+import org.gnucash.api.read.impl.hlp.SlotTree;
+import org.gnucash.api.read.impl.hlp.SlotTreeCache;
 import org.gnucash.base.basetypes.complex.GCshCmdtyCurrID;
 import org.gnucash.base.basetypes.complex.GCshCurrID;
 import org.gnucash.base.basetypes.complex.InvalidCmdtyCurrTypeException;
@@ -33,6 +36,26 @@ public class GnuCashAccountImpl extends SimpleAccount
      * the JWSDP-object we are facading.
      */
     protected final GncAccount jwsdpPeer;
+
+    /**
+     * the decoded slots (user-defined attributes, cached)
+     */
+    private final SlotTreeCache slotTreeCache = new SlotTreeCache();
+
+    /**
+     * the resolved ID of this object (cached)
+     */
+    private final PeerIDCache idCache = new PeerIDCache();
+
+    /**
+     * the resolved ID of the parent account (cached)
+     */
+    private final PeerIDCache prntIDCache = new PeerIDCache();
+
+    /**
+     * the decoded account type (cached)
+     */
+    private final PeerFieldCache<Type> typeCache = new PeerFieldCache<Type>();
     
     // ---------------------------------------------------------------
 
@@ -44,18 +67,10 @@ public class GnuCashAccountImpl extends SimpleAccount
     // ---------------------------------------------------------------
 
     /**
-     * The splits of this transaction. May not be fully initialized during loading
+     * The splits of this account. May not be fully initialized during loading
      * of the GnuCash file.
-     *
-     * @see #mySplitsNeedSorting
      */
-    private final List<GnuCashTransactionSplit> mySplits = new ArrayList<GnuCashTransactionSplit>();
-
-    /**
-     * If {@link #mySplits} needs to be sorted because it was modified. Sorting is
-     * done in a lazy way.
-     */
-    private boolean mySplitsNeedSorting = false;
+    private final AccountSplitStore mySplits = new AccountSplitStore();
     
     // ---------------------------------------------------------------
 
@@ -90,7 +105,7 @@ public class GnuCashAccountImpl extends SimpleAccount
      * @see GnuCashAccount#getID()
      */
     public GCshID getID() {
-	return new GCshID(jwsdpPeer.getActId().getValue());
+	return idCache.get(jwsdpPeer.getActId().getValue());
     }
 
     // ---------------------------------------------------------------
@@ -104,7 +119,7 @@ public class GnuCashAccountImpl extends SimpleAccount
 	    return null;
 	}
 
-	return new GCshID(parent.getValue());
+	return prntIDCache.get(parent.getValue());
     }
 
     /**
@@ -146,7 +161,7 @@ public class GnuCashAccountImpl extends SimpleAccount
      */
     public Type getType() {
 	try {
-	    Type result = Type.valueOf( getTypeStr() );
+	    Type result = typeCache.get( getTypeStr(), Type::valueOf );
 	    return result;
 	} catch ( Exception exc ) {
 	    throw new UnknownAccountTypeException();
@@ -174,12 +189,14 @@ public class GnuCashAccountImpl extends SimpleAccount
      */
     @Override
     public List<GnuCashTransactionSplit> getTransactionSplits() {
+    	return mySplits.getSorted();
+    }
 
-    	if (mySplitsNeedSorting) {
-    		Collections.sort(mySplits);
-    		mySplitsNeedSorting = false;
-    	}
-
+    /**
+     * @see SimpleAccount#getTransactionSplitStore()
+     */
+    @Override
+    protected AccountSplitStore getTransactionSplitStore() {
     	return mySplits;
     }
 
@@ -208,7 +225,6 @@ public class GnuCashAccountImpl extends SimpleAccount
 	} else {
 	    // There is no split with that ID yet
 	    mySplits.add(splt);
-	    mySplitsNeedSorting = true;
 	}
     }
 
@@ -226,18 +242,44 @@ public class GnuCashAccountImpl extends SimpleAccount
     	mySplits.add(impl);
     }
 
+    /**
+     * For internal use only.
+     *
+     * @param splt the split to remove
+     * @return true if the split was registered with this account
+     */
+    protected boolean removeTransactionSplit_int(final GnuCashTransactionSplit splt) {
+    	return mySplits.remove(splt);
+    }
+
+    /**
+     * For internal use only: To be called when the quantity of one of
+     * the splits or the date posted of its transaction has been changed.
+     */
+    public void invalidateTransactionSplitStore() {
+    	mySplits.invalidate();
+    }
+
     // -----------------------------------------------------------------
 
     @Override
     public String getUserDefinedAttribute(final String name) {
     	return HasUserDefinedAttributesImpl
-    			.getUserDefinedAttributeCore(jwsdpPeer.getActSlots(), name);
+    			.getUserDefinedAttributeCore(getUserDefinedAttributeTree(), name);
     }
 
     @Override
     public List<String> getUserDefinedAttributeKeys() {
     	return HasUserDefinedAttributesImpl
-    			.getUserDefinedAttributeKeysCore(jwsdpPeer.getActSlots());
+    			.getUserDefinedAttributeKeysCore(getUserDefinedAttributeTree());
+    }
+
+    /**
+     * @return the decoded slots (cached), or null if there are none
+     */
+    @SuppressWarnings("exports")
+    public SlotTree getUserDefinedAttributeTree() {
+    	return slotTreeCache.get(jwsdpPeer.getActSlots(), ((GnuCashFileImpl) getGnuCashFile()).getSlotModCount());
     }
 
     // -----------------------------------------------------------------
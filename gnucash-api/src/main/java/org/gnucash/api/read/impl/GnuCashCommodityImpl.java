@@ -11,6 +11,8 @@ import org.gnucash.api.read.GnuCashFile;
 import org.gnucash.api.read.GnuCashPrice;
 import org.gnucash.api.read.impl.hlp.GnuCashObjectImpl;
 import org.gnucash.api.read.impl.hlp.HasUserDefinedAttributesImpl;
+import org.gnucash.api.read.impl.hlp.SlotTree;
+import org.gnucash.api.read.impl.hlp.SlotTreeCache;
 import org.gnucash.base.basetypes.complex.GCshCmdtyCurrID;
 import org.gnucash.base.basetypes.complex.InvalidCmdtyCurrTypeException;
 import org.slf4j.Logger;
@@ -28,6 +30,11 @@ public class GnuCashCommodityImpl extends GnuCashObjectImpl
      */
     protected final GncCommodity jwsdpPeer;
 
+    /**
+     * the decoded slots (user-defined attributes, cached)
+     */
+    private final SlotTreeCache slotTreeCache = new SlotTreeCache();
+
     // ---------------------------------------------------------------
 
     /**
@@ -159,13 +166,21 @@ public class GnuCashCommodityImpl extends GnuCashObjectImpl
 	@Override
 	public String getUserDefinedAttribute(String name) {
 		return HasUserDefinedAttributesImpl
-					.getUserDefinedAttributeCore(jwsdpPeer.getCmdtySlots(), name);
+					.getUserDefinedAttributeCore(getUserDefinedAttributeTree(), name);
 	}
 
 	@Override
 	public List<String> getUserDefinedAttributeKeys() {
 		return HasUserDefinedAttributesImpl
-					.getUserDefinedAttributeKeysCore(jwsdpPeer.getCmdtySlots());
+					.getUserDefinedAttributeKeysCore(getUserDefinedAttributeTree());
+	}
+
+	/**
+	 * @return the decoded slots (cached), or null if there are none
+	 */
+	@SuppressWarnings("exports")
+	public SlotTree getUserDefinedAttributeTree() {
+		return slotTreeCache.get(jwsdpPeer.getCmdtySlots(), ((GnuCashFileImpl) getGnuCashFile()).getSlotModCount());
 	}
 
     // -----------------------------------------------------------------
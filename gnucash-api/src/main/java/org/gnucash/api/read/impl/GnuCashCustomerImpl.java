@@ -16,6 +16,9 @@ import org.gnucash.api.read.aux.GCshTaxTable;
 import org.gnucash.api.read.impl.aux.GCshAddressImpl;
 import org.gnucash.api.read.impl.hlp.GnuCashObjectImpl;
 import org.gnucash.api.read.impl.hlp.HasUserDefinedAttributesImpl;
+import org.gnucash.api.read.impl.hlp.PeerIDCache;
+import org.gnucash.api.read.impl.hlp.SlotTree;
+import org.gnucash.api.read.impl.hlp.SlotTreeCache;
 import org.gnucash.api.read.impl.spec.GnuCashCustomerJobImpl;
 import org.gnucash.api.read.spec.GnuCashCustomerInvoice;
 import org.gnucash.api.read.spec.GnuCashCustomerJob;
@@ -38,6 +41,16 @@ public class GnuCashCustomerImpl extends GnuCashObjectImpl
      */
     protected final GncGncCustomer jwsdpPeer;
 
+    /**
+     * the decoded slots (user-defined attributes, cached)
+     */
+    private final SlotTreeCache slotTreeCache = new SlotTreeCache();
+
+    /**
+     * the resolved ID of this object (cached)
+     */
+    private final PeerIDCache idCache = new PeerIDCache();
+
     /**
      * The currencyFormat to use for default-formating.<br/>
      * Please access only using {@link #getCurrencyFormat()}.
@@ -79,7 +92,7 @@ public class GnuCashCustomerImpl extends GnuCashObjectImpl
      * {@inheritDoc}
      */
     public GCshID getID() {
-	return new GCshID(jwsdpPeer.getCustGuid().getValue());
+	return idCache.get(jwsdpPeer.getCustGuid().getValue());
     }
 
     /**
@@ -428,13 +441,21 @@ public class GnuCashCustomerImpl extends GnuCashObjectImpl
 	@Override
 	public String getUserDefinedAttribute(String name) {
 		return HasUserDefinedAttributesImpl
-					.getUserDefinedAttributeCore(jwsdpPeer.getCustSlots(), name);
+					.getUserDefinedAttributeCore(getUserDefinedAttributeTree(), name);
 	}
 
 	@Override
 	public List<String> getUserDefinedAttributeKeys() {
 		return HasUserDefinedAttributesImpl
-					.getUserDefinedAttributeKeysCore(jwsdpPeer.getCustSlots());
+					.getUserDefinedAttributeKeysCore(getUserDefinedAttributeTree());
+	}
+
+	/**
+	 * @return the decoded slots (cached), or null if there are none
+	 */
+	@SuppressWarnings("exports")
+	public SlotTree getUserDefinedAttributeTree() {
+		return slotTreeCache.get(jwsdpPeer.getCustSlots(), ((GnuCashFileImpl) getGnuCashFile()).getSlotModCount());
 	}
     
     // ------------------------------------------------------------
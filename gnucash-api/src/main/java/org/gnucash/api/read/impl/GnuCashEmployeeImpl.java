@@ -13,6 +13,9 @@ import org.gnucash.api.read.aux.GCshAddress;
 import org.gnucash.api.read.impl.aux.GCshAddressImpl;
 import org.gnucash.api.read.impl.hlp.GnuCashObjectImpl;
 import org.gnucash.api.read.impl.hlp.HasUserDefinedAttributesImpl;
+import org.gnucash.api.read.impl.hlp.PeerIDCache;
+import org.gnucash.api.read.impl.hlp.SlotTree;
+import org.gnucash.api.read.impl.hlp.SlotTreeCache;
 import org.gnucash.api.read.spec.GnuCashEmployeeVoucher;
 import org.gnucash.base.basetypes.simple.GCshID;
 import org.slf4j.Logger;
@@ -32,6 +35,16 @@ public class GnuCashEmployeeImpl extends GnuCashObjectImpl
      */
     protected final GncGncEmployee jwsdpPeer;
 
+    /**
+     * the decoded slots (user-defined attributes, cached)
+     */
+    private final SlotTreeCache slotTreeCache = new SlotTreeCache();
+
+    /**
+     * the resolved ID of this object (cached)
+     */
+    private final PeerIDCache idCache = new PeerIDCache();
+
     /**
      * The currencyFormat to use for default-formating.<br/>
      * Please access only using {@link #getCurrencyFormat()}.
@@ -73,7 +86,7 @@ public class GnuCashEmployeeImpl extends GnuCashObjectImpl
      * {@inheritDoc}
      */
     public GCshID getID() {
-	return new GCshID(jwsdpPeer.getEmployeeGuid().getValue());
+	return idCache.get(jwsdpPeer.getEmployeeGuid().getValue());
     }
 
     /**
@@ -278,13 +291,21 @@ public class GnuCashEmployeeImpl extends GnuCashObjectImpl
 	@Override
 	public String getUserDefinedAttribute(String name) {
 		return HasUserDefinedAttributesImpl
-					.getUserDefinedAttributeCore(jwsdpPeer.getEmployeeSlots(), name);
+					.getUserDefinedAttributeCore(getUserDefinedAttributeTree(), name);
 	}
 
 	@Override
 	public List<String> getUserDefinedAttributeKeys() {
 		return HasUserDefinedAttributesImpl
-					.getUserDefinedAttributeKeysCore(jwsdpPeer.getEmployeeSlots());
+					.getUserDefinedAttributeKeysCore(getUserDefinedAttributeTree());
+	}
+
+	/**
+	 * @return the decoded slots (cached), or null if there are none
+	 */
+	@SuppressWarnings("exports")
+	public SlotTree getUserDefinedAttributeTree() {
+		return slotTreeCache.get(jwsdpPeer.getEmployeeSlots(), ((GnuCashFileImpl) getGnuCashFile()).getSlotModCount());
 	}
 
     // ------------------------------------------------------------
@@ -0,0 +1,141 @@
+package org.gnucash.api.read.impl;
+
+import org.gnucash.api.read.impl.hlp.ReadAheadInputStream;
+import org.gnucash.api.write.impl.hlp.GnuCashParallelWriter;
+import org.gnucash.api.write.impl.hlp.ParallelGZIPOutputStream;
+
+/**
+ * Tunable buffer and block sizes for reading and writing GnuCash files.
+ * <br>
+ * The reading options are used when a (compressed) file is loaded, so they
+ * have to be passed to the constructor of {@link GnuCashFileImpl} (resp.
+ * <code>GnuCashWritableFileImpl</code>). The writing options are used
+ * by every subsequent write and can be changed in between
+ * (cf. {@link GnuCashFileImpl#getIOOptions()}).
+ * <br>
+ * The defaults are the sizes that have been hard-wired before.
+ */
+public class GnuCashFileIOOptions {
+
+	// ::MAGIC
+	public static final int DEFAULT_GZIP_BUFFER_SIZE       = 64 * 1024;
+	public static final int DEFAULT_READ_AHEAD_BUFFER_SIZE = ReadAheadInputStream.DEFAULT_BUFFER_SIZE;
+	public static final int DEFAULT_READ_AHEAD_MAX_BUFFERS = ReadAheadInputStream.DEFAULT_MAX_BUFFERS;
+	public static final int DEFAULT_GZIP_BLOCK_SIZE        = ParallelGZIPOutputStream.DEFAULT_BLOCK_SIZE;
+	public static final int DEFAULT_WRITE_CHUNK_SIZE       = GnuCashParallelWriter.DEFAULT_CHUNK_SIZE;
+
+	// ---------------------------------------------------------------
+
+	private int gzipBufferSize      = DEFAULT_GZIP_BUFFER_SIZE;
+	private int readAheadBufferSize = DEFAULT_READ_AHEAD_BUFFER_SIZE;
+	private int readAheadMaxBuffers = DEFAULT_READ_AHEAD_MAX_BUFFERS;
+	private int gzipBlockSize       = DEFAULT_GZIP_BLOCK_SIZE;
+	private int writeChunkSize      = DEFAULT_WRITE_CHUNK_SIZE;
+
+	// ---------------------------------------------------------------
+
+	public GnuCashFileIOOptions() {
+	}
+
+	/**
+	 * @param other the options to copy
+	 */
+	public GnuCashFileIOOptions(final GnuCashFileIOOptions other) {
+		if ( other == null ) {
+			throw new IllegalArgumentException("null options given");
+		}
+
+		this.gzipBufferSize = other.gzipBufferSize;
+		this.readAheadBufferSize = other.readAheadBufferSize;
+		this.readAheadMaxBuffers = other.readAheadMaxBuffers;
+		this.gzipBlockSize = other.gzipBlockSize;
+		this.writeChunkSize = other.writeChunkSize;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @return the input buffer size of the inflater (in bytes)
+	 *         when reading compressed files
+	 */
+	public int getGZIPBufferSize() {
+		return gzipBufferSize;
+	}
+
+	public void setGZIPBufferSize(final int size) {
+		checkPositive(size, "gzip buffer size");
+		gzipBufferSize = size;
+	}
+
+	/**
+	 * @return the size of one buffer (in bytes) inflated ahead of
+	 *         the parser when reading compressed files
+	 */
+	public int getReadAheadBufferSize() {
+		return readAheadBufferSize;
+	}
+
+	public void setReadAheadBufferSize(final int size) {
+		checkPositive(size, "read-ahead buffer size");
+		readAheadBufferSize = size;
+	}
+
+	/**
+	 * @return the maximum number of buffers inflated ahead of
+	 *         the parser when reading compressed files
+	 */
+	public int getReadAheadMaxBuffers() {
+		return readAheadMaxBuffers;
+	}
+
+	public void setReadAheadMaxBuffers(final int maxBuffers) {
+		checkPositive(maxBuffers, "max. no. of read-ahead buffers");
+		readAheadMaxBuffers = maxBuffers;
+	}
+
+	/**
+	 * @return the number of uncompressed bytes per gzip member
+	 *         when compressing on several cores
+	 */
+	public int getGZIPBlockSize() {
+		return gzipBlockSize;
+	}
+
+	public void setGZIPBlockSize(final int size) {
+		checkPositive(size, "gzip block size");
+		gzipBlockSize = size;
+	}
+
+	/**
+	 * @return the number of book elements serialized in one go
+	 *         when writing in parallel
+	 */
+	public int getWriteChunkSize() {
+		return writeChunkSize;
+	}
+
+	public void setWriteChunkSize(final int size) {
+		checkPositive(size, "write chunk size");
+		writeChunkSize = size;
+	}
+
+	// ---------------------------------------------------------------
+
+	private static void checkPositive(final int val, final String what) {
+		if ( val <= 0 ) {
+			throw new IllegalArgumentException(what + " <= 0 given");
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	@Override
+	public String toString() {
+		return "GnuCashFileIOOptions [gzipBufferSize=" + gzipBufferSize +
+				", readAheadBufferSize=" + readAheadBufferSize +
+				", readAheadMaxBuffers=" + readAheadMaxBuffers +
+				", gzipBlockSize=" + gzipBlockSize +
+				", writeChunkSize=" + writeChunkSize + "]";
+	}
+
+}
@@ -7,15 +7,19 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Currency;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.zip.GZIPInputStream;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.gnucash.api.Const;
 import org.gnucash.api.currency.ComplexPriceTable;
 import org.gnucash.api.generated.GncAccount;
@@ -53,7 +57,10 @@ import org.gnucash.api.read.GnuCashVendor;
 import org.gnucash.api.read.aux.GCshBillTerms;
 import org.gnucash.api.read.aux.GCshOwner;
 import org.gnucash.api.read.aux.GCshTaxTable;
+import org.gnucash.api.read.hlp.HasUserDefinedAttributes;
 import org.gnucash.api.read.impl.aux.GCshFileStats;
+import org.gnucash.api.read.impl.hlp.BookElementIndex;
+import org.gnucash.api.read.impl.hlp.EntityManagerInitializer;
 import org.gnucash.api.read.impl.hlp.FileAccountManager;
 import org.gnucash.api.read.impl.hlp.FileBillTermsManager;
 import org.gnucash.api.read.impl.hlp.FileCommodityManager;
@@ -66,10 +73,15 @@ import org.gnucash.api.read.impl.hlp.FilePriceManager;
 import org.gnucash.api.read.impl.hlp.FileTaxTableManager;
 import org.gnucash.api.read.impl.hlp.FileTransactionManager;
 import org.gnucash.api.read.impl.hlp.FileVendorManager;
+import org.gnucash.api.read.impl.hlp.GnuCashNamespaceStreamReader;
 import org.gnucash.api.read.impl.hlp.GnuCashObjectImpl;
 import org.gnucash.api.read.impl.hlp.GnuCashPubIDManager;
+import org.gnucash.api.read.impl.hlp.GnuCashStAXLoader;
+import org.gnucash.api.read.impl.hlp.ReadAheadInputStream;
 import org.gnucash.api.read.impl.hlp.HasUserDefinedAttributesImpl;
-import org.gnucash.api.read.impl.hlp.NamespaceRemoverReader;
+import org.gnucash.api.read.impl.hlp.SlotTree;
+import org.gnucash.api.read.impl.hlp.SlotTreeCache;
+import org.gnucash.api.read.impl.hlp.SlotValueIndex;
 import org.gnucash.api.read.spec.GnuCashCustomerInvoice;
 import org.gnucash.api.read.spec.GnuCashCustomerJob;
 import org.gnucash.api.read.spec.GnuCashEmployeeVoucher;
@@ -84,7 +96,6 @@ import org.gnucash.base.basetypes.complex.InvalidCmdtyCurrIDException;
 import org.gnucash.base.basetypes.simple.GCshID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.xml.sax.InputSource;
 
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
@@ -106,11 +117,40 @@ public class GnuCashFileImpl implements GnuCashFile, GnuCashPubIDManager {
 
 	private File file;
 
+	private LoadMode loadMode = LoadMode.JAXB;
+	private boolean parallelInit = false;
+	private GnuCashFileIOOptions ioOpts = new GnuCashFileIOOptions();
+
 	// ----------------------------
 
 	private GncV2 rootElement;
 	private GnuCashObjectImpl myGnuCashObject;
 
+	private BookElementIndex bookElemIdx = null;
+
+	/**
+	 * the decoded book slots (cached)
+	 */
+	private final SlotTreeCache bookSlotTreeCache = new SlotTreeCache();
+
+	/**
+	 * reverse index over the objects' slots;
+	 * built on first look-up (null before)
+	 */
+	private volatile SlotValueIndex slotValIdx = null;
+
+	/**
+	 * incremented whenever a slot list of this file
+	 * has been changed in place (cf. SlotTreeCache)
+	 */
+	private final AtomicLong slotModCount = new AtomicLong();
+
+	/**
+	 * incremented whenever an object that may be linked to
+	 * (cf. PeerLink) is removed from or replaced in its manager
+	 */
+	private final AtomicLong linkModCount = new AtomicLong();
+
 	// ----------------------------
 
 	private volatile ObjectFactory myJAXBFactory;
@@ -162,6 +202,75 @@ public class GnuCashFileImpl implements GnuCashFile, GnuCashPubIDManager {
 		loadInputStream(is);
 	}
 
+	/**
+	 * @param pFile the file to load and initialize from
+	 * @param mode  how to parse the file
+	 * @throws IOException                   on low level reading-errors
+	 *                                       (FileNotFoundException if not found)
+	 * @see #loadFile(File)
+	 */
+	public GnuCashFileImpl(final File pFile, final LoadMode mode) throws IOException {
+		this(pFile, mode, false);
+	}
+
+	/**
+	 * @param is   the stream to load and initialize from
+	 * @param mode how to parse the stream
+	 * @throws IOException                   on low level reading-errors
+	 * @see #loadInputStream(InputStream)
+	 */
+	public GnuCashFileImpl(final InputStream is, final LoadMode mode) throws IOException {
+		this(is, mode, false);
+	}
+
+	/**
+	 * @param pFile        the file to load and initialize from
+	 * @param mode         how to parse the file
+	 * @param parallelInit if true, the entity managers are initialized
+	 *                     concurrently (where their dependencies allow it)
+	 * @throws IOException                   on low level reading-errors
+	 *                                       (FileNotFoundException if not found)
+	 * @see #loadFile(File)
+	 */
+	public GnuCashFileImpl(final File pFile, final LoadMode mode, final boolean parallelInit) throws IOException {
+		this(pFile, mode, parallelInit, new GnuCashFileIOOptions());
+	}
+
+	/**
+	 * @param pFile        the file to load and initialize from
+	 * @param mode         how to parse the file
+	 * @param parallelInit if true, the entity managers are initialized
+	 *                     concurrently (where their dependencies allow it)
+	 * @param ioOpts       buffer and block sizes for reading (and 
+	 *                     later writing) the file
+	 * @throws IOException                   on low level reading-errors
+	 *                                       (FileNotFoundException if not found)
+	 * @see #loadFile(File)
+	 */
+	public GnuCashFileImpl(final File pFile, final LoadMode mode, final boolean parallelInit,
+						   final GnuCashFileIOOptions ioOpts) throws IOException {
+		super();
+		setLoadMode(mode);
+		this.parallelInit = parallelInit;
+		setIOOptions(ioOpts);
+		loadFile(pFile);
+	}
+
+	/**
+	 * @param is           the stream to load and initialize from
+	 * @param mode         how to parse the stream
+	 * @param parallelInit if true, the entity managers are initialized
+	 *                     concurrently (where their dependencies allow it)
+	 * @throws IOException                   on low level reading-errors
+	 * @see #loadInputStream(InputStream)
+	 */
+	public GnuCashFileImpl(final InputStream is, final LoadMode mode, final boolean parallelInit) throws IOException {
+		super();
+		setLoadMode(mode);
+		this.parallelInit = parallelInit;
+		loadInputStream(is);
+	}
+
 	// ---------------------------------------------------------------
 
 	/**
@@ -184,6 +293,46 @@ public class GnuCashFileImpl implements GnuCashFile, GnuCashPubIDManager {
 		file = pFile;
 	}
 
+	/**
+	 * @return the mode the file has been loaded with
+	 */
+	public LoadMode getLoadMode() {
+		return loadMode;
+	}
+
+	/**
+	 * @return true if the entity managers are initialized concurrently
+	 */
+	public boolean isParallelInit() {
+		return parallelInit;
+	}
+
+	/**
+	 * @return the buffer and block sizes used for reading and writing
+	 *         this file (live object: changes apply to subsequent writes)
+	 */
+	public GnuCashFileIOOptions getIOOptions() {
+		return ioOpts;
+	}
+
+	/**
+	 * @param opts the buffer and block sizes to use from now on
+	 *             (copied)
+	 */
+	public void setIOOptions(final GnuCashFileIOOptions opts) {
+		if ( opts == null ) {
+			throw new IllegalArgumentException("null I/O options given");
+		}
+		ioOpts = new GnuCashFileIOOptions(opts);
+	}
+
+	private void setLoadMode(final LoadMode mode) {
+		if ( mode == null ) {
+			throw new IllegalArgumentException("null load mode given");
+		}
+		loadMode = mode;
+	}
+
 	// ----------------------------
 
 	/**
@@ -211,7 +360,7 @@ public class GnuCashFileImpl implements GnuCashFile, GnuCashPubIDManager {
 		InputStream in = new FileInputStream(pFile);
 		if ( pFile.getName().endsWith(".gz") ) {
 			in = new BufferedInputStream(in);
-			in = new GZIPInputStream(in);
+			in = wrapGZIPInputStream(in);
 		} else {
 			// determine if it's gzipped by the magic bytes
 			byte[] magic = new byte[2];
@@ -221,7 +370,7 @@ public class GnuCashFileImpl implements GnuCashFile, GnuCashPubIDManager {
 			in = new FileInputStream(pFile);
 			in = new BufferedInputStream(in);
 			if ( magic[0] == 31 && magic[1] == -117 ) {
-				in = new GZIPInputStream(in);
+				in = wrapGZIPInputStream(in);
 			}
 		}
 
@@ -232,25 +381,46 @@ public class GnuCashFileImpl implements GnuCashFile, GnuCashPubIDManager {
 
 	}
 
+	/*
+	 * Inflates in the background, concurrently with the parser.
+	 * Handles multi-member streams as well (cf. ParallelGZIPOutputStream).
+	 */
+	private InputStream wrapGZIPInputStream(final InputStream in) throws IOException {
+		return new ReadAheadInputStream(new GZIPInputStream(in, ioOpts.getGZIPBufferSize()), "gnucash-gunzip",
+										ioOpts.getReadAheadBufferSize(), ioOpts.getReadAheadMaxBuffers());
+	}
+
 	protected void loadInputStream(InputStream in) throws UnsupportedEncodingException, IOException,
 			InvalidCmdtyCurrIDException {
 		long start = System.currentTimeMillis();
 
-		NamespaceRemoverReader reader = new NamespaceRemoverReader(new InputStreamReader(in, "utf-8"));
+		Reader reader = new BufferedReader(new InputStreamReader(in, "utf-8"));
 		try {
-			JAXBContext myContext = getJAXBContext();
-			Unmarshaller unmarshaller = myContext.createUnmarshaller();
-
-			GncV2 obj = (GncV2) unmarshaller.unmarshal(new InputSource(new BufferedReader(reader)));
+			GncV2 obj = null;
+			if ( loadMode == LoadMode.STAX ) {
+				obj = new GnuCashStAXLoader(getJAXBContext()).load(reader);
+			} else {
+				JAXBContext myContext = getJAXBContext();
+				Unmarshaller unmarshaller = myContext.createUnmarshaller();
+				XMLStreamReader xsr = GnuCashNamespaceStreamReader.create(reader);
+				try {
+					obj = (GncV2) unmarshaller.unmarshal(xsr);
+				} finally {
+					xsr.close();
+				}
+			}
 			long start2 = System.currentTimeMillis();
 			setRootElement(obj);
 			long end = System.currentTimeMillis();
 			LOGGER.info("loadInputStream: Took " + (end - start) + " ms (total), " + (start2 - start)
-					+ " ms (jaxb-loading), " + (end - start2) + " ms (building facades)");
+					+ " ms (" + loadMode.toString().toLowerCase() + "-loading), " + (end - start2) + " ms (building facades)");
 
 		} catch (JAXBException e) {
 			LOGGER.error("loadInputStream: " + e.getMessage(), e);
 			throw new IllegalStateException(e);
+		} catch (XMLStreamException e) {
+			LOGGER.error("loadInputStream: " + e.getMessage(), e);
+			throw new IllegalStateException(e);
 		} finally {
 			reader.close();
 		}
@@ -305,12 +475,7 @@ public class GnuCashFileImpl implements GnuCashFile, GnuCashPubIDManager {
 			return Const.DEFAULT_CURRENCY;
 		}
 
-		for ( Object bookElement : getRootElement().getGncBook().getBookElements() ) {
-			if ( !(bookElement instanceof GncAccount) ) {
-				continue;
-			}
-
-			GncAccount jwsdpAccount = (GncAccount) bookElement;
+		for ( GncAccount jwsdpAccount : getBookElementIndex().getAccounts() ) {
 			if ( jwsdpAccount.getActCommodity() != null ) {
 				if ( jwsdpAccount.getActCommodity().getCmdtySpace().equals(GCshCmdtyCurrNameSpace.CURRENCY) ) {
 					return jwsdpAccount.getActCommodity().getCmdtyId();
@@ -487,19 +652,23 @@ public class GnuCashFileImpl implements GnuCashFile, GnuCashPubIDManager {
 		return trxMgr.getTransactions_readAfresh();
 	}
 
+	/**
+	 * Looked up in the transaction manager's date index,
+	 * i.e. by binary search.
+	 * 
+	 * @return the transactions posted within the given range
+	 *         (both inclusive), sorted by date posted
+	 */
 	public Collection<? extends GnuCashTransaction> getTransactions(final LocalDate fromDate, final LocalDate toDate) {
-		ArrayList<GnuCashTransaction> result = new ArrayList<GnuCashTransaction>();
-		
-		for ( GnuCashTransaction trx : getTransactions() ) {
-			 if ( ( trx.getDatePosted().toLocalDate().isEqual( fromDate ) ||
-				    trx.getDatePosted().toLocalDate().isAfter( fromDate ) ) &&
-			      ( trx.getDatePosted().toLocalDate().isEqual( toDate ) ||
-					trx.getDatePosted().toLocalDate().isBefore( toDate ) ) ) {
-				 result.add(trx);
-			 }
-		}
-		
-		return Collections.unmodifiableCollection(result);
+		return Collections.unmodifiableCollection(trxMgr.getTransactions(fromDate, toDate));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Collection<GnuCashTransaction> getTransactionsByDescription(final String expr) {
+		return Collections.unmodifiableCollection(trxMgr.getTransactionsByDescription(expr));
 	}
 
 	// ---------------------------------------------------------------
@@ -512,6 +681,14 @@ public class GnuCashFileImpl implements GnuCashFile, GnuCashPubIDManager {
 		return trxMgr.getTransactionSplits();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Collection<GnuCashTransactionSplit> getTransactionSplitsByDescription(final String expr) {
+		return Collections.unmodifiableCollection(trxMgr.getTransactionSplitsByDescription(expr));
+	}
+
 	public Collection<GnuCashTransactionSplitImpl> getTransactionSplits_readAfresh() {
 		return trxMgr.getTransactionSplits_readAfresh();
 	}
@@ -527,6 +704,11 @@ public class GnuCashFileImpl implements GnuCashFile, GnuCashPubIDManager {
 		return invcMgr.getGenerInvoiceByID(invcID);
 	}
 
+	@Override
+	public List<GnuCashGenerInvoice> getGenerInvoicesByLotID(final GCshID lotID) {
+		return invcMgr.getGenerInvoicesByLotID(lotID);
+	}
+
 	@Override
 	public List<GnuCashGenerInvoice> getGenerInvoicesByType(final GCshOwner.Type type) {
 		return invcMgr.getGenerInvoicesByType(type);
@@ -541,6 +723,14 @@ public class GnuCashFileImpl implements GnuCashFile, GnuCashPubIDManager {
 		return invcMgr.getGenerInvoices();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Collection<GnuCashGenerInvoice> getGenerInvoicesByDescription(final String expr) {
+		return Collections.unmodifiableCollection(invcMgr.getGenerInvoicesByDescription(expr));
+	}
+
 	// ----------------------------
 
 	/**
@@ -727,6 +917,14 @@ public class GnuCashFileImpl implements GnuCashFile, GnuCashPubIDManager {
 		return invcEntrMgr.getGenerInvoiceEntries();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Collection<GnuCashGenerInvoiceEntry> getGenerInvoiceEntriesByDescription(final String expr) {
+		return Collections.unmodifiableCollection(invcEntrMgr.getGenerInvoiceEntriesByDescription(expr));
+	}
+
 	// ---------------------------------------------------------------
 
 	@Override
@@ -1079,6 +1277,24 @@ public class GnuCashFileImpl implements GnuCashFile, GnuCashPubIDManager {
 		return prcMgr.getLatestPrice(cmdtyCurrID);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public FixedPointNumber getPriceAsOf(final GCshCmdtyCurrID cmdtyCurrID, final LocalDate date) {
+		return prcMgr.getPriceAsOf(cmdtyCurrID, date);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public FixedPointNumber convertAsOf(final FixedPointNumber amount, 
+			final GCshCmdtyCurrID fromCmdtyCurrID, final GCshCmdtyCurrID toCmdtyCurrID, 
+			final LocalDate date) {
+		return prcMgr.convert(amount, fromCmdtyCurrID, toCmdtyCurrID, date);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -1111,6 +1327,7 @@ public class GnuCashFileImpl implements GnuCashFile, GnuCashPubIDManager {
 		LOGGER.debug("setRootElement (read-version)");
 
 		rootElement = pRootElement;
+		invalidateBookElementIndex();
 
 		// ---
 		// Prices
@@ -1130,78 +1347,125 @@ public class GnuCashFileImpl implements GnuCashFile, GnuCashPubIDManager {
 
 		// ---
 		// Init helper entity managers / fill maps
+		// Caution: Build the book element index *before*
+		// (possibly) going parallel.
+
+		getBookElementIndex();
+
+		EntityManagerInitializer init = new EntityManagerInitializer(parallelInit);
 
-		acctMgr = new FileAccountManager(this);
+		init.addTask("acct", () -> acctMgr = new FileAccountManager(this));
 
-		invcMgr = new FileInvoiceManager(this);
+		init.addTask("invc", () -> invcMgr = new FileInvoiceManager(this));
 
 		// Caution: invoice entries refer to invoices,
 		// therefore they have to be loaded after them
-		invcEntrMgr = new FileInvoiceEntryManager(this);
+		init.addTask("invcEntr", () -> invcEntrMgr = new FileInvoiceEntryManager(this), "invc");
 
 		// Caution: transactions refer to invoices,
 		// therefore they have to be loaded after them
-		trxMgr = new FileTransactionManager(this);
+		// (and their splits register with their accounts)
+		init.addTask("trx", () -> trxMgr = new FileTransactionManager(this), "acct", "invc");
 
-		custMgr = new FileCustomerManager(this);
+		init.addTask("cust", () -> custMgr = new FileCustomerManager(this));
 
-		vendMgr = new FileVendorManager(this);
+		init.addTask("vend", () -> vendMgr = new FileVendorManager(this));
 
-		emplMgr = new FileEmployeeManager(this);
+		init.addTask("empl", () -> emplMgr = new FileEmployeeManager(this));
 
-		jobMgr = new FileJobManager(this);
+		init.addTask("job", () -> jobMgr = new FileJobManager(this));
 
-		cmdtyMgr = new FileCommodityManager(this);
+		init.addTask("cmdty", () -> cmdtyMgr = new FileCommodityManager(this));
 
 		// ---
 
-		taxTabMgr = new FileTaxTableManager(this);
+		init.addTask("taxTab", () -> taxTabMgr = new FileTaxTableManager(this));
 
-		bllTrmMgr = new FileBillTermsManager(this);
+		init.addTask("bllTrm", () -> bllTrmMgr = new FileBillTermsManager(this));
+
+		init.run();
+
+		linkObjects();
 
 		// ---
 
 		// check for unknown book-elements
-		for ( Object bookElement : getRootElement().getGncBook().getBookElements() ) {
-			if ( bookElement instanceof GncTransaction ) {
-				continue;
-			} else if ( bookElement instanceof GncSchedxaction ) {
-				continue;
-			} else if ( bookElement instanceof GncTemplateTransactions ) {
-				continue;
-			} else if ( bookElement instanceof GncAccount ) {
-				continue;
-			} else if ( bookElement instanceof GncTransaction ) {
-				continue;
-			} else if ( bookElement instanceof GncGncInvoice ) {
-				continue;
-			} else if ( bookElement instanceof GncGncEntry ) {
-				continue;
-			} else if ( bookElement instanceof GncGncCustomer ) {
-				continue;
-			} else if ( bookElement instanceof GncGncVendor ) {
-				continue;
-			} else if ( bookElement instanceof GncGncEmployee ) {
-				continue;
-			} else if ( bookElement instanceof GncGncJob ) {
-				continue;
-			} else if ( bookElement instanceof GncCommodity ) {
-				continue;
-			} else if ( bookElement instanceof GncGncTaxTable ) {
-				continue;
-			} else if ( bookElement instanceof GncGncBillTerm ) {
-				continue;
-			} else if ( bookElement instanceof GncPricedb ) {
-				continue;
-			} else if ( bookElement instanceof GncBudget ) {
-				continue;
-			}
-
+		if ( ! getBookElementIndex().getUnknownElements().isEmpty() ) {
+			Object bookElement = getBookElementIndex().getUnknownElements().get(0);
 			throw new IllegalArgumentException(
 					"<gnc:book> contains unknown element [" + bookElement.getClass().getName() + "]");
 		}
 	}
 
+	/**
+	 * Post-load phase: (Re-)sets the direct references between the objects 
+	 * of the file (split to account, transaction to invoices, invoice entry 
+	 * to invoice, job to owner), so that navigating between them needs 
+	 * neither look-ups by ID nor decoding of slots.
+	 * <br>
+	 * To be called whenever the entity managers have been (re-)built.
+	 */
+	protected void linkObjects() {
+		long start = System.currentTimeMillis();
+
+		for ( GnuCashTransaction trx : trxMgr.getTransactions() ) {
+			if ( trx instanceof GnuCashTransactionImpl ) {
+				((GnuCashTransactionImpl) trx).linkObjects();
+			}
+		}
+
+		for ( GnuCashGenerInvoiceEntry entr : invcEntrMgr.getGenerInvoiceEntries() ) {
+			entr.getGenerInvoice();
+		}
+
+		for ( GnuCashGenerJob job : jobMgr.getGenerJobs() ) {
+			if ( job instanceof GnuCashGenerJobImpl ) {
+				((GnuCashGenerJobImpl) job).linkOwner();
+			}
+		}
+
+		long end = System.currentTimeMillis();
+		LOGGER.debug("linkObjects: Took " + (end - start) + " ms");
+	}
+
+	/**
+	 * Builds the full-text indexes over the descriptions of the transactions,
+	 * splits, invoices and invoice entries right away (e.g. directly after 
+	 * loading), instead of on the first search. 
+	 */
+	public void buildFullTextIndexes() {
+		long start = System.currentTimeMillis();
+
+		trxMgr.buildFullTextIndexes();
+		invcMgr.buildFullTextIndex();
+		invcEntrMgr.buildFullTextIndex();
+
+		long end = System.currentTimeMillis();
+		LOGGER.debug("buildFullTextIndexes: Took " + (end - start) + " ms");
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @return the per-type index over the book elements.
+	 *         All later changes to the book go through it.
+	 */
+	@SuppressWarnings("exports")
+	public BookElementIndex getBookElementIndex() {
+		if ( bookElemIdx == null ) {
+			bookElemIdx = new BookElementIndex(getRootElement().getGncBook());
+		}
+		assert bookElemIdx.getNofElements() == getRootElement().getGncBook().getBookElements().size() : "book changed behind the index's back";
+		return bookElemIdx;
+	}
+
+	/**
+	 * Forces the book element index to be re-built on next access.
+	 */
+	protected void invalidateBookElementIndex() {
+		bookElemIdx = null;
+	}
+
 	// ---------------------------------------------------------------
 
 	/**
@@ -1316,7 +1580,7 @@ public class GnuCashFileImpl implements GnuCashFile, GnuCashPubIDManager {
 	 */
 	@Override
 	public String getUserDefinedAttribute(final String aName) {
-		return HasUserDefinedAttributesImpl.getUserDefinedAttributeCore(getRootElement().getGncBook().getBookSlots(),
+		return HasUserDefinedAttributesImpl.getUserDefinedAttributeCore(getUserDefinedAttributeTree(),
 				aName);
 	}
 
@@ -1326,7 +1590,115 @@ public class GnuCashFileImpl implements GnuCashFile, GnuCashPubIDManager {
 	@Override
 	public List<String> getUserDefinedAttributeKeys() {
 		return HasUserDefinedAttributesImpl
-				.getUserDefinedAttributeKeysCore(getRootElement().getGncBook().getBookSlots());
+				.getUserDefinedAttributeKeysCore(getUserDefinedAttributeTree());
+	}
+
+	/**
+	 * @return the decoded book slots (cached), or null if there are none
+	 */
+	@SuppressWarnings("exports")
+	public SlotTree getUserDefinedAttributeTree() {
+		return bookSlotTreeCache.get(getRootElement().getGncBook().getBookSlots(), getSlotModCount());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SuppressWarnings("exports")
+	public Collection<HasUserDefinedAttributes> getObjectsByUserDefinedAttribute(final String name, final String value) {
+		return getSlotValueIndex().get(name, value);
+	}
+
+	private synchronized SlotValueIndex getSlotValueIndex() {
+		SlotValueIndex idx = slotValIdx;
+		if ( idx != null &&
+			 ! idx.isOutdated(getSlotModCount()) ) {
+			return idx;
+		}
+
+		long start = System.currentTimeMillis();
+
+		idx = new SlotValueIndex(getSlotModCount());
+		for ( GnuCashAccount acct : acctMgr.getAccounts() ) {
+			idx.add(acct, ((GnuCashAccountImpl) acct).getUserDefinedAttributeTree());
+		}
+		for ( GnuCashTransaction trx : trxMgr.getTransactions() ) {
+			idx.add(trx, ((GnuCashTransactionImpl) trx).getUserDefinedAttributeTree());
+		}
+		for ( GnuCashTransactionSplit splt : trxMgr.getTransactionSplits() ) {
+			idx.add(splt, ((GnuCashTransactionSplitImpl) splt).getUserDefinedAttributeTree());
+		}
+		for ( GnuCashCustomer cust : custMgr.getCustomers() ) {
+			idx.add(cust, ((GnuCashCustomerImpl) cust).getUserDefinedAttributeTree());
+		}
+		for ( GnuCashVendor vend : vendMgr.getVendors() ) {
+			idx.add(vend, ((GnuCashVendorImpl) vend).getUserDefinedAttributeTree());
+		}
+		for ( GnuCashEmployee empl : emplMgr.getEmployees() ) {
+			idx.add(empl, ((GnuCashEmployeeImpl) empl).getUserDefinedAttributeTree());
+		}
+		for ( GnuCashCommodity cmdty : cmdtyMgr.getCommodities() ) {
+			idx.add(cmdty, ((GnuCashCommodityImpl) cmdty).getUserDefinedAttributeTree());
+		}
+		for ( GnuCashGenerInvoice invc : invcMgr.getGenerInvoices() ) {
+			idx.add(invc, ((GnuCashGenerInvoiceImpl) invc).getUserDefinedAttributeTree());
+		}
+		for ( GnuCashGenerInvoiceEntry entr : invcEntrMgr.getGenerInvoiceEntries() ) {
+			idx.add(entr, ((GnuCashGenerInvoiceEntryImpl) entr).getUserDefinedAttributeTree());
+		}
+		slotValIdx = idx;
+
+		long end = System.currentTimeMillis();
+		LOGGER.debug("getSlotValueIndex: Indexed " + idx.size() + " slot values in " + (end - start) + " ms");
+
+		return idx;
+	}
+
+	/**
+	 * Forces the reverse index over the objects' slots
+	 * to be re-built on next access.
+	 */
+	protected void invalidateSlotValueIndex() {
+		slotValIdx = null;
+	}
+
+	/**
+	 * For internal use only: To be called after a slot list of this file 
+	 * has been changed in place.
+	 * Forces the decoded slots of this file's objects (and the reverse 
+	 * index over them) to be re-built on next access.
+	 */
+	public void slotsModified() {
+		slotModCount.incrementAndGet();
+	}
+
+	/**
+	 * @return the current value of this file's slot modification counter
+	 *         (cf. {@link #slotsModified()})
+	 */
+	public long getSlotModCount() {
+		return slotModCount.get();
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * For internal use only: To be called by the entity managers when
+	 * an object has been removed or replaced by another one with the same ID.
+	 * Forces all direct references between the objects of this file
+	 * to be resolved again on next access.
+	 */
+	public void linkTargetsModified() {
+		linkModCount.incrementAndGet();
+	}
+
+	/**
+	 * @return the current value of this file's modification counter
+	 *         for direct references (cf. {@link #linkTargetsModified()})
+	 */
+	public long getLinkModCount() {
+		return linkModCount.get();
 	}
 
 	// ---------------------------------------------------------------
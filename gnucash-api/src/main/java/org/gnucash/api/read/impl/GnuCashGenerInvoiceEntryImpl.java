@@ -27,6 +27,10 @@ import org.gnucash.api.read.aux.GCshTaxTable;
 import org.gnucash.api.read.aux.GCshTaxTableEntry;
 import org.gnucash.api.read.impl.hlp.GnuCashObjectImpl;
 import org.gnucash.api.read.impl.hlp.HasUserDefinedAttributesImpl;
+import org.gnucash.api.read.impl.hlp.PeerFieldCache;
+import org.gnucash.api.read.impl.hlp.PeerIDCache;
+import org.gnucash.api.read.impl.hlp.SlotTree;
+import org.gnucash.api.read.impl.hlp.SlotTreeCache;
 import org.gnucash.api.read.impl.spec.GnuCashJobInvoiceImpl;
 import org.gnucash.api.read.spec.GnuCashJobInvoice;
 import org.gnucash.api.read.spec.WrongInvoiceTypeException;
@@ -61,12 +65,31 @@ public class GnuCashGenerInvoiceEntryImpl extends GnuCashObjectImpl
      */
     protected final GncGncEntry jwsdpPeer;
 
+    /**
+     * the decoded slots (user-defined attributes, cached)
+     */
+    private final SlotTreeCache slotTreeCache = new SlotTreeCache();
+
+    /**
+     * the resolved ID of this object (cached)
+     */
+    private final PeerIDCache idCache = new PeerIDCache();
+
+    /**
+     * the resolved ID of the invoice (cached)
+     */
+    private final PeerIDCache invcIDCache = new PeerIDCache();
+
     // ------------------------------
 
     /**
-     * @see GnuCashGenerInvoice#getDateOpened()
+     * the decoded date, quantity, prices and action (cached)
      */
-    protected ZonedDateTime date;
+    private final PeerFieldCache<ZonedDateTime>    dateCache = new PeerFieldCache<ZonedDateTime>();
+    private final PeerFieldCache<FixedPointNumber> qtyCache = new PeerFieldCache<FixedPointNumber>();
+    private final PeerFieldCache<FixedPointNumber> invcPriceCache = new PeerFieldCache<FixedPointNumber>();
+    private final PeerFieldCache<FixedPointNumber> bllPriceCache = new PeerFieldCache<FixedPointNumber>();
+    private final PeerFieldCache<Action>           actionCache = new PeerFieldCache<Action>();
 
     private GCshID myInvcAcctID;
     private GCshID myBllAcctID;
@@ -181,7 +204,7 @@ public class GnuCashGenerInvoiceEntryImpl extends GnuCashObjectImpl
      * {@inheritDoc}
      */
     public GCshID getID() {
-	return new GCshID( jwsdpPeer.getEntryGuid().getValue() );
+	return idCache.get( jwsdpPeer.getEntryGuid().getValue() );
     }
 
     /**
@@ -215,9 +238,9 @@ public class GnuCashGenerInvoiceEntryImpl extends GnuCashObjectImpl
 		    + " without an invoice-element (customer) AND " + "without a bill-element (vendor)");
 	    return null;
 	} else if (entrInvc != null && entrBill == null) {
-	    return new GCshID(entrInvc.getValue());
+	    return invcIDCache.get(entrInvc.getValue());
 	} else if (entrInvc == null && entrBill != null) {
-	    return new GCshID(entrBill.getValue());
+	    return invcIDCache.get(entrBill.getValue());
 	} else if (entrInvc != null && entrBill != null) {
 	    LOGGER.error("file contains an invoice-entry with GUID=" + getID()
 		    + " with BOTH an invoice-element (customer) and " + "a bill-element (vendor)");
@@ -735,7 +758,8 @@ public class GnuCashGenerInvoiceEntryImpl extends GnuCashObjectImpl
     		 getType() != GCshOwner.Type.JOB )
     		throw new WrongInvoiceTypeException();
 
-    	return new FixedPointNumber(jwsdpPeer.getEntryIPrice());
+    	// sic, copy: FixedPointNumber is mutable
+    	return invcPriceCache.get(jwsdpPeer.getEntryIPrice(), FixedPointNumber::new).copy();
     }
 
     /**
@@ -751,7 +775,8 @@ public class GnuCashGenerInvoiceEntryImpl extends GnuCashObjectImpl
     		 getType() != GCshOwner.Type.JOB )
     		throw new WrongInvoiceTypeException();
 
-    	return new FixedPointNumber(jwsdpPeer.getEntryBPrice());
+    	// sic, copy: FixedPointNumber is mutable
+    	return bllPriceCache.get(jwsdpPeer.getEntryBPrice(), FixedPointNumber::new).copy();
     }
 
     /**
@@ -762,7 +787,8 @@ public class GnuCashGenerInvoiceEntryImpl extends GnuCashObjectImpl
     	if ( getType() != GCshOwner.Type.EMPLOYEE )
     		throw new WrongInvoiceTypeException();
 
-    	return new FixedPointNumber(jwsdpPeer.getEntryBPrice());
+    	// sic, copy: FixedPointNumber is mutable
+    	return bllPriceCache.get(jwsdpPeer.getEntryBPrice(), FixedPointNumber::new).copy();
     }
 
     /**
@@ -1300,7 +1326,7 @@ public class GnuCashGenerInvoiceEntryImpl extends GnuCashObjectImpl
      * @see GnuCashGenerInvoiceEntry#getAction()
      */
     public Action getAction() {
-	return Action.valueOff( jwsdpPeer.getEntryAction() );
+	return actionCache.get( jwsdpPeer.getEntryAction(), Action::valueOff );
     }
 
     /**
@@ -1308,7 +1334,8 @@ public class GnuCashGenerInvoiceEntryImpl extends GnuCashObjectImpl
      */
     public FixedPointNumber getQuantity() {
 	String val = getJwsdpPeer().getEntryQty();
-	return new FixedPointNumber(val);
+	// sic, copy: FixedPointNumber is mutable
+	return qtyCache.get(val, FixedPointNumber::new).copy();
     }
 
     /**
@@ -1324,19 +1351,15 @@ public class GnuCashGenerInvoiceEntryImpl extends GnuCashObjectImpl
      */
     @Override
     public ZonedDateTime getDate() {
-	if (date == null) {
-	    String dateStr = getJwsdpPeer().getEntryDate().getTsDate();
-	    try {
-		// "2001-09-18 00:00:00 +0200"
-		date = ZonedDateTime.parse(dateStr, DATE_FORMAT);
-	    } catch (Exception e) {
-		IllegalStateException ex = new IllegalStateException("unparsable date '" + dateStr + "' in invoice!");
-		ex.initCause(e);
-		throw ex;
-	    }
-
+	String dateStr = getJwsdpPeer().getEntryDate().getTsDate();
+	try {
+	    // "2001-09-18 00:00:00 +0200"
+	    return dateCache.get(dateStr, str -> ZonedDateTime.parse(str, DATE_FORMAT));
+	} catch (Exception e) {
+	    IllegalStateException ex = new IllegalStateException("unparsable date '" + dateStr + "' in invoice!");
+	    ex.initCause(e);
+	    throw ex;
 	}
-	return date;
     }
 
 	/**
@@ -1446,13 +1469,21 @@ public class GnuCashGenerInvoiceEntryImpl extends GnuCashObjectImpl
 	@Override
 	public String getUserDefinedAttribute(String name) {
 		return HasUserDefinedAttributesImpl
-					.getUserDefinedAttributeCore(jwsdpPeer.getEntrySlots(), name);
+					.getUserDefinedAttributeCore(getUserDefinedAttributeTree(), name);
 	}
 
 	@Override
 	public List<String> getUserDefinedAttributeKeys() {
 		return HasUserDefinedAttributesImpl
-					.getUserDefinedAttributeKeysCore(jwsdpPeer.getEntrySlots());
+					.getUserDefinedAttributeKeysCore(getUserDefinedAttributeTree());
+	}
+
+	/**
+	 * @return the decoded slots (cached), or null if there are none
+	 */
+	@SuppressWarnings("exports")
+	public SlotTree getUserDefinedAttributeTree() {
+		return slotTreeCache.get(jwsdpPeer.getEntrySlots(), ((GnuCashFileImpl) getGnuCashFile()).getSlotModCount());
 	}
 
     // ---------------------------------------------------------------
@@ -22,6 +22,11 @@ import org.gnucash.api.read.aux.GCshOwner;
 import org.gnucash.api.read.impl.aux.GCshTaxedSumImpl;
 import org.gnucash.api.read.impl.hlp.GnuCashObjectImpl;
 import org.gnucash.api.read.impl.hlp.HasUserDefinedAttributesImpl;
+import org.gnucash.api.read.impl.hlp.PeerFieldCache;
+import org.gnucash.api.read.impl.hlp.PeerIDCache;
+import org.gnucash.api.read.impl.hlp.ScaledAmount;
+import org.gnucash.api.read.impl.hlp.SlotTree;
+import org.gnucash.api.read.impl.hlp.SlotTreeCache;
 import org.gnucash.api.read.impl.spec.GnuCashJobInvoiceImpl;
 import org.gnucash.api.read.spec.GnuCashJobInvoice;
 import org.gnucash.api.read.spec.WrongInvoiceTypeException;
@@ -56,6 +61,26 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 	 */
 	protected final GncGncInvoice jwsdpPeer;
 
+	/**
+	 * the decoded slots (user-defined attributes, cached)
+	 */
+	private final SlotTreeCache slotTreeCache = new SlotTreeCache();
+
+	/**
+	 * the resolved ID of this object (cached)
+	 */
+	private final PeerIDCache idCache = new PeerIDCache();
+
+	/**
+	 * the resolved ID of the lot (cached)
+	 */
+	private final PeerIDCache lotIDCache = new PeerIDCache();
+
+	/**
+	 * the decoded owner type (cached)
+	 */
+	private final PeerFieldCache<GCshOwner.Type> typeCache = new PeerFieldCache<GCshOwner.Type>();
+
 	// ------------------------------
 
 	/**
@@ -144,13 +169,21 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 	@Override
 	public String getUserDefinedAttribute(final String name) {
 		return HasUserDefinedAttributesImpl
-				.getUserDefinedAttributeCore(jwsdpPeer.getInvoiceSlots(), name);
+				.getUserDefinedAttributeCore(getUserDefinedAttributeTree(), name);
 	}
 
 	@Override
 	public List<String> getUserDefinedAttributeKeys() {
 		return HasUserDefinedAttributesImpl
-				.getUserDefinedAttributeKeysCore(jwsdpPeer.getInvoiceSlots());
+				.getUserDefinedAttributeKeysCore(getUserDefinedAttributeTree());
+	}
+
+	/**
+	 * @return the decoded slots (cached), or null if there are none
+	 */
+	@SuppressWarnings("exports")
+	public SlotTree getUserDefinedAttributeTree() {
+		return slotTreeCache.get(jwsdpPeer.getInvoiceSlots(), ((GnuCashFileImpl) getGnuCashFile()).getSlotModCount());
 	}
 
 	// -----------------------------------------------------------------
@@ -377,18 +410,18 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 			 getType() != TYPE_JOB )
 			throw new WrongInvoiceTypeException();
 
-		FixedPointNumber takenFromReceivableAccount = new FixedPointNumber();
+		ScaledAmount takenFromReceivableAccount = new ScaledAmount();
 		for ( GnuCashTransaction trx : getPayingTransactions() ) {
 			for ( GnuCashTransactionSplit split : trx.getSplits() ) {
 				if ( split.getAccount().getType() == GnuCashAccount.Type.RECEIVABLE ) {
-					if ( !split.getValue().isPositive() ) {
-						takenFromReceivableAccount.subtract(split.getValue());
+					if ( ScaledAmount.signumOfValue(split) <= 0 ) {
+						takenFromReceivableAccount.subtractValue(split);
 					}
 				}
 			} // split
 		} // trx
 
-		return takenFromReceivableAccount;
+		return takenFromReceivableAccount.toFixedPointNumber();
 	}
 
 	@Override
@@ -402,7 +435,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 			 getType() != TYPE_JOB )
 			throw new WrongInvoiceTypeException();
 
-		FixedPointNumber retval = new FixedPointNumber();
+		ScaledAmount retval = new ScaledAmount();
 
 		for ( GnuCashGenerInvoiceEntry entry : getGenerEntries() ) {
 			if ( entry.getType() == getType() ) {
@@ -410,7 +443,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 			}
 		}
 
-		return retval;
+		return retval.toFixedPointNumber();
 	}
 
 	/**
@@ -427,7 +460,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 			 getType() != TYPE_JOB )
 			throw new WrongInvoiceTypeException();
 
-		FixedPointNumber retval = new FixedPointNumber();
+		ScaledAmount retval = new ScaledAmount();
 
 		// TODO: we should sum them without taxes grouped by tax% and
 		// multiply the sums with the tax% to be calculating
@@ -439,7 +472,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 			}
 		}
 
-		return retval;
+		return retval.toFixedPointNumber();
 	}
 
 	/**
@@ -456,7 +489,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 			 getType() != TYPE_JOB )
 			throw new WrongInvoiceTypeException();
 
-		FixedPointNumber retval = new FixedPointNumber();
+		ScaledAmount retval = new ScaledAmount();
 
 		for ( GnuCashGenerInvoiceEntry entry : getGenerEntries() ) {
 			if ( entry.getType() == getType() ) {
@@ -464,7 +497,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 			}
 		}
 
-		return retval;
+		return retval.toFixedPointNumber();
 	}
 
 	// ------------------------------
@@ -558,12 +591,12 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 	
 	private FixedPointNumber getVendBllAmountPaidWithTaxes_int() {
 
-		FixedPointNumber takenFromPayableAccount = new FixedPointNumber();
+		ScaledAmount takenFromPayableAccount = new ScaledAmount();
 		for ( GnuCashTransaction trx : getPayingTransactions() ) {
 			for ( GnuCashTransactionSplit split : trx.getSplits() ) {
 				if ( split.getAccount().getType() == GnuCashAccount.Type.PAYABLE ) {
-					if ( split.getValue().isPositive() ) {
-						takenFromPayableAccount.add(split.getValue());
+					if ( ScaledAmount.signumOfValue(split) > 0 ) {
+						takenFromPayableAccount.addValue(split);
 					}
 				}
 			} // split
@@ -571,7 +604,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 
 		// System.err.println("getBillAmountPaidWithTaxes="+takenFromPayableAccount.doubleValue());
 
-		return takenFromPayableAccount;
+		return takenFromPayableAccount.toFixedPointNumber();
 	}
 
 	@Override
@@ -580,7 +613,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 	}
 	
 	private FixedPointNumber getVendBllAmountPaidWithoutTaxes_int() {
-		FixedPointNumber retval = new FixedPointNumber();
+		ScaledAmount retval = new ScaledAmount();
 
 		for ( GnuCashGenerInvoiceEntry entry : getGenerEntries() ) {
 			if ( entry.getType() == getType() ) {
@@ -588,7 +621,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 			}
 		}
 
-		return retval;
+		return retval.toFixedPointNumber();
 	}
 
 	/**
@@ -601,7 +634,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 	
 	private FixedPointNumber getVendBllAmountWithTaxes_int() {
 
-		FixedPointNumber retval = new FixedPointNumber();
+		ScaledAmount retval = new ScaledAmount();
 
 		// TODO: we should sum them without taxes grouped by tax% and
 		// multiply the sums with the tax% to be calculating
@@ -613,7 +646,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 			}
 		}
 
-		return retval;
+		return retval.toFixedPointNumber();
 	}
 
 	/**
@@ -626,7 +659,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 	
 	private FixedPointNumber getVendBllAmountWithoutTaxes_int() {
 
-		FixedPointNumber retval = new FixedPointNumber();
+		ScaledAmount retval = new ScaledAmount();
 
 		for ( GnuCashGenerInvoiceEntry entry : getGenerEntries() ) {
 			if ( entry.getType() == getType() ) {
@@ -634,7 +667,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 			}
 		}
 
-		return retval;
+		return retval.toFixedPointNumber();
 	}
 
 	// ------------------------------
@@ -720,12 +753,12 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 	@Override
 	public FixedPointNumber getEmplVchAmountPaidWithTaxes() {
 
-		FixedPointNumber takenFromPayableAccount = new FixedPointNumber();
+		ScaledAmount takenFromPayableAccount = new ScaledAmount();
 		for ( GnuCashTransaction trx : getPayingTransactions() ) {
 			for ( GnuCashTransactionSplit split : trx.getSplits() ) {
 				if ( split.getAccount().getType() == GnuCashAccount.Type.PAYABLE ) {
-					if ( split.getValue().isPositive() ) {
-						takenFromPayableAccount.add(split.getValue());
+					if ( ScaledAmount.signumOfValue(split) > 0 ) {
+						takenFromPayableAccount.addValue(split);
 					}
 				}
 			} // split
@@ -733,12 +766,12 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 
 		// System.err.println("getVoucherAmountPaidWithTaxes="+takenFromPayableAccount.doubleValue());
 
-		return takenFromPayableAccount;
+		return takenFromPayableAccount.toFixedPointNumber();
 	}
 
 	@Override
 	public FixedPointNumber getEmplVchAmountPaidWithoutTaxes() {
-		FixedPointNumber retval = new FixedPointNumber();
+		ScaledAmount retval = new ScaledAmount();
 
 		for ( GnuCashGenerInvoiceEntry entry : getGenerEntries() ) {
 			if ( entry.getType() == getType() ) {
@@ -746,7 +779,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 			}
 		}
 
-		return retval;
+		return retval.toFixedPointNumber();
 	}
 
 	/**
@@ -755,7 +788,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 	@Override
 	public FixedPointNumber getEmplVchAmountWithTaxes() {
 
-		FixedPointNumber retval = new FixedPointNumber();
+		ScaledAmount retval = new ScaledAmount();
 
 		// TODO: we should sum them without taxes grouped by tax% and
 		// multiply the sums with the tax% to be calculating
@@ -767,7 +800,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 			}
 		}
 
-		return retval;
+		return retval.toFixedPointNumber();
 	}
 
 	/**
@@ -776,7 +809,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 	@Override
 	public FixedPointNumber getEmplVchAmountWithoutTaxes() {
 
-		FixedPointNumber retval = new FixedPointNumber();
+		ScaledAmount retval = new ScaledAmount();
 
 		for ( GnuCashGenerInvoiceEntry entry : getGenerEntries() ) {
 			if ( entry.getType() == getType() ) {
@@ -784,7 +817,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 			}
 		}
 
-		return retval;
+		return retval.toFixedPointNumber();
 	}
 
 	// ------------------------------
@@ -987,8 +1020,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 				for ( GCshTaxedSumImpl taxedSum2 : taxedSums ) {
 					GCshTaxedSumImpl taxedSum = taxedSum2;
 					if ( taxedSum.getTaxpercent().equals(taxPerc) ) {
-						taxedSum.setTaxsum(taxedSum.getTaxsum()
-								.add(entry.getCustInvcSumInclTaxes().subtract(entry.getCustInvcSumExclTaxes())));
+						taxedSum.addTaxsum(entry.getCustInvcSumInclTaxes().subtract(entry.getCustInvcSumExclTaxes()));
 						continue invoiceentries;
 					}
 				}
@@ -1026,8 +1058,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 				for ( GCshTaxedSumImpl taxedSum2 : taxedSums ) {
 					GCshTaxedSumImpl taxedSum = taxedSum2;
 					if ( taxedSum.getTaxpercent().equals(taxPerc) ) {
-						taxedSum.setTaxsum(taxedSum.getTaxsum()
-								.add(entry.getVendBllSumInclTaxes().subtract(entry.getVendBllSumExclTaxes())));
+						taxedSum.addTaxsum(entry.getVendBllSumInclTaxes().subtract(entry.getVendBllSumExclTaxes()));
 						continue invoiceentries;
 					}
 				}
@@ -1060,8 +1091,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 				for ( GCshTaxedSumImpl taxedSum2 : taxedSums ) {
 					GCshTaxedSumImpl taxedSum = taxedSum2;
 					if ( taxedSum.getTaxpercent().equals(taxPerc) ) {
-						taxedSum.setTaxsum(taxedSum.getTaxsum()
-								.add(entry.getEmplVchSumInclTaxes().subtract(entry.getEmplVchSumExclTaxes())));
+						taxedSum.addTaxsum(entry.getEmplVchSumInclTaxes().subtract(entry.getEmplVchSumExclTaxes()));
 						continue invoiceentries;
 					}
 				}
@@ -1101,14 +1131,14 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 	 * {@inheritDoc}
 	 */
 	public GCshID getID() {
-		return new GCshID(getJwsdpPeer().getInvoiceGuid().getValue());
+		return idCache.get(getJwsdpPeer().getInvoiceGuid().getValue());
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	public GCshOwner.Type getType() {
-		return GCshOwner.Type.valueOff(getTypeStr());
+		return typeCache.get(getTypeStr(), GCshOwner.Type::valueOff);
 	}
 
 	@Deprecated
@@ -1124,7 +1154,7 @@ public class GnuCashGenerInvoiceImpl extends GnuCashObjectImpl
 			return null; // unposted invoices have no postlot
 		}
 
-		return new GCshID(getJwsdpPeer().getInvoicePostlot().getValue());
+		return lotIDCache.get(getJwsdpPeer().getInvoicePostlot().getValue());
 	}
 
 	/**
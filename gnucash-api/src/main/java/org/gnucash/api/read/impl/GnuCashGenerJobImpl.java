@@ -7,10 +7,14 @@ import java.util.Locale;
 import org.gnucash.api.Const;
 import org.gnucash.api.generated.GncGncJob;
 import org.gnucash.api.generated.GncGncJob.JobOwner;
+import org.gnucash.api.read.GnuCashCustomer;
 import org.gnucash.api.read.GnuCashFile;
 import org.gnucash.api.read.GnuCashGenerJob;
+import org.gnucash.api.read.GnuCashVendor;
 import org.gnucash.api.read.aux.GCshOwner;
 import org.gnucash.api.read.impl.hlp.GnuCashObjectImpl;
+import org.gnucash.api.read.impl.hlp.PeerIDCache;
+import org.gnucash.api.read.impl.hlp.PeerLink;
 import org.gnucash.api.read.spec.GnuCashJobInvoice;
 import org.gnucash.base.basetypes.simple.GCshID;
 import org.slf4j.Logger;
@@ -31,6 +35,22 @@ public class GnuCashGenerJobImpl extends GnuCashObjectImpl
 	 */
 	protected final GncGncJob jwsdpPeer;
 
+	/**
+	 * the resolved ID of this object (cached)
+	 */
+	private final PeerIDCache idCache = new PeerIDCache();
+
+	/**
+	 * the resolved ID of the owner (cached)
+	 */
+	private final PeerIDCache ownerIDCache = new PeerIDCache();
+
+	/**
+	 * the owner of this job, depending on its type (direct references)
+	 */
+	private final PeerLink<GnuCashCustomer> custLink = new PeerLink<GnuCashCustomer>();
+	private final PeerLink<GnuCashVendor>   vendLink = new PeerLink<GnuCashVendor>();
+
 	/**
 	 * The currencyFormat to use for default-formating.<br/>
 	 * Please access only using {@link #getCurrencyFormat()}.
@@ -74,7 +94,7 @@ public class GnuCashGenerJobImpl extends GnuCashObjectImpl
 			throw new IllegalStateException("job has a null guid-value! guid-type=" + jwsdpPeer.getJobGuid().getType());
 		}
 
-		return new GCshID(guid);
+		return idCache.get(guid);
 	}
 
 	/**
@@ -142,7 +162,78 @@ public class GnuCashGenerJobImpl extends GnuCashObjectImpl
 	 */
 	public GCshID getOwnerID() {
 		assert jwsdpPeer.getJobOwner().getOwnerId().getType().equals(Const.XML_DATA_TYPE_GUID);
-		return new GCshID(jwsdpPeer.getJobOwner().getOwnerId().getValue());
+		return ownerIDCache.get(jwsdpPeer.getJobOwner().getOwnerId().getValue());
+	}
+
+	/**
+	 * @return the customer owning this job (via direct reference), 
+	 *         or null if it is not a customer job
+	 */
+	protected GnuCashCustomer getOwnerCustomer_int() {
+		if ( getOwnerType() != TYPE_CUSTOMER ) {
+			return null;
+		}
+
+		return custLink.get(jwsdpPeer.getJobOwner().getOwnerId().getValue(), getLinkModCount(),
+				            idStr -> getGnuCashFile().getCustomerByID(ownerIDCache.getShared(idStr)));
+	}
+
+	/**
+	 * @return the vendor owning this job (via direct reference), 
+	 *         or null if it is not a vendor job
+	 */
+	protected GnuCashVendor getOwnerVendor_int() {
+		if ( getOwnerType() != TYPE_VENDOR ) {
+			return null;
+		}
+
+		return vendLink.get(jwsdpPeer.getJobOwner().getOwnerId().getValue(), getLinkModCount(),
+				            idStr -> getGnuCashFile().getVendorByID(ownerIDCache.getShared(idStr)));
+	}
+
+	/**
+	 * For internal use only: Links this job directly to its owner
+	 * (called after loading the file, when all customers and vendors are known).
+	 */
+	public void linkOwner() {
+		custLink.unlink();
+		vendLink.unlink();
+		getOwnerCustomer_int();
+		getOwnerVendor_int();
+	}
+
+	/**
+	 * For internal use only: Links this job directly to its new owner
+	 * (to be called when the owner has been changed).
+	 * 
+	 * @param cust the customer now owning this job
+	 */
+	protected void linkOwner(final GnuCashCustomer cust) {
+		custLink.set(jwsdpPeer.getJobOwner().getOwnerId().getValue(), getLinkModCount(), cust);
+		vendLink.unlink();
+	}
+
+	/**
+	 * For internal use only: Links this job directly to its new owner
+	 * (to be called when the owner has been changed).
+	 * 
+	 * @param vend the vendor now owning this job
+	 */
+	protected void linkOwner(final GnuCashVendor vend) {
+		vendLink.set(jwsdpPeer.getJobOwner().getOwnerId().getValue(), getLinkModCount(), vend);
+		custLink.unlink();
+	}
+
+	/**
+	 * @param job the job to take over the links from (same peer)
+	 */
+	protected void copyOwnerLinks(final GnuCashGenerJobImpl job) {
+		custLink.copyFrom(job.custLink);
+		vendLink.copyFrom(job.vendLink);
+	}
+
+	private long getLinkModCount() {
+		return ((GnuCashFileImpl) getGnuCashFile()).getLinkModCount();
 	}
 
 	// ---------------------------------------------------------------
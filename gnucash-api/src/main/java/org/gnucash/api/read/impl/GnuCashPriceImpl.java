@@ -2,6 +2,7 @@ package org.gnucash.api.read.impl;
 
 import java.text.NumberFormat;
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Currency;
@@ -14,6 +15,8 @@ import org.gnucash.api.read.GnuCashCommodity;
 import org.gnucash.api.read.GnuCashFile;
 import org.gnucash.api.read.GnuCashPrice;
 import org.gnucash.api.read.impl.hlp.GnuCashObjectImpl;
+import org.gnucash.api.read.impl.hlp.PeerFieldCache;
+import org.gnucash.api.read.impl.hlp.PeerIDCache;
 import org.gnucash.base.basetypes.complex.GCshCmdtyCurrID;
 import org.gnucash.base.basetypes.complex.GCshCmdtyCurrNameSpace;
 import org.gnucash.base.basetypes.complex.GCshCmdtyID;
@@ -40,6 +43,17 @@ public class GnuCashPriceImpl extends GnuCashObjectImpl
 	 */
 	protected final Price jwsdpPeer;
 
+	/**
+	 * the resolved ID of this object (cached)
+	 */
+	private final PeerIDCache idCache = new PeerIDCache();
+
+	/**
+	 * the decoded value and type (cached)
+	 */
+	private final PeerFieldCache<FixedPointNumber> valueCache = new PeerFieldCache<FixedPointNumber>();
+	private final PeerFieldCache<Type>             typeCache = new PeerFieldCache<Type>();
+
 	protected ZonedDateTime dateTime;
 	protected NumberFormat currencyFormat = null;
 
@@ -72,7 +86,7 @@ public class GnuCashPriceImpl extends GnuCashObjectImpl
 		if ( jwsdpPeer.getPriceId() == null )
 			return null;
 
-		return new GCshID(jwsdpPeer.getPriceId().getValue());
+		return idCache.get(jwsdpPeer.getPriceId().getValue());
 	}
 
 	// ----------------------------
@@ -185,19 +199,31 @@ public class GnuCashPriceImpl extends GnuCashObjectImpl
 
 	@Override
 	public LocalDate getDate() {
+		ZonedDateTime result = getDateTime();
+		if ( result == null )
+			return null;
+
+		return result.toLocalDate();
+	}
+
+	/**
+	 * @return the time stamp of the price quote (if it only contains
+	 *         a date: the start of that day in the default time zone)
+	 */
+	public ZonedDateTime getDateTime() {
 		if ( jwsdpPeer.getPriceTime() == null )
 			return null;
 
 		String dateStr = jwsdpPeer.getPriceTime().getTsDate();
 		try {
-			return ZonedDateTime.parse(dateStr, DATE_FORMAT).toLocalDate();
+			return ZonedDateTime.parse(dateStr, DATE_FORMAT);
 		} catch (Exception e) {
 			LOGGER.error("unparsable date '" + dateStr + "' (1st try)!");
 //	    IllegalStateException ex = new IllegalStateException("unparsable date '" + dateStr + "' (1st try)!");
 //	    ex.initCause(e);
 //	    throw ex;
 			try {
-				return LocalDate.parse(dateStr, DATE_FORMAT_FALLBACK);
+				return LocalDate.parse(dateStr, DATE_FORMAT_FALLBACK).atStartOfDay(ZoneId.systemDefault());
 			} catch (Exception e2) {
 				LOGGER.error("unparsable date '" + dateStr + "' (2nd try)!");
 				IllegalStateException ex2 = new IllegalStateException("unparsable date '" + dateStr + "' (2nd try)!");
@@ -221,7 +247,7 @@ public class GnuCashPriceImpl extends GnuCashObjectImpl
 
 	@Override
 	public Type getType() {
-		return Type.valueOff(getTypeStr());
+		return typeCache.get(getTypeStr(), Type::valueOff);
 	}
 
 	public String getTypeStr() {
@@ -236,7 +262,8 @@ public class GnuCashPriceImpl extends GnuCashObjectImpl
 		if ( jwsdpPeer.getPriceValue() == null )
 			return null;
 
-		return new FixedPointNumber(jwsdpPeer.getPriceValue());
+		// sic, copy: FixedPointNumber is mutable
+		return valueCache.get(jwsdpPeer.getPriceValue(), FixedPointNumber::new).copy();
 	}
 
 	@Override
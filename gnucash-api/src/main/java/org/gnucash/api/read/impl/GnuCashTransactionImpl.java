@@ -5,14 +5,13 @@ import java.text.NumberFormat;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
 import org.gnucash.api.Const;
 import org.gnucash.api.generated.GncTransaction;
-import org.gnucash.api.generated.ObjectFactory;
 import org.gnucash.api.generated.Slot;
-import org.gnucash.api.generated.SlotValue;
 import org.gnucash.api.generated.SlotsType;
 import org.gnucash.api.read.GnuCashFile;
 import org.gnucash.api.read.GnuCashGenerInvoice;
@@ -20,6 +19,10 @@ import org.gnucash.api.read.GnuCashTransaction;
 import org.gnucash.api.read.GnuCashTransactionSplit;
 import org.gnucash.api.read.impl.hlp.GnuCashObjectImpl;
 import org.gnucash.api.read.impl.hlp.HasUserDefinedAttributesImpl;
+import org.gnucash.api.read.impl.hlp.PeerIDCache;
+import org.gnucash.api.read.impl.hlp.ScaledAmount;
+import org.gnucash.api.read.impl.hlp.SlotTree;
+import org.gnucash.api.read.impl.hlp.SlotTreeCache;
 import org.gnucash.base.basetypes.complex.GCshCmdtyCurrID;
 import org.gnucash.base.basetypes.complex.GCshCurrID;
 import org.gnucash.base.basetypes.simple.GCshID;
@@ -47,6 +50,33 @@ public class GnuCashTransactionImpl extends GnuCashObjectImpl
      */
     protected final GncTransaction jwsdpPeer;
 
+    /**
+     * the decoded slots (user-defined attributes, cached)
+     */
+    private final SlotTreeCache slotTreeCache = new SlotTreeCache();
+
+    /**
+     * the resolved ID of this object (cached)
+     */
+    private final PeerIDCache idCache = new PeerIDCache();
+
+    /**
+     * the IDs of the invoices this transaction belongs to (decoded 
+     * from the slots, cached), the slots they have been decoded from
+     * and the number of slots at that time
+     */
+    private List<GCshID> invcIDs = null;
+    private SlotsType    invcIDsSlots = null;
+    private int          invcIDsSlotCnt = -1;
+
+    /**
+     * the invoices this transaction belongs to (direct references)
+     * and the file's modification counter for direct references
+     * at the time they have been resolved
+     */
+    private List<GnuCashGenerInvoice> invcLinks = null;
+    private long                      invcLinksModCount = -1;
+
     /**
      * The Currency-Format to use if no locale is given.
      */
@@ -143,7 +173,7 @@ public class GnuCashTransactionImpl extends GnuCashObjectImpl
      */
     public boolean isBalanced() {
 
-	return getBalance().equals(new FixedPointNumber());
+	return getBalance_int().isZero();
 
     }
 
@@ -164,14 +194,18 @@ public class GnuCashTransactionImpl extends GnuCashObjectImpl
      * @see GnuCashTransaction#getBalance()
      */
     public FixedPointNumber getBalance() {
+	return getBalance_int().toFixedPointNumber();
+    }
+
+    private ScaledAmount getBalance_int() {
 
-	FixedPointNumber fp = new FixedPointNumber();
+	ScaledAmount sum = new ScaledAmount();
 
 	for (GnuCashTransactionSplit split : getSplits()) {
-	    fp.add(split.getValue());
+	    sum.addValue(split);
 	}
 
-	return fp;
+	return sum;
     }
 
     /**
@@ -239,7 +273,7 @@ public class GnuCashTransactionImpl extends GnuCashObjectImpl
      * @see GnuCashTransaction#getID()
      */
     public GCshID getID() {
-	return new GCshID( jwsdpPeer.getTrnId().getValue() );
+	return idCache.get( jwsdpPeer.getTrnId().getValue() );
     }
 
     /**
@@ -247,21 +281,36 @@ public class GnuCashTransactionImpl extends GnuCashObjectImpl
      *         transaction belonging to handing out the invoice)
      */
     public List<GnuCashGenerInvoice> getInvoices() {
-    	List<GCshID> invoiceIDs = getInvoiceIDs();
-	List<GnuCashGenerInvoice> retval = new ArrayList<GnuCashGenerInvoice>();
+	long modCount = ((GnuCashFileImpl) getGnuCashFile()).getLinkModCount();
+	List<GnuCashGenerInvoice> retval = invcLinks;
+	if ( retval != null &&
+	     invcLinksModCount == modCount &&
+	     isInvoiceSlotsUnchanged() ) {
+	    return retval;
+	}
 
-	for (GCshID invoiceID : invoiceIDs) {
+	boolean complete = true;
+	retval = new ArrayList<GnuCashGenerInvoice>();
+	for (GCshID invoiceID : getInvoiceIDs_int()) {
 
 	    GnuCashGenerInvoice invoice = getGnuCashFile().getGenerInvoiceByID(invoiceID);
 	    if (invoice == null) {
 		LOGGER.error("No invoice with id='" + invoiceID + "' for transaction '" + getID() + 
 			     "' description '" + getDescription() + "'");
+		complete = false;
 	    } else {
 		retval.add(invoice);
 	    }
 
 	}
 
+	retval = Collections.unmodifiableList(retval);
+	if ( complete ) {
+	    // else: look up again next time
+	    invcLinksModCount = modCount;
+	    invcLinks = retval;
+	}
+
 	return retval;
     }
 
@@ -270,41 +319,81 @@ public class GnuCashTransactionImpl extends GnuCashObjectImpl
      *         transaction belonging to handing out the invoice)
      */
     public List<GCshID> getInvoiceIDs() {
+	ArrayList<GCshID> retval = new ArrayList<GCshID>();
+	// The cached IDs are shared, so hand out copies
+	for ( GCshID invcID : getInvoiceIDs_int() ) {
+	    retval.add(new GCshID(invcID));
+	}
+	return retval;
+    }
+
+    private List<GCshID> getInvoiceIDs_int() {
+	if ( invcIDs != null &&
+	     isInvoiceSlotsUnchanged() ) {
+	    return invcIDs;
+	}
 
 	List<GCshID> retval = new ArrayList<GCshID>();
 
 	SlotsType slots = jwsdpPeer.getTrnSlots();
-	if (slots == null) {
-	    return retval;
+	if (slots != null) {
+	    for (Slot slot : (List<Slot>) slots.getSlot()) {
+		if ( ! slot.getSlotKey().equals(Const.SLOT_KEY_INVC_TYPE) ||
+		     ! Const.XML_DATA_TYPE_FRAME.equals(slot.getSlotValue().getType()) ) {
+		    continue;
+		}
+
+		for (Object obj : slot.getSlotValue().getContent()) {
+		    if ( ! ( obj instanceof Slot ) ) {
+			continue;
+		    }
+
+		    Slot subSlot = (Slot) obj;
+		    if ( ! subSlot.getSlotKey().equals(Const.SLOT_KEY_INVC_GUID) ||
+			 ! Const.XML_DATA_TYPE_GUID.equals(subSlot.getSlotValue().getType()) ||
+			 subSlot.getSlotValue().getContent().isEmpty() ||
+			 ! ( subSlot.getSlotValue().getContent().get(0) instanceof String ) ) {
+			continue;
+		    }
+
+		    retval.add(GCshID.intern((String) subSlot.getSlotValue().getContent().get(0)));
+		}
+	    }
 	}
 
-	for (Slot slot : (List<Slot>) slots.getSlot()) {
-	    if (!slot.getSlotKey().equals(Const.SLOT_KEY_INVC_TYPE)) {
-		continue;
-	    }
+	invcIDs = Collections.unmodifiableList(retval);
+	invcIDsSlots = slots;
+	invcIDsSlotCnt = ( slots == null ) ? 0 : slots.getSlot().size();
+	invcLinks = null;
 
-	    SlotValue slotVal = slot.getSlotValue();
-
-	    ObjectFactory objectFactory = new ObjectFactory();
-	    Slot subSlot = objectFactory.createSlot();
-	    subSlot.setSlotKey(slot.getSlotKey());
-	    SlotValue subSlotVal = objectFactory.createSlotValue();
-	    subSlotVal.setType(Const.XML_DATA_TYPE_STRING);
-	    subSlotVal.getContent().add(slotVal.getContent().get(0));
-	    subSlot.setSlotValue(subSlotVal);
-	    if (!subSlot.getSlotKey().equals("invoice-guid")) {
-		continue;
-	    }
+	return invcIDs;
+    }
 
-	    if (!subSlot.getSlotValue().getType().equals(Const.XML_DATA_TYPE_GUID)) {
-		continue;
-	    }
+    /**
+     * @return false if slots have been added to/removed from the peer since
+     *         the invoice IDs have been decoded
+     */
+    private boolean isInvoiceSlotsUnchanged() {
+	SlotsType slots = jwsdpPeer.getTrnSlots();
+	// sic, identity
+	return slots == invcIDsSlots &&
+	       ( slots == null ? 0 : slots.getSlot().size() ) == invcIDsSlotCnt;
+    }
 
-	    retval.add(new GCshID( (String) subSlot.getSlotValue().getContent().get(0) ));
+    /**
+     * For internal use only: (Re-)links this transaction directly to the 
+     * invoices it belongs to, and its splits to their accounts (called 
+     * after loading the file, when all objects are known).
+     */
+    public void linkObjects() {
+	invcLinks = null;
+	getInvoices();
 
+	for ( GnuCashTransactionSplit splt : getSplits() ) {
+	    if ( splt instanceof GnuCashTransactionSplitImpl ) {
+		((GnuCashTransactionSplitImpl) splt).linkAccount(getGnuCashFile().getAccountByID(splt.getAccountID()));
+	    }
 	}
-
-	return retval;
     }
 
     /**
@@ -481,6 +570,15 @@ public class GnuCashTransactionImpl extends GnuCashObjectImpl
 	return datePosted;
     }
 
+    /**
+     * For internal use only: To be called when the date posted has been
+     * changed via another facade of the same transaction (it is parsed
+     * from the shared JWSDP peer again on next access).
+     */
+    public void invalidateDatePosted() {
+	datePosted = null;
+    }
+
 	// -----------------------------------------------------------
     
     @Override
@@ -493,13 +591,21 @@ public class GnuCashTransactionImpl extends GnuCashObjectImpl
 	@Override
 	public String getUserDefinedAttribute(String name) {
 		return HasUserDefinedAttributesImpl
-				.getUserDefinedAttributeCore(jwsdpPeer.getTrnSlots(), name);
+				.getUserDefinedAttributeCore(getUserDefinedAttributeTree(), name);
 	}
 
 	@Override
 	public List<String> getUserDefinedAttributeKeys() {
 		return HasUserDefinedAttributesImpl
-				.getUserDefinedAttributeKeysCore(jwsdpPeer.getTrnSlots());
+				.getUserDefinedAttributeKeysCore(getUserDefinedAttributeTree());
+	}
+
+	/**
+	 * @return the decoded slots (cached), or null if there are none
+	 */
+	@SuppressWarnings("exports")
+	public SlotTree getUserDefinedAttributeTree() {
+		return slotTreeCache.get(jwsdpPeer.getTrnSlots(), ((GnuCashFileImpl) getGnuCashFile()).getSlotModCount());
 	}
 
 	// -----------------------------------------------------------
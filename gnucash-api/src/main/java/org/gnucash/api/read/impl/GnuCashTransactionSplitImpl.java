@@ -12,6 +12,11 @@ import org.gnucash.api.read.GnuCashTransaction;
 import org.gnucash.api.read.GnuCashTransactionSplit;
 import org.gnucash.api.read.impl.hlp.GnuCashObjectImpl;
 import org.gnucash.api.read.impl.hlp.HasUserDefinedAttributesImpl;
+import org.gnucash.api.read.impl.hlp.PeerFieldCache;
+import org.gnucash.api.read.impl.hlp.PeerIDCache;
+import org.gnucash.api.read.impl.hlp.PeerLink;
+import org.gnucash.api.read.impl.hlp.SlotTree;
+import org.gnucash.api.read.impl.hlp.SlotTreeCache;
 import org.gnucash.base.basetypes.complex.GCshCmdtyCurrID;
 import org.gnucash.base.basetypes.complex.GCshCurrID;
 import org.gnucash.base.basetypes.simple.GCshID;
@@ -36,6 +41,38 @@ public class GnuCashTransactionSplitImpl extends GnuCashObjectImpl
      */
     protected final GncTransaction.TrnSplits.TrnSplit jwsdpPeer;
 
+    /**
+     * the decoded slots (user-defined attributes, cached)
+     */
+    private final SlotTreeCache slotTreeCache = new SlotTreeCache();
+
+    /**
+     * the resolved ID of this object (cached)
+     */
+    private final PeerIDCache idCache = new PeerIDCache();
+
+    /**
+     * the resolved ID of the lot (cached)
+     */
+    private final PeerIDCache lotIDCache = new PeerIDCache();
+
+    /**
+     * the resolved ID of the account (cached)
+     */
+    private final PeerIDCache acctIDCache = new PeerIDCache();
+
+    /**
+     * the account this split belongs to (direct reference)
+     */
+    private final PeerLink<GnuCashAccount> acctLink = new PeerLink<GnuCashAccount>();
+
+    /**
+     * the decoded value, quantity and action (cached)
+     */
+    private final PeerFieldCache<FixedPointNumber> valueCache = new PeerFieldCache<FixedPointNumber>();
+    private final PeerFieldCache<FixedPointNumber> quantityCache = new PeerFieldCache<FixedPointNumber>();
+    private final PeerFieldCache<Action>           actionCache = new PeerFieldCache<Action>();
+
     /**
      * the transaction this split belongs to.
      */
@@ -59,32 +96,51 @@ public class GnuCashTransactionSplitImpl extends GnuCashObjectImpl
 	myTransaction = trx;
 
 	if ( addSpltToAcct ) {
-	    GnuCashAccount acct = getAccount();
-	    if (acct == null) {
-	    	LOGGER.error("No such Account id='" + getAccountID() + "' for Transactions-Split with id '" + getID()
-	    		+ "' description '" + getDescription() + "' in transaction with id '" + getTransaction().getID()
-	    		+ "' description '" + getTransaction().getDescription() + "'");
-	    } else {
-	    	acct.addTransactionSplit(this);
-	    }
+	    addToAccount();
 	}
 
 	if ( addSpltToInvc ) {
-	    GCshID lot = getLotID();
-	    if ( lot != null ) {
-		for ( GnuCashGenerInvoice invc : getTransaction().getGnuCashFile().getGenerInvoices() ) {
-		    GCshID lotID = invc.getLotID();
-		    if ( lotID != null && 
-			 lotID.equals(lot) ) {
-			// Check if it's a payment transaction.
-			// If so, add it to the invoice's list of payment transactions.
-			if ( getAction() == Action.PAYMENT ) {
-			    invc.addPayingTransaction(this);
-			}
-		    }
-		} // for invc
-	    } // lot
-	} // addSpltToInvc
+	    addToInvoices();
+	}
+    }
+
+    // ---------------------------------------------------------------
+
+    /**
+     * Internal method: Registers this split with its account.
+     * <br>
+     * Normally called by the constructor, separated out for
+     * the benefit of the file's transaction manager.
+     */
+    public void addToAccount() {
+	GnuCashAccount acct = getAccount();
+	if (acct == null) {
+	    LOGGER.error("No such Account id='" + getAccountID() + "' for Transactions-Split with id '" + getID()
+	    	+ "' description '" + getDescription() + "' in transaction with id '" + getTransaction().getID()
+	    	+ "' description '" + getTransaction().getDescription() + "'");
+	} else {
+	    acct.addTransactionSplit(this);
+	}
+    }
+
+    /**
+     * Internal method: Registers this split as a payment with the 
+     * invoice(s) it belongs to (via its lot), if any.
+     * <br>
+     * Normally called by the constructor, separated out for
+     * the benefit of the file's transaction manager.
+     */
+    public void addToInvoices() {
+	GCshID lot = getLotID();
+	if ( lot != null ) {
+	    for ( GnuCashGenerInvoice invc : getTransaction().getGnuCashFile().getGenerInvoicesByLotID(lot) ) {
+		// Check if it's a payment transaction.
+		// If so, add it to the invoice's list of payment transactions.
+		if ( getAction() == Action.PAYMENT ) {
+		    invc.addPayingTransaction(this);
+		}
+	    } // for invc
+	} // lot
     }
 
     // ---------------------------------------------------------------
@@ -103,7 +159,7 @@ public class GnuCashTransactionSplitImpl extends GnuCashObjectImpl
      * @see GnuCashTransactionSplit#getID()
      */
     public GCshID getID() {
-	return new GCshID( jwsdpPeer.getSplitId().getValue() );
+	return idCache.get( jwsdpPeer.getSplitId().getValue() );
     }
 
     /**
@@ -115,7 +171,7 @@ public class GnuCashTransactionSplitImpl extends GnuCashObjectImpl
 	    return null;
 	}
 
-	return new GCshID( getJwsdpPeer().getSplitLot().getValue() );
+	return lotIDCache.get( getJwsdpPeer().getSplitLot().getValue() );
 
     }
 
@@ -126,7 +182,7 @@ public class GnuCashTransactionSplitImpl extends GnuCashObjectImpl
     @Override
     public Action getAction() {
     	try {
-    		return Action.valueOff( getActionStr() );
+    		return actionCache.get( getActionStr(), Action::valueOff );
     	} catch (Exception e) {
     		throw new MappingException("Could not map string '" + getActionStr() + "' to Action enum");
     	}
@@ -150,14 +206,29 @@ public class GnuCashTransactionSplitImpl extends GnuCashObjectImpl
     	assert jwsdpPeer.getSplitAccount().getType().equals(Const.XML_DATA_TYPE_GUID);
     	String acctID = jwsdpPeer.getSplitAccount().getValue();
     	assert acctID != null;
-    	return new GCshID(acctID);
+    	return acctIDCache.get(acctID);
     }
 
     /**
      * @see GnuCashTransactionSplit#getAccount()
      */
     public GnuCashAccount getAccount() {
-    	return myTransaction.getGnuCashFile().getAccountByID(getAccountID());
+    	return acctLink.get(jwsdpPeer.getSplitAccount().getValue(), getLinkModCount(),
+    			            idStr -> myTransaction.getGnuCashFile().getAccountByID(acctIDCache.getShared(idStr)));
+    }
+
+    /**
+     * For internal use only: Links this split directly to its account
+     * (to be called when the account has been changed).
+     * 
+     * @param acct the account the split now belongs to
+     */
+    protected void linkAccount(final GnuCashAccount acct) {
+    	acctLink.set(jwsdpPeer.getSplitAccount().getValue(), getLinkModCount(), acct);
+    }
+
+    private long getLinkModCount() {
+    	return ((GnuCashFileImpl) myTransaction.getGnuCashFile()).getLinkModCount();
     }
 
     /**
@@ -178,7 +249,8 @@ public class GnuCashTransactionSplitImpl extends GnuCashObjectImpl
      * @see GnuCashTransactionSplit#getValue()
      */
     public FixedPointNumber getValue() {
-    	return new FixedPointNumber(jwsdpPeer.getSplitValue());
+    	// sic, copy: FixedPointNumber is mutable
+    	return valueCache.get(jwsdpPeer.getSplitValue(), FixedPointNumber::new).copy();
     }
 
     /**
@@ -264,7 +336,8 @@ public class GnuCashTransactionSplitImpl extends GnuCashObjectImpl
      * @see GnuCashTransactionSplit#getQuantity()
      */
     public FixedPointNumber getQuantity() {
-	return new FixedPointNumber(jwsdpPeer.getSplitQuantity());
+	// sic, copy: FixedPointNumber is mutable
+	return quantityCache.get(jwsdpPeer.getSplitQuantity(), FixedPointNumber::new).copy();
     }
 
     /**
@@ -329,13 +402,21 @@ public class GnuCashTransactionSplitImpl extends GnuCashObjectImpl
 	@Override
 	public String getUserDefinedAttribute(String name) {
 		return HasUserDefinedAttributesImpl
-					.getUserDefinedAttributeCore(jwsdpPeer.getSplitSlots(), name);
+					.getUserDefinedAttributeCore(getUserDefinedAttributeTree(), name);
 	}
 
 	@Override
 	public List<String> getUserDefinedAttributeKeys() {
 		return HasUserDefinedAttributesImpl
-					.getUserDefinedAttributeKeysCore(jwsdpPeer.getSplitSlots());
+					.getUserDefinedAttributeKeysCore(getUserDefinedAttributeTree());
+	}
+
+	/**
+	 * @return the decoded slots (cached), or null if there are none
+	 */
+	@SuppressWarnings("exports")
+	public SlotTree getUserDefinedAttributeTree() {
+		return slotTreeCache.get(jwsdpPeer.getSplitSlots(), ((GnuCashFileImpl) myTransaction.getGnuCashFile()).getSlotModCount());
 	}
 
     // ---------------------------------------------------------------
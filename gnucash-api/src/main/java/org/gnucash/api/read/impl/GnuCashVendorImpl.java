@@ -16,6 +16,9 @@ import org.gnucash.api.read.aux.GCshTaxTable;
 import org.gnucash.api.read.impl.aux.GCshAddressImpl;
 import org.gnucash.api.read.impl.hlp.GnuCashObjectImpl;
 import org.gnucash.api.read.impl.hlp.HasUserDefinedAttributesImpl;
+import org.gnucash.api.read.impl.hlp.PeerIDCache;
+import org.gnucash.api.read.impl.hlp.SlotTree;
+import org.gnucash.api.read.impl.hlp.SlotTreeCache;
 import org.gnucash.api.read.impl.spec.GnuCashVendorJobImpl;
 import org.gnucash.api.read.spec.GnuCashJobInvoice;
 import org.gnucash.api.read.spec.GnuCashVendorBill;
@@ -38,6 +41,16 @@ public class GnuCashVendorImpl extends GnuCashObjectImpl
      */
     protected final GncGncVendor jwsdpPeer;
 
+    /**
+     * the decoded slots (user-defined attributes, cached)
+     */
+    private final SlotTreeCache slotTreeCache = new SlotTreeCache();
+
+    /**
+     * the resolved ID of this object (cached)
+     */
+    private final PeerIDCache idCache = new PeerIDCache();
+
     /**
      * The currencyFormat to use for default-formating.<br/>
      * Please access only using {@link #getCurrencyFormat()}.
@@ -79,7 +92,7 @@ public class GnuCashVendorImpl extends GnuCashObjectImpl
      * {@inheritDoc}
      */
     public GCshID getID() {
-	return new GCshID(jwsdpPeer.getVendorGuid().getValue());
+	return idCache.get(jwsdpPeer.getVendorGuid().getValue());
     }
 
     /**
@@ -396,13 +409,21 @@ public class GnuCashVendorImpl extends GnuCashObjectImpl
 	@Override
 	public String getUserDefinedAttribute(String name) {
 		return HasUserDefinedAttributesImpl
-					.getUserDefinedAttributeCore(jwsdpPeer.getVendorSlots(), name);
+					.getUserDefinedAttributeCore(getUserDefinedAttributeTree(), name);
 	}
 
 	@Override
 	public List<String> getUserDefinedAttributeKeys() {
 		return HasUserDefinedAttributesImpl
-					.getUserDefinedAttributeKeysCore(jwsdpPeer.getVendorSlots());
+					.getUserDefinedAttributeKeysCore(getUserDefinedAttributeTree());
+	}
+
+	/**
+	 * @return the decoded slots (cached), or null if there are none
+	 */
+	@SuppressWarnings("exports")
+	public SlotTree getUserDefinedAttributeTree() {
+		return slotTreeCache.get(jwsdpPeer.getVendorSlots(), ((GnuCashFileImpl) getGnuCashFile()).getSlotModCount());
 	}
 
     // ------------------------------------------------------------
@@ -81,4 +81,16 @@ public class GCshTaxedSumImpl {
     public void setTaxsum(final FixedPointNumber pTaxsum) {
 	taxsum = pTaxsum;
     }
+
+    /**
+     *
+     * @param pTaxsum Paid taxes to add to the sum (in place).
+     */
+    public void addTaxsum(final FixedPointNumber pTaxsum) {
+	if ( taxsum == null ) {
+	    taxsum = pTaxsum.copy();
+	} else {
+	    taxsum = taxsum.add(pTaxsum);
+	}
+    }
 }
@@ -0,0 +1,190 @@
+package org.gnucash.api.read.impl.hlp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.gnucash.api.read.GnuCashAccount;
+import org.gnucash.base.basetypes.simple.GCshID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The account hierarchy of a GnuCash file.
+ * <br>
+ * For each account, keeps its child accounts (sorted by their natural order,
+ * i.e. by qualified name), its depth in the tree and its qualified name.
+ * Parentless accounts (i.e., typically the root account) are stored under
+ * the parent ID <code>null</code>.
+ * <br>
+ * The index is built lazily on the first read access and has to be
+ * invalidated whenever an account is added or removed, or when the
+ * name or the parent of an account changes.
+ */
+public class AccountHierarchyIndex {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AccountHierarchyIndex.class);
+
+	// ---------------------------------------------------------------
+
+	private final Map<GCshID, GnuCashAccount> acctMap;
+
+	private Map<GCshID, List<GnuCashAccount>> childMap = null;
+	private Map<GCshID, Integer>              depthMap = null;
+	private Map<GCshID, String>               qualifNameMap = null;
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param acctMap the accounts to index (will not be modified)
+	 */
+	public AccountHierarchyIndex(final Map<GCshID, GnuCashAccount> acctMap) {
+		if ( acctMap == null ) {
+			throw new IllegalArgumentException("null account map given");
+		}
+
+		this.acctMap = acctMap;
+	}
+
+	// ---------------------------------------------------------------
+
+	public synchronized void invalidate() {
+		childMap = null;
+		depthMap = null;
+		qualifNameMap = null;
+	}
+
+	public synchronized boolean isBuilt() {
+		return childMap != null;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param prntAcctID ID of the parent account (null for parentless accounts)
+	 * @return the child accounts, sorted by their natural order (unmodifiable)
+	 */
+	public synchronized List<GnuCashAccount> getChildren(final GCshID prntAcctID) {
+		buildIfNecessary();
+
+		List<GnuCashAccount> result = childMap.get(prntAcctID);
+		if ( result == null ) {
+			return Collections.emptyList();
+		}
+
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * @param acctID ID of the account
+	 * @return the number of ancestors of the account (0 for parentless accounts),
+	 *         or -1 if there is no such account
+	 */
+	public synchronized int getDepth(final GCshID acctID) {
+		buildIfNecessary();
+
+		Integer result = depthMap.get(acctID);
+		if ( result == null ) {
+			return -1;
+		}
+
+		return result;
+	}
+
+	/**
+	 * @param acctID ID of the account
+	 * @return the qualified name of the account, or null if there is no such account
+	 */
+	public synchronized String getQualifiedName(final GCshID acctID) {
+		buildIfNecessary();
+
+		return qualifNameMap.get(acctID);
+	}
+
+	// ---------------------------------------------------------------
+
+	private void buildIfNecessary() {
+		if ( childMap != null ) {
+			return;
+		}
+
+		long start = System.currentTimeMillis();
+
+		Map<GCshID, List<GnuCashAccount>> newChildMap = new HashMap<GCshID, List<GnuCashAccount>>();
+		Map<GCshID, Integer>              newDepthMap = new HashMap<GCshID, Integer>();
+		Map<GCshID, String>               newQualifNameMap = new HashMap<GCshID, String>();
+
+		for ( GnuCashAccount acct : acctMap.values() ) {
+			GCshID prntID = acct.getParentAccountID();
+			if ( prntID != null &&
+				 ! prntID.isSet() ) {
+				prntID = null;
+			}
+
+			List<GnuCashAccount> children = newChildMap.get(prntID);
+			if ( children == null ) {
+				children = new ArrayList<GnuCashAccount>();
+				newChildMap.put(prntID, children);
+			}
+			children.add(acct);
+
+			computeEntry(acct, newDepthMap, newQualifNameMap, new HashSet<GCshID>());
+		}
+
+		// Same order as SimpleAccount.compareTo(), but without
+		// looking up the qualified names again and again
+		Comparator<GnuCashAccount> cmp = Comparator
+				.comparing((GnuCashAccount acct) -> newQualifNameMap.get(acct.getID()))
+				.thenComparing(acct -> acct.getID().toString());
+		for ( List<GnuCashAccount> children : newChildMap.values() ) {
+			children.sort(cmp);
+		}
+
+		childMap = newChildMap;
+		depthMap = newDepthMap;
+		qualifNameMap = newQualifNameMap;
+
+		long end = System.currentTimeMillis();
+		LOGGER.debug("buildIfNecessary: Built account hierarchy index for " + acctMap.size() + " accounts in "
+				+ (end - start) + " ms");
+	}
+
+	private void computeEntry(final GnuCashAccount acct,
+							  final Map<GCshID, Integer> newDepthMap,
+							  final Map<GCshID, String> newQualifNameMap,
+							  final Set<GCshID> visiting) {
+		GCshID acctID = acct.getID();
+		if ( newQualifNameMap.containsKey(acctID) ) {
+			return;
+		}
+
+		GCshID prntID = acct.getParentAccountID();
+		if ( prntID == null ||
+			 ! prntID.isSet() ) {
+			newDepthMap.put(acctID, 0);
+			newQualifNameMap.put(acctID, acct.getName());
+			return;
+		}
+
+		GnuCashAccount prntAcct = acctMap.get(prntID);
+		if ( prntAcct == null ||
+			 ! visiting.add(acctID) ) {
+			if ( prntAcct != null ) {
+				LOGGER.error("computeEntry: Cycle in account hierarchy at account " + acctID);
+			}
+			newDepthMap.put(acctID, 1);
+			newQualifNameMap.put(acctID, "UNKNOWN" + GnuCashAccount.SEPARATOR + acct.getName());
+			return;
+		}
+
+		computeEntry(prntAcct, newDepthMap, newQualifNameMap, visiting);
+		newDepthMap.put(acctID, newDepthMap.get(prntID) + 1);
+		newQualifNameMap.put(acctID, newQualifNameMap.get(prntID) + GnuCashAccount.SEPARATOR + acct.getName());
+	}
+
+}
@@ -0,0 +1,445 @@
+package org.gnucash.api.read.impl.hlp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.gnucash.api.read.GnuCashTransaction;
+import org.gnucash.api.read.GnuCashTransactionSplit;
+import org.gnucash.base.basetypes.simple.GCshID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import xyz.schnorxoborx.base.numbers.FixedPointNumber;
+
+/**
+ * The transaction splits of one account.
+ * <br>
+ * Keeps the splits both in a hash map (by split ID) and in a list
+ * that is sorted by the natural order of the splits (i.e., by
+ * the date posted of their transactions, ascending). Thus, look-ups
+ * by ID and duplicate checks on insertion are O(1), and searching
+ * for a date can be done by binary search.
+ * <br>
+ * Splits are appended; the list is only re-sorted (lazily, on the next
+ * read access) if a split has been appended out of order. As splits
+ * are typically added in date order, this is rarely the case.
+ * <br>
+ * Additionally, keeps the running balances (i.e., the prefix sums of the
+ * split quantities) aligned with the sorted list, so that the balance
+ * as of a date or after a given split can be looked up by binary search.
+ * The running balances are computed lazily and, on insertion and removal,
+ * only discarded from the position of the split in question onwards.
+ * They are kept as primitive longs scaled by a common denominator
+ * (cf. {@link ScaledAmount}), so that extending them does not allocate
+ * anything; only if they do not fit into longs, BigDecimals are used.
+ * <br>
+ * Finally, keeps the splits' transactions in a {@link TransactionDateIndex}
+ * for date-range queries. It is built lazily from the sorted list
+ * and discarded on every change.
+ * <br>
+ * Not thread-safe.
+ */
+public class AccountSplitStore {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AccountSplitStore.class);
+
+	// ---------------------------------------------------------------
+
+	private final Map<GCshID, GnuCashTransactionSplit> spltMap  = new HashMap<GCshID, GnuCashTransactionSplit>();
+	private final List<GnuCashTransactionSplit>        spltList = new ArrayList<GnuCashTransactionSplit>();
+
+	/**
+	 * Number of leading elements of {@link #spltList} that are known
+	 * to be sorted. If splits have been appended out of order, 
+	 * it is smaller than the list size, and the list will be sorted 
+	 * on the next read access.
+	 */
+	private int sortedCount = 0;
+
+	/**
+	 * The running balances: Element i (i < {@link #balCount}) divided
+	 * by {@link #balFraction} is the sum of the quantities of the splits 
+	 * 0..i in {@link #spltList}. May be shorter than the split list 
+	 * (it is extended lazily).
+	 */
+	private long[] balUnits    = new long[16];
+	private int    balCount    = 0;
+	private long   balFraction = 1;
+
+	/**
+	 * The running balances, if they do not fit into {@link #balUnits}
+	 * (else null).
+	 */
+	private List<BigDecimal> balBigList = null;
+
+	private final ScaledAmount balAcc = new ScaledAmount();
+
+	private final TransactionDateIndex trxDateIdx = new TransactionDateIndex();
+	private boolean                    trxDateIdxValid = false;
+
+	// ---------------------------------------------------------------
+
+	public AccountSplitStore() {
+	}
+
+	// ---------------------------------------------------------------
+
+	public int size() {
+		return spltList.size();
+	}
+
+	public boolean isEmpty() {
+		return spltList.isEmpty();
+	}
+
+	public boolean contains(final GCshID spltID) {
+		return spltMap.containsKey(spltID);
+	}
+
+	/**
+	 * @param spltID the ID of the split to look for
+	 * @return the split with the given ID or null if there is none
+	 */
+	public GnuCashTransactionSplit get(final GCshID spltID) {
+		return spltMap.get(spltID);
+	}
+
+	/**
+	 * @return the splits, sorted by their natural order (unmodifiable)
+	 */
+	public List<GnuCashTransactionSplit> getSorted() {
+		sortIfNecessary();
+		return Collections.unmodifiableList(spltList);
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param splt the split to add
+	 * @throws IllegalArgumentException if there already is a split
+	 *         with the same ID in the store
+	 */
+	public void add(final GnuCashTransactionSplit splt) {
+		if ( splt == null ) {
+			throw new IllegalArgumentException("null split given");
+		}
+
+		if ( spltMap.containsKey(splt.getID()) ) {
+			throw new IllegalArgumentException("split with ID " + splt.getID() + " already in store");
+		}
+
+		if ( sortedCount == spltList.size() &&
+			 ( spltList.isEmpty() ||
+			   spltList.get(spltList.size() - 1).compareTo(splt) <= 0 ) ) {
+			// in order: the running balances stay valid
+			sortedCount++;
+		} else {
+			// out of order: the running balances are invalid from 
+			// the position of the new split onwards
+			int idx = Collections.binarySearch(spltList.subList(0, sortedCount), splt);
+			if ( idx < 0 ) {
+				idx = -(idx + 1);
+			}
+			truncateBalances(idx);
+		}
+
+		spltMap.put(splt.getID(), splt);
+		spltList.add(splt);
+		trxDateIdxValid = false;
+	}
+
+	/**
+	 * @param splt the split to remove (identified by its ID)
+	 * @return true if the split was in the store
+	 */
+	public boolean remove(final GnuCashTransactionSplit splt) {
+		if ( splt == null ) {
+			throw new IllegalArgumentException("null split given");
+		}
+
+		GnuCashTransactionSplit old = spltMap.remove(splt.getID());
+		if ( old == null ) {
+			return false;
+		}
+		trxDateIdxValid = false;
+
+		sortIfNecessary();
+		int idx = Collections.binarySearch(spltList, old);
+		if ( idx >= 0 && spltList.get(idx) == old ) {
+			spltList.remove(idx);
+			truncateBalances(idx);
+		} else {
+			// The sort key (i.e. the transaction's dates) has been
+			// changed since the split was added
+			LOGGER.debug("remove: Split " + splt.getID() + " not found by binary search, falling back to linear scan");
+			for ( int i = 0; i < spltList.size(); i++ ) {
+				if ( spltList.get(i) == old ) {
+					spltList.remove(i);
+					break;
+				}
+			}
+			invalidate();
+			return true;
+		}
+		sortedCount = spltList.size();
+
+		return true;
+	}
+
+	/**
+	 * To be called when the date posted or the quantity of one of 
+	 * the splits has been changed: Forces re-sorting and
+	 * re-computation of the running balances.
+	 */
+	public void invalidate() {
+		sortedCount = 0;
+		balCount = 0;
+		balFraction = 1;
+		balBigList = null;
+		trxDateIdxValid = false;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param date the date to search for
+	 * @return the number of splits the transaction of which has been
+	 *         posted strictly before the given date, i.e. the index
+	 *         of the first split that has been posted at or after it.
+	 */
+	public int indexOfFirstPostedNotBefore(final ZonedDateTime date) {
+		if ( date == null ) {
+			throw new IllegalArgumentException("null date given");
+		}
+
+		sortIfNecessary();
+
+		int low = 0;
+		int high = spltList.size();
+		while ( low < high ) {
+			int mid = (low + high) >>> 1;
+			if ( spltList.get(mid).getTransaction().getDatePosted().isBefore(date) ) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+
+		return low;
+	}
+
+	/**
+	 * @param date the date to search for (null means: no limit)
+	 * @return the first of the splits with the latest date posted that is
+	 *         strictly before the given date, or null if there is none.
+	 */
+	public GnuCashTransactionSplit getLastPostedBefore(final ZonedDateTime date) {
+		sortIfNecessary();
+
+		int idx = ( date == null ) ? spltList.size() : indexOfFirstPostedNotBefore(date);
+		if ( idx == 0 ) {
+			return null;
+		}
+
+		// Among several splits with the same date posted, return the first one
+		ZonedDateTime lastDate = spltList.get(idx - 1).getTransaction().getDatePosted();
+		idx--;
+		while ( idx > 0 &&
+				spltList.get(idx - 1).getTransaction().getDatePosted().isEqual(lastDate) ) {
+			idx--;
+		}
+
+		return spltList.get(idx);
+	}
+
+	/**
+	 * @param date the date to search for
+	 * @return the number of splits the transaction of which has been
+	 *         posted at or before the given date, i.e. the index
+	 *         of the first split that has been posted strictly after it.
+	 */
+	public int indexOfFirstPostedAfter(final ZonedDateTime date) {
+		if ( date == null ) {
+			throw new IllegalArgumentException("null date given");
+		}
+
+		sortIfNecessary();
+
+		int low = 0;
+		int high = spltList.size();
+		while ( low < high ) {
+			int mid = (low + high) >>> 1;
+			if ( spltList.get(mid).getTransaction().getDatePosted().isAfter(date) ) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+
+		return low;
+	}
+
+	/**
+	 * @param fromDate first day of the range (inclusive)
+	 * @param toDate   last day of the range (inclusive)
+	 * @return the transactions of the splits the transaction of which
+	 *         has been posted within the given range, in the natural 
+	 *         order of the splits (one element per split, i.e. a transaction
+	 *         with several splits in this account occurs several times)
+	 */
+	public List<GnuCashTransaction> getTransactions(final LocalDate fromDate, final LocalDate toDate) {
+		sortIfNecessary();
+
+		if ( ! trxDateIdxValid ) {
+			trxDateIdx.clear();
+			for ( GnuCashTransactionSplit splt : spltList ) {
+				trxDateIdx.add(splt.getTransaction());
+			}
+			trxDateIdxValid = true;
+		}
+
+		return trxDateIdx.getTransactions(fromDate, toDate);
+	}
+
+	/**
+	 * @param splt the split to search for
+	 * @return the index of the split in the sorted list, or -1 
+	 *         if it is not in the store
+	 */
+	public int indexOf(final GnuCashTransactionSplit splt) {
+		if ( splt == null ) {
+			throw new IllegalArgumentException("null split given");
+		}
+
+		GnuCashTransactionSplit elt = spltMap.get(splt.getID());
+		if ( elt == null ) {
+			return -1;
+		}
+
+		sortIfNecessary();
+		int idx = Collections.binarySearch(spltList, elt);
+		if ( idx >= 0 && spltList.get(idx) == elt ) {
+			return idx;
+		}
+
+		return spltList.indexOf(elt);
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param count number of splits to sum up
+	 * @return the sum of the quantities of the first <code>count</code> 
+	 *         splits in the sorted list
+	 */
+	public FixedPointNumber getBalance(final int count) {
+		if ( count < 0 || 
+			 count > spltList.size() ) {
+			throw new IllegalArgumentException("illegal count given: " + count);
+		}
+
+		if ( count == 0 ) {
+			return new FixedPointNumber();
+		}
+
+		sortIfNecessary();
+
+		// extend the running balances as far as necessary
+		if ( balBigList == null ) {
+			extendBalances(count);
+		}
+
+		if ( balBigList != null ) {
+			BigDecimal bal = balBigList.isEmpty() ? BigDecimal.ZERO : balBigList.get(balBigList.size() - 1);
+			for ( int i = balBigList.size(); i < count; i++ ) {
+				bal = bal.add(spltList.get(i).getQuantity().getBigDecimal());
+				balBigList.add(bal);
+			}
+
+			return new FixedPointNumber(balBigList.get(count - 1));
+		}
+
+		return new FixedPointNumber(ScaledAmount.toBigDecimal(balUnits[count - 1], balFraction));
+	}
+
+	// ---------------------------------------------------------------
+
+	private void sortIfNecessary() {
+		if ( sortedCount < spltList.size() ) {
+			Collections.sort(spltList);
+			sortedCount = spltList.size();
+		}
+	}
+
+	private void truncateBalances(final int idx) {
+		if ( idx < balCount ) {
+			balCount = idx;
+		}
+
+		if ( balBigList != null &&
+			 idx < balBigList.size() ) {
+			balBigList.subList(idx, balBigList.size()).clear();
+		}
+	}
+
+	/**
+	 * Extends the scaled running balances up to the given count.
+	 * Switches to BigDecimals if they do not fit into longs.
+	 */
+	private void extendBalances(final int count) {
+		if ( balUnits.length < count ) {
+			long[] newUnits = new long[Math.max(count, 2 * balUnits.length)];
+			System.arraycopy(balUnits, 0, newUnits, 0, balCount);
+			balUnits = newUnits;
+		}
+
+		balAcc.set(( balCount == 0 ) ? 0 : balUnits[balCount - 1], balFraction);
+		for ( int i = balCount; i < count; i++ ) {
+			balAcc.addQuantity(spltList.get(i));
+			if ( balAcc.isOverflowed() ||
+				 ( balAcc.getFraction() != balFraction && 
+				   ! rescaleBalances(balAcc.getFraction()) ) ) {
+				switchToBigDecimal();
+				return;
+			}
+
+			balUnits[balCount++] = balAcc.getUnits();
+		}
+	}
+
+	/**
+	 * @param newFraction a multiple of the current common denominator 
+	 * @return false if the balances do not fit into longs any more
+	 */
+	private boolean rescaleBalances(final long newFraction) {
+		long factor = newFraction / balFraction;
+		try {
+			for ( int i = 0; i < balCount; i++ ) {
+				balUnits[i] = Math.multiplyExact(balUnits[i], factor);
+			}
+		} catch ( ArithmeticException exc ) {
+			// balUnits is partially rescaled: start over
+			balCount = 0;
+			balFraction = 1;
+			return false;
+		}
+
+		balFraction = newFraction;
+		return true;
+	}
+
+	private void switchToBigDecimal() {
+		LOGGER.debug("switchToBigDecimal: Running balances do not fit into scaled longs");
+		balBigList = new ArrayList<BigDecimal>(spltList.size());
+		for ( int i = 0; i < balCount; i++ ) {
+			balBigList.add(ScaledAmount.toBigDecimal(balUnits[i], balFraction));
+		}
+	}
+
+}
@@ -0,0 +1,355 @@
+package org.gnucash.api.read.impl.hlp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.gnucash.api.generated.GncAccount;
+import org.gnucash.api.generated.GncBook;
+import org.gnucash.api.generated.GncBudget;
+import org.gnucash.api.generated.GncCommodity;
+import org.gnucash.api.generated.GncGncBillTerm;
+import org.gnucash.api.generated.GncGncCustomer;
+import org.gnucash.api.generated.GncGncEmployee;
+import org.gnucash.api.generated.GncGncEntry;
+import org.gnucash.api.generated.GncGncInvoice;
+import org.gnucash.api.generated.GncGncJob;
+import org.gnucash.api.generated.GncGncTaxTable;
+import org.gnucash.api.generated.GncGncVendor;
+import org.gnucash.api.generated.GncPricedb;
+import org.gnucash.api.generated.GncSchedxaction;
+import org.gnucash.api.generated.GncTemplateTransactions;
+import org.gnucash.api.generated.GncTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Typed view on the elements of &lt;gnc:book&gt;.
+ * <br>
+ * The (heterogeneous) list of book elements is classified into one list
+ * per element type in a single pass, so that the entity managers,
+ * the count-data check etc. do not each have to scan the whole book
+ * and filter it by type themselves.
+ * <br>
+ * Within each list, the elements keep their original order.
+ * <br>
+ * Once the index has been built, all changes to the underlying list have
+ * to go through it ({@link #add(Object)}, {@link #remove(Object)}, 
+ * {@link #sortBookElements()}), so that the book and the per-type lists 
+ * are changed together. Changes behind the index's back are not detected.
+ * In exchange, it can hand out the book elements in the canonical order
+ * (the one GnuCash itself writes them in) by simply concatenating the 
+ * per-type lists, cf. {@link #getElementsInCanonicalOrder()}.
+ */
+public class BookElementIndex {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(BookElementIndex.class);
+
+	// ---------------------------------------------------------------
+
+	private final List<Object> bookElements;
+	private int nofElements;
+
+	private final List<GncCommodity>            cmdtyList    = new ArrayList<GncCommodity>();
+	private final List<GncPricedb>              prcDBList    = new ArrayList<GncPricedb>();
+	private final List<GncAccount>              acctList     = new ArrayList<GncAccount>();
+	private final List<GncTransaction>          trxList      = new ArrayList<GncTransaction>();
+	private final List<GncTemplateTransactions> tmplTrxList  = new ArrayList<GncTemplateTransactions>();
+	private final List<GncSchedxaction>         schedXList   = new ArrayList<GncSchedxaction>();
+	private final List<GncGncCustomer>          custList     = new ArrayList<GncGncCustomer>();
+	private final List<GncGncVendor>            vendList     = new ArrayList<GncGncVendor>();
+	private final List<GncGncEmployee>          emplList     = new ArrayList<GncGncEmployee>();
+	private final List<GncGncJob>               jobList      = new ArrayList<GncGncJob>();
+	private final List<GncGncInvoice>           invcList     = new ArrayList<GncGncInvoice>();
+	private final List<GncGncEntry>             invcEntrList = new ArrayList<GncGncEntry>();
+	private final List<GncGncTaxTable>          taxTabList   = new ArrayList<GncGncTaxTable>();
+	private final List<GncGncBillTerm>          bllTrmList   = new ArrayList<GncGncBillTerm>();
+	private final List<GncBudget>               bdgtList     = new ArrayList<GncBudget>();
+	private final List<Object>                  unknownList  = new ArrayList<Object>();
+
+	/**
+	 * The per-type lists in canonical order: This is the order
+	 * GnuCash itself writes the book elements in (it can read
+	 * other orders as well, however).
+	 */
+	private final List<?>[] canonicalOrder = { cmdtyList, prcDBList, acctList, bdgtList, 
+			                                   trxList, tmplTrxList, schedXList, bllTrmList, 
+			                                   custList, emplList, invcEntrList, invcList, 
+			                                   jobList, taxTabList, vendList };
+
+	/**
+	 * false if the underlying list is known not to be in canonical order
+	 */
+	private boolean inCanonicalOrder = true;
+	private List<?> lastBucket = null;
+
+	// ---------------------------------------------------------------
+
+	@SuppressWarnings("exports")
+	public BookElementIndex(final GncBook book) {
+		if ( book == null ) {
+			throw new IllegalArgumentException("null book given");
+		}
+
+		this.bookElements = book.getBookElements();
+		this.nofElements = bookElements.size();
+		init();
+	}
+
+	// ---------------------------------------------------------------
+
+	private void init() {
+		for ( Object bookElement : bookElements ) {
+			addToBucket(bookElement);
+		}
+
+		LOGGER.debug("init: Classified " + nofElements + " book elements");
+	}
+
+	@SuppressWarnings("unchecked")
+	private void addToBucket(final Object bookElement) {
+		List<?> bucket = getBucket(bookElement);
+		((List<Object>) bucket).add(bookElement);
+
+		// Still in canonical order if the element belongs 
+		// to the same or a later bucket as the previous one
+		if ( inCanonicalOrder &&
+			 lastBucket != null &&
+			 bucket != lastBucket &&
+			 getBucketPos(bucket) < getBucketPos(lastBucket) ) {
+			inCanonicalOrder = false;
+		}
+		lastBucket = bucket;
+	}
+
+	private List<?> getBucket(final Object bookElement) {
+		if ( bookElement instanceof GncTransaction ) {
+			return trxList;
+		} else if ( bookElement instanceof GncAccount ) {
+			return acctList;
+		} else if ( bookElement instanceof GncGncEntry ) {
+			return invcEntrList;
+		} else if ( bookElement instanceof GncGncInvoice ) {
+			return invcList;
+		} else if ( bookElement instanceof GncCommodity ) {
+			return cmdtyList;
+		} else if ( bookElement instanceof GncPricedb ) {
+			return prcDBList;
+		} else if ( bookElement instanceof GncGncCustomer ) {
+			return custList;
+		} else if ( bookElement instanceof GncGncVendor ) {
+			return vendList;
+		} else if ( bookElement instanceof GncGncEmployee ) {
+			return emplList;
+		} else if ( bookElement instanceof GncGncJob ) {
+			return jobList;
+		} else if ( bookElement instanceof GncGncTaxTable ) {
+			return taxTabList;
+		} else if ( bookElement instanceof GncGncBillTerm ) {
+			return bllTrmList;
+		} else if ( bookElement instanceof GncTemplateTransactions ) {
+			return tmplTrxList;
+		} else if ( bookElement instanceof GncSchedxaction ) {
+			return schedXList;
+		} else if ( bookElement instanceof GncBudget ) {
+			return bdgtList;
+		} else {
+			return unknownList;
+		}
+	}
+
+	private int getBucketPos(final List<?> bucket) {
+		for ( int i = 0; i < canonicalOrder.length; i++ ) {
+			// sic, identity
+			if ( canonicalOrder[i] == bucket ) {
+				return i;
+			}
+		}
+
+		// unknown elements: last
+		return canonicalOrder.length;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * Appends the element to the book and adds it to the index.
+	 * 
+	 * @param bookElement the element
+	 */
+	public void add(final Object bookElement) {
+		if ( bookElement == null ) {
+			throw new IllegalArgumentException("null book element given");
+		}
+
+		bookElements.add(bookElement);
+		addToBucket(bookElement);
+		nofElements++;
+	}
+
+	/**
+	 * Removes the element from the book and from the index.
+	 * 
+	 * @param bookElement the element
+	 * @return true if the element has been in the book
+	 */
+	public boolean remove(final Object bookElement) {
+		if ( bookElement == null ) {
+			throw new IllegalArgumentException("null book element given");
+		}
+
+		List<?> bucket = getBucket(bookElement);
+		for ( int i = bucket.size() - 1; i >= 0; i-- ) {
+			// sic, identity
+			if ( bucket.get(i) == bookElement ) {
+				bucket.remove(i);
+				bookElements.remove(bookElement);
+				nofElements--;
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * @return true if the book elements are (known to be) in canonical order
+	 */
+	public boolean isInCanonicalOrder() {
+		return inCanonicalOrder;
+	}
+
+	/**
+	 * @return all known book elements in canonical order (within each type,
+	 *         in their original order), i.e. the concatenation of the 
+	 *         per-type lists. Unknown elements are not contained.
+	 */
+	public List<Object> getElementsInCanonicalOrder() {
+		List<Object> result = new ArrayList<Object>(nofElements);
+		for ( List<?> bucket : canonicalOrder ) {
+			result.addAll(bucket);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Re-fills the book with {@link #getElementsInCanonicalOrder()}
+	 * (if it is not in canonical order yet).
+	 */
+	public void sortBookElements() {
+		if ( inCanonicalOrder ) {
+			return;
+		}
+
+		if ( ! unknownList.isEmpty() ) {
+			throw new IllegalStateException("book contains unknown elements");
+		}
+
+		List<Object> sortedElements = getElementsInCanonicalOrder();
+		bookElements.clear();
+		bookElements.addAll(sortedElements);
+
+		inCanonicalOrder = true;
+		lastBucket = null;
+		for ( int i = canonicalOrder.length - 1; i >= 0; i-- ) {
+			if ( ! canonicalOrder[i].isEmpty() ) {
+				lastBucket = canonicalOrder[i];
+				break;
+			}
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @return the number of book elements (including unknown ones)
+	 */
+	public int getNofElements() {
+		return nofElements;
+	}
+
+	// ---------------------------------------------------------------
+
+	public List<GncCommodity> getCommodities() {
+		return Collections.unmodifiableList(cmdtyList);
+	}
+
+	public List<GncPricedb> getPriceDBs() {
+		return Collections.unmodifiableList(prcDBList);
+	}
+
+	public List<GncAccount> getAccounts() {
+		return Collections.unmodifiableList(acctList);
+	}
+
+	public List<GncTransaction> getTransactions() {
+		return Collections.unmodifiableList(trxList);
+	}
+
+	public List<GncTemplateTransactions> getTemplateTransactions() {
+		return Collections.unmodifiableList(tmplTrxList);
+	}
+
+	public List<GncSchedxaction> getSchedXActions() {
+		return Collections.unmodifiableList(schedXList);
+	}
+
+	public List<GncGncCustomer> getCustomers() {
+		return Collections.unmodifiableList(custList);
+	}
+
+	public List<GncGncVendor> getVendors() {
+		return Collections.unmodifiableList(vendList);
+	}
+
+	public List<GncGncEmployee> getEmployees() {
+		return Collections.unmodifiableList(emplList);
+	}
+
+	public List<GncGncJob> getGenerJobs() {
+		return Collections.unmodifiableList(jobList);
+	}
+
+	public List<GncGncInvoice> getGenerInvoices() {
+		return Collections.unmodifiableList(invcList);
+	}
+
+	public List<GncGncEntry> getGenerInvoiceEntries() {
+		return Collections.unmodifiableList(invcEntrList);
+	}
+
+	public List<GncGncTaxTable> getTaxTables() {
+		return Collections.unmodifiableList(taxTabList);
+	}
+
+	public List<GncGncBillTerm> getBillTerms() {
+		return Collections.unmodifiableList(bllTrmList);
+	}
+
+	public List<GncBudget> getBudgets() {
+		return Collections.unmodifiableList(bdgtList);
+	}
+
+	/**
+	 * @return the elements that are not of any of the types
+	 *         allowed in &lt;gnc:book&gt;
+	 */
+	public List<Object> getUnknownElements() {
+		return Collections.unmodifiableList(unknownList);
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @return the number of prices in all price DBs
+	 */
+	public int getNofPrices() {
+		int result = 0;
+		for ( GncPricedb prcDB : prcDBList ) {
+			result += prcDB.getPrice().size();
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,137 @@
+package org.gnucash.api.read.impl.hlp;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the initialization of the entity managers of a GnuCash file,
+ * honoring the dependencies between them.
+ * <br>
+ * Each task names the tasks it depends on (which have to be registered
+ * before it). In parallel mode, every task is started on the
+ * common {@link ForkJoinPool} as soon as all of its dependencies have
+ * finished, so that independent managers (accounts, customers, vendors,
+ * commodities, etc.) are built concurrently. In sequential mode, the
+ * tasks are simply run in the order of registration.
+ * <br>
+ * {@link #run()} returns only after all tasks have finished, and
+ * everything the tasks have written is visible to the caller afterwards.
+ * <br>
+ * Caution: Tasks that do not depend on each other must not touch
+ * the same (non-thread-safe) objects.
+ */
+public class EntityManagerInitializer {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(EntityManagerInitializer.class);
+
+	// ---------------------------------------------------------------
+
+	private final boolean parallel;
+
+	private final Map<String, Runnable>     tasks = new LinkedHashMap<String, Runnable>();
+	private final Map<String, List<String>> deps  = new LinkedHashMap<String, List<String>>();
+
+	// ---------------------------------------------------------------
+
+	public EntityManagerInitializer(final boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param name      unique name of the task
+	 * @param task      the task to run
+	 * @param dependsOn names of the (already registered) tasks
+	 *                  that have to be finished before this one starts
+	 */
+	public void addTask(final String name, final Runnable task, final String... dependsOn) {
+		if ( name == null ) {
+			throw new IllegalArgumentException("null name given");
+		}
+
+		if ( task == null ) {
+			throw new IllegalArgumentException("null task given");
+		}
+
+		if ( tasks.containsKey(name) ) {
+			throw new IllegalArgumentException("task '" + name + "' already registered");
+		}
+
+		List<String> depList = new ArrayList<String>();
+		for ( String dep : dependsOn ) {
+			if ( !tasks.containsKey(dep) ) {
+				throw new IllegalArgumentException("task '" + name + "' depends on unknown task '" + dep + "'");
+			}
+			depList.add(dep);
+		}
+
+		tasks.put(name, task);
+		deps.put(name, depList);
+	}
+
+	// ---------------------------------------------------------------
+
+	public void run() {
+		long start = System.currentTimeMillis();
+
+		if ( parallel ) {
+			runParallel();
+		} else {
+			for ( Runnable task : tasks.values() ) {
+				task.run();
+			}
+		}
+
+		long end = System.currentTimeMillis();
+		LOGGER.debug("run: Initialized " + tasks.size() + " managers " + (parallel ? "in parallel" : "sequentially")
+				+ " in " + (end - start) + " ms");
+	}
+
+	private void runParallel() {
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<String, CompletableFuture<Void>>();
+
+		for ( String name : tasks.keySet() ) {
+			Runnable task = tasks.get(name);
+			List<String> depList = deps.get(name);
+
+			CompletableFuture<Void> future = null;
+			if ( depList.isEmpty() ) {
+				future = CompletableFuture.runAsync(task, pool);
+			} else {
+				CompletableFuture<?>[] depFutures = new CompletableFuture<?>[depList.size()];
+				for ( int i = 0; i < depList.size(); i++ ) {
+					depFutures[i] = futures.get(depList.get(i));
+				}
+				future = CompletableFuture.allOf(depFutures).thenRunAsync(task, pool);
+			}
+
+			futures.put(name, future);
+		}
+
+		try {
+			CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[futures.size()])).join();
+		} catch (CompletionException exc) {
+			Throwable cause = exc.getCause();
+			while ( cause instanceof CompletionException && cause.getCause() != null ) {
+				cause = cause.getCause();
+			}
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			} else if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+}
@@ -33,6 +33,15 @@ public class FileAccountManager {
 	protected GnuCashFileImpl gcshFile;
 
 	private Map<GCshID, GnuCashAccount> acctMap;
+	private AccountHierarchyIndex       hierIdx;
+
+	/**
+	 * Indexes over the accounts' names and qualified names, resp.
+	 * Built lazily (null before) and discarded together with the
+	 * hierarchy index.
+	 */
+	private NameIndex<GCshID, GnuCashAccount> nameIdx       = null;
+	private NameIndex<GCshID, GnuCashAccount> qualifNameIdx = null;
 
 	// ---------------------------------------------------------------
 
@@ -45,12 +54,9 @@ public class FileAccountManager {
 
 	private void init(final GncV2 pRootElement) {
 		acctMap = new HashMap<GCshID, GnuCashAccount>();
+		hierIdx = new AccountHierarchyIndex(acctMap);
 
-		for ( Object bookElement : pRootElement.getGncBook().getBookElements() ) {
-			if ( !(bookElement instanceof GncAccount) ) {
-				continue;
-			}
-			GncAccount jwsdpAcct = (GncAccount) bookElement;
+		for ( GncAccount jwsdpAcct : gcshFile.getBookElementIndex().getAccounts() ) {
 
 			try {
 				GnuCashAccount acct = createAccount(jwsdpAcct);
@@ -77,7 +83,11 @@ public class FileAccountManager {
 			throw new IllegalArgumentException("null account given");
 		}
 		
-		acctMap.put(acct.getID(), acct);
+		GnuCashAccount old = acctMap.put(acct.getID(), acct);
+		if ( old != null && old != acct ) {
+			gcshFile.linkTargetsModified();
+		}
+		invalidateHierarchy();
 		LOGGER.debug("addAccount: Added account to cache: " + acct.getID());
 	}
 
@@ -87,6 +97,8 @@ public class FileAccountManager {
 		}
 		
 		acctMap.remove(acct.getID());
+		gcshFile.linkTargetsModified();
+		invalidateHierarchy();
 		LOGGER.debug("removeAccount: Removed account from cache: " + acct.getID());
 	}
 
@@ -129,26 +141,7 @@ public class FileAccountManager {
 			throw new IllegalStateException("no root-element loaded");
 		}
 
-		List<GnuCashAccount> retval = new ArrayList<GnuCashAccount>();
-
-		for ( GnuCashAccount acct : acctMap.values() ) {
-			GCshID prntID = acct.getParentAccountID();
-			if ( prntID == null ) {
-				if ( acctID == null ) {
-					retval.add((GnuCashAccount) acct);
-				} else if ( ! acctID.isSet() ) {
-					retval.add((GnuCashAccount) acct);
-				}
-			} else {
-				if ( prntID.equals(acctID) ) {
-					retval.add((GnuCashAccount) acct);
-				}
-			}
-		}
-
-		retval.sort(Comparator.naturalOrder()); 
-
-		return retval;
+		return new ArrayList<GnuCashAccount>(hierIdx.getChildren(acctID));
 	}
 
 	public List<GnuCashAccount> getAccountsByName(final String name) {
@@ -176,30 +169,13 @@ public class FileAccountManager {
 			throw new IllegalStateException("no root-element loaded");
 		}
 
-		List<GnuCashAccount> result = new ArrayList<GnuCashAccount>();
+		NameIndex<GCshID, GnuCashAccount> idx = qualif ? getQualifNameIndex() : getNameIndex();
 
-		for ( GnuCashAccount acct : acctMap.values() ) {
-			if ( relaxed ) {
-				if ( qualif ) {
-					if ( acct.getQualifiedName().toLowerCase().contains(expr.trim().toLowerCase()) ) {
-						result.add(acct);
-					}
-				} else {
-					if ( acct.getName().toLowerCase().contains(expr.trim().toLowerCase()) ) {
-						result.add(acct);
-					}
-				}
-			} else {
-				if ( qualif ) {
-					if ( acct.getQualifiedName().equals(expr) ) {
-						result.add(acct);
-					}
-				} else {
-					if ( acct.getName().equals(expr) ) {
-						result.add(acct);
-					}
-				}
-			}
+		List<GnuCashAccount> result = null;
+		if ( relaxed ) {
+			result = idx.getByNamePart(expr.trim());
+		} else {
+			result = idx.getByName(expr);
 		}
 
 		result.sort(Comparator.naturalOrder()); 
@@ -387,18 +363,11 @@ public class FileAccountManager {
 
 	public List<? extends GnuCashAccount> getParentlessAccounts() {
 		try {
-			List<GnuCashAccount> retval = new ArrayList<GnuCashAccount>();
-
-			for ( GnuCashAccount acct : getAccounts() ) {
-				if ( acct.getParentAccountID() == null ) {
-					retval.add(acct);
-				}
-
+			if ( acctMap == null ) {
+				throw new IllegalStateException("no root-element loaded");
 			}
 
-			retval.sort(Comparator.naturalOrder()); 
-
-			return retval;
+			return new ArrayList<GnuCashAccount>(hierIdx.getChildren(null));
 		} catch (RuntimeException e) {
 			LOGGER.error("getParentlessAccounts: Problem getting all root-account", e);
 			throw e;
@@ -443,6 +412,86 @@ public class FileAccountManager {
 
 	// ---------------------------------------------------------------
 
+	/**
+	 * @param acctID ID of the account
+	 * @return the qualified name of the account (cached), 
+	 *         or null if the account is unknown
+	 * @see GnuCashAccount#getQualifiedName()
+	 */
+	public String getQualifiedName(final GCshID acctID) {
+		if ( acctID == null ) {
+			throw new IllegalArgumentException("null account ID given");
+		}
+		
+		if ( acctMap == null ) {
+			throw new IllegalStateException("no root-element loaded");
+		}
+
+		return hierIdx.getQualifiedName(acctID);
+	}
+
+	/**
+	 * @param acctID ID of the account
+	 * @return the number of ancestors of the account (0 for the root account),
+	 *         or -1 if the account is unknown
+	 */
+	public int getAccountDepth(final GCshID acctID) {
+		if ( acctID == null ) {
+			throw new IllegalArgumentException("null account ID given");
+		}
+		
+		if ( acctMap == null ) {
+			throw new IllegalStateException("no root-element loaded");
+		}
+
+		return hierIdx.getDepth(acctID);
+	}
+
+	/**
+	 * To be called whenever the name or the parent of an account 
+	 * has been changed.
+	 */
+	public void invalidateHierarchy() {
+		if ( hierIdx != null ) {
+			hierIdx.invalidate();
+		}
+
+		synchronized ( this ) {
+			nameIdx = null;
+			qualifNameIdx = null;
+		}
+	}
+
+	private synchronized NameIndex<GCshID, GnuCashAccount> getNameIndex() {
+		if ( nameIdx == null ) {
+			NameIndex<GCshID, GnuCashAccount> idx = new NameIndex<GCshID, GnuCashAccount>();
+			for ( GnuCashAccount acct : acctMap.values() ) {
+				idx.put(acct.getID(), acct, acct.getName());
+			}
+			nameIdx = idx;
+		}
+
+		return nameIdx;
+	}
+
+	private synchronized NameIndex<GCshID, GnuCashAccount> getQualifNameIndex() {
+		if ( qualifNameIdx == null ) {
+			NameIndex<GCshID, GnuCashAccount> idx = new NameIndex<GCshID, GnuCashAccount>();
+			for ( GnuCashAccount acct : acctMap.values() ) {
+				String qualifName = hierIdx.getQualifiedName(acct.getID());
+				if ( qualifName == null ) {
+					qualifName = acct.getQualifiedName();
+				}
+				idx.put(acct.getID(), acct, qualifName);
+			}
+			qualifNameIdx = idx;
+		}
+
+		return qualifNameIdx;
+	}
+
+	// ---------------------------------------------------------------
+
 	public int getNofEntriesAccountMap() {
 		return acctMap.size();
 	}
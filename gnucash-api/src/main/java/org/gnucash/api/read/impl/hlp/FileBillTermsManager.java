@@ -3,7 +3,6 @@ package org.gnucash.api.read.impl.hlp;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.gnucash.api.generated.GncGncBillTerm;
@@ -37,12 +36,7 @@ public class FileBillTermsManager {
 	private void init(final GncV2 pRootElement) {
 		bllTrmMap = new HashMap<GCshID, GCshBillTerms>();
 
-		List<Object> bookElements = pRootElement.getGncBook().getBookElements();
-		for ( Object bookElement : bookElements ) {
-			if ( !(bookElement instanceof GncGncBillTerm) ) {
-				continue;
-			}
-			GncGncBillTerm jwsdpPeer = (GncGncBillTerm) bookElement;
+		for ( GncGncBillTerm jwsdpPeer : gcshFile.getBookElementIndex().getBillTerms() ) {
 			GCshBillTermsImpl billTerms = new GCshBillTermsImpl(jwsdpPeer, gcshFile);
 			bllTrmMap.put(billTerms.getID(), billTerms);
 		}
@@ -1,6 +1,5 @@
 package org.gnucash.api.read.impl.hlp;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -34,6 +33,12 @@ public class FileCommodityManager {
     private Map<String, String>            xCodeMap; // X-Code -> Qualif. ID
                                                      // Values: Sic, String not CmdtyCurrID like above
 
+    /**
+     * Index over the commodities' names (keys: qualif. ID, as above).
+     * Built on the first look-up (null before), then kept up to date.
+     */
+    private volatile NameIndex<String, GnuCashCommodity> nameIdx = null;
+
     // ---------------------------------------------------------------
     
     public FileCommodityManager(GnuCashFileImpl gcshFile) {
@@ -51,11 +56,7 @@ public class FileCommodityManager {
 	private void initMap1(final GncV2 pRootElement) {
 		cmdtyMap = new HashMap<String, GnuCashCommodity>();
 
-		for ( Object bookElement : pRootElement.getGncBook().getBookElements() ) {
-			if ( !(bookElement instanceof GncCommodity) ) {
-				continue;
-			}
-			GncCommodity jwsdpCmdty = (GncCommodity) bookElement;
+		for ( GncCommodity jwsdpCmdty : gcshFile.getBookElementIndex().getCommodities() ) {
 
 			// CAUTION: As opposed to the other entities, there is always
 			// one additional object in the GnuCash file for commodities,
@@ -115,6 +116,11 @@ public class FileCommodityManager {
 		if ( cmdty.getXCode() != null )
 			xCodeMap.put(cmdty.getXCode(), cmdty.getQualifID().toString());
 
+		NameIndex<String, GnuCashCommodity> idx = nameIdx;
+		if ( idx != null ) {
+			idx.put(cmdty.getQualifID().toString(), cmdty, cmdty.getName());
+		}
+
 		LOGGER.debug("Added commodity to cache: " + cmdty.getQualifID());
 	}
 
@@ -130,9 +136,45 @@ public class FileCommodityManager {
 				xCodeMap.remove(xCode);
 		}
 
+		NameIndex<String, GnuCashCommodity> idx = nameIdx;
+		if ( idx != null ) {
+			idx.remove(cmdty.getQualifID().toString());
+		}
+
 		LOGGER.debug("Removed commodity from cache: " + cmdty.getQualifID());
 	}
 
+	/**
+	 * To be called when the name of an already cached commodity
+	 * has been changed.
+	 * 
+	 * @param cmdty the commodity (or another object wrapping the same commodity)
+	 */
+	public void updateCommodityName(GnuCashCommodity cmdty) {
+		NameIndex<String, GnuCashCommodity> idx = nameIdx;
+		if ( idx == null ) {
+			return;
+		}
+
+		String qualifID = cmdty.getQualifID().toString();
+		GnuCashCommodity elt = cmdtyMap.get(qualifID);
+		if ( elt != null ) {
+			idx.put(qualifID, elt, cmdty.getName());
+		}
+	}
+
+	private synchronized NameIndex<String, GnuCashCommodity> getNameIndex() {
+		if ( nameIdx == null ) {
+			NameIndex<String, GnuCashCommodity> idx = new NameIndex<String, GnuCashCommodity>();
+			for ( Map.Entry<String, GnuCashCommodity> entry : cmdtyMap.entrySet() ) {
+				idx.put(entry.getKey(), entry.getValue(), entry.getValue().getName());
+			}
+			nameIdx = idx;
+		}
+
+		return nameIdx;
+	}
+
 	// ---------------------------------------------------------------
 
 	public GnuCashCommodity getCommodityByQualifID(final GCshCmdtyCurrID qualifID) {
@@ -303,21 +345,13 @@ public class FileCommodityManager {
 			throw new IllegalStateException("no root-element loaded");
 		}
 
-		List<GnuCashCommodity> result = new ArrayList<GnuCashCommodity>();
-
-		for ( GnuCashCommodity cmdty : getCommodities() ) {
-			if ( cmdty.getName() != null ) // yes, that can actually happen!
-			{
-				if ( relaxed ) {
-					if ( cmdty.getName().toLowerCase().contains(expr.trim().toLowerCase()) ) {
-						result.add(cmdty);
-					}
-				} else {
-					if ( cmdty.getName().equals(expr) ) {
-						result.add(cmdty);
-					}
-				}
-			}
+		// Commodities without a name (yes, that can actually happen!)
+		// are not in the index
+		List<GnuCashCommodity> result = null;
+		if ( relaxed ) {
+			result = getNameIndex().getByNamePart(expr.trim());
+		} else {
+			result = getNameIndex().getByName(expr);
 		}
 
 		result.sort(Comparator.naturalOrder()); 
@@ -1,6 +1,5 @@
 package org.gnucash.api.read.impl.hlp;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -29,6 +28,12 @@ public class FileCustomerManager {
 
 	private Map<GCshID, GnuCashCustomer> custMap;
 
+	/**
+	 * Index over the customers' names. Built on the first look-up 
+	 * (null before), then kept up to date.
+	 */
+	private volatile NameIndex<GCshID, GnuCashCustomer> nameIdx = null;
+
 	// ---------------------------------------------------------------
 
 	public FileCustomerManager(GnuCashFileImpl gcshFile) {
@@ -41,11 +46,7 @@ public class FileCustomerManager {
 	private void init(final GncV2 pRootElement) {
 		custMap = new HashMap<GCshID, GnuCashCustomer>();
 
-		for ( Object bookElement : pRootElement.getGncBook().getBookElements() ) {
-			if ( !(bookElement instanceof GncGncCustomer) ) {
-				continue;
-			}
-			GncGncCustomer jwsdpCust = (GncGncCustomer) bookElement;
+		for ( GncGncCustomer jwsdpCust : gcshFile.getBookElementIndex().getCustomers() ) {
 
 			try {
 				GnuCashCustomerImpl cust = createCustomer(jwsdpCust);
@@ -72,7 +73,16 @@ public class FileCustomerManager {
 			throw new IllegalArgumentException("null customer given");
 		}
 		
-		custMap.put(cust.getID(), cust);
+		GnuCashCustomer old = custMap.put(cust.getID(), cust);
+		if ( old != null && old != cust ) {
+			gcshFile.linkTargetsModified();
+		}
+
+		NameIndex<GCshID, GnuCashCustomer> idx = nameIdx;
+		if ( idx != null ) {
+			idx.put(cust.getID(), cust, cust.getName());
+		}
+
 		LOGGER.debug("Added customer to cache: " + cust.getID());
 	}
 
@@ -82,9 +92,46 @@ public class FileCustomerManager {
 		}
 		
 		custMap.remove(cust.getID());
+		gcshFile.linkTargetsModified();
+
+		NameIndex<GCshID, GnuCashCustomer> idx = nameIdx;
+		if ( idx != null ) {
+			idx.remove(cust.getID());
+		}
+
 		LOGGER.debug("Removed customer from cache: " + cust.getID());
 	}
 
+	/**
+	 * To be called when the name of an already cached customer
+	 * has been changed.
+	 * 
+	 * @param cust the customer (or another object wrapping the same customer)
+	 */
+	public void updateCustomerName(GnuCashCustomer cust) {
+		NameIndex<GCshID, GnuCashCustomer> idx = nameIdx;
+		if ( idx == null ) {
+			return;
+		}
+
+		GnuCashCustomer elt = custMap.get(cust.getID());
+		if ( elt != null ) {
+			idx.put(elt.getID(), elt, cust.getName());
+		}
+	}
+
+	private synchronized NameIndex<GCshID, GnuCashCustomer> getNameIndex() {
+		if ( nameIdx == null ) {
+			NameIndex<GCshID, GnuCashCustomer> idx = new NameIndex<GCshID, GnuCashCustomer>();
+			for ( GnuCashCustomer elt : custMap.values() ) {
+				idx.put(elt.getID(), elt, elt.getName());
+			}
+			nameIdx = idx;
+		}
+
+		return nameIdx;
+	}
+
 	// ---------------------------------------------------------------
 
 	public GnuCashCustomer getCustomerByID(final GCshID custID) {
@@ -133,21 +180,11 @@ public class FileCustomerManager {
 			throw new IllegalStateException("no root-element loaded");
 		}
 
-		List<GnuCashCustomer> result = new ArrayList<GnuCashCustomer>();
-
-		for ( GnuCashCustomer cust : getCustomers() ) {
-			if ( relaxed ) {
-				if ( cust.getName().trim().toLowerCase().contains(expr.trim().toLowerCase()) ) {
-					result.add(cust);
-				}
-			} else {
-				if ( cust.getName().equals(expr) ) {
-					result.add(cust);
-				}
-			}
+		if ( relaxed ) {
+			return getNameIndex().getByNamePart(expr.trim());
+		} else {
+			return getNameIndex().getByName(expr);
 		}
-
-		return result;
 	}
 
 	public GnuCashCustomer getCustomerByNameUniq(final String name)
@@ -1,6 +1,5 @@
 package org.gnucash.api.read.impl.hlp;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -29,6 +28,12 @@ public class FileEmployeeManager {
 
     private Map<GCshID, GnuCashEmployee> emplMap;
 
+    /**
+     * Index over the employees' user names. Built on the first look-up 
+     * (null before), then kept up to date.
+     */
+    private volatile NameIndex<GCshID, GnuCashEmployee> nameIdx = null;
+
     // ---------------------------------------------------------------
     
 	public FileEmployeeManager(GnuCashFileImpl gcshFile) {
@@ -41,11 +46,7 @@ public class FileEmployeeManager {
 	private void init(final GncV2 pRootElement) {
 		emplMap = new HashMap<GCshID, GnuCashEmployee>();
 
-		for ( Object bookElement : pRootElement.getGncBook().getBookElements() ) {
-			if ( !(bookElement instanceof GncGncEmployee) ) {
-				continue;
-			}
-			GncGncEmployee jwsdpEmpl = (GncGncEmployee) bookElement;
+		for ( GncGncEmployee jwsdpEmpl : gcshFile.getBookElementIndex().getEmployees() ) {
 
 			try {
 				GnuCashEmployeeImpl empl = createEmployee(jwsdpEmpl);
@@ -73,6 +74,12 @@ public class FileEmployeeManager {
 		}
 		
 		emplMap.put(empl.getID(), empl);
+
+		NameIndex<GCshID, GnuCashEmployee> idx = nameIdx;
+		if ( idx != null ) {
+			idx.put(empl.getID(), empl, empl.getUserName());
+		}
+
 		LOGGER.debug("Added employee to cache: " + empl.getID());
 	}
 
@@ -82,9 +89,45 @@ public class FileEmployeeManager {
 		}
 		
 		emplMap.remove(empl.getID());
+
+		NameIndex<GCshID, GnuCashEmployee> idx = nameIdx;
+		if ( idx != null ) {
+			idx.remove(empl.getID());
+		}
+
 		LOGGER.debug("Removed employee from cache: " + empl.getID());
 	}
 
+	/**
+	 * To be called when the user name of an already cached employee
+	 * has been changed.
+	 * 
+	 * @param empl the employee (or another object wrapping the same employee)
+	 */
+	public void updateEmployeeUserName(GnuCashEmployee empl) {
+		NameIndex<GCshID, GnuCashEmployee> idx = nameIdx;
+		if ( idx == null ) {
+			return;
+		}
+
+		GnuCashEmployee elt = emplMap.get(empl.getID());
+		if ( elt != null ) {
+			idx.put(elt.getID(), elt, empl.getUserName());
+		}
+	}
+
+	private synchronized NameIndex<GCshID, GnuCashEmployee> getNameIndex() {
+		if ( nameIdx == null ) {
+			NameIndex<GCshID, GnuCashEmployee> idx = new NameIndex<GCshID, GnuCashEmployee>();
+			for ( GnuCashEmployee elt : emplMap.values() ) {
+				idx.put(elt.getID(), elt, elt.getUserName());
+			}
+			nameIdx = idx;
+		}
+
+		return nameIdx;
+	}
+
 	// ---------------------------------------------------------------
 
 	public GnuCashEmployee getEmployeeByID(final GCshID emplID) {
@@ -133,21 +176,11 @@ public class FileEmployeeManager {
 			throw new IllegalStateException("no root-element loaded");
 		}
 
-		List<GnuCashEmployee> result = new ArrayList<GnuCashEmployee>();
-
-		for ( GnuCashEmployee empl : getEmployees() ) {
-			if ( relaxed ) {
-				if ( empl.getUserName().trim().toLowerCase().contains(expr.trim().toLowerCase()) ) {
-					result.add(empl);
-				}
-			} else {
-				if ( empl.getUserName().equals(expr) ) {
-					result.add(empl);
-				}
-			}
+		if ( relaxed ) {
+			return getNameIndex().getByNamePart(expr.trim());
+		} else {
+			return getNameIndex().getByName(expr);
 		}
-
-		return result;
 	}
 
 	public GnuCashEmployee getEmployeeByUserNameUniq(final String userName)
@@ -25,6 +25,17 @@ public class FileInvoiceEntryManager {
     protected GnuCashFileImpl gcshFile;
 
     private Map<GCshID, GnuCashGenerInvoiceEntry> invcEntrMap;
+
+    /**
+     * (Generic) invoice ID -&gt; its entries (by entry ID)
+     */
+    private Map<GCshID, Map<GCshID, GnuCashGenerInvoiceEntry>> invcEntrByInvcMap;
+
+    /**
+     * Full-text index over the entries' descriptions.
+     * Built on demand, null before.
+     */
+    private volatile FullTextIndex<GCshID, GnuCashGenerInvoiceEntry> descrIdx = null;
     
     // ---------------------------------------------------------------
     
@@ -37,16 +48,14 @@ public class FileInvoiceEntryManager {
 
 	private void init(final GncV2 pRootElement) {
 		invcEntrMap = new HashMap<GCshID, GnuCashGenerInvoiceEntry>();
+		invcEntrByInvcMap = new HashMap<GCshID, Map<GCshID, GnuCashGenerInvoiceEntry>>();
 
-		for ( Object bookElement : pRootElement.getGncBook().getBookElements() ) {
-			if ( !(bookElement instanceof GncGncEntry) ) {
-				continue;
-			}
-			GncGncEntry jwsdpInvcEntr = (GncGncEntry) bookElement;
+		for ( GncGncEntry jwsdpInvcEntr : gcshFile.getBookElementIndex().getGenerInvoiceEntries() ) {
 
 			try {
 				GnuCashGenerInvoiceEntry invcEntr = createGenerInvoiceEntry(jwsdpInvcEntr);
 				invcEntrMap.put(invcEntr.getID(), invcEntr);
+				addToInvcMap(invcEntr);
 			} catch (RuntimeException e) {
 				LOGGER.error("init: [RuntimeException] Problem in " + getClass().getName() + ".init: "
 						+ "ignoring illegal (generic) Invoice-Entry-Entry with id="
@@ -71,6 +80,13 @@ public class FileInvoiceEntryManager {
 		}
 		
 		invcEntrMap.put(entr.getID(), entr);
+		addToInvcMap(entr);
+
+		FullTextIndex<GCshID, GnuCashGenerInvoiceEntry> idx = descrIdx;
+		if ( idx != null ) {
+			idx.put(entr.getID(), entr, entr.getDescription());
+		}
+
 		LOGGER.debug("Added (generic) invoice entry to cache: " + entr.getID());
 	}
 
@@ -80,9 +96,63 @@ public class FileInvoiceEntryManager {
 		}
 		
 		invcEntrMap.remove(entr.getID());
+		removeFromInvcMap(entr);
+
+		FullTextIndex<GCshID, GnuCashGenerInvoiceEntry> idx = descrIdx;
+		if ( idx != null ) {
+			idx.remove(entr.getID());
+		}
+
 		LOGGER.debug("Removed (generic) invoice entry from cache: " + entr.getID());
 	}
 
+	private void addToInvcMap(final GnuCashGenerInvoiceEntry entr) {
+		GCshID invcID = entr.getGenerInvoiceID();
+		if ( invcID == null ) {
+			return;
+		}
+
+		Map<GCshID, GnuCashGenerInvoiceEntry> entrMap = invcEntrByInvcMap.get(invcID);
+		if ( entrMap == null ) {
+			entrMap = new HashMap<GCshID, GnuCashGenerInvoiceEntry>();
+			invcEntrByInvcMap.put(invcID, entrMap);
+		}
+		entrMap.put(entr.getID(), entr);
+	}
+
+	private void removeFromInvcMap(final GnuCashGenerInvoiceEntry entr) {
+		GCshID invcID = entr.getGenerInvoiceID();
+		if ( invcID == null ) {
+			return;
+		}
+
+		Map<GCshID, GnuCashGenerInvoiceEntry> entrMap = invcEntrByInvcMap.get(invcID);
+		if ( entrMap != null ) {
+			entrMap.remove(entr.getID());
+			if ( entrMap.isEmpty() ) {
+				invcEntrByInvcMap.remove(invcID);
+			}
+		}
+	}
+
+	/**
+	 * To be called when the description of an already cached entry
+	 * has been changed.
+	 * 
+	 * @param entr the entry (or another object wrapping the same entry)
+	 */
+	public void updateGenerInvcEntryDescription(GnuCashGenerInvoiceEntry entr) {
+		FullTextIndex<GCshID, GnuCashGenerInvoiceEntry> idx = descrIdx;
+		if ( idx == null ) {
+			return;
+		}
+
+		GnuCashGenerInvoiceEntry elt = invcEntrMap.get(entr.getID());
+		if ( elt != null ) {
+			idx.put(elt.getID(), elt, entr.getDescription());
+		}
+	}
+
 	// ---------------------------------------------------------------
 
 	public GnuCashGenerInvoiceEntry getGenerInvoiceEntryByID(final GCshID entrID) {
@@ -117,6 +187,65 @@ public class FileInvoiceEntryManager {
 		return Collections.unmodifiableList(retval);
 	}
 
+	/**
+	 * @param invcID the (generic) invoice ID
+	 * @return the entries of the given invoice (sorted as 
+	 *         {@link #getGenerInvoiceEntries()})
+	 */
+	public List<GnuCashGenerInvoiceEntry> getGenerInvoiceEntriesByInvoiceID(final GCshID invcID) {
+		if ( invcID == null ) {
+			throw new IllegalArgumentException("null invoice ID given");
+		}
+		
+		if ( ! invcID.isSet() ) {
+			throw new IllegalArgumentException("unset invoice ID given");
+		}
+		
+		if ( invcEntrByInvcMap == null ) {
+			throw new IllegalStateException("no root-element loaded");
+		}
+
+		Map<GCshID, GnuCashGenerInvoiceEntry> entrMap = invcEntrByInvcMap.get(invcID);
+		if ( entrMap == null ) {
+			return Collections.emptyList();
+		}
+
+		List<GnuCashGenerInvoiceEntry> retval = new ArrayList<GnuCashGenerInvoiceEntry>(entrMap.values());
+		Collections.sort(retval);
+
+		return Collections.unmodifiableList(retval);
+	}
+
+	/**
+	 * @param expr the text to search for (case-insensitive)
+	 * @return the entries the description of which contains 
+	 *         the given text
+	 */
+	public List<GnuCashGenerInvoiceEntry> getGenerInvoiceEntriesByDescription(final String expr) {
+		buildFullTextIndex();
+		return descrIdx.search(expr);
+	}
+
+	/**
+	 * Builds the full-text index over the entries' descriptions,
+	 * if that has not happened yet. Otherwise, it is built 
+	 * on the first search.
+	 */
+	public synchronized void buildFullTextIndex() {
+		if ( invcEntrMap == null ) {
+			throw new IllegalStateException("no root-element loaded");
+		}
+
+		if ( descrIdx == null ) {
+			FullTextIndex<GCshID, GnuCashGenerInvoiceEntry> idx = new FullTextIndex<GCshID, GnuCashGenerInvoiceEntry>();
+			for ( GnuCashGenerInvoiceEntry entr : invcEntrMap.values() ) {
+				idx.put(entr.getID(), entr, entr.getDescription());
+			}
+			descrIdx = idx;
+			LOGGER.debug("buildFullTextIndex: Indexed " + idx.size() + " invoice-entry descriptions");
+		}
+	}
+
 	// ---------------------------------------------------------------
 
 	public int getNofEntriesGenerInvoiceEntriesMap() {
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -35,6 +36,29 @@ public class FileInvoiceManager {
 
 	private Map<GCshID, GnuCashGenerInvoice> invcMap;
 
+	/**
+	 * Post lot ID -&gt; invoice(s) posted with that lot.
+	 * <br>
+	 * Normally, there is exactly one invoice per lot, but we do not
+	 * rely on that.
+	 */
+	private Map<GCshID, List<GnuCashGenerInvoice>> lotMap;
+
+	/**
+	 * (Direct) owner ID -&gt; invoices of that owner.
+	 * <br>
+	 * The owner is the customer, vendor or employee, resp., or --
+	 * in case of job invoices -- the job, cf. 
+	 * {@link GnuCashGenerInvoice.ReadVariant#DIRECT}.
+	 */
+	private Map<GCshID, List<GnuCashGenerInvoice>> ownerMap;
+
+	/**
+	 * Full-text index over the invoices' descriptions (notes).
+	 * Built on demand, null before.
+	 */
+	private volatile FullTextIndex<GCshID, GnuCashGenerInvoice> descrIdx = null;
+
 	// ---------------------------------------------------------------
 
 	public FileInvoiceManager(GnuCashFileImpl gcshFile) {
@@ -46,16 +70,16 @@ public class FileInvoiceManager {
 
 	private void init(final GncV2 pRootElement) {
 		invcMap = new HashMap<GCshID, GnuCashGenerInvoice>();
+		lotMap = new HashMap<GCshID, List<GnuCashGenerInvoice>>();
+		ownerMap = new HashMap<GCshID, List<GnuCashGenerInvoice>>();
 
-		for ( Object bookElement : pRootElement.getGncBook().getBookElements() ) {
-			if ( !(bookElement instanceof GncGncInvoice) ) {
-				continue;
-			}
-			GncGncInvoice jwsdpInvc = (GncGncInvoice) bookElement;
+		for ( GncGncInvoice jwsdpInvc : gcshFile.getBookElementIndex().getGenerInvoices() ) {
 
 			try {
 				GnuCashGenerInvoice invc = createGenerInvoice(jwsdpInvc);
 				invcMap.put(invc.getID(), invc);
+				addToLotMap(invc);
+				addToOwnerMap(invc, invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT));
 			} catch (RuntimeException e) {
 				LOGGER.error("init: [RuntimeException] Problem in " + getClass().getName() + ".init: "
 						+ "ignoring illegal (generic) Invoice-Entry with id=" + jwsdpInvc.getInvoiceId(), e);
@@ -63,6 +87,8 @@ public class FileInvoiceManager {
 		} // for
 
 		LOGGER.debug("init: No. of entries in (generic) invoice map: " + invcMap.size());
+		LOGGER.debug("init: No. of entries in lot map: " + lotMap.size());
+		LOGGER.debug("init: No. of entries in owner map: " + ownerMap.size());
 	}
 
 	protected GnuCashGenerInvoiceImpl createGenerInvoice(final GncGncInvoice jwsdpInvc) {
@@ -78,7 +104,22 @@ public class FileInvoiceManager {
 			throw new IllegalArgumentException("null invoice given");
 		}
 		
-		invcMap.put(invc.getID(), invc);
+		GnuCashGenerInvoice old = invcMap.put(invc.getID(), invc);
+		if ( old != null ) {
+			if ( old != invc ) {
+				gcshFile.linkTargetsModified();
+			}
+			removeFromLotMap(old);
+			removeFromOwnerMap(old, old.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT));
+		}
+		addToLotMap(invc);
+		addToOwnerMap(invc, invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT));
+
+		FullTextIndex<GCshID, GnuCashGenerInvoice> idx = descrIdx;
+		if ( idx != null ) {
+			idx.put(invc.getID(), invc, invc.getDescription());
+		}
+
 		LOGGER.debug("addGenerInvoice: Added (generic) invoice to cache: " + invc.getID());
 	}
 
@@ -87,10 +128,145 @@ public class FileInvoiceManager {
 			throw new IllegalArgumentException("null invoice given");
 		}
 		
-		invcMap.remove(invc.getID());
+		GnuCashGenerInvoice old = invcMap.remove(invc.getID());
+		gcshFile.linkTargetsModified();
+		if ( old != null ) {
+			removeFromLotMap(old);
+			removeFromOwnerMap(old, old.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT));
+		}
+
+		FullTextIndex<GCshID, GnuCashGenerInvoice> idx = descrIdx;
+		if ( idx != null ) {
+			idx.remove(invc.getID());
+		}
+
 		LOGGER.debug("removeGenerInvoice: Removed (generic) invoice from cache: " + invc.getID());
 	}
 
+	/**
+	 * To be called when the description of an already cached invoice
+	 * has been changed.
+	 * 
+	 * @param invc the invoice (or another object wrapping the same invoice)
+	 */
+	public void updateGenerInvoiceDescription(GnuCashGenerInvoice invc) {
+		FullTextIndex<GCshID, GnuCashGenerInvoice> idx = descrIdx;
+		if ( idx == null ) {
+			return;
+		}
+
+		GnuCashGenerInvoice elt = invcMap.get(invc.getID());
+		if ( elt != null ) {
+			idx.put(elt.getID(), elt, invc.getDescription());
+		}
+	}
+
+	/**
+	 * To be called when the post lot of an already cached invoice
+	 * has been set, i.e. when it has been posted.
+	 * 
+	 * @param invc the invoice (or another object wrapping the same invoice)
+	 */
+	public void updateGenerInvoiceLot(GnuCashGenerInvoice invc) {
+		if ( invc == null ) {
+			throw new IllegalArgumentException("null invoice given");
+		}
+		
+		GnuCashGenerInvoice cached = invcMap.get(invc.getID());
+		if ( cached == null ) {
+			LOGGER.warn("updateGenerInvoiceLot: (Generic) invoice " + invc.getID() + " not in cache");
+			return;
+		}
+		
+		removeFromLotMap(cached);
+		addToLotMap(cached);
+		LOGGER.debug("updateGenerInvoiceLot: Updated lot of (generic) invoice in cache: " + invc.getID());
+	}
+
+	/**
+	 * To be called when the (direct) owner of an already cached invoice
+	 * has been changed.
+	 * 
+	 * @param invc the invoice (or another object wrapping the same invoice)
+	 * @param oldOwnID the ID of the owner before the change
+	 */
+	public void updateGenerInvoiceOwner(GnuCashGenerInvoice invc, GCshID oldOwnID) {
+		if ( invc == null ) {
+			throw new IllegalArgumentException("null invoice given");
+		}
+		
+		if ( oldOwnID == null ) {
+			throw new IllegalArgumentException("null old owner ID given");
+		}
+		
+		GnuCashGenerInvoice cached = invcMap.get(invc.getID());
+		if ( cached == null ) {
+			LOGGER.warn("updateGenerInvoiceOwner: (Generic) invoice " + invc.getID() + " not in cache");
+			return;
+		}
+		
+		removeFromOwnerMap(cached, oldOwnID);
+		addToOwnerMap(cached, cached.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT));
+		LOGGER.debug("updateGenerInvoiceOwner: Updated owner of (generic) invoice in cache: " + invc.getID());
+	}
+
+	// ----------------------------
+
+	private void addToLotMap(final GnuCashGenerInvoice invc) {
+		GCshID lotID = invc.getLotID();
+		if ( lotID == null ) {
+			return; // unposted
+		}
+
+		List<GnuCashGenerInvoice> invcList = lotMap.get(lotID);
+		if ( invcList == null ) {
+			invcList = new ArrayList<GnuCashGenerInvoice>(1);
+			lotMap.put(lotID, invcList);
+		}
+		invcList.add(invc);
+	}
+
+	private void removeFromLotMap(final GnuCashGenerInvoice invc) {
+		GCshID lotID = invc.getLotID();
+		if ( lotID != null ) {
+			List<GnuCashGenerInvoice> invcList = lotMap.get(lotID);
+			if ( invcList != null && invcList.remove(invc) ) {
+				if ( invcList.isEmpty() ) {
+					lotMap.remove(lotID);
+				}
+				return;
+			}
+		}
+
+		// The lot may have changed since the invoice has been
+		// added, so we cannot rely on its current lot ID as key
+		Iterator<List<GnuCashGenerInvoice>> iter = lotMap.values().iterator();
+		while ( iter.hasNext() ) {
+			List<GnuCashGenerInvoice> invcList = iter.next();
+			if ( invcList.remove(invc) && invcList.isEmpty() ) {
+				iter.remove();
+			}
+		}
+	}
+
+	private void addToOwnerMap(final GnuCashGenerInvoice invc, final GCshID ownID) {
+		List<GnuCashGenerInvoice> invcList = ownerMap.get(ownID);
+		if ( invcList == null ) {
+			invcList = new ArrayList<GnuCashGenerInvoice>();
+			ownerMap.put(ownID, invcList);
+		}
+		invcList.add(invc);
+	}
+
+	private void removeFromOwnerMap(final GnuCashGenerInvoice invc, final GCshID ownID) {
+		List<GnuCashGenerInvoice> invcList = ownerMap.get(ownID);
+		if ( invcList != null && invcList.remove(invc) ) {
+			if ( invcList.isEmpty() ) {
+				ownerMap.remove(ownID);
+			}
+		}
+	}
+
 	// ---------------------------------------------------------------
 
 	public GnuCashGenerInvoice getGenerInvoiceByID(final GCshID invcID) {
@@ -115,6 +291,83 @@ public class FileInvoiceManager {
 		return retval;
 	}
 
+	/**
+	 * @param lotID the ID of the post lot
+	 * @return the invoice(s) posted with the given lot (typically exactly one),
+	 *         or an empty list if there is none
+	 */
+	public List<GnuCashGenerInvoice> getGenerInvoicesByLotID(final GCshID lotID) {
+		if ( lotID == null ) {
+			throw new IllegalArgumentException("null lot ID given");
+		}
+		
+		if ( ! lotID.isSet() ) {
+			throw new IllegalArgumentException("unset lot ID given");
+		}
+		
+		if ( lotMap == null ) {
+			throw new IllegalStateException("no root-element loaded");
+		}
+
+		List<GnuCashGenerInvoice> invcList = lotMap.get(lotID);
+		if ( invcList == null ) {
+			return Collections.emptyList();
+		}
+
+		return Collections.unmodifiableList(invcList);
+	}
+
+	/**
+	 * @param ownID the ID of the (direct) owner, i.e. of a customer, a vendor,
+	 *              an employee or a job
+	 * @return the invoices of that owner, sorted like {@link #getGenerInvoices()}
+	 */
+	public List<GnuCashGenerInvoice> getGenerInvoicesByOwnerID(final GCshID ownID) {
+		if ( ownID == null ) {
+			throw new IllegalArgumentException("null owner ID given");
+		}
+		
+		if ( ! ownID.isSet() ) {
+			throw new IllegalArgumentException("unset owner ID given");
+		}
+		
+		if ( ownerMap == null ) {
+			throw new IllegalStateException("no root-element loaded");
+		}
+
+		List<GnuCashGenerInvoice> invcList = ownerMap.get(ownID);
+		if ( invcList == null ) {
+			return Collections.emptyList();
+		}
+
+		ArrayList<GnuCashGenerInvoice> retval = new ArrayList<GnuCashGenerInvoice>(invcList);
+		Collections.sort(retval);
+
+		return Collections.unmodifiableList(retval);
+	}
+
+	public List<GnuCashGenerInvoice> getPaidGenerInvoicesByOwnerID(final GCshID ownID) {
+		List<GnuCashGenerInvoice> retval = new ArrayList<GnuCashGenerInvoice>();
+		for ( GnuCashGenerInvoice invc : getGenerInvoicesByOwnerID(ownID) ) {
+			if ( isFullyPaid(invc) ) {
+				retval.add(invc);
+			}
+		}
+
+		return retval;
+	}
+
+	public List<GnuCashGenerInvoice> getUnpaidGenerInvoicesByOwnerID(final GCshID ownID) {
+		List<GnuCashGenerInvoice> retval = new ArrayList<GnuCashGenerInvoice>();
+		for ( GnuCashGenerInvoice invc : getGenerInvoicesByOwnerID(ownID) ) {
+			if ( isNotFullyPaid(invc) ) {
+				retval.add(invc);
+			}
+		}
+
+		return retval;
+	}
+
 	public List<GnuCashGenerInvoice> getGenerInvoicesByType(final GCshOwner.Type type) {
 		if ( type == GCshOwner.Type.UNDEFINED ) {
 			throw new IllegalArgumentException("undefined type given");
@@ -139,6 +392,36 @@ public class FileInvoiceManager {
 		return result;
 	}
 
+	/**
+	 * @param expr the text to search for (case-insensitive)
+	 * @return the invoices the description (notes) of which 
+	 *         contains the given text
+	 */
+	public List<GnuCashGenerInvoice> getGenerInvoicesByDescription(final String expr) {
+		buildFullTextIndex();
+		return descrIdx.search(expr);
+	}
+
+	/**
+	 * Builds the full-text index over the invoices' descriptions,
+	 * if that has not happened yet. Otherwise, it is built 
+	 * on the first search.
+	 */
+	public synchronized void buildFullTextIndex() {
+		if ( invcMap == null ) {
+			throw new IllegalStateException("no root-element loaded");
+		}
+
+		if ( descrIdx == null ) {
+			FullTextIndex<GCshID, GnuCashGenerInvoice> idx = new FullTextIndex<GCshID, GnuCashGenerInvoice>();
+			for ( GnuCashGenerInvoice invc : invcMap.values() ) {
+				idx.put(invc.getID(), invc, invc.getDescription());
+			}
+			descrIdx = idx;
+			LOGGER.debug("buildFullTextIndex: Indexed " + idx.size() + " invoice descriptions");
+		}
+	}
+
 	public List<GnuCashGenerInvoice> getGenerInvoices() {
 		if ( invcMap == null ) {
 			throw new IllegalStateException("no root-element loaded");
@@ -157,22 +440,8 @@ public class FileInvoiceManager {
 	public List<GnuCashGenerInvoice> getPaidGenerInvoices() {
 		List<GnuCashGenerInvoice> retval = new ArrayList<GnuCashGenerInvoice>();
 		for ( GnuCashGenerInvoice invc : getGenerInvoices() ) {
-			if ( invc.getType() == GnuCashGenerInvoice.TYPE_CUSTOMER ) {
-					if ( invc.isCustInvcFullyPaid() ) {
-						retval.add(invc);
-					}
-			} else if ( invc.getType() == GnuCashGenerInvoice.TYPE_VENDOR ) {
-					if ( invc.isVendBllFullyPaid() ) {
-						retval.add(invc);
-					}
-			} else if ( invc.getType() == GnuCashGenerInvoice.TYPE_EMPLOYEE ) {
-					if ( invc.isEmplVchFullyPaid() ) {
-						retval.add(invc);
-					}
-			} else if ( invc.getType() == GnuCashGenerInvoice.TYPE_JOB ) {
-					if ( invc.isJobInvcFullyPaid() ) {
-						retval.add(invc);
-					}
+			if ( isFullyPaid(invc) ) {
+				retval.add(invc);
 			}
 		}
 
@@ -182,28 +451,42 @@ public class FileInvoiceManager {
 	public List<GnuCashGenerInvoice> getUnpaidGenerInvoices() {
 		List<GnuCashGenerInvoice> retval = new ArrayList<GnuCashGenerInvoice>();
 		for ( GnuCashGenerInvoice invc : getGenerInvoices() ) {
-			if ( invc.getType() == GnuCashGenerInvoice.TYPE_CUSTOMER ) {
-					if ( invc.isNotCustInvcFullyPaid() ) {
-						retval.add(invc);
-					}
-			} else if ( invc.getType() == GnuCashGenerInvoice.TYPE_VENDOR ) {
-					if ( invc.isNotVendBllFullyPaid() ) {
-						retval.add(invc);
-					}
-			} else if ( invc.getType() == GnuCashGenerInvoice.TYPE_EMPLOYEE ) {
-					if ( invc.isNotEmplVchFullyPaid() ) {
-						retval.add(invc);
-					}
-			} else if ( invc.getType() == GnuCashGenerInvoice.TYPE_JOB ) {
-					if ( invc.isNotJobInvcFullyPaid() ) {
-						retval.add(invc);
-					}
+			if ( isNotFullyPaid(invc) ) {
+				retval.add(invc);
 			}
 		}
 
 		return retval;
 	}
 
+	protected static boolean isFullyPaid(final GnuCashGenerInvoice invc) {
+		if ( invc.getType() == GnuCashGenerInvoice.TYPE_CUSTOMER ) {
+			return invc.isCustInvcFullyPaid();
+		} else if ( invc.getType() == GnuCashGenerInvoice.TYPE_VENDOR ) {
+			return invc.isVendBllFullyPaid();
+		} else if ( invc.getType() == GnuCashGenerInvoice.TYPE_EMPLOYEE ) {
+			return invc.isEmplVchFullyPaid();
+		} else if ( invc.getType() == GnuCashGenerInvoice.TYPE_JOB ) {
+			return invc.isJobInvcFullyPaid();
+		}
+
+		return false;
+	}
+
+	protected static boolean isNotFullyPaid(final GnuCashGenerInvoice invc) {
+		if ( invc.getType() == GnuCashGenerInvoice.TYPE_CUSTOMER ) {
+			return invc.isNotCustInvcFullyPaid();
+		} else if ( invc.getType() == GnuCashGenerInvoice.TYPE_VENDOR ) {
+			return invc.isNotVendBllFullyPaid();
+		} else if ( invc.getType() == GnuCashGenerInvoice.TYPE_EMPLOYEE ) {
+			return invc.isNotEmplVchFullyPaid();
+		} else if ( invc.getType() == GnuCashGenerInvoice.TYPE_JOB ) {
+			return invc.isNotJobInvcFullyPaid();
+		}
+
+		return false;
+	}
+
 	// ----------------------------
 
 	public List<GnuCashCustomerInvoice> getInvoicesForCustomer_direct(final GnuCashCustomer cust) {
@@ -26,10 +26,8 @@ public abstract class FileInvoiceManager_Customer {
 		
 		List<GnuCashCustomerInvoice> retval = new ArrayList<GnuCashCustomerInvoice>();
 
-		for ( GnuCashGenerInvoice invc : invcMgr.getGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(cust.getID()) ) {
-					retval.add(new GnuCashCustomerInvoiceImpl(invc));
-			}
+		for ( GnuCashGenerInvoice invc : invcMgr.getGenerInvoicesByOwnerID(cust.getID()) ) {
+			retval.add(new GnuCashCustomerInvoiceImpl(invc));
 		}
 
 		return retval;
@@ -59,10 +57,8 @@ public abstract class FileInvoiceManager_Customer {
 		
 		List<GnuCashCustomerInvoice> retval = new ArrayList<GnuCashCustomerInvoice>();
 
-		for ( GnuCashGenerInvoice invc : invcMgr.getPaidGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(cust.getID()) ) {
-					retval.add(new GnuCashCustomerInvoiceImpl(invc));
-			}
+		for ( GnuCashGenerInvoice invc : invcMgr.getPaidGenerInvoicesByOwnerID(cust.getID()) ) {
+			retval.add(new GnuCashCustomerInvoiceImpl(invc));
 		}
 
 		return retval;
@@ -92,10 +88,8 @@ public abstract class FileInvoiceManager_Customer {
 		
 		List<GnuCashCustomerInvoice> retval = new ArrayList<GnuCashCustomerInvoice>();
 
-		for ( GnuCashGenerInvoice invc : invcMgr.getUnpaidGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(cust.getID()) ) {
-					retval.add(new GnuCashCustomerInvoiceImpl(invc));
-			}
+		for ( GnuCashGenerInvoice invc : invcMgr.getUnpaidGenerInvoicesByOwnerID(cust.getID()) ) {
+			retval.add(new GnuCashCustomerInvoiceImpl(invc));
 		}
 
 		return retval;
@@ -24,10 +24,8 @@ public abstract class FileInvoiceManager_Employee {
 		
 		List<GnuCashEmployeeVoucher> retval = new ArrayList<GnuCashEmployeeVoucher>();
 
-		for ( GnuCashGenerInvoice invc : invcMgr.getGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(empl.getID()) ) {
-					retval.add(new GnuCashEmployeeVoucherImpl(invc));
-			}
+		for ( GnuCashGenerInvoice invc : invcMgr.getGenerInvoicesByOwnerID(empl.getID()) ) {
+			retval.add(new GnuCashEmployeeVoucherImpl(invc));
 		}
 
 		return retval;
@@ -41,10 +39,8 @@ public abstract class FileInvoiceManager_Employee {
 		
 		List<GnuCashEmployeeVoucher> retval = new ArrayList<GnuCashEmployeeVoucher>();
 
-		for ( GnuCashGenerInvoice invc : invcMgr.getPaidGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(empl.getID()) ) {
-					retval.add(new GnuCashEmployeeVoucherImpl(invc));
-			}
+		for ( GnuCashGenerInvoice invc : invcMgr.getPaidGenerInvoicesByOwnerID(empl.getID()) ) {
+			retval.add(new GnuCashEmployeeVoucherImpl(invc));
 		}
 
 		return retval;
@@ -58,10 +54,8 @@ public abstract class FileInvoiceManager_Employee {
 		
 		List<GnuCashEmployeeVoucher> retval = new ArrayList<GnuCashEmployeeVoucher>();
 
-		for ( GnuCashGenerInvoice invc : invcMgr.getUnpaidGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(empl.getID()) ) {
-					retval.add(new GnuCashEmployeeVoucherImpl(invc));
-			}
+		for ( GnuCashGenerInvoice invc : invcMgr.getUnpaidGenerInvoicesByOwnerID(empl.getID()) ) {
+			retval.add(new GnuCashEmployeeVoucherImpl(invc));
 		}
 
 		return retval;
@@ -23,10 +23,8 @@ public abstract class FileInvoiceManager_Job {
 		
 		List<GnuCashJobInvoice> retval = new ArrayList<GnuCashJobInvoice>();
 
-		for ( GnuCashGenerInvoice invc : invcMgr.getGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(job.getID()) ) {
-					retval.add(new GnuCashJobInvoiceImpl(invc));
-			}
+		for ( GnuCashGenerInvoice invc : invcMgr.getGenerInvoicesByOwnerID(job.getID()) ) {
+			retval.add(new GnuCashJobInvoiceImpl(invc));
 		}
 
 		return retval;
@@ -40,10 +38,8 @@ public abstract class FileInvoiceManager_Job {
 		
 		List<GnuCashJobInvoice> retval = new ArrayList<GnuCashJobInvoice>();
 
-		for ( GnuCashGenerInvoice invc : invcMgr.getPaidGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(job.getID()) ) {
-					retval.add(new GnuCashJobInvoiceImpl(invc));
-			}
+		for ( GnuCashGenerInvoice invc : invcMgr.getPaidGenerInvoicesByOwnerID(job.getID()) ) {
+			retval.add(new GnuCashJobInvoiceImpl(invc));
 		}
 
 		return retval;
@@ -57,10 +53,8 @@ public abstract class FileInvoiceManager_Job {
 		
 		List<GnuCashJobInvoice> retval = new ArrayList<GnuCashJobInvoice>();
 
-		for ( GnuCashGenerInvoice invc : invcMgr.getUnpaidGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(job.getID()) ) {
-					retval.add(new GnuCashJobInvoiceImpl(invc));
-			}
+		for ( GnuCashGenerInvoice invc : invcMgr.getUnpaidGenerInvoicesByOwnerID(job.getID()) ) {
+			retval.add(new GnuCashJobInvoiceImpl(invc));
 		}
 
 		return retval;
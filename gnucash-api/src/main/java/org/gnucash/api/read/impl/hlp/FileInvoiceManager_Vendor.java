@@ -26,10 +26,8 @@ public abstract class FileInvoiceManager_Vendor {
 		
 		List<GnuCashVendorBill> retval = new ArrayList<GnuCashVendorBill>();
 
-		for ( GnuCashGenerInvoice invc : invMgr.getGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(vend.getID()) ) {
-					retval.add(new GnuCashVendorBillImpl(invc));
-			}
+		for ( GnuCashGenerInvoice invc : invMgr.getGenerInvoicesByOwnerID(vend.getID()) ) {
+			retval.add(new GnuCashVendorBillImpl(invc));
 		}
 
 		return retval;
@@ -59,10 +57,8 @@ public abstract class FileInvoiceManager_Vendor {
 		
 		List<GnuCashVendorBill> retval = new ArrayList<GnuCashVendorBill>();
 
-		for ( GnuCashGenerInvoice invc : invMgr.getPaidGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(vend.getID()) ) {
-					retval.add(new GnuCashVendorBillImpl(invc));
-			}
+		for ( GnuCashGenerInvoice invc : invMgr.getPaidGenerInvoicesByOwnerID(vend.getID()) ) {
+			retval.add(new GnuCashVendorBillImpl(invc));
 		}
 
 		return retval;
@@ -92,10 +88,8 @@ public abstract class FileInvoiceManager_Vendor {
 		
 		List<GnuCashVendorBill> retval = new ArrayList<GnuCashVendorBill>();
 
-		for ( GnuCashGenerInvoice invc : invMgr.getUnpaidGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(vend.getID()) ) {
-					retval.add(new GnuCashVendorBillImpl(invc));
-			}
+		for ( GnuCashGenerInvoice invc : invMgr.getUnpaidGenerInvoicesByOwnerID(vend.getID()) ) {
+			retval.add(new GnuCashVendorBillImpl(invc));
 		}
 
 		return retval;
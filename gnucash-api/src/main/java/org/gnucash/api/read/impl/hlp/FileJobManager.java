@@ -39,6 +39,17 @@ public class FileJobManager {
 
     protected Map<GCshID, GnuCashGenerJob> jobMap;
 
+    /**
+     * Owner (customer/vendor) ID -&gt; jobs of that owner
+     */
+    private Map<GCshID, List<GnuCashGenerJob>> ownerMap;
+
+    /**
+     * Index over the jobs' names. Built on the first look-up 
+     * (null before), then kept up to date.
+     */
+    private volatile NameIndex<GCshID, GnuCashGenerJob> nameIdx = null;
+
     // ---------------------------------------------------------------
     
 	public FileJobManager(GnuCashFileImpl gcshFile) {
@@ -50,12 +61,9 @@ public class FileJobManager {
 
 	private void init(final GncV2 pRootElement) {
 		jobMap = new HashMap<GCshID, GnuCashGenerJob>();
+		ownerMap = new HashMap<GCshID, List<GnuCashGenerJob>>();
 
-		for ( Object bookElement : pRootElement.getGncBook().getBookElements() ) {
-			if ( !(bookElement instanceof GncGncJob) ) {
-				continue;
-			}
-			GncGncJob jwsdpJob = (GncGncJob) bookElement;
+		for ( GncGncJob jwsdpJob : gcshFile.getBookElementIndex().getGenerJobs() ) {
 
 			try {
 				GnuCashGenerJobImpl generJob = createGenerJob(jwsdpJob);
@@ -66,6 +74,7 @@ public class FileJobManager {
 					jobID = new GCshID(GCshID.NULL_ID);
 				}
 				jobMap.put(jobID, generJob);
+				addToOwnerMap(generJob, generJob.getOwnerID());
 			} catch (RuntimeException e) {
 				LOGGER.error("init: [RuntimeException] Problem in " + getClass().getName() + ".init: "
 						+ "ignoring illegal (generic) Job entry with id=" + jwsdpJob.getJobId(), e);
@@ -73,6 +82,7 @@ public class FileJobManager {
 		} // for
 
 		LOGGER.debug("init: No. of entries in generic Job map: " + jobMap.size());
+		LOGGER.debug("init: No. of entries in owner map: " + ownerMap.size());
 	}
 
 	protected GnuCashGenerJobImpl createGenerJob(final GncGncJob jwsdpJob) {
@@ -100,7 +110,16 @@ public class FileJobManager {
 			throw new IllegalArgumentException("null job given");
 		}
 		
-		jobMap.put(job.getID(), job);
+		GnuCashGenerJob old = jobMap.put(job.getID(), job);
+		if ( old != null ) {
+			removeFromOwnerMap(old, old.getOwnerID());
+		}
+		addToOwnerMap(job, job.getOwnerID());
+
+		NameIndex<GCshID, GnuCashGenerJob> idx = nameIdx;
+		if ( idx != null ) {
+			idx.put(job.getID(), job, job.getName());
+		}
 
 		LOGGER.debug("Added (generic) jop to cache: " + job.getID());
 	}
@@ -110,11 +129,96 @@ public class FileJobManager {
 			throw new IllegalArgumentException("null job given");
 		}
 		
-		jobMap.remove(job.getID());
+		GnuCashGenerJob old = jobMap.remove(job.getID());
+		if ( old != null ) {
+			removeFromOwnerMap(old, old.getOwnerID());
+		}
+
+		NameIndex<GCshID, GnuCashGenerJob> idx = nameIdx;
+		if ( idx != null ) {
+			idx.remove(job.getID());
+		}
 
 		LOGGER.debug("removeGenerJob: No. of generic jobs: " + jobMap.size());
 	}
 
+	/**
+	 * To be called when the name of an already cached job
+	 * has been changed.
+	 * 
+	 * @param job the job (or another object wrapping the same job)
+	 */
+	public void updateGenerJobName(GnuCashGenerJob job) {
+		NameIndex<GCshID, GnuCashGenerJob> idx = nameIdx;
+		if ( idx == null ) {
+			return;
+		}
+
+		GnuCashGenerJob elt = jobMap.get(job.getID());
+		if ( elt != null ) {
+			idx.put(elt.getID(), elt, job.getName());
+		}
+	}
+
+	private synchronized NameIndex<GCshID, GnuCashGenerJob> getNameIndex() {
+		if ( nameIdx == null ) {
+			NameIndex<GCshID, GnuCashGenerJob> idx = new NameIndex<GCshID, GnuCashGenerJob>();
+			for ( Map.Entry<GCshID, GnuCashGenerJob> entry : jobMap.entrySet() ) {
+				idx.put(entry.getKey(), entry.getValue(), entry.getValue().getName());
+			}
+			nameIdx = idx;
+		}
+
+		return nameIdx;
+	}
+
+	/**
+	 * To be called when the owner of an already cached job
+	 * has been changed.
+	 * 
+	 * @param job the job (or another object wrapping the same job)
+	 * @param oldOwnID the ID of the owner before the change
+	 */
+	public void updateGenerJobOwner(GnuCashGenerJob job, GCshID oldOwnID) {
+		if ( job == null ) {
+			throw new IllegalArgumentException("null job given");
+		}
+		
+		if ( oldOwnID == null ) {
+			throw new IllegalArgumentException("null old owner ID given");
+		}
+		
+		GnuCashGenerJob cached = jobMap.get(job.getID());
+		if ( cached == null ) {
+			LOGGER.warn("updateGenerJobOwner: (Generic) job " + job.getID() + " not in cache");
+			return;
+		}
+		
+		removeFromOwnerMap(cached, oldOwnID);
+		addToOwnerMap(cached, cached.getOwnerID());
+		LOGGER.debug("updateGenerJobOwner: Updated owner of (generic) job in cache: " + job.getID());
+	}
+
+	// ----------------------------
+
+	private void addToOwnerMap(final GnuCashGenerJob job, final GCshID ownID) {
+		List<GnuCashGenerJob> jobList = ownerMap.get(ownID);
+		if ( jobList == null ) {
+			jobList = new ArrayList<GnuCashGenerJob>();
+			ownerMap.put(ownID, jobList);
+		}
+		jobList.add(job);
+	}
+
+	private void removeFromOwnerMap(final GnuCashGenerJob job, final GCshID ownID) {
+		List<GnuCashGenerJob> jobList = ownerMap.get(ownID);
+		if ( jobList != null && jobList.remove(job) ) {
+			if ( jobList.isEmpty() ) {
+				ownerMap.remove(ownID);
+			}
+		}
+	}
+
 	// ---------------------------------------------------------------
 
 	public GnuCashGenerJob getGenerJobByID(final GCshID jobID) {
@@ -138,6 +242,31 @@ public class FileJobManager {
 		return retval;
 	}
 
+	/**
+	 * @param ownID the ID of the owner, i.e. of a customer or a vendor
+	 * @return the jobs of that owner
+	 */
+	public List<GnuCashGenerJob> getGenerJobsByOwnerID(final GCshID ownID) {
+		if ( ownID == null ) {
+			throw new IllegalArgumentException("null owner ID given");
+		}
+		
+		if ( ! ownID.isSet() ) {
+			throw new IllegalArgumentException("unset owner ID given");
+		}
+		
+		if ( ownerMap == null ) {
+			throw new IllegalStateException("no root-element loaded");
+		}
+
+		List<GnuCashGenerJob> jobList = ownerMap.get(ownID);
+		if ( jobList == null ) {
+			return Collections.emptyList();
+		}
+
+		return Collections.unmodifiableList(jobList);
+	}
+
 	public List<GnuCashGenerJob> getGenerJobsByType(GCshOwner.Type type) {
 		if ( type != GnuCashGenerJob.TYPE_CUSTOMER && 
 			 type != GnuCashGenerJob.TYPE_VENDOR ) {
@@ -182,21 +311,11 @@ public class FileJobManager {
 			throw new IllegalStateException("no root-element loaded");
 		}
 
-		List<GnuCashGenerJob> result = new ArrayList<GnuCashGenerJob>();
-
-		for ( GnuCashGenerJob job : jobMap.values() ) {
-			if ( relaxed ) {
-				if ( job.getName().trim().toLowerCase().contains(expr.trim().toLowerCase()) ) {
-					result.add(job);
-				}
-			} else {
-				if ( job.getName().equals(expr) ) {
-					result.add(job);
-				}
-			}
+		if ( relaxed ) {
+			return getNameIndex().getByNamePart(expr.trim());
+		} else {
+			return getNameIndex().getByName(expr);
 		}
-
-		return result;
 	}
 
 	public GnuCashGenerJob getGenerJobByNameUniq(final String name)
@@ -277,16 +396,8 @@ public class FileJobManager {
 
 		List<GnuCashCustomerJob> result = new ArrayList<GnuCashCustomerJob>();
 
-		for ( GnuCashGenerJob job : jobMap.values() ) {
-			if ( relaxed ) {
-				if ( job.getName().trim().toLowerCase().contains(expr.trim().toLowerCase()) ) {
-					result.add(new GnuCashCustomerJobImpl(job));
-				}
-			} else {
-				if ( job.getName().equals(expr) ) {
-					result.add(new GnuCashCustomerJobImpl(job));
-				}
-			}
+		for ( GnuCashGenerJob job : getGenerJobsByName(expr, relaxed) ) {
+			result.add(new GnuCashCustomerJobImpl(job));
 		}
 
 		return result;
@@ -379,16 +490,8 @@ public class FileJobManager {
 
 		List<GnuCashVendorJob> result = new ArrayList<GnuCashVendorJob>();
 
-		for ( GnuCashGenerJob job : jobMap.values() ) {
-			if ( relaxed ) {
-				if ( job.getName().trim().toLowerCase().contains(expr.trim().toLowerCase()) ) {
-					result.add(new GnuCashVendorJobImpl(job));
-				}
-			} else {
-				if ( job.getName().equals(expr) ) {
-					result.add(new GnuCashVendorJobImpl(job));
-				}
-			}
+		for ( GnuCashGenerJob job : getGenerJobsByName(expr, relaxed) ) {
+			result.add(new GnuCashVendorJobImpl(job));
 		}
 
 		return result;
@@ -23,10 +23,8 @@ public abstract class FileJobManager_Customer {
 		
 		List<GnuCashCustomerJob> retval = new ArrayList<GnuCashCustomerJob>();
 
-		for ( GnuCashGenerJob job : jobMgr.getGenerJobs() ) {
-			if ( job.getOwnerID().equals(cust.getID()) ) {
-					retval.add(new GnuCashCustomerJobImpl(job));
-			}
+		for ( GnuCashGenerJob job : jobMgr.getGenerJobsByOwnerID(cust.getID()) ) {
+			retval.add(new GnuCashCustomerJobImpl(job));
 		}
 
 		return retval;
@@ -23,10 +23,8 @@ public abstract class FileJobManager_Vendor {
 		
 		List<GnuCashVendorJob> retval = new ArrayList<GnuCashVendorJob>();
 
-		for ( GnuCashGenerJob job : jobMgr.getGenerJobs() ) {
-			if ( job.getOwnerID().equals(vend.getID()) ) {
-					retval.add(new GnuCashVendorJobImpl(job));
-			}
+		for ( GnuCashGenerJob job : jobMgr.getGenerJobsByOwnerID(vend.getID()) ) {
+			retval.add(new GnuCashVendorJobImpl(job));
 		}
 
 		return retval;
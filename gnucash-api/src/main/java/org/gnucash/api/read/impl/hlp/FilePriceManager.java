@@ -1,18 +1,21 @@
 package org.gnucash.api.read.impl.hlp;
 
 import java.text.DateFormat;
-import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Currency;
-import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.gnucash.api.Const;
+import org.gnucash.api.currency.PriceConversionGraph;
 import org.gnucash.api.generated.GncPricedb;
 import org.gnucash.api.generated.GncV2;
 import org.gnucash.api.generated.Price;
@@ -46,6 +49,23 @@ public class FilePriceManager {
     private GncPricedb                priceDB = null;
     private Map<GCshID, GnuCashPrice> prcMap  = null;
 
+    /**
+     * The price quotes as time series, by from-commodity/currency 
+     * and to-currency. Built on load; re-built lazily after changes.
+     */
+    private Map<String, Map<String, PriceTimeSeries>> prcSeriesMap = null;
+
+    /**
+     * All price quotes as a conversion graph. Built lazily; 
+     * dropped whenever the price quotes change.
+     * <br>
+     * Built and dropped under convGraphLock (so that an invalidation
+     * waits for a build in progress and never gets lost), 
+     * but read without it.
+     */
+    private volatile PriceConversionGraph convGraph = null;
+    private final Object convGraphLock = new Object();
+
     // ---------------------------------------------------------------
     
 	public FilePriceManager(GnuCashFileImpl gcshFile) {
@@ -56,7 +76,9 @@ public class FilePriceManager {
 	// ---------------------------------------------------------------
 
 	private void init(final GncV2 pRootElement) {
-		prcMap = new HashMap<GCshID, GnuCashPrice>();
+		// sic, linked: price quotes with the same time stamp 
+		// have to keep their order in the file
+		prcMap = new LinkedHashMap<GCshID, GnuCashPrice>();
 
 		initPriceDB(pRootElement);
 		List<Price> prices = priceDB.getPrice();
@@ -65,16 +87,25 @@ public class FilePriceManager {
 			prcMap.put(price.getID(), price);
 		}
 
+		initPriceSeries();
+
 		LOGGER.debug("init: No. of entries in Price map: " + prcMap.size());
 	}
 
+	private void initPriceSeries() {
+		prcSeriesMap = new HashMap<String, Map<String, PriceTimeSeries>>();
+
+		for ( GnuCashPrice prc : prcMap.values() ) {
+			addToPriceSeries(prc);
+		}
+
+		LOGGER.debug("initPriceSeries: No. of commodities/currencies in price series map: " + prcSeriesMap.size());
+	}
+
 	private void initPriceDB(final GncV2 pRootElement) {
-		List<Object> bookElements = pRootElement.getGncBook().getBookElements();
-		for ( Object bookElement : bookElements ) {
-			if ( bookElement instanceof GncPricedb ) {
-				priceDB = (GncPricedb) bookElement;
-				return;
-			}
+		List<GncPricedb> priceDBs = gcshFile.getBookElementIndex().getPriceDBs();
+		if ( ! priceDBs.isEmpty() ) {
+			priceDB = priceDBs.get(0);
 		}
 	}
 
@@ -92,6 +123,10 @@ public class FilePriceManager {
 		}
 		
 		prcMap.put(prc.getID(), prc);
+		if ( prcSeriesMap != null ) {
+			addToPriceSeries(prc);
+		}
+		invalidateConversionGraph();
 		LOGGER.debug("Added price to cache: " + prc.getID());
 	}
 
@@ -101,9 +136,184 @@ public class FilePriceManager {
 		}
 		
 		prcMap.remove(prc.getID());
+		invalidatePriceSeries();
 		LOGGER.debug("Removed price from cache: " + prc.getID());
 	}
 
+	/**
+	 * To be called whenever the commodities/currencies or the date
+	 * of a price has been changed.
+	 */
+	public void invalidatePriceSeries() {
+		prcSeriesMap = null;
+		invalidateConversionGraph();
+	}
+
+	private void invalidateConversionGraph() {
+		synchronized ( convGraphLock ) {
+			convGraph = null;
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	private Map<String, Map<String, PriceTimeSeries>> getPriceSeriesMap() {
+		if ( prcMap == null ) {
+			throw new IllegalStateException("no root-element loaded");
+		}
+
+		if ( prcSeriesMap == null ) {
+			initPriceSeries();
+		}
+
+		return prcSeriesMap;
+	}
+
+	private void addToPriceSeries(final GnuCashPrice prc) {
+		if ( ! ( prc instanceof GnuCashPriceImpl ) ) {
+			LOGGER.warn("addToPriceSeries: Cannot index price of class " + prc.getClass().getName() + ": " + prc.getID());
+			return;
+		}
+		
+		Price jwsdpPrc = ((GnuCashPriceImpl) prc).getJwsdpPeer();
+		
+		PriceCommodity fromCmdtyCurr = jwsdpPrc.getPriceCommodity();
+		PriceCurrency toCurr = jwsdpPrc.getPriceCurrency();
+
+		if ( fromCmdtyCurr == null ) {
+			LOGGER.warn("addToPriceSeries: GnuCash file contains price-quotes without from-commodity/currency: '"
+					+ jwsdpPrc.toString() + "'");
+			return;
+		}
+
+		if ( toCurr == null ) {
+			LOGGER.warn("addToPriceSeries: GnuCash file contains price-quotes without to-currency: '"
+					+ jwsdpPrc.toString() + "'");
+			return;
+		}
+
+		if ( fromCmdtyCurr.getCmdtySpace() == null ||
+			 fromCmdtyCurr.getCmdtyId() == null ) {
+			LOGGER.warn("addToPriceSeries: GnuCash file contains price-quotes with incomplete from-commodity/currency: id='"
+							+ prc.getID() + "'");
+			return;
+		}
+
+		if ( toCurr.getCmdtySpace() == null ||
+			 toCurr.getCmdtyId() == null ) {
+			LOGGER.warn("addToPriceSeries: GnuCash file contains price-quotes with incomplete to-currency: id='"
+					+ prc.getID() + "'");
+			return;
+		}
+
+		if ( jwsdpPrc.getPriceTime() == null ) {
+			LOGGER.warn("addToPriceSeries: GnuCash file contains price-quotes without timestamp id='"
+					+ prc.getID() + "'");
+			return;
+		}
+
+		if ( jwsdpPrc.getPriceValue() == null ) {
+			LOGGER.warn("addToPriceSeries: GnuCash file contains price-quotes without value id='"
+					+ prc.getID() + "'");
+			return;
+		}
+
+		ZonedDateTime dateTime = null;
+		try {
+			prc.getValue();
+			dateTime = ((GnuCashPriceImpl) prc).getDateTime();
+		} catch (NumberFormatException e) {
+			LOGGER.error("addToPriceSeries: [NumberFormatException] Ignoring a bad price-quote '" + prc.getID() + "'", e);
+			return;
+		} catch (IllegalStateException e) {
+			LOGGER.error("addToPriceSeries: [IllegalStateException] Ignoring a bad price-quote '" + prc.getID() + "'", e);
+			return;
+		}
+
+		String fromKey = getPriceSeriesKey(fromCmdtyCurr.getCmdtySpace(), fromCmdtyCurr.getCmdtyId());
+		String toKey   = getPriceSeriesKey(toCurr.getCmdtySpace(), toCurr.getCmdtyId());
+
+		Map<String, PriceTimeSeries> seriesByTo = prcSeriesMap.get(fromKey);
+		if ( seriesByTo == null ) {
+			seriesByTo = new LinkedHashMap<String, PriceTimeSeries>();
+			prcSeriesMap.put(fromKey, seriesByTo);
+		}
+
+		PriceTimeSeries series = seriesByTo.get(toKey);
+		if ( series == null ) {
+			series = new PriceTimeSeries(new GCshCmdtyCurrID(fromCmdtyCurr.getCmdtySpace(), fromCmdtyCurr.getCmdtyId()),
+										 new GCshCmdtyCurrID(toCurr.getCmdtySpace(), toCurr.getCmdtyId()));
+			seriesByTo.put(toKey, series);
+		}
+
+		series.add(prc, dateTime);
+	}
+
+	/**
+	 * @return the conversion graph over all price quotes
+	 *         (built on first access after a change)
+	 */
+	public PriceConversionGraph getConversionGraph() {
+		PriceConversionGraph result = convGraph;
+		if ( result == null ) {
+			synchronized ( convGraphLock ) {
+				result = convGraph;
+				if ( result == null ) {
+					result = createConversionGraph();
+					convGraph = result;
+				}
+			}
+		}
+
+		return result;
+	}
+
+	private PriceConversionGraph createConversionGraph() {
+		long start = System.currentTimeMillis();
+
+		PriceConversionGraph result = new PriceConversionGraph(new GCshCurrID(gcshFile.getDefaultCurrencyID()));
+		for ( Map<String, PriceTimeSeries> seriesByTo : getPriceSeriesMap().values() ) {
+			for ( PriceTimeSeries series : seriesByTo.values() ) {
+				for ( int i = 0; i < series.size(); i++ ) {
+					// Of several quotes with the same time stamp, 
+					// the first one counts (cf. getPrice_int())
+					if ( i > 0 &&
+						 series.getDateTime(i).isEqual(series.getDateTime(i - 1)) ) {
+						continue;
+					}
+
+					LocalDate date = series.getDateTime(i).withZoneSameInstant(ZoneId.systemDefault()).toLocalDate();
+					result.addQuote(series.getFromCmdtyCurrID(), series.getToCmdtyCurrID(), 
+									date, series.getPrice(i).getValue());
+				}
+			}
+		}
+
+		long end = System.currentTimeMillis();
+		LOGGER.debug("createConversionGraph: Built conversion graph with " + result.getNofEdges() + " edges and "
+				+ result.getNofBuckets() + " date buckets in " + (end - start) + " ms");
+
+		return result;
+	}
+
+	/**
+	 * @param amount          the amount to convert (will not be changed)
+	 * @param fromCmdtyCurrID the commodity/currency the amount is in
+	 * @param toCmdtyCurrID   the commodity/currency to convert to
+	 * @param date            the date whose price quotes are to be used
+	 *                        (null means: the latest ones)
+	 * @return the converted amount, or null if there is no conversion path
+	 */
+	public FixedPointNumber convert(final FixedPointNumber amount, 
+			final GCshCmdtyCurrID fromCmdtyCurrID, final GCshCmdtyCurrID toCmdtyCurrID, 
+			final LocalDate date) {
+		return getConversionGraph().convert(amount, fromCmdtyCurrID, toCmdtyCurrID, date);
+	}
+
+	private static String getPriceSeriesKey(final String nameSpace, final String code) {
+		return nameSpace + GCshCmdtyCurrID.SEPARATOR + code;
+	}
+
 	// ---------------------------------------------------------------
 
 	public GncPricedb getPriceDB() {
@@ -183,9 +393,11 @@ public class FilePriceManager {
 		
 		List<GnuCashPrice> result = new ArrayList<GnuCashPrice>();
 
-		for ( GnuCashPrice prc : getPrices() ) {
-			if ( prc.getFromCmdtyCurrQualifID().toString().equals(cmdtyCurrID.toString()) ) {
-				result.add(prc);
+		Map<String, PriceTimeSeries> seriesByTo = getPriceSeriesMap()
+				.get(getPriceSeriesKey(cmdtyCurrID.getNameSpace(), cmdtyCurrID.getCode()));
+		if ( seriesByTo != null ) {
+			for ( PriceTimeSeries series : seriesByTo.values() ) {
+				result.addAll(series.getPrices());
 			}
 		}
 		
@@ -239,7 +451,14 @@ public class FilePriceManager {
 		return getLatestPrice(new GCshCmdtyCurrID(pCmdtySpace, pCmdtyId), 0);
 	}
 
-	private FixedPointNumber getLatestPrice(final GCshCmdtyCurrID cmdtyCurrID, final int depth) {
+	/**
+	 * @param cmdtyCurrID the commodity/currency to get the price for
+	 * @param date        the date to get the price for
+	 * @return the latest price-quote at the given date (i.e., the time stamp
+	 *         of which is on or before that day), converted to the default
+	 *         currency, or null if there is none
+	 */
+	public FixedPointNumber getPriceAsOf(final GCshCmdtyCurrID cmdtyCurrID, final LocalDate date) {
 		if ( cmdtyCurrID == null ) {
 			throw new IllegalArgumentException("null commodity/currency ID given");
 		}
@@ -248,151 +467,82 @@ public class FilePriceManager {
 			throw new IllegalArgumentException("unset commodity/currency ID given");
 		}
 
-		// System.err.println("depth: " + depth);
+		if ( date == null ) {
+			throw new IllegalArgumentException("null date given");
+		}
 
-		Date latestDate = null;
-		FixedPointNumber latestQuote = null;
-		FixedPointNumber factor = new FixedPointNumber(1); // factor is used if the quote is not to our base-currency
-		final int maxRecursionDepth = RECURS_DEPTH_MAX;
+		ZonedDateTime before = date.plusDays(1).atStartOfDay(ZoneId.systemDefault());
+		return getPrice_int(cmdtyCurrID, before, gcshFile.getDefaultCurrencyID(), 0);
+	}
 
-		for ( Price priceQuote : priceDB.getPrice() ) {
-			if ( priceQuote == null ) {
-				LOGGER.warn(
-						"getLatestPrice: GnuCash file contains null price-quotes - there may be a problem with JWSDP");
-				continue;
-			}
+	private FixedPointNumber getLatestPrice(final GCshCmdtyCurrID cmdtyCurrID, final int depth) {
+		if ( cmdtyCurrID == null ) {
+			throw new IllegalArgumentException("null commodity/currency ID given");
+		}
+		
+		if ( ! cmdtyCurrID.isSet() ) {
+			throw new IllegalArgumentException("unset commodity/currency ID given");
+		}
 
-			PriceCommodity fromCmdtyCurr = priceQuote.getPriceCommodity();
-			PriceCurrency toCurr = priceQuote.getPriceCurrency();
+		return getPrice_int(cmdtyCurrID, null, gcshFile.getDefaultCurrencyID(), depth);
+	}
 
-			if ( fromCmdtyCurr == null ) {
-				LOGGER.warn("getLatestPrice: GnuCash file contains price-quotes without from-commodity/currency: '"
-						+ priceQuote.toString() + "'");
+	/**
+	 * @param cmdtyCurrID the commodity/currency to get the price for
+	 * @param before      only price-quotes strictly before that time are 
+	 *                    taken into account (null means: no limit)
+	 * @param dfltCurrID  the default currency (code) of the file
+	 * @param depth       recursion depth (quotes in other currencies 
+	 *                    than the default one are converted recursively)
+	 */
+	private FixedPointNumber getPrice_int(final GCshCmdtyCurrID cmdtyCurrID, final ZonedDateTime before,
+			final String dfltCurrID, final int depth) {
+		Map<String, PriceTimeSeries> seriesByTo = getPriceSeriesMap()
+				.get(getPriceSeriesKey(cmdtyCurrID.getNameSpace(), cmdtyCurrID.getCode()));
+		if ( seriesByTo == null ) {
+			LOGGER.debug("getPrice_int: No price-quotes for '" + cmdtyCurrID.toString() + "'");
+			return null;
+		}
+
+		// Of all to-currencies, take the one with the latest quote
+		PriceTimeSeries latestSeries = null;
+		int latestIdx = -1;
+		for ( PriceTimeSeries series : seriesByTo.values() ) {
+			int idx = series.indexOfLatestBefore(before);
+			if ( idx < 0 ) {
 				continue;
 			}
 
-			if ( toCurr == null ) {
-				LOGGER.warn("getLatestPrice: GnuCash file contains price-quotes without to-currency: '"
-						+ priceQuote.toString() + "'");
+			GCshCmdtyCurrID toCmdtyCurrID = series.getToCmdtyCurrID();
+			if ( depth > RECURS_DEPTH_MAX &&
+				 ! isDefaultCurrency(toCmdtyCurrID, dfltCurrID) ) {
+				LOGGER.warn("getPrice_int: Ignoring price-quote that is not in " + dfltCurrID
+						+ " but in '" + toCmdtyCurrID.toString() + "'");
 				continue;
 			}
 
-			try {
-				if ( fromCmdtyCurr.getCmdtySpace() == null ) {
-					LOGGER.warn(
-							"getLatestPrice: GnuCash file contains price-quotes with from-commodity/currency without namespace: id='"
-									+ priceQuote.getPriceId().getValue() + "'");
-					continue;
-				}
-
-				if ( fromCmdtyCurr.getCmdtyId() == null ) {
-					LOGGER.warn(
-							"getLatestPrice: GnuCash file contains price-quotes with from-commodity/currency without code: id='"
-									+ priceQuote.getPriceId().getValue() + "'");
-					continue;
-				}
-
-				if ( toCurr.getCmdtySpace() == null ) {
-					LOGGER.warn(
-							"getLatestPrice: GnuCash file contains price-quotes with to-currency without namespace: id='"
-									+ priceQuote.getPriceId().getValue() + "'");
-					continue;
-				}
-
-				if ( toCurr.getCmdtyId() == null ) {
-					LOGGER.warn("getLatestPrice: GnuCash file contains price-quotes with to-currency without code: id='"
-							+ priceQuote.getPriceId().getValue() + "'");
-					continue;
-				}
-
-				if ( priceQuote.getPriceTime() == null ) {
-					LOGGER.warn("getLatestPrice: GnuCash file contains price-quotes without timestamp id='"
-							+ priceQuote.getPriceId().getValue() + "'");
-					continue;
-				}
-
-				if ( priceQuote.getPriceValue() == null ) {
-					LOGGER.warn("getLatestPrice: GnuCash file contains price-quotes without value id='"
-							+ priceQuote.getPriceId().getValue() + "'");
-					continue;
-				}
-
-				/*
-				 * if (priceQuote.getPriceCommodity().getCmdtySpace().equals("FUND") &&
-				 * priceQuote.getPriceType() == null) {
-				 * LOGGER.warn("getLatestPrice: GnuCash file contains FUND-price-quotes" +
-				 * " with no type id='" + priceQuote.getPriceID().getValue() + "'"); continue; }
-				 */
-
-				if ( !(fromCmdtyCurr.getCmdtySpace().equals(cmdtyCurrID.getNameSpace())
-						&& fromCmdtyCurr.getCmdtyId().equals(cmdtyCurrID.getCode())) ) {
-					continue;
-				}
-
-				/*
-				 * if (priceQuote.getPriceCommodity().getCmdtySpace().equals("FUND") &&
-				 * (priceQuote.getPriceType() == null ||
-				 * !priceQuote.getPriceType().equals("last") )) {
-				 * LOGGER.warn("getLatestPrice: ignoring FUND-price-quote of unknown type '" +
-				 * priceQuote.getPriceType() + "' expecting 'last' "); continue; }
-				 */
-
-				// BEGIN core
-				if ( !toCurr.getCmdtySpace().equals(GCshCmdtyCurrNameSpace.CURRENCY) ) {
-					// is commodity
-					if ( depth > maxRecursionDepth ) {
-						LOGGER.warn("getLatestPrice: Ignoring price-quote that is not in an ISO4217-currency"
-								+ " but in '" + toCurr.getCmdtySpace() + ":" + toCurr.getCmdtyId() + "'");
-						continue;
-					}
-					factor = getLatestPrice(new GCshCmdtyID(toCurr.getCmdtySpace(), toCurr.getCmdtyId()), depth + 1);
-				} else {
-					// is currency
-					if ( !toCurr.getCmdtyId().equals(gcshFile.getDefaultCurrencyID()) ) {
-						if ( depth > maxRecursionDepth ) {
-							LOGGER.warn("Ignoring price-quote that is not in " + gcshFile.getDefaultCurrencyID()
-									+ " but in '" + toCurr.getCmdtySpace() + ":" + toCurr.getCmdtyId() + "'");
-							continue;
-						}
-						factor = getLatestPrice(new GCshCurrID(toCurr.getCmdtyId()), depth + 1);
-					}
-				}
-				// END core
-
-				Date date = PRICE_QUOTE_DATE_FORMAT.parse(priceQuote.getPriceTime().getTsDate());
-
-				if ( latestDate == null || latestDate.before(date) ) {
-					latestDate = date;
-					latestQuote = new FixedPointNumber(priceQuote.getPriceValue());
-					LOGGER.debug("getLatestPrice: getLatestPrice(pCmdtyCurrID='" + cmdtyCurrID.toString()
-							+ "') converted " + latestQuote + " <= " + priceQuote.getPriceValue());
-				}
-
-			} catch (NumberFormatException e) {
-				LOGGER.error("getLatestPrice: [NumberFormatException] Problem in " + getClass().getName()
-						+ ".getLatestPrice(pCmdtyCurrID='" + cmdtyCurrID.toString() + "')! Ignoring a bad price-quote '"
-						+ priceQuote + "'", e);
-			} catch (ParseException e) {
-				LOGGER.error("getLatestPrice: [ParseException] Problem in " + getClass().getName() + " "
-						+ cmdtyCurrID.toString() + "')! Ignoring a bad price-quote '" + priceQuote + "'", e);
-			} catch (NullPointerException e) {
-				LOGGER.error("getLatestPrice: [NullPointerException] Problem in " + getClass().getName()
-						+ ".getLatestPrice(pCmdtyCurrID='" + cmdtyCurrID.toString() + "')! Ignoring a bad price-quote '"
-						+ priceQuote + "'", e);
-			} catch (ArithmeticException e) {
-				LOGGER.error("getLatestPrice: [ArithmeticException] Problem in " + getClass().getName()
-						+ ".getLatestPrice(pCmdtyCurrID='" + cmdtyCurrID.toString() + "')! Ignoring a bad price-quote '"
-						+ priceQuote + "'", e);
+			if ( latestSeries == null ||
+				 latestSeries.getDateTime(latestIdx).isBefore(series.getDateTime(idx)) ) {
+				latestSeries = series;
+				latestIdx = idx;
 			}
-		} // for priceQuote
-
-		LOGGER.debug("getLatestPrice: " + getClass().getName() + ".getLatestPrice(pCmdtyCurrID='"
-				+ cmdtyCurrID.toString() + "')= " + latestQuote + " from " + latestDate);
+		}
 
-		if ( latestQuote == null ) {
+		if ( latestSeries == null ) {
 			return null;
 		}
 
+		GnuCashPrice latestPrc = latestSeries.getPrice(latestIdx);
+		FixedPointNumber latestQuote = latestPrc.getValue();
+		LOGGER.debug("getPrice_int: getPrice_int(cmdtyCurrID='" + cmdtyCurrID.toString() + "')= " 
+				+ latestQuote + " from " + latestSeries.getDateTime(latestIdx));
+
+		// factor is used if the quote is not to our base-currency
+		FixedPointNumber factor = null;
+		if ( ! isDefaultCurrency(latestSeries.getToCmdtyCurrID(), dfltCurrID) ) {
+			factor = getPrice_int(latestSeries.getToCmdtyCurrID(), before, dfltCurrID, depth + 1);
+		}
+
 		if ( factor == null ) {
 			factor = new FixedPointNumber(1);
 		}
@@ -400,6 +550,11 @@ public class FilePriceManager {
 		return factor.multiply(latestQuote);
 	}
 
+	private static boolean isDefaultCurrency(final GCshCmdtyCurrID cmdtyCurrID, final String dfltCurrID) {
+		return cmdtyCurrID.getNameSpace().equals(GCshCmdtyCurrNameSpace.CURRENCY) &&
+			   cmdtyCurrID.getCode().equals(dfltCurrID);
+	}
+
 	// ---------------------------------------------------------------
 
 	public int getNofEntriesPriceMap() {
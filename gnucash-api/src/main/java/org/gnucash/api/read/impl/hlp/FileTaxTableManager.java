@@ -3,7 +3,6 @@ package org.gnucash.api.read.impl.hlp;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.gnucash.api.generated.GncGncTaxTable;
@@ -37,13 +36,7 @@ public class FileTaxTableManager {
 	private void init(final GncV2 pRootElement) {
 		taxTabMap = new HashMap<GCshID, GCshTaxTable>();
 
-		List<Object> bookElements = pRootElement.getGncBook().getBookElements();
-		for ( Object bookElement : bookElements ) {
-			if ( !(bookElement instanceof GncGncTaxTable) ) {
-				continue;
-			}
-
-			GncGncTaxTable jwsdpPeer = (GncGncTaxTable) bookElement;
+		for ( GncGncTaxTable jwsdpPeer : gcshFile.getBookElementIndex().getTaxTables() ) {
 			GCshTaxTableImpl taxTab = createTaxTable(jwsdpPeer);
 			taxTabMap.put(taxTab.getID(), taxTab);
 		}
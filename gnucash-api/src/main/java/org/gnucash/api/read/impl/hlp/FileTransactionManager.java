@@ -1,11 +1,13 @@
 package org.gnucash.api.read.impl.hlp;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.gnucash.api.generated.GncTransaction;
 import org.gnucash.api.generated.GncV2;
@@ -30,6 +32,23 @@ public class FileTransactionManager {
 	private Map<GCshID, GnuCashTransaction>      trxMap;
 	private Map<GCshID, GnuCashTransactionSplit> trxSpltMap;
 
+	/**
+	 * The transactions of {@link #trxMap}, sorted by date posted.
+	 * Built lazily on the first range query; kept up to date 
+	 * on insertion and re-built after removals and changes
+	 * of the date posted.
+	 */
+	private final TransactionDateIndex trxDateIdx = new TransactionDateIndex();
+	private boolean                    trxDateIdxValid = false;
+
+	/**
+	 * Full-text indexes over the transactions' descriptions and
+	 * the splits' descriptions (memos). Built on demand (cf. 
+	 * {@link #buildFullTextIndexes()}), null before.
+	 */
+	private volatile FullTextIndex<GCshID, GnuCashTransaction>      trxDescrIdx  = null;
+	private volatile FullTextIndex<GCshID, GnuCashTransactionSplit> spltDescrIdx = null;
+
 	// ---------------------------------------------------------------
 
 	public FileTransactionManager(GnuCashFileImpl gcshFile) {
@@ -40,8 +59,12 @@ public class FileTransactionManager {
 	// ---------------------------------------------------------------
 
 	private void init(final GncV2 pRootElement) {
-		init1(pRootElement);
-		init2(pRootElement);
+		if ( gcshFile.isParallelInit() ) {
+			init_parallel();
+		} else {
+			init1(pRootElement);
+			init2(pRootElement);
+		}
 	}
 
 	private void init1(final GncV2 pRootElement) {
@@ -79,6 +102,103 @@ public class FileTransactionManager {
 		LOGGER.debug("init2: No. of entries in transaction split map: " + trxSpltMap.size());
 	}
 
+	/**
+	 * Parallel variant of init1 + init2.
+	 * <br>
+	 * The expensive part -- building the transaction and split facades -- is
+	 * done concurrently: The raw transactions are partitioned by a parallel
+	 * stream, and each worker collects its results locally; the partial
+	 * results are concatenated in the original order afterwards.
+	 * Only then are the (cheap) maps filled, so that they contain exactly
+	 * what the sequential variant would put into them.
+	 * <br>
+	 * The splits are registered with their accounts in a second parallel
+	 * step, grouped by account, so that every account's split list
+	 * is written by exactly one thread.
+	 * <br>
+	 * The registration with the invoices is done sequentially, in the same
+	 * order as in the sequential variant.
+	 */
+	private void init_parallel() {
+		// Cf. init2
+		boolean addSpltToAcct = ! ( gcshFile instanceof GnuCashWritableFileImpl );
+
+		// Phase 1: transaction facades
+		List<GnuCashTransactionImpl> trxList = getTransactions_raw().parallelStream()
+				.map(jwsdpTrx -> createTransaction_noThrow(jwsdpTrx))
+				.filter(trx -> trx != null)
+				.collect(Collectors.toList());
+
+		trxMap = new HashMap<GCshID, GnuCashTransaction>();
+		for ( GnuCashTransactionImpl trx : trxList ) {
+			trxMap.put(trx.getID(), trx);
+		}
+
+		LOGGER.debug("init_parallel: No. of entries in transaction map: " + trxMap.size());
+
+		// Phase 2: split facades
+		// (without registering them anywhere yet)
+		List<GnuCashTransaction> trxList2 = new ArrayList<GnuCashTransaction>(trxMap.values());
+		List<List<GnuCashTransactionSplit>> spltLists = trxList2.parallelStream()
+				.map(trx -> getSplits_noThrow(trx))
+				.collect(Collectors.toList());
+
+		trxSpltMap = new HashMap<GCshID, GnuCashTransactionSplit>();
+		Map<GCshID, List<GnuCashTransactionSplitImpl>> spltsByAcct = new HashMap<GCshID, List<GnuCashTransactionSplitImpl>>();
+		for ( List<GnuCashTransactionSplit> spltList : spltLists ) {
+			for ( GnuCashTransactionSplit splt : spltList ) {
+				trxSpltMap.put(splt.getID(), splt);
+
+				if ( addSpltToAcct ) {
+					List<GnuCashTransactionSplitImpl> acctSplts = spltsByAcct.get(splt.getAccountID());
+					if ( acctSplts == null ) {
+						acctSplts = new ArrayList<GnuCashTransactionSplitImpl>();
+						spltsByAcct.put(splt.getAccountID(), acctSplts);
+					}
+					acctSplts.add((GnuCashTransactionSplitImpl) splt);
+				}
+			}
+		}
+
+		LOGGER.debug("init_parallel: No. of entries in transaction split map: " + trxSpltMap.size());
+
+		// Phase 3: register splits with accounts,
+		// one account per task
+		spltsByAcct.values().parallelStream()
+				.forEach(acctSplts -> {
+					for ( GnuCashTransactionSplitImpl splt : acctSplts ) {
+						splt.addToAccount();
+					}
+				});
+
+		// Phase 4: register splits with invoices
+		for ( List<GnuCashTransactionSplit> spltList : spltLists ) {
+			for ( GnuCashTransactionSplit splt : spltList ) {
+				((GnuCashTransactionSplitImpl) splt).addToInvoices();
+			}
+		}
+	}
+
+	private GnuCashTransactionImpl createTransaction_noThrow(final GncTransaction jwsdpTrx) {
+		try {
+			return createTransaction(jwsdpTrx);
+		} catch (RuntimeException e) {
+			LOGGER.error("init_parallel: [RuntimeException] Problem in " + getClass().getName() + ".init_parallel: "
+					+ "ignoring illegal Transaction entry with id=" + jwsdpTrx.getTrnId().getValue(), e);
+			return null;
+		}
+	}
+
+	private List<GnuCashTransactionSplit> getSplits_noThrow(final GnuCashTransaction trx) {
+		try {
+			return ((GnuCashTransactionImpl) trx).getSplits(false, false);
+		} catch (RuntimeException e) {
+			LOGGER.error("init_parallel: [RuntimeException] Problem in " + getClass().getName() + ".init_parallel: "
+					+ "ignoring illegal Transaction entry with id=" + trx.getID(), e);
+			return new ArrayList<GnuCashTransactionSplit>();
+		}
+	}
+
 	// ----------------------------
 
 	protected GnuCashTransactionImpl createTransaction(final GncTransaction jwsdpTrx) {
@@ -105,7 +225,24 @@ public class FileTransactionManager {
 	}
 
 	public void addTransaction(GnuCashTransaction trx, boolean withSplt) {
-		trxMap.put(trx.getID(), trx);
+		GnuCashTransaction old = trxMap.put(trx.getID(), trx);
+		synchronized ( trxDateIdx ) {
+			if ( old == null && trxDateIdxValid ) {
+				try {
+					trxDateIdx.add(trx);
+				} catch (RuntimeException e) {
+					// e.g. unparsable date: re-built (and reported) on the next query
+					trxDateIdxValid = false;
+				}
+			} else {
+				trxDateIdxValid = false;
+			}
+		}
+
+		FullTextIndex<GCshID, GnuCashTransaction> descrIdx = trxDescrIdx;
+		if ( descrIdx != null ) {
+			descrIdx.put(trx.getID(), trx, trx.getDescription());
+		}
 
 		if ( withSplt ) {
 			for ( GnuCashTransactionSplit splt : trx.getSplits() ) {
@@ -128,6 +265,12 @@ public class FileTransactionManager {
 		}
 
 		trxMap.remove(trx.getID());
+		invalidateTransactionDateIndex();
+
+		FullTextIndex<GCshID, GnuCashTransaction> descrIdx = trxDescrIdx;
+		if ( descrIdx != null ) {
+			descrIdx.remove(trx.getID());
+		}
 
 		LOGGER.debug("removeTransaction: Removed transaction from cache: " + trx.getID());
 	}
@@ -145,6 +288,11 @@ public class FileTransactionManager {
 		
 		trxSpltMap.put(splt.getID(), splt);
 
+		FullTextIndex<GCshID, GnuCashTransactionSplit> descrIdx = spltDescrIdx;
+		if ( descrIdx != null ) {
+			descrIdx.put(splt.getID(), splt, splt.getDescription());
+		}
+
 		if ( withTrx ) {
 			addTransaction(splt.getTransaction(), false);
 		}
@@ -164,6 +312,11 @@ public class FileTransactionManager {
 		}
 
 		trxSpltMap.remove(splt.getID());
+
+		FullTextIndex<GCshID, GnuCashTransactionSplit> descrIdx = spltDescrIdx;
+		if ( descrIdx != null ) {
+			descrIdx.remove(splt.getID());
+		}
 	}
 
 	// ---------------------------------------------------------------
@@ -197,6 +350,143 @@ public class FileTransactionManager {
 		return Collections.unmodifiableCollection(trxMap.values());
 	}
 
+	/**
+	 * @param fromDate first day of the range (inclusive)
+	 * @param toDate   last day of the range (inclusive)
+	 * @return the transactions that have been posted within the 
+	 *         given range, sorted by date posted
+	 */
+	public List<GnuCashTransaction> getTransactions(final LocalDate fromDate, final LocalDate toDate) {
+		if ( trxMap == null ) {
+			throw new IllegalStateException("no root-element loaded");
+		}
+		
+		synchronized ( trxDateIdx ) {
+			if ( ! trxDateIdxValid ) {
+				trxDateIdx.clear();
+				trxDateIdx.addAll(trxMap.values());
+				trxDateIdxValid = true;
+				LOGGER.debug("getTransactions: Built date index of " + trxDateIdx.size() + " transactions");
+			}
+			
+			return trxDateIdx.getTransactions(fromDate, toDate);
+		}
+	}
+
+	/**
+	 * To be called when the date posted of a transaction has been changed.
+	 * <br>
+	 * The given object may be just another facade of the transaction: 
+	 * The one held here caches the date posted as well, and it is the one 
+	 * that the date index is built from.
+	 * 
+	 * @param trx the transaction (or another facade of it)
+	 */
+	public void updateTransactionDatePosted(final GnuCashTransaction trx) {
+		GnuCashTransaction elt = trxMap.get(trx.getID());
+		if ( elt != trx &&
+			 elt instanceof GnuCashTransactionImpl ) {
+			((GnuCashTransactionImpl) elt).invalidateDatePosted();
+		}
+
+		invalidateTransactionDateIndex();
+	}
+
+	/**
+	 * Forces the date index to be re-built on the next 
+	 * range query.
+	 */
+	public void invalidateTransactionDateIndex() {
+		synchronized ( trxDateIdx ) {
+			trxDateIdxValid = false;
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * Builds the full-text indexes over the descriptions of the transactions
+	 * and of the splits, if that has not happened yet. 
+	 * Otherwise, they are built on the first search.
+	 */
+	public synchronized void buildFullTextIndexes() {
+		if ( trxMap == null ) {
+			throw new IllegalStateException("no root-element loaded");
+		}
+		
+		if ( trxDescrIdx == null ) {
+			FullTextIndex<GCshID, GnuCashTransaction> idx = new FullTextIndex<GCshID, GnuCashTransaction>();
+			for ( GnuCashTransaction trx : trxMap.values() ) {
+				idx.put(trx.getID(), trx, trx.getDescription());
+			}
+			trxDescrIdx = idx;
+			LOGGER.debug("buildFullTextIndexes: Indexed " + idx.size() + " transaction descriptions");
+		}
+		
+		if ( spltDescrIdx == null ) {
+			FullTextIndex<GCshID, GnuCashTransactionSplit> idx = new FullTextIndex<GCshID, GnuCashTransactionSplit>();
+			for ( GnuCashTransactionSplit splt : trxSpltMap.values() ) {
+				idx.put(splt.getID(), splt, splt.getDescription());
+			}
+			spltDescrIdx = idx;
+			LOGGER.debug("buildFullTextIndexes: Indexed " + idx.size() + " split descriptions");
+		}
+	}
+
+	/**
+	 * @param expr the text to search for (case-insensitive)
+	 * @return the transactions the description of which contains
+	 *         the given text
+	 */
+	public List<GnuCashTransaction> getTransactionsByDescription(final String expr) {
+		buildFullTextIndexes();
+		return trxDescrIdx.search(expr);
+	}
+
+	/**
+	 * @param expr the text to search for (case-insensitive)
+	 * @return the splits the description (memo) of which contains
+	 *         the given text
+	 */
+	public List<GnuCashTransactionSplit> getTransactionSplitsByDescription(final String expr) {
+		buildFullTextIndexes();
+		return spltDescrIdx.search(expr);
+	}
+
+	/**
+	 * To be called when the description of a transaction has been changed.
+	 * 
+	 * @param trx the transaction (or another facade of it)
+	 */
+	public void updateTransactionDescription(final GnuCashTransaction trx) {
+		FullTextIndex<GCshID, GnuCashTransaction> descrIdx = trxDescrIdx;
+		if ( descrIdx == null ) {
+			return;
+		}
+		
+		GnuCashTransaction elt = trxMap.get(trx.getID());
+		if ( elt != null ) {
+			descrIdx.put(elt.getID(), elt, trx.getDescription());
+		}
+	}
+
+	/**
+	 * To be called when the description (memo) of a split has been changed.
+	 * 
+	 * @param splt the split (or another facade of it)
+	 */
+	public void updateTransactionSplitDescription(final GnuCashTransactionSplit splt) {
+		FullTextIndex<GCshID, GnuCashTransactionSplit> descrIdx = spltDescrIdx;
+		if ( descrIdx == null ) {
+			return;
+		}
+		
+		GnuCashTransactionSplit elt = trxSpltMap.get(splt.getID());
+		if ( elt != null ) {
+			descrIdx.put(elt.getID(), elt, splt.getDescription());
+		}
+	}
+
 	// ---------------------------------------------------------------
 
 	public GnuCashTransactionSplit getTransactionSplitByID(final GCshID spltID) {
@@ -240,20 +530,7 @@ public class FileTransactionManager {
 	}
 
 	private List<GncTransaction> getTransactions_raw() {
-		GncV2 pRootElement = gcshFile.getRootElement();
-
-		List<GncTransaction> result = new ArrayList<GncTransaction>();
-
-		for ( Object bookElement : pRootElement.getGncBook().getBookElements() ) {
-			if ( !(bookElement instanceof GncTransaction) ) {
-				continue;
-			}
-
-			GncTransaction jwsdpTrx = (GncTransaction) bookElement;
-			result.add(jwsdpTrx);
-		}
-
-		return result;
+		return gcshFile.getBookElementIndex().getTransactions();
 	}
 
 	// ----------------------------
@@ -1,6 +1,5 @@
 package org.gnucash.api.read.impl.hlp;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -29,6 +28,12 @@ public class FileVendorManager {
 
     private Map<GCshID, GnuCashVendor> vendMap;
 
+    /**
+     * Index over the vendors' names. Built on the first look-up 
+     * (null before), then kept up to date.
+     */
+    private volatile NameIndex<GCshID, GnuCashVendor> nameIdx = null;
+
     // ---------------------------------------------------------------
     
 	public FileVendorManager(GnuCashFileImpl gcshFile) {
@@ -41,11 +46,7 @@ public class FileVendorManager {
 	private void init(final GncV2 pRootElement) {
 		vendMap = new HashMap<GCshID, GnuCashVendor>();
 
-		for ( Object bookElement : pRootElement.getGncBook().getBookElements() ) {
-			if ( !(bookElement instanceof GncGncVendor) ) {
-				continue;
-			}
-			GncGncVendor jwsdpVend = (GncGncVendor) bookElement;
+		for ( GncGncVendor jwsdpVend : gcshFile.getBookElementIndex().getVendors() ) {
 
 			try {
 				GnuCashVendorImpl vend = createVendor(jwsdpVend);
@@ -72,7 +73,16 @@ public class FileVendorManager {
 			throw new IllegalArgumentException("null vendor given");
 		}
 		
-		vendMap.put(vend.getID(), vend);
+		GnuCashVendor old = vendMap.put(vend.getID(), vend);
+		if ( old != null && old != vend ) {
+			gcshFile.linkTargetsModified();
+		}
+
+		NameIndex<GCshID, GnuCashVendor> idx = nameIdx;
+		if ( idx != null ) {
+			idx.put(vend.getID(), vend, vend.getName());
+		}
+
 		LOGGER.debug("Added vendor to cache: " + vend.getID());
 	}
 
@@ -82,9 +92,46 @@ public class FileVendorManager {
 		}
 		
 		vendMap.remove(vend.getID());
+		gcshFile.linkTargetsModified();
+
+		NameIndex<GCshID, GnuCashVendor> idx = nameIdx;
+		if ( idx != null ) {
+			idx.remove(vend.getID());
+		}
+
 		LOGGER.debug("Removed vendor to cache: " + vend.getID());
 	}
 
+	/**
+	 * To be called when the name of an already cached vendor
+	 * has been changed.
+	 * 
+	 * @param vend the vendor (or another object wrapping the same vendor)
+	 */
+	public void updateVendorName(GnuCashVendor vend) {
+		NameIndex<GCshID, GnuCashVendor> idx = nameIdx;
+		if ( idx == null ) {
+			return;
+		}
+
+		GnuCashVendor elt = vendMap.get(vend.getID());
+		if ( elt != null ) {
+			idx.put(elt.getID(), elt, vend.getName());
+		}
+	}
+
+	private synchronized NameIndex<GCshID, GnuCashVendor> getNameIndex() {
+		if ( nameIdx == null ) {
+			NameIndex<GCshID, GnuCashVendor> idx = new NameIndex<GCshID, GnuCashVendor>();
+			for ( GnuCashVendor elt : vendMap.values() ) {
+				idx.put(elt.getID(), elt, elt.getName());
+			}
+			nameIdx = idx;
+		}
+
+		return nameIdx;
+	}
+
 	// ---------------------------------------------------------------
 
 	public GnuCashVendor getVendorByID(GCshID vendID) {
@@ -133,21 +180,11 @@ public class FileVendorManager {
 			throw new IllegalStateException("no root-element loaded");
 		}
 
-		List<GnuCashVendor> result = new ArrayList<GnuCashVendor>();
-
-		for ( GnuCashVendor vend : getVendors() ) {
-			if ( relaxed ) {
-				if ( vend.getName().trim().toLowerCase().contains(expr.trim().toLowerCase()) ) {
-					result.add(vend);
-				}
-			} else {
-				if ( vend.getName().equals(expr) ) {
-					result.add(vend);
-				}
-			}
+		if ( relaxed ) {
+			return getNameIndex().getByNamePart(expr.trim());
+		} else {
+			return getNameIndex().getByName(expr);
 		}
-
-		return result;
 	}
 
 	public GnuCashVendor getVendorByNameUniq(final String name)
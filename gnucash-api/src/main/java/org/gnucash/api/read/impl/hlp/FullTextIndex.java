@@ -0,0 +1,262 @@
+package org.gnucash.api.read.impl.hlp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An inverted index over one text field (e.g. the description) of
+ * the objects of one type, for case-insensitive substring search.
+ * <br>
+ * The texts are case-folded and split into overlapping trigrams
+ * (n-grams of length 3). For each trigram, the index keeps an ascending
+ * list of the (internal) numbers of the documents that contain it.
+ * A query of three or more characters is answered by intersecting
+ * the lists of its trigrams and checking the remaining candidates
+ * against their (folded) texts, so that the cost depends on
+ * the number of candidates rather than on the number of objects.
+ * Shorter queries are answered by scanning the folded texts.
+ * <br>
+ * Changed and removed objects are not removed from the posting lists
+ * but marked as deleted (changed ones are re-added under a new number);
+ * the index is compacted once more than half of it consists of
+ * deleted entries.
+ * <br>
+ * Thread-safe.
+ *
+ * @param <K> type of the objects' keys (typically, their IDs)
+ * @param <T> type of the objects indexed
+ */
+public class FullTextIndex<K, T> {
+
+	private static final int GRAM_LEN = 3;
+
+	private static final int MIN_COMPACT_SIZE = 1024;
+
+	// ---------------------------------------------------------------
+
+	private static final class PostingList {
+		private int[] ids  = new int[4];
+		private int   size = 0;
+
+		private void add(final int id) {
+			// IDs are added in ascending order, so that
+			// a duplicate can only be the last element
+			if ( size > 0 && ids[size - 1] == id ) {
+				return;
+			}
+
+			if ( size == ids.length ) {
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+			ids[size++] = id;
+		}
+
+		private boolean contains(final int id) {
+			return Arrays.binarySearch(ids, 0, size, id) >= 0;
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	private final Map<Long, PostingList> postings = new HashMap<Long, PostingList>();
+	private final Map<K, Integer>        docIDs   = new HashMap<K, Integer>();
+
+	private Object[] docs  = new Object[16];
+	private String[] texts = new String[16]; // folded; null: deleted
+	private int      docCount  = 0;
+	private int      liveCount = 0;
+
+	// ---------------------------------------------------------------
+
+	public FullTextIndex() {
+	}
+
+	// ---------------------------------------------------------------
+
+	public synchronized int size() {
+		return liveCount;
+	}
+
+	public synchronized void clear() {
+		postings.clear();
+		docIDs.clear();
+		docs = new Object[16];
+		texts = new String[16];
+		docCount = 0;
+		liveCount = 0;
+	}
+
+	/**
+	 * Adds the object, or replaces the entry of the object with the same key.
+	 *
+	 * @param key  the object's key
+	 * @param obj  the object to return on a match
+	 * @param text the text to index (null: the object is not indexed,
+	 *             i.e. it is never found -- not even by the empty expression)
+	 */
+	public synchronized void put(final K key, final T obj, final String text) {
+		if ( key == null ) {
+			throw new IllegalArgumentException("null key given");
+		}
+
+		if ( obj == null ) {
+			throw new IllegalArgumentException("null object given");
+		}
+
+		remove_int(key);
+		if ( text != null ) {
+			add_int(key, obj, fold(text));
+		}
+		compactIfNecessary();
+	}
+
+	/**
+	 * @param key the key of the object to remove
+	 * @return true if the object was in the index
+	 */
+	public synchronized boolean remove(final K key) {
+		if ( key == null ) {
+			throw new IllegalArgumentException("null key given");
+		}
+
+		boolean result = remove_int(key);
+		compactIfNecessary();
+		return result;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param expr the text to search for (case-insensitive)
+	 * @return the objects the text of which contains the given expression,
+	 *         in the order in which they have been (last) put into the index
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized List<T> search(final String expr) {
+		if ( expr == null ) {
+			throw new IllegalArgumentException("null expression given");
+		}
+
+		String query = fold(expr);
+		List<T> result = new ArrayList<T>();
+
+		if ( query.length() < GRAM_LEN ) {
+			for ( int i = 0; i < docCount; i++ ) {
+				if ( texts[i] != null &&
+					 texts[i].contains(query) ) {
+					result.add((T) docs[i]);
+				}
+			}
+			return result;
+		}
+
+		// collect the posting lists, shortest first
+		int nofGrams = query.length() - GRAM_LEN + 1;
+		PostingList[] lists = new PostingList[nofGrams];
+		for ( int i = 0; i < nofGrams; i++ ) {
+			PostingList list = postings.get(gram(query, i));
+			if ( list == null ) {
+				return result;
+			}
+			lists[i] = list;
+		}
+		Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+		PostingList shortest = lists[0];
+		for ( int j = 0; j < shortest.size; j++ ) {
+			int id = shortest.ids[j];
+			if ( texts[id] == null ) {
+				continue;
+			}
+
+			boolean inAll = true;
+			for ( int i = 1; i < lists.length && inAll; i++ ) {
+				inAll = lists[i].contains(id);
+			}
+
+			// the trigrams may occur at other positions
+			if ( inAll &&
+				 texts[id].contains(query) ) {
+				result.add((T) docs[id]);
+			}
+		}
+
+		return result;
+	}
+
+	// ---------------------------------------------------------------
+
+	private void add_int(final K key, final Object obj, final String text) {
+		if ( docCount == docs.length ) {
+			docs = Arrays.copyOf(docs, docCount * 2);
+			texts = Arrays.copyOf(texts, docCount * 2);
+		}
+
+		int docID = docCount++;
+		docs[docID] = obj;
+		texts[docID] = text;
+		docIDs.put(key, docID);
+		liveCount++;
+
+		for ( int i = 0; i + GRAM_LEN <= text.length(); i++ ) {
+			Long gramKey = gram(text, i);
+			PostingList list = postings.get(gramKey);
+			if ( list == null ) {
+				list = new PostingList();
+				postings.put(gramKey, list);
+			}
+			list.add(docID);
+		}
+	}
+
+	private boolean remove_int(final K key) {
+		Integer docID = docIDs.remove(key);
+		if ( docID == null ) {
+			return false;
+		}
+
+		docs[docID] = null;
+		texts[docID] = null;
+		liveCount--;
+		return true;
+	}
+
+	private void compactIfNecessary() {
+		if ( docCount < MIN_COMPACT_SIZE ||
+			 liveCount * 2 > docCount ) {
+			return;
+		}
+
+		Object[] oldDocs = docs;
+		String[] oldTexts = texts;
+		Map<Integer, K> oldKeys = new HashMap<Integer, K>();
+		for ( Map.Entry<K, Integer> entry : docIDs.entrySet() ) {
+			oldKeys.put(entry.getValue(), entry.getKey());
+		}
+		int oldCount = docCount;
+
+		clear();
+		for ( int i = 0; i < oldCount; i++ ) {
+			if ( oldTexts[i] != null ) {
+				add_int(oldKeys.get(i), oldDocs[i], oldTexts[i]);
+			}
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	private static String fold(final String text) {
+		return text.toLowerCase(Locale.ROOT);
+	}
+
+	private static Long gram(final String text, final int pos) {
+		return ( (long) text.charAt(pos)     << 32 ) |
+			   ( (long) text.charAt(pos + 1) << 16 ) |
+			     (long) text.charAt(pos + 2);
+	}
+
+}
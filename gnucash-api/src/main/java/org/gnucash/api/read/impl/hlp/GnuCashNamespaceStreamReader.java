@@ -0,0 +1,186 @@
+package org.gnucash.api.read.impl.hlp;
+
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+
+/**
+ * Namespace-aware StAX reader for GnuCash files.
+ * <br>
+ * The generated JAXB classes know the GnuCash elements and attributes
+ * only by namespace-free names in which the prefix is joined to the
+ * local name with '_' instead of ':' (e.g. "gnc_book", "cd_type").
+ * This reader parses the document with namespaces and presents each
+ * (prefix, local name) pair under that name, in no namespace -- the
+ * character stream itself is never touched.
+ * <br>
+ * The mapped names are computed (and interned) once per distinct name;
+ * thus, JAXB does not have to intern every name it is given.
+ * <br>
+ * Expects the prefixes to be declared, as GnuCash always does
+ * (in the root element).
+ */
+public class GnuCashNamespaceStreamReader extends StreamReaderDelegate {
+
+	// Cf. org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.StAXStreamConnector
+	private static final String PROP_INTERN_NAMES   = "org.codehaus.stax2.internNames";
+	private static final String PROP_INTERN_NS_URIS = "org.codehaus.stax2.internNsUris";
+
+	private static final String NO_NAMESPACE = "";
+	private static final String SEPARATOR = "_";
+
+	// ---------------------------------------------------------------
+
+	// prefix -> local name -> mapped name
+	private final Map<String, Map<String, String>> nameMap = new HashMap<String, Map<String, String>>();
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param reader the namespace-aware reader to wrap
+	 */
+	public GnuCashNamespaceStreamReader(final XMLStreamReader reader) {
+		super(reader);
+
+		if ( reader == null ) {
+			throw new IllegalArgumentException("null reader given");
+		}
+	}
+
+	/**
+	 * @param reader the character stream to read from
+	 * @return a reader for the GnuCash document
+	 * @throws XMLStreamException on low-level parsing errors
+	 */
+	public static XMLStreamReader create(final Reader reader) throws XMLStreamException {
+		if ( reader == null ) {
+			throw new IllegalArgumentException("null reader given");
+		}
+
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+
+		return new GnuCashNamespaceStreamReader(factory.createXMLStreamReader(reader));
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param prefix    the namespace prefix (may be null or empty)
+	 * @param localName the local name
+	 * @return the name as used in the generated classes
+	 */
+	public static String toInternalName(final String prefix, final String localName) {
+		if ( prefix == null ||
+			 prefix.length() == 0 ) {
+			return localName;
+		}
+
+		return prefix + SEPARATOR + localName;
+	}
+
+	private String mapName(final String prefix, final String localName) {
+		String pfx = ( prefix == null ) ? NO_NAMESPACE : prefix;
+
+		Map<String, String> localMap = nameMap.get(pfx);
+		if ( localMap == null ) {
+			localMap = new HashMap<String, String>();
+			nameMap.put(pfx, localMap);
+		}
+
+		String result = localMap.get(localName);
+		if ( result == null ) {
+			result = toInternalName(pfx, localName).intern();
+			localMap.put(localName, result);
+		}
+
+		return result;
+	}
+
+	// ---------------------------------------------------------------
+
+	@Override
+	public String getLocalName() {
+		return mapName(super.getPrefix(), super.getLocalName());
+	}
+
+	@Override
+	public QName getName() {
+		return new QName(getLocalName());
+	}
+
+	@Override
+	public String getPrefix() {
+		return NO_NAMESPACE;
+	}
+
+	@Override
+	public String getNamespaceURI() {
+		return NO_NAMESPACE;
+	}
+
+	/*
+	 * The GnuCash namespace declarations are of no interest
+	 * to the generated classes
+	 */
+	@Override
+	public int getNamespaceCount() {
+		return 0;
+	}
+
+	// ----------------------------
+
+	@Override
+	public String getAttributeLocalName(final int index) {
+		return mapName(super.getAttributePrefix(index), super.getAttributeLocalName(index));
+	}
+
+	@Override
+	public QName getAttributeName(final int index) {
+		return new QName(getAttributeLocalName(index));
+	}
+
+	@Override
+	public String getAttributePrefix(final int index) {
+		return NO_NAMESPACE;
+	}
+
+	@Override
+	public String getAttributeNamespace(final int index) {
+		return NO_NAMESPACE;
+	}
+
+	@Override
+	public String getAttributeValue(final String namespaceURI, final String localName) {
+		for ( int i = 0; i < getAttributeCount(); i++ ) {
+			if ( getAttributeLocalName(i).equals(localName) ) {
+				return getAttributeValue(i);
+			}
+		}
+
+		return null;
+	}
+
+	// ----------------------------
+
+	@Override
+	public Object getProperty(final String name) {
+		if ( PROP_INTERN_NAMES.equals(name) ||
+			 PROP_INTERN_NS_URIS.equals(name) ) {
+			// The only namespace URI is "" (a literal, thus interned)
+			return Boolean.TRUE;
+		}
+
+		return super.getProperty(name);
+	}
+
+}
@@ -0,0 +1,223 @@
+package org.gnucash.api.read.impl.hlp;
+
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.gnucash.api.generated.GncAccount;
+import org.gnucash.api.generated.GncBook;
+import org.gnucash.api.generated.GncBudget;
+import org.gnucash.api.generated.GncCommodity;
+import org.gnucash.api.generated.GncCountData;
+import org.gnucash.api.generated.GncGncBillTerm;
+import org.gnucash.api.generated.GncGncCustomer;
+import org.gnucash.api.generated.GncGncEmployee;
+import org.gnucash.api.generated.GncGncEntry;
+import org.gnucash.api.generated.GncGncInvoice;
+import org.gnucash.api.generated.GncGncJob;
+import org.gnucash.api.generated.GncGncTaxTable;
+import org.gnucash.api.generated.GncGncVendor;
+import org.gnucash.api.generated.GncPricedb;
+import org.gnucash.api.generated.GncSchedxaction;
+import org.gnucash.api.generated.GncTemplateTransactions;
+import org.gnucash.api.generated.GncTransaction;
+import org.gnucash.api.generated.GncV2;
+import org.gnucash.api.generated.SlotsType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Unmarshaller;
+
+/**
+ * Pull-parser based loader for GnuCash files.
+ * <br>
+ * Instead of handing the whole document to JAXB in one go, the
+ * file is walked with a StAX reader, and only the individual
+ * book elements (accounts, transactions, invoices, etc.) are
+ * unmarshalled, one at a time, directly from the stream.
+ * Thus, neither the parser nor JAXB ever has to hold more than
+ * one book element's worth of intermediate state.
+ * <br>
+ * The resulting object tree is the same as the one produced
+ * by a whole-document unmarshal, so that the facades built
+ * on top of it behave identically.
+ * <br>
+ * Reads through a {@link GnuCashNamespaceStreamReader}, just like
+ * the JAXB path.
+ */
+public class GnuCashStAXLoader {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(GnuCashStAXLoader.class);
+
+	// ---------------------------------------------------------------
+
+	private static final String ELT_ROOT = "gnc-v2";
+	private static final String ELT_BOOK = "gnc_book";
+	private static final String ELT_COUNT_DATA = "gnc_count-data";
+	private static final String ELT_BOOK_ID = "book_id";
+	private static final String ELT_BOOK_SLOTS = "book_slots";
+
+	private static final String ATTR_BOOK_VERSION = "version";
+
+	// Cf. GncBook.bookElements
+	private static final Map<String, Class<?>> BOOK_ELEMENT_TYPES = new HashMap<String, Class<?>>();
+
+	static {
+		BOOK_ELEMENT_TYPES.put("gnc_commodity", GncCommodity.class);
+		BOOK_ELEMENT_TYPES.put("gnc_pricedb", GncPricedb.class);
+		BOOK_ELEMENT_TYPES.put("gnc_account", GncAccount.class);
+		BOOK_ELEMENT_TYPES.put("gnc_transaction", GncTransaction.class);
+		BOOK_ELEMENT_TYPES.put("gnc_template-transactions", GncTemplateTransactions.class);
+		BOOK_ELEMENT_TYPES.put("gnc_schedxaction", GncSchedxaction.class);
+		BOOK_ELEMENT_TYPES.put("gnc_GncCustomer", GncGncCustomer.class);
+		BOOK_ELEMENT_TYPES.put("gnc_GncVendor", GncGncVendor.class);
+		BOOK_ELEMENT_TYPES.put("gnc_GncEmployee", GncGncEmployee.class);
+		BOOK_ELEMENT_TYPES.put("gnc_GncJob", GncGncJob.class);
+		BOOK_ELEMENT_TYPES.put("gnc_GncInvoice", GncGncInvoice.class);
+		BOOK_ELEMENT_TYPES.put("gnc_GncEntry", GncGncEntry.class);
+		BOOK_ELEMENT_TYPES.put("gnc_GncTaxTable", GncGncTaxTable.class);
+		BOOK_ELEMENT_TYPES.put("gnc_GncBillTerm", GncGncBillTerm.class);
+		BOOK_ELEMENT_TYPES.put("gnc_budget", GncBudget.class);
+	}
+
+	// ---------------------------------------------------------------
+
+	private final JAXBContext jaxbContext;
+
+	// ---------------------------------------------------------------
+
+	@SuppressWarnings("exports")
+	public GnuCashStAXLoader(final JAXBContext jaxbContext) {
+		if ( jaxbContext == null ) {
+			throw new IllegalArgumentException("null JAXB context given");
+		}
+
+		this.jaxbContext = jaxbContext;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param reader the character stream to read from
+	 * @return the root element of the GnuCash file
+	 * @throws JAXBException if a book element cannot be unmarshalled
+	 * @throws XMLStreamException on low-level parsing errors
+	 */
+	@SuppressWarnings("exports")
+	public GncV2 load(final Reader reader) throws JAXBException, XMLStreamException {
+		if ( reader == null ) {
+			throw new IllegalArgumentException("null reader given");
+		}
+
+		XMLStreamReader xsr = GnuCashNamespaceStreamReader.create(reader);
+		try {
+			Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+
+			xsr.nextTag();
+			if ( !ELT_ROOT.equals(xsr.getLocalName()) ) {
+				throw new IllegalArgumentException("Root element is <" + xsr.getLocalName() + ">, "
+						+ "expected <" + ELT_ROOT + ">");
+			}
+
+			return readRoot(xsr, unmarshaller);
+		} finally {
+			xsr.close();
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	private GncV2 readRoot(final XMLStreamReader xsr, final Unmarshaller unmarshaller)
+			throws JAXBException, XMLStreamException {
+		GncV2 root = new GncV2();
+
+		// skip <gnc-v2> itself
+		xsr.next();
+
+		while ( xsr.getEventType() != XMLStreamConstants.END_DOCUMENT ) {
+			if ( xsr.getEventType() == XMLStreamConstants.END_ELEMENT ) {
+				// </gnc-v2>
+				break;
+			}
+
+			if ( xsr.getEventType() != XMLStreamConstants.START_ELEMENT ) {
+				xsr.next();
+				continue;
+			}
+
+			String name = xsr.getLocalName();
+			if ( ELT_COUNT_DATA.equals(name) ) {
+				root.setGncCountData(unmarshaller.unmarshal(xsr, GncCountData.class).getValue());
+			} else if ( ELT_BOOK.equals(name) ) {
+				root.setGncBook(readBook(xsr, unmarshaller));
+			} else {
+				// Same lenient behaviour as JAXB's default unmarshaller
+				LOGGER.warn("readRoot: Skipping unexpected element <" + name + ">");
+				skipElement(xsr);
+			}
+		}
+
+		return root;
+	}
+
+	private GncBook readBook(final XMLStreamReader xsr, final Unmarshaller unmarshaller)
+			throws JAXBException, XMLStreamException {
+		GncBook book = new GncBook();
+		book.setVersion(xsr.getAttributeValue(null, ATTR_BOOK_VERSION));
+
+		// skip <gnc_book> itself
+		xsr.next();
+
+		while ( xsr.getEventType() != XMLStreamConstants.END_ELEMENT ) {
+			if ( xsr.getEventType() != XMLStreamConstants.START_ELEMENT ) {
+				xsr.next();
+				continue;
+			}
+
+			String name = xsr.getLocalName();
+			Class<?> clazz = BOOK_ELEMENT_TYPES.get(name);
+			if ( clazz != null ) {
+				book.getBookElements().add(unmarshaller.unmarshal(xsr, clazz).getValue());
+			} else if ( ELT_COUNT_DATA.equals(name) ) {
+				book.getGncCountData().add(unmarshaller.unmarshal(xsr, GncCountData.class).getValue());
+			} else if ( ELT_BOOK_ID.equals(name) ) {
+				book.setBookId(unmarshaller.unmarshal(xsr, GncBook.BookId.class).getValue());
+			} else if ( ELT_BOOK_SLOTS.equals(name) ) {
+				book.setBookSlots(unmarshaller.unmarshal(xsr, SlotsType.class).getValue());
+			} else {
+				LOGGER.warn("readBook: Skipping unexpected element <" + name + ">");
+				skipElement(xsr);
+			}
+		}
+
+		// skip </gnc_book>
+		xsr.next();
+
+		return book;
+	}
+
+	/**
+	 * Positions the reader on the event directly following the
+	 * end tag of the current element.
+	 */
+	private static void skipElement(final XMLStreamReader xsr) throws XMLStreamException {
+		int depth = 0;
+		do {
+			int event = xsr.next();
+			if ( event == XMLStreamConstants.START_ELEMENT ) {
+				depth++;
+			} else if ( event == XMLStreamConstants.END_ELEMENT ) {
+				depth--;
+			}
+		} while ( depth >= 0 );
+
+		xsr.next();
+	}
+
+}
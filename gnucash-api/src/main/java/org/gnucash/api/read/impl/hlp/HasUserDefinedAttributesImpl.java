@@ -8,11 +8,10 @@ import org.gnucash.api.generated.ObjectFactory;
 import org.gnucash.api.generated.Slot;
 import org.gnucash.api.generated.SlotValue;
 import org.gnucash.api.generated.SlotsType;
+import org.gnucash.api.read.impl.GnuCashFileImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import jakarta.xml.bind.JAXBElement;
-
 public class HasUserDefinedAttributesImpl // implements HasUserDefinedAttributes <-- NO!
 {
 	private static final Logger LOGGER = LoggerFactory.getLogger(HasUserDefinedAttributesImpl.class);
@@ -25,7 +24,7 @@ public class HasUserDefinedAttributesImpl // implements HasUserDefinedAttributes
 		if ( slots == null )
 			return null;
 		
-		return getUserDefinedAttributeCore(slots.getSlot(), name);
+		return getUserDefinedAttributeCore(SlotTree.decode(slots.getSlot()), name);
 	}
 	
 	public static List<String> getUserDefinedAttributeKeysCore(final SlotsType slots) {
@@ -37,110 +36,36 @@ public class HasUserDefinedAttributesImpl // implements HasUserDefinedAttributes
     
 	// ---------------------------------------------------------------
 
-	private static String getUserDefinedAttributeCore(final List<Slot> slotList,
-													  final String name) {
-		if ( slotList == null )
-			return null;
-
-		if ( name.equals("") )
+	/**
+	 * @param tree the decoded slots (typically, from a {@link SlotTreeCache})
+	 * @param name the (hierarchical) key
+	 * @return the value or null if not set
+	 */
+	public static String getUserDefinedAttributeCore(final SlotTree tree, final String name) {
+		if ( tree == null )
 			return null;
 
 		// NO:
 //		if ( ! getUserDefinedAttributeKeysCore(slotList).contains(name) ) {
 //			throw new SlotListDoesNotContainKeyException();
 //		}
-		
-		// ---
-
-		String nameFirst = "";
-		String nameRest = "";
-		if ( name.contains(HIERARCHY_SEPARATOR) ) {
-			String[] nameParts = name.split(HIERARCHY_SEPARATOR.replace(".", "\\."));
-			nameFirst = nameParts[0];
-			if ( nameParts.length > 1 ) {
-				for ( int i = 1; i < nameParts.length; i++ ) {
-					nameRest += nameParts[i];
-					if ( i < nameParts.length - 1 )
-						nameRest += HIERARCHY_SEPARATOR;
-				}
-			}
-		} else {
-			nameFirst = name;
-		}
-//	System.err.println("np1: '" + nameFirst + "'");
-//	System.err.println("np2: '" + nameRest + "'");
 
-		// ---
-	
-		for ( Slot slot : slotList ) {
-			if ( slot.getSlotKey().equals(nameFirst) ) {
-				if ( slot.getSlotValue().getType().equals(Const.XML_DATA_TYPE_STRING) || 
-					 slot.getSlotValue().getType().equals(Const.XML_DATA_TYPE_INTEGER) || 
-					 slot.getSlotValue().getType().equals(Const.XML_DATA_TYPE_GUID) ) {
-					List<Object> objList = slot.getSlotValue().getContent();
-					if ( objList == null || objList.size() == 0 )
-						return null;
-					Object valElt = objList.get(0);
-					if ( valElt == null )
-						return null;
-					LOGGER.debug("User-defined attribute for key '" + nameFirst + "' may not be a String."
-							+ " It is of type [" + valElt.getClass().getName() + "]");
-					if ( valElt instanceof String ) {
-						return (String) valElt;
-					} else if ( valElt instanceof JAXBElement ) {
-						JAXBElement elt = (JAXBElement) valElt;
-						return elt.getValue().toString();
-					} else {
-						LOGGER.error("User-defined attribute for key '" + nameFirst + "' may not be a String."
-								+ " It is of UNKNOWN type [" + valElt.getClass().getName() + "]");
-						return "ERROR";
-					}
-				} else if ( slot.getSlotValue().getType().equals(Const.XML_DATA_TYPE_GDATE) ) {
-					List<Object> objList = slot.getSlotValue().getContent();
-					if ( objList == null || objList.size() == 0 )
-						return null;
-					Object valElt = null;
-					for ( Object obj : objList ) {
-						if ( obj.getClass().getName().contains("JAXBElement") ) {
-							valElt = obj;
-						}
-					}
-					if ( valElt == null )
-						return null;
-					LOGGER.debug("User-defined attribute for key '" + nameFirst + "' may not be a String."
-							+ " It is of type [" + valElt.getClass().getName() + "]");
-					if ( valElt instanceof String ) {
-						return (String) valElt;
-					} else if ( valElt instanceof JAXBElement ) {
-						JAXBElement elt = (JAXBElement) valElt;
-						return elt.getValue().toString();
-					} else {
-						LOGGER.error("User-defined attribute for key '" + nameFirst + "' may not be a String."
-								+ " It is of UNKNOWN type [" + valElt.getClass().getName() + "]");
-						return "ERROR";
-					}
-				} else if ( slot.getSlotValue().getType().equals(Const.XML_DATA_TYPE_FRAME) ) {
-					List<Object> objList = slot.getSlotValue().getContent();
-					if ( objList == null || objList.size() == 0 )
-						return null;
-					List<Slot> subSlots = new ArrayList<Slot>();
-					for ( Object obj : objList ) {
-						if ( obj instanceof Slot ) {
-							Slot subSlot = (Slot) obj;
-							subSlots.add(subSlot);
-						}
-					}
-					return getUserDefinedAttributeCore(subSlots, nameRest);
-				} else {
-					LOGGER.error("getUserDefinedAttributeCore: Unknown slot type");
-					return "NOT IMPLEMENTED YET";
-				}
-			} // if slot-key
-		} // for slot
+		return tree.getValue(name);
+	}
 
-		return null;
+	/**
+	 * @param tree the decoded slots (typically, from a {@link SlotTreeCache})
+	 * @return the keys of the top level
+	 */
+	public static List<String> getUserDefinedAttributeKeysCore(final SlotTree tree) {
+		if ( tree == null )
+			return null;
+
+		return new ArrayList<String>(tree.getKeys());
 	}
 
+	// ---------------------------------------------------------------
+
     protected static List<String> getUserDefinedAttributeKeysCore(final List<Slot> slotList) {
 		if ( slotList == null )
 			return null;
@@ -170,12 +95,13 @@ public class HasUserDefinedAttributesImpl // implements HasUserDefinedAttributes
 	}
 
 	// Remove slots with dummy content
-	public static void cleanSlots(final List<Slot> slotList) {
+	public static void cleanSlots(final List<Slot> slotList, final GnuCashFileImpl gcshFile) {
 		for ( Slot slot : slotList ) {
 			if ( ! slot.getSlotKey().equals(Const.SLOT_KEY_DUMMY) ) {
 				slotList.remove(slot);
 			}
 		}
+		gcshFile.slotsModified();
 	}
 	
 	// ---------------------------------------------------------------
@@ -184,7 +110,8 @@ public class HasUserDefinedAttributesImpl // implements HasUserDefinedAttributes
 	//                ========
 	public static void setSlotsInit(
 			SlotsType currSlots,
-			final SlotsType newSlots) {
+			final SlotsType newSlots,
+			final GnuCashFileImpl gcshFile) {
 		if ( newSlots == null ) {
 			throw new IllegalArgumentException("null 'slots' given!");
 		}
@@ -227,6 +154,7 @@ public class HasUserDefinedAttributesImpl // implements HasUserDefinedAttributes
 
 			newSlots.getSlot().add(slot);
 		}
+		gcshFile.slotsModified();
 
 		// <<insert code to react further to this change here
 //		PropertyChangeSupport ptyChgFirer = myPtyChg;
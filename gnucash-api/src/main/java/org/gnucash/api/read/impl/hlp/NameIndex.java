@@ -0,0 +1,141 @@
+package org.gnucash.api.read.impl.hlp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Name index for the objects of one type (accounts, customers, ...).
+ * <br>
+ * Answers both kinds of name look-ups the file managers offer
+ * without scanning all objects:
+ * <ul>
+ *   <li>exact (case-sensitive) look-ups by a hash map from name to objects,</li>
+ *   <li>relaxed look-ups (case-insensitive, substring -- and thus, prefix)
+ *       by a {@link FullTextIndex} over the case-folded names.</li>
+ * </ul>
+ * Objects without a name are not indexed.
+ * <br>
+ * Thread-safe.
+ *
+ * @param <K> type of the objects' keys (typically, their IDs)
+ * @param <T> type of the objects indexed
+ */
+public class NameIndex<K, T> {
+
+	private final Map<String, List<T>> exactMap = new HashMap<String, List<T>>();
+	private final Map<K, String>       nameMap  = new HashMap<K, String>(); // key -> name indexed
+	private final Map<K, T>            objMap   = new HashMap<K, T>();
+	private final FullTextIndex<K, T>  foldedIdx = new FullTextIndex<K, T>();
+
+	// ---------------------------------------------------------------
+
+	public NameIndex() {
+	}
+
+	// ---------------------------------------------------------------
+
+	public synchronized int size() {
+		return nameMap.size();
+	}
+
+	/**
+	 * Adds the object, or replaces the entry of the object with the same key.
+	 *
+	 * @param key  the object's key
+	 * @param obj  the object
+	 * @param name the object's (current) name; null: do not index it
+	 */
+	public synchronized void put(final K key, final T obj, final String name) {
+		if ( key == null ) {
+			throw new IllegalArgumentException("null key given");
+		}
+
+		if ( obj == null ) {
+			throw new IllegalArgumentException("null object given");
+		}
+
+		remove(key);
+		if ( name == null ) {
+			return;
+		}
+
+		List<T> objList = exactMap.get(name);
+		if ( objList == null ) {
+			objList = new ArrayList<T>(1);
+			exactMap.put(name, objList);
+		}
+		objList.add(obj);
+
+		nameMap.put(key, name);
+		objMap.put(key, obj);
+		foldedIdx.put(key, obj, name);
+	}
+
+	/**
+	 * @param key the key of the object to remove
+	 * @return true if the object was in the index
+	 */
+	public synchronized boolean remove(final K key) {
+		if ( key == null ) {
+			throw new IllegalArgumentException("null key given");
+		}
+
+		String name = nameMap.remove(key);
+		if ( name == null ) {
+			return false;
+		}
+
+		T obj = objMap.remove(key);
+		List<T> objList = exactMap.get(name);
+		if ( objList != null ) {
+			for ( int i = 0; i < objList.size(); i++ ) {
+				// sic, identity
+				if ( objList.get(i) == obj ) {
+					objList.remove(i);
+					break;
+				}
+			}
+			if ( objList.isEmpty() ) {
+				exactMap.remove(name);
+			}
+		}
+
+		foldedIdx.remove(key);
+		return true;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param name the name to look for (case-sensitive)
+	 * @return the objects with exactly that name
+	 */
+	public synchronized List<T> getByName(final String name) {
+		if ( name == null ) {
+			throw new IllegalArgumentException("null name given");
+		}
+
+		List<T> objList = exactMap.get(name);
+		if ( objList == null ) {
+			return Collections.emptyList();
+		}
+
+		return new ArrayList<T>(objList);
+	}
+
+	/**
+	 * @param expr the part of the name to look for (case-insensitive)
+	 * @return the objects the name of which contains the given expression
+	 */
+	public synchronized List<T> getByNamePart(final String expr) {
+		if ( expr == null ) {
+			throw new IllegalArgumentException("null expression given");
+		}
+
+		return foldedIdx.search(expr);
+	}
+
+}
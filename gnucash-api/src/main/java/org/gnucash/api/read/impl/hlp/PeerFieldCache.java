@@ -0,0 +1,71 @@
+package org.gnucash.api.read.impl.hlp;
+
+import java.util.function.Function;
+
+/**
+ * Caches the value decoded from one string field of a JWSDP peer
+ * (an amount, a date, an enum, ...), so that the facade's getter 
+ * parses the string only once.
+ * <br>
+ * The cache is keyed by the <em>identity</em> of the peer's string: As soon as
+ * the peer gets a new string (e.g. via a setter of a writable facade),
+ * the value is decoded again. Thus, there is no need to invalidate it explicitly.
+ * <br>
+ * The cached value is handed out as is, so it should be immutable
+ * (or be copied by the caller).
+ *
+ * @param <T> type of the decoded value
+ */
+public class PeerFieldCache<T> {
+
+	private static final class Entry<T> {
+		private final String str;
+		private final T      value;
+
+		private Entry(final String str, final T value) {
+			this.str = str;
+			this.value = value;
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	// Replaced as a whole, so that concurrent readers
+	// never see a string and a value that do not match
+	private Entry<T> entry = null;
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param str     the current string of the peer's field
+	 * @param decoder decodes the string (only called if the string 
+	 *                has changed since the last call). If it throws
+	 *                an exception, nothing is cached.
+	 * @return the decoded value, or null if the string is null
+	 */
+	public T get(final String str, final Function<String, T> decoder) {
+		if ( str == null ) {
+			return null;
+		}
+
+		Entry<T> curr = entry;
+		// sic, identity
+		if ( curr == null ||
+			 curr.str != str ) {
+			curr = new Entry<T>(str, decoder.apply(str));
+			entry = curr;
+		}
+
+		return curr.value;
+	}
+
+	/**
+	 * Forces the value to be decoded again on the next call
+	 * (only needed if the peer's string object has been changed
+	 * in place, which should not be the case for strings).
+	 */
+	public void invalidate() {
+		entry = null;
+	}
+
+}
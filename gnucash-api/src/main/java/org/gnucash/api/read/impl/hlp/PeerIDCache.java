@@ -0,0 +1,42 @@
+package org.gnucash.api.read.impl.hlp;
+
+import org.gnucash.base.basetypes.simple.GCshID;
+
+/**
+ * Caches the GCshID resolved from one ID string of a JWSDP peer, so that
+ * the facade's ID getter does not parse the string again on repeated calls.
+ * <br>
+ * As all {@link PeerFieldCache}s, it is keyed by the identity of the 
+ * peer's string, so there is no need to invalidate it explicitly.
+ * <br>
+ * The cached IDs are interned, i.e. shared and immutable
+ * (cf. {@link GCshID#intern(String)}). {@link #get(String)} hands out 
+ * a cheap copy (no parsing), as callers may change the IDs they got
+ * from an API getter; {@link #getShared(String)} is for internal 
+ * read-only use (e.g. lookups).
+ */
+public class PeerIDCache extends PeerFieldCache<GCshID> {
+
+	/**
+	 * @param idStr the current ID string of the peer
+	 * @return a (mutable) copy of the ID for that string, or null if the string is null
+	 */
+	public GCshID get(final String idStr) {
+		GCshID id = getShared(idStr);
+		if ( id == null ) {
+			return null;
+		}
+
+		return new GCshID(id);
+	}
+
+	/**
+	 * @param idStr the current ID string of the peer
+	 * @return the (interned) ID for that string, or null if the string is null.
+	 *         Must not be handed out to API users.
+	 */
+	public GCshID getShared(final String idStr) {
+		return get(idStr, GCshID::intern);
+	}
+
+}
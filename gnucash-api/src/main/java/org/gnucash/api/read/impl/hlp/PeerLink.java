@@ -0,0 +1,113 @@
+package org.gnucash.api.read.impl.hlp;
+
+import java.util.function.Function;
+
+/**
+ * A direct reference from a facade to another object of the same file
+ * (e.g. from a split to its account), which replaces the look-up
+ * by ID on each navigation.
+ * <br>
+ * The links are set when the file is loaded (cf.
+ * <code>GnuCashFileImpl#linkObjects()</code>) and by the setters
+ * of the writable facades. Apart from that, they are resolved
+ * lazily on first access.
+ * <br>
+ * Like a {@link PeerFieldCache}, a link is keyed by the <em>identity</em>
+ * of the peer's ID string: As soon as the peer refers to another object
+ * (i.e., gets a new ID string), the link is resolved again.
+ * Besides, it is keyed by the file's modification counter for direct
+ * references (cf. <code>GnuCashFileImpl#getLinkModCount()</code>),
+ * so that it is resolved again as well when the object linked to
+ * has been removed from or replaced in its manager.
+ * Unresolvable IDs are not linked, so that they are looked up again
+ * on the next call (the object may have been created in the meantime).
+ *
+ * @param <T> type of the object linked to
+ */
+public class PeerLink<T> {
+
+	private static final class Entry<T> {
+		private final String idStr;
+		private final long   modCount;
+		private final T      target;
+
+		private Entry(final String idStr, final long modCount, final T target) {
+			this.idStr = idStr;
+			this.modCount = modCount;
+			this.target = target;
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	// Replaced as a whole, so that concurrent readers
+	// never see an ID string and a target that do not match
+	private Entry<T> entry = null;
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param idStr    the current ID string of the peer
+	 * @param modCount the current modification counter of the file
+	 * @param resolver looks up the object for the ID string (only called
+	 *                 if the object has not been linked for that string yet)
+	 * @return the linked object, or null if the string is null
+	 *         or cannot be resolved
+	 */
+	public T get(final String idStr, final long modCount, final Function<String, T> resolver) {
+		if ( idStr == null ) {
+			return null;
+		}
+
+		Entry<T> curr = entry;
+		// sic, identity
+		if ( curr != null &&
+			 curr.idStr == idStr &&
+			 curr.modCount == modCount ) {
+			return curr.target;
+		}
+
+		T target = resolver.apply(idStr);
+		if ( target != null ) {
+			entry = new Entry<T>(idStr, modCount, target);
+		}
+
+		return target;
+	}
+
+	/**
+	 * @param idStr    the current ID string of the peer
+	 * @param modCount the current modification counter of the file
+	 * @param target   the object that ID string refers to
+	 */
+	public void set(final String idStr, final long modCount, final T target) {
+		if ( idStr == null || target == null ) {
+			entry = null;
+		} else {
+			entry = new Entry<T>(idStr, modCount, target);
+		}
+	}
+
+	/**
+	 * @param other the link to take over (typically, the one of another
+	 *              facade of the same peer)
+	 */
+	public void copyFrom(final PeerLink<T> other) {
+		entry = other.entry;
+	}
+
+	/**
+	 * @return true if an object is currently linked
+	 */
+	public boolean isSet() {
+		return entry != null;
+	}
+
+	/**
+	 * Forces the object to be looked up again on the next call.
+	 */
+	public void unlink() {
+		entry = null;
+	}
+
+}
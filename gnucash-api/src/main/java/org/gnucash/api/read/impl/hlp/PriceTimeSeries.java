@@ -0,0 +1,184 @@
+package org.gnucash.api.read.impl.hlp;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.gnucash.api.read.GnuCashPrice;
+import org.gnucash.base.basetypes.complex.GCshCmdtyCurrID;
+
+/**
+ * The price quotes of one (commodity/currency, currency) pair,
+ * sorted by their time stamp (ascending).
+ * <br>
+ * The time stamps are parsed only once, when the quote is added.
+ * Quotes are appended; the series is only sorted (lazily, on the next
+ * read access) if a quote has been appended out of order. Quotes with
+ * the same time stamp keep the order in which they have been added.
+ * <br>
+ * Not thread-safe.
+ */
+public class PriceTimeSeries {
+
+	private static final class Entry {
+		private final ZonedDateTime dateTime;
+		private final GnuCashPrice  prc;
+
+		private Entry(final ZonedDateTime dateTime, final GnuCashPrice prc) {
+			this.dateTime = dateTime;
+			this.prc = prc;
+		}
+	}
+
+	private static final Comparator<Entry> ENTRY_ORDER = Comparator.comparing((Entry entry) -> entry.dateTime);
+
+	// ---------------------------------------------------------------
+
+	private final GCshCmdtyCurrID fromCmdtyCurrID;
+	private final GCshCmdtyCurrID toCmdtyCurrID;
+
+	private final List<Entry> entries = new ArrayList<Entry>();
+
+	private boolean needsSorting = false;
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param fromCmdtyCurrID the commodity/currency the quotes are for
+	 * @param toCmdtyCurrID   the commodity/currency the quotes are in
+	 *                        (typically, but not necessarily a currency)
+	 */
+	public PriceTimeSeries(final GCshCmdtyCurrID fromCmdtyCurrID, final GCshCmdtyCurrID toCmdtyCurrID) {
+		if ( fromCmdtyCurrID == null ) {
+			throw new IllegalArgumentException("null from-commodity/currency ID given");
+		}
+
+		if ( toCmdtyCurrID == null ) {
+			throw new IllegalArgumentException("null to-commodity/currency ID given");
+		}
+
+		this.fromCmdtyCurrID = fromCmdtyCurrID;
+		this.toCmdtyCurrID = toCmdtyCurrID;
+	}
+
+	// ---------------------------------------------------------------
+
+	public GCshCmdtyCurrID getFromCmdtyCurrID() {
+		return fromCmdtyCurrID;
+	}
+
+	public GCshCmdtyCurrID getToCmdtyCurrID() {
+		return toCmdtyCurrID;
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public boolean isEmpty() {
+		return entries.isEmpty();
+	}
+
+	/**
+	 * @param prc      the price quote to add
+	 * @param dateTime its (parsed) time stamp
+	 */
+	public void add(final GnuCashPrice prc, final ZonedDateTime dateTime) {
+		if ( prc == null ) {
+			throw new IllegalArgumentException("null price given");
+		}
+
+		if ( dateTime == null ) {
+			throw new IllegalArgumentException("null date given");
+		}
+
+		if ( ! needsSorting &&
+			 ! entries.isEmpty() &&
+			 entries.get(entries.size() - 1).dateTime.isAfter(dateTime) ) {
+			needsSorting = true;
+		}
+
+		entries.add(new Entry(dateTime, prc));
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param idx index in the sorted series
+	 * @return the price quote at the given index
+	 */
+	public GnuCashPrice getPrice(final int idx) {
+		sortIfNecessary();
+		return entries.get(idx).prc;
+	}
+
+	/**
+	 * @param idx index in the sorted series
+	 * @return the time stamp of the price quote at the given index
+	 */
+	public ZonedDateTime getDateTime(final int idx) {
+		sortIfNecessary();
+		return entries.get(idx).dateTime;
+	}
+
+	/**
+	 * @return all price quotes of the series, oldest first
+	 */
+	public List<GnuCashPrice> getPrices() {
+		sortIfNecessary();
+
+		List<GnuCashPrice> result = new ArrayList<GnuCashPrice>(entries.size());
+		for ( Entry entry : entries ) {
+			result.add(entry.prc);
+		}
+
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * @param date exclusive upper bound (null means: no limit)
+	 * @return the index of the latest price quote strictly before the given
+	 *         time; if there are several ones with that time stamp, the first
+	 *         one of them. -1 if there is none.
+	 */
+	public int indexOfLatestBefore(final ZonedDateTime date) {
+		sortIfNecessary();
+
+		int low = 0;
+		int high = entries.size();
+		if ( date != null ) {
+			while ( low < high ) {
+				int mid = (low + high) >>> 1;
+				if ( entries.get(mid).dateTime.isBefore(date) ) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+		}
+
+		int idx = high - 1;
+		if ( idx < 0 ) {
+			return -1;
+		}
+
+		while ( idx > 0 &&
+				entries.get(idx - 1).dateTime.isEqual(entries.get(idx).dateTime) ) {
+			idx--;
+		}
+
+		return idx;
+	}
+
+	// ---------------------------------------------------------------
+
+	private void sortIfNecessary() {
+		if ( needsSorting ) {
+			entries.sort(ENTRY_ORDER); // stable
+			needsSorting = false;
+		}
+	}
+
+}
@@ -0,0 +1,239 @@
+package org.gnucash.api.read.impl.hlp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Input stream that reads its source stream ahead on a background thread.
+ * Thus, an expensive source stream (typically, a <code>GZIPInputStream</code>)
+ * runs as a pipeline stage concurrently with the code consuming the data
+ * (typically, the XML parser).
+ * <br>
+ * The source is read in buffers of a given size, and only a given number of
+ * buffers are held in advance, so a slow consumer throttles the background thread.
+ * <br>
+ * Errors of the source stream are re-thrown by the <code>read</code> method
+ * that reaches the point where they occurred (runtime exceptions and errors
+ * wrapped in an <code>IOException</code>).
+ * {@link #close()} stops the background thread and closes the source stream.
+ * <br>
+ * To be used by one consumer thread only.
+ */
+public class ReadAheadInputStream extends InputStream {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReadAheadInputStream.class);
+
+	// ::MAGIC
+	public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+	public static final int DEFAULT_MAX_BUFFERS = 8;
+
+	private static final byte[] END_OF_STREAM = new byte[0];
+
+	// ---------------------------------------------------------------
+
+	private final InputStream source;
+	private final int bufferSize;
+	private final BlockingQueue<byte[]> queue;
+	private final Thread worker;
+
+	private byte[] buffer = null;
+	private int bufferPos = 0;
+	private boolean eof = false;
+
+	private volatile IOException error = null;
+	private volatile boolean closed = false;
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param source the stream to read ahead in the background
+	 * @param name   name of the background thread
+	 */
+	public ReadAheadInputStream(final InputStream source, final String name) {
+		this(source, name, DEFAULT_BUFFER_SIZE, DEFAULT_MAX_BUFFERS);
+	}
+
+	/**
+	 * @param source     the stream to read ahead in the background
+	 * @param name       name of the background thread
+	 * @param bufferSize size of one buffer (in bytes)
+	 * @param maxBuffers maximum number of buffers read ahead
+	 */
+	public ReadAheadInputStream(final InputStream source, final String name,
+			                    final int bufferSize, final int maxBuffers) {
+		if ( source == null ) {
+			throw new IllegalArgumentException("null source stream given");
+		}
+
+		if ( bufferSize <= 0 ) {
+			throw new IllegalArgumentException("buffer size <= 0 given");
+		}
+
+		if ( maxBuffers <= 0 ) {
+			throw new IllegalArgumentException("max. no. of buffers <= 0 given");
+		}
+
+		this.source = source;
+		this.bufferSize = bufferSize;
+		this.queue = new ArrayBlockingQueue<byte[]>(maxBuffers);
+		this.worker = new Thread(this::fill, name);
+		this.worker.setDaemon(true);
+		this.worker.start();
+	}
+
+	// ---------------------------------------------------------------
+
+	@Override
+	public int read() throws IOException {
+		if ( ! nextBuffer() ) {
+			return -1;
+		}
+
+		return buffer[bufferPos++] & 0xFF;
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len) throws IOException {
+		if ( len == 0 ) {
+			return 0;
+		}
+
+		if ( ! nextBuffer() ) {
+			return -1;
+		}
+
+		int n = Math.min(len, buffer.length - bufferPos);
+		System.arraycopy(buffer, bufferPos, b, off, n);
+		bufferPos += n;
+		return n;
+	}
+
+	@Override
+	public int available() throws IOException {
+		checkOpen();
+		if ( buffer == null ) {
+			return 0;
+		}
+
+		return buffer.length - bufferPos;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if ( closed ) {
+			return;
+		}
+
+		closed = true;
+		worker.interrupt();
+		queue.clear(); // so that the background thread does not block
+		try {
+			worker.join();
+		} catch (InterruptedException exc) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the background reader");
+		} finally {
+			source.close();
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	/*
+	 * Makes sure there is something left in the current buffer.
+	 * Returns false at the end of the stream.
+	 */
+	private boolean nextBuffer() throws IOException {
+		checkOpen();
+
+		while ( buffer == null ||
+				bufferPos == buffer.length ) {
+			if ( eof ) {
+				return false;
+			}
+
+			try {
+				buffer = queue.take();
+			} catch (InterruptedException exc) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for data");
+			}
+			bufferPos = 0;
+
+			if ( buffer == END_OF_STREAM ) { // sic, identity
+				eof = true;
+				if ( error != null ) {
+					throw error;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	private void checkOpen() throws IOException {
+		if ( closed ) {
+			throw new IOException("Stream already closed");
+		}
+	}
+
+	/*
+	 * Background thread
+	 */
+	private void fill() {
+		try {
+			while ( ! closed ) {
+				byte[] data = new byte[bufferSize];
+				int len = 0;
+				int n = 0;
+				while ( len < data.length &&
+						( n = source.read(data, len, data.length - len) ) >= 0 ) {
+					len += n;
+				}
+
+				if ( len > 0 ) {
+					if ( len < data.length ) {
+						byte[] rest = new byte[len];
+						System.arraycopy(data, 0, rest, 0, len);
+						data = rest;
+					}
+					queue.put(data);
+				}
+
+				if ( n < 0 ) {
+					break;
+				}
+			}
+		} catch (InterruptedException exc) {
+			// closed by the consumer
+		} catch (Throwable exc) {
+			// Sic: Runtime exceptions and errors as well -- the consumer
+			// must not wait for the end of the stream forever
+			if ( ! closed ) {
+				LOGGER.error("fill: Error reading from source stream", exc);
+			}
+			if ( exc instanceof IOException ) {
+				error = (IOException) exc;
+			} else {
+				error = new IOException("Error reading from source stream", exc);
+			}
+		} finally {
+			if ( closed ) {
+				queue.offer(END_OF_STREAM); // nobody waits for it
+			} else {
+				try {
+					queue.put(END_OF_STREAM);
+				} catch (InterruptedException exc) {
+					// closed by the consumer
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,530 @@
+package org.gnucash.api.read.impl.hlp;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+import org.gnucash.api.read.GnuCashTransactionSplit;
+import org.gnucash.api.read.impl.GnuCashTransactionSplitImpl;
+
+import xyz.schnorxoborx.base.numbers.FixedPointNumber;
+
+/**
+ * Internal, mutable accumulator for amounts: A primitive long ("units")
+ * scaled by a common denominator ("fraction"), i.e. the value is
+ * units / fraction. For amounts of one commodity, the fraction typically
+ * is the commodity's fraction (e.g. 100 for EUR), so that summing up
+ * is just a long addition.
+ * <br>
+ * Summands with a different denominator rescale the accumulator to the
+ * least common multiple of both. If that (or the sum itself) does not
+ * fit into a long, the accumulator silently falls back to a BigInteger
+ * numerator and denominator for the rest of its life (or until {@link #reset()}).
+ * <br>
+ * Thus, the value is kept as an exact fraction until it is converted
+ * ({@link #toBigDecimal()}): That conversion is exact if the denominator
+ * has no prime factors other than 2 and 5 (as with all of GnuCash's
+ * usual fractions), else the quotient is rounded to 34 significant
+ * digits ({@link MathContext#DECIMAL128}).
+ * <br>
+ * GnuCash's "num/denom" strings are parsed in place, so that summing
+ * up the splits' values/quantities does not allocate anything as long
+ * as no overflow occurs. Conversion to a FixedPointNumber only takes
+ * place at the API boundary ({@link #toFixedPointNumber()}).
+ * <br>
+ * Not thread-safe.
+ */
+public final class ScaledAmount {
+
+	private static final long[] POW10 = new long[19];
+	static {
+		POW10[0] = 1;
+		for ( int i = 1; i < POW10.length; i++ ) {
+			POW10[i] = POW10[i - 1] * 10;
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	private long units;
+	private long fraction;
+
+	/**
+	 * Non-null after an overflow; then they hold the value
+	 * (bigFraction positive), and units/fraction are meaningless.
+	 */
+	private BigInteger bigUnits;
+	private BigInteger bigFraction;
+
+	// ---------------------------------------------------------------
+
+	public ScaledAmount() {
+		this(1);
+	}
+
+	/**
+	 * @param fraction the initial denominator (e.g. the commodity's fraction)
+	 */
+	public ScaledAmount(final long fraction) {
+		if ( fraction <= 0 ) {
+			throw new IllegalArgumentException("illegal fraction given: " + fraction);
+		}
+
+		this.units = 0;
+		this.fraction = fraction;
+		this.bigUnits = null;
+		this.bigFraction = null;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * Resets the value to zero (and the fraction to 1).
+	 *
+	 * @return this
+	 */
+	public ScaledAmount reset() {
+		return set(0, 1);
+	}
+
+	/**
+	 * @param units    the numerator
+	 * @param fraction the denominator (positive)
+	 * @return this
+	 */
+	public ScaledAmount set(final long units, final long fraction) {
+		if ( fraction <= 0 ) {
+			throw new IllegalArgumentException("illegal fraction given: " + fraction);
+		}
+
+		this.units = units;
+		this.fraction = fraction;
+		this.bigUnits = null;
+		this.bigFraction = null;
+		return this;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param num   the numerator
+	 * @param denom the denominator (non-zero)
+	 * @return this
+	 */
+	public ScaledAmount add(final long num, final long denom) {
+		if ( denom == 0 ) {
+			throw new IllegalArgumentException("zero denominator given");
+		}
+
+		if ( bigUnits != null ) {
+			addBig(BigInteger.valueOf(num), BigInteger.valueOf(denom));
+			return this;
+		}
+
+		try {
+			long n = num;
+			long d = denom;
+			if ( d < 0 ) {
+				n = Math.negateExact(n);
+				d = Math.negateExact(d);
+			}
+
+			if ( d == fraction ) {
+				units = Math.addExact(units, n);
+			} else if ( fraction % d == 0 ) {
+				units = Math.addExact(units, Math.multiplyExact(n, fraction / d));
+			} else {
+				long newFraction = Math.multiplyExact(fraction / gcd(fraction, d), d);
+				long newUnits = Math.addExact(Math.multiplyExact(units, newFraction / fraction),
+						                      Math.multiplyExact(n, newFraction / d));
+				units = newUnits;
+				fraction = newFraction;
+			}
+		} catch ( ArithmeticException exc ) {
+			// units/fraction are unchanged at this point
+			switchToBig();
+			addBig(BigInteger.valueOf(num), BigInteger.valueOf(denom));
+		}
+
+		return this;
+	}
+
+	/**
+	 * @param num   the numerator
+	 * @param denom the denominator (non-zero)
+	 * @return this
+	 */
+	public ScaledAmount subtract(final long num, final long denom) {
+		if ( num == Long.MIN_VALUE ) {
+			switchToBig();
+			addBig(BigInteger.valueOf(num).negate(), BigInteger.valueOf(denom));
+			return this;
+		}
+
+		return add(-num, denom);
+	}
+
+	/**
+	 * @param gcshAmount an amount in GnuCash's "num/denom" notation
+	 *                   (or anything that FixedPointNumber can parse)
+	 * @return this
+	 */
+	public ScaledAmount add(final String gcshAmount) {
+		return add(gcshAmount, false);
+	}
+
+	/**
+	 * @param gcshAmount an amount in GnuCash's "num/denom" notation
+	 *                   (or anything that FixedPointNumber can parse)
+	 * @return this
+	 */
+	public ScaledAmount subtract(final String gcshAmount) {
+		return add(gcshAmount, true);
+	}
+
+	public ScaledAmount add(final FixedPointNumber val) {
+		return add(val.getBigDecimal());
+	}
+
+	public ScaledAmount subtract(final FixedPointNumber val) {
+		return add(val.getBigDecimal().negate());
+	}
+
+	public ScaledAmount add(final BigDecimal val) {
+		if ( val == null ) {
+			throw new IllegalArgumentException("null value given");
+		}
+
+		BigDecimal val2 = ( val.scale() < 0 ) ? val.setScale(0) : val;
+		if ( bigUnits == null &&
+			 val2.scale() < POW10.length &&
+			 val2.precision() < POW10.length ) {
+			return add(val2.unscaledValue().longValue(), POW10[val2.scale()]);
+		}
+
+		switchToBig();
+		addBig(val2.unscaledValue(), BigInteger.TEN.pow(val2.scale()));
+		return this;
+	}
+
+	public ScaledAmount add(final ScaledAmount other) {
+		if ( other.bigUnits != null ) {
+			switchToBig();
+			addBig(other.bigUnits, other.bigFraction);
+			return this;
+		}
+
+		return add(other.units, other.fraction);
+	}
+
+	public ScaledAmount negate() {
+		if ( bigUnits == null && units != Long.MIN_VALUE ) {
+			units = -units;
+		} else {
+			switchToBig();
+			bigUnits = bigUnits.negate();
+		}
+
+		return this;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param splt the split the quantity of which to add
+	 * @return this
+	 */
+	public ScaledAmount addQuantity(final GnuCashTransactionSplit splt) {
+		if ( splt instanceof GnuCashTransactionSplitImpl ) {
+			return add(((GnuCashTransactionSplitImpl) splt).getJwsdpPeer().getSplitQuantity());
+		}
+
+		return add(splt.getQuantity());
+	}
+
+	/**
+	 * @param splt the split the value of which to add
+	 * @return this
+	 */
+	public ScaledAmount addValue(final GnuCashTransactionSplit splt) {
+		if ( splt instanceof GnuCashTransactionSplitImpl ) {
+			return add(((GnuCashTransactionSplitImpl) splt).getJwsdpPeer().getSplitValue());
+		}
+
+		return add(splt.getValue());
+	}
+
+	/**
+	 * @param splt the split the value of which to subtract
+	 * @return this
+	 */
+	public ScaledAmount subtractValue(final GnuCashTransactionSplit splt) {
+		if ( splt instanceof GnuCashTransactionSplitImpl ) {
+			return subtract(((GnuCashTransactionSplitImpl) splt).getJwsdpPeer().getSplitValue());
+		}
+
+		return subtract(splt.getValue());
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @return true if the value no longer fits into a scaled long
+	 *         (i.e., the accumulator has fallen back to BigInteger)
+	 */
+	public boolean isOverflowed() {
+		return bigUnits != null;
+	}
+
+	/**
+	 * @return the numerator (only valid if not overflowed)
+	 */
+	public long getUnits() {
+		checkNotOverflowed();
+		return units;
+	}
+
+	/**
+	 * @return the denominator (only valid if not overflowed)
+	 */
+	public long getFraction() {
+		checkNotOverflowed();
+		return fraction;
+	}
+
+	public int signum() {
+		if ( bigUnits != null ) {
+			return bigUnits.signum();
+		}
+
+		return Long.signum(units);
+	}
+
+	public boolean isZero() {
+		return signum() == 0;
+	}
+
+	/**
+	 * @return the value; exact if the denominator has no prime factors
+	 *         other than 2 and 5, else the quotient rounded to 34 
+	 *         significant digits
+	 */
+	public BigDecimal toBigDecimal() {
+		if ( bigUnits != null ) {
+			BigDecimal num = new BigDecimal(bigUnits);
+			BigDecimal denom = new BigDecimal(bigFraction);
+			try {
+				// exact (if the quotient has a finite decimal expansion)
+				return num.divide(denom);
+			} catch ( ArithmeticException exc ) {
+				return num.divide(denom, MathContext.DECIMAL128);
+			}
+		}
+
+		return toBigDecimal(units, fraction);
+	}
+
+	public FixedPointNumber toFixedPointNumber() {
+		return new FixedPointNumber(toBigDecimal());
+	}
+
+	@Override
+	public String toString() {
+		if ( bigUnits != null ) {
+			return bigUnits + "/" + bigFraction;
+		}
+
+		return units + "/" + fraction;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param num   the numerator
+	 * @param denom the denominator (non-zero)
+	 * @return the exact value if denom has no prime factors other than
+	 *         2 and 5, else the quotient rounded to 34 significant digits
+	 */
+	public static BigDecimal toBigDecimal(final long num, final long denom) {
+		int scale = scaleOf(denom);
+		if ( scale >= 0 ) {
+			return BigDecimal.valueOf(num, scale);
+		}
+
+		if ( isTerminating(denom) ) {
+			return BigDecimal.valueOf(num).divide(BigDecimal.valueOf(denom));
+		}
+
+		return BigDecimal.valueOf(num).divide(BigDecimal.valueOf(denom), MathContext.DECIMAL128);
+	}
+
+	/**
+	 * @param splt the split in question
+	 * @return the sign of the split's value
+	 */
+	public static int signumOfValue(final GnuCashTransactionSplit splt) {
+		if ( splt instanceof GnuCashTransactionSplitImpl ) {
+			return signum(((GnuCashTransactionSplitImpl) splt).getJwsdpPeer().getSplitValue());
+		}
+
+		return splt.getValue().getBigDecimal().signum();
+	}
+
+	/**
+	 * @param gcshAmount an amount in GnuCash's "num/denom" notation
+	 * @return the sign of the amount, without allocating anything
+	 *         in the regular case
+	 */
+	public static int signum(final String gcshAmount) {
+		int len = gcshAmount.length();
+		int pos = 0;
+		boolean neg = false;
+		if ( pos < len &&
+			 ( gcshAmount.charAt(pos) == '-' || gcshAmount.charAt(pos) == '+' ) ) {
+			neg = ( gcshAmount.charAt(pos) == '-' );
+			pos++;
+		}
+
+		for ( ; pos < len; pos++ ) {
+			char chr = gcshAmount.charAt(pos);
+			if ( chr == '/' ) {
+				break;
+			} else if ( chr < '0' || chr > '9' ) {
+				return new FixedPointNumber(gcshAmount).getBigDecimal().signum();
+			} else if ( chr != '0' ) {
+				return neg ? -1 : 1;
+			}
+		}
+
+		return 0;
+	}
+
+	// ---------------------------------------------------------------
+
+	private ScaledAmount add(final String gcshAmount, final boolean negate) {
+		if ( gcshAmount == null ) {
+			throw new IllegalArgumentException("null amount given");
+		}
+
+		int len = gcshAmount.length();
+		int pos = 0;
+		boolean neg = negate;
+		if ( pos < len &&
+			 ( gcshAmount.charAt(pos) == '-' || gcshAmount.charAt(pos) == '+' ) ) {
+			if ( gcshAmount.charAt(pos) == '-' ) {
+				neg = ! neg;
+			}
+			pos++;
+		}
+
+		long num = 0;
+		int start = pos;
+		for ( ; pos < len && gcshAmount.charAt(pos) != '/'; pos++ ) {
+			int digit = gcshAmount.charAt(pos) - '0';
+			if ( digit < 0 || digit > 9 ||
+				 num > ( Long.MAX_VALUE - digit ) / 10 ) {
+				return addParsed(gcshAmount, negate);
+			}
+			num = num * 10 + digit;
+		}
+
+		if ( pos == start ) {
+			return addParsed(gcshAmount, negate);
+		}
+
+		long denom = 1;
+		if ( pos < len ) {
+			pos++; // skip '/'
+			denom = 0;
+			start = pos;
+			for ( ; pos < len; pos++ ) {
+				int digit = gcshAmount.charAt(pos) - '0';
+				if ( digit < 0 || digit > 9 ||
+					 denom > ( Long.MAX_VALUE - digit ) / 10 ) {
+					return addParsed(gcshAmount, negate);
+				}
+				denom = denom * 10 + digit;
+			}
+
+			if ( pos == start || denom == 0 ) {
+				return addParsed(gcshAmount, negate);
+			}
+		}
+
+		return add(neg ? -num : num, denom);
+	}
+
+	private ScaledAmount addParsed(final String gcshAmount, final boolean negate) {
+		BigDecimal val = new FixedPointNumber(gcshAmount).getBigDecimal();
+		return add(negate ? val.negate() : val);
+	}
+
+	private void switchToBig() {
+		if ( bigUnits == null ) {
+			bigUnits = BigInteger.valueOf(units);
+			bigFraction = BigInteger.valueOf(fraction);
+		}
+	}
+
+	/*
+	 * Exact, in the overflow mode
+	 */
+	private void addBig(final BigInteger num, final BigInteger denom) {
+		BigInteger n = num;
+		BigInteger d = denom;
+		if ( d.signum() < 0 ) {
+			n = n.negate();
+			d = d.negate();
+		}
+
+		if ( d.equals(bigFraction) ) {
+			bigUnits = bigUnits.add(n);
+		} else {
+			BigInteger newFraction = bigFraction.divide(bigFraction.gcd(d)).multiply(d);
+			bigUnits = bigUnits.multiply(newFraction.divide(bigFraction))
+					           .add(n.multiply(newFraction.divide(d)));
+			bigFraction = newFraction;
+		}
+	}
+
+	private void checkNotOverflowed() {
+		if ( bigUnits != null ) {
+			throw new IllegalStateException("amount does not fit into a scaled long");
+		}
+	}
+
+	private static int scaleOf(final long denom) {
+		for ( int i = 0; i < POW10.length; i++ ) {
+			if ( POW10[i] == denom ) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	private static boolean isTerminating(final long denom) {
+		long d = Math.abs(denom);
+		while ( d != 0 && d % 2 == 0 ) {
+			d /= 2;
+		}
+		while ( d != 0 && d % 5 == 0 ) {
+			d /= 5;
+		}
+
+		return d == 1 || d == -1;
+	}
+
+	private static long gcd(final long a, final long b) {
+		long x = a;
+		long y = b;
+		while ( y != 0 ) {
+			long tmp = x % y;
+			x = y;
+			y = tmp;
+		}
+
+		return x;
+	}
+
+}
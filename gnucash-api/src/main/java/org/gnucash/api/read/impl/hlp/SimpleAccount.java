@@ -2,21 +2,18 @@ package org.gnucash.api.read.impl.hlp;
 
 import java.text.NumberFormat;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.time.chrono.ChronoZonedDateTime;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Currency;
 import java.util.List;
 import java.util.Locale;
 
-import org.gnucash.api.currency.ComplexPriceTable;
 import org.gnucash.api.read.GnuCashAccount;
 import org.gnucash.api.read.GnuCashFile;
 import org.gnucash.api.read.GnuCashTransaction;
 import org.gnucash.api.read.GnuCashTransactionSplit;
+import org.gnucash.api.read.impl.GnuCashFileImpl;
 import org.gnucash.base.basetypes.complex.GCshCmdtyCurrID;
 import org.gnucash.base.basetypes.complex.GCshCurrID;
 import org.gnucash.base.basetypes.simple.GCshID;
@@ -62,22 +59,13 @@ public abstract class SimpleAccount extends GnuCashObjectImpl
 		return retval;
 	}
 
+	/*
+	 * The returned list is sorted by the natural order of the Transaction-Splits.
+	 * Looked up in the split store's date index, i.e. by binary search.
+	 */
 	@Override
 	public List<GnuCashTransaction> getTransactions(final LocalDate fromDate, final LocalDate toDate) {
-		List<GnuCashTransaction> retval = new ArrayList<GnuCashTransaction>();
-
-		for ( GnuCashTransaction trx : getTransactions() ) {
-			 if ( ( trx.getDatePosted().toLocalDate().isEqual( fromDate ) ||
-				    trx.getDatePosted().toLocalDate().isAfter( fromDate ) ) &&
-			      ( trx.getDatePosted().toLocalDate().isEqual( toDate ) ||
-					trx.getDatePosted().toLocalDate().isBefore( toDate ) ) ) {
-				 retval.add(trx);
-			 }
-		}
-
-		// retval.sort(Comparator.reverseOrder()); // not necessary 
-		
-		return retval;
+		return getTransactionSplitStore().getTransactions(fromDate, toDate);
 	}
 	
 	@Override
@@ -105,9 +93,22 @@ public abstract class SimpleAccount extends GnuCashObjectImpl
 
 	/**
 	 * Get name including the name of the parent accounts.
+	 * <br>
+	 * Taken from the file's account hierarchy index if possible, 
+	 * else computed recursively.
 	 */
 	@Override
 	public String getQualifiedName() {
+		if ( getGnuCashFile() instanceof GnuCashFileImpl ) {
+			FileAccountManager acctMgr = ((GnuCashFileImpl) getGnuCashFile()).getAcctMgr();
+			if ( acctMgr != null ) {
+				String result = acctMgr.getQualifiedName(getID());
+				if ( result != null ) {
+					return result;
+				}
+			}
+		}
+
 		GnuCashAccount acc = getParentAccount();
 
 		if ( acc == null || 
@@ -153,32 +154,32 @@ public abstract class SimpleAccount extends GnuCashObjectImpl
 
 	/**
 	 * The currency will be the one of this account.
+	 * <br>
+	 * Uses the running balances of the account's splits, 
+	 * so this is O(log n).
 	 */
 	@Override
 	public FixedPointNumber getBalance(final LocalDate date, List<GnuCashTransactionSplit> after) {
-	
-		FixedPointNumber balance = new FixedPointNumber();
-	
-		for ( GnuCashTransactionSplit splt : getTransactionSplits() ) {
-			if ( date != null && 
-				 after != null ) {
-				LocalDateTime startOfDay = date.atStartOfDay();
-				ZonedDateTime startOfDay_zdt = startOfDay.atZone(ZoneId.systemDefault());
-				if ( splt.getTransaction().getDatePosted().isAfter(startOfDay_zdt) ) {
-					after.add(splt);
-					continue;
-				}
-			}
-	
-			// the currency of the quantity is the one of the account
-			// CAUTION: No special logic for action type GnuCashTransactionSplit.Action.SPLIT,
-			// as opposed to sister project.
-			balance.add(splt.getQuantity());
+		AccountSplitStore store = getTransactionSplitStore();
+		if ( date == null ) {
+			return store.getBalance(store.size());
+		}
+		
+		ZonedDateTime startOfDay = date.atStartOfDay(ZoneId.systemDefault());
+		int count = store.indexOfFirstPostedAfter(startOfDay);
+		if ( after != null ) {
+			after.addAll(store.getSorted().subList(count, store.size()));
 		}
 	
-		return balance;
+		// the currency of the quantity is the one of the account
+		// CAUTION: No special logic for action type GnuCashTransactionSplit.Action.SPLIT,
+		// as opposed to sister project.
+		return store.getBalance(count);
 	}
 
+	/**
+	 * The balance is converted with the price quotes valid on the given date.
+	 */
 	@Override
 	public FixedPointNumber getBalance(final LocalDate date, final GCshCmdtyCurrID cmdtyCurrID) {
 		FixedPointNumber retval = getBalance(date);
@@ -193,33 +194,20 @@ public abstract class SimpleAccount extends GnuCashObjectImpl
 			return retval;
 		}
 	
-		ComplexPriceTable priceTab = getGnuCashFile().getCurrencyTable();
-	
-		if ( priceTab == null ) {
-			LOGGER.error("getBalance: Cannot transfer "
-					+ "to given currency because we have no currency-table!");
-			return null;
-		}
-	
-		if ( ! priceTab.convertToBaseCurrency(retval, cmdtyCurrID) ) {
-			Collection<String> currList = getGnuCashFile().getCurrencyTable()
-					.getCurrencies(getCmdtyCurrID().getNameSpace());
-			LOGGER.error("getBalance: Cannot transfer " + "from our currency '"
-					+ getCmdtyCurrID().toString() + "' to the base-currency!" + " \n(we know "
-					+ getGnuCashFile().getCurrencyTable().getNameSpaces().size() + " currency-namespaces and "
-					+ (currList == null ? "no" : "" + currList.size()) + " currencies in our namespace)");
-			return null;
-		}
-	
-		if ( ! priceTab.convertFromBaseCurrency(retval, cmdtyCurrID) ) {
-			LOGGER.error("getBalance: Cannot transfer " + "from base-currenty to given currency '"
+		FixedPointNumber result = getGnuCashFile().convertAsOf(retval, getCmdtyCurrID(), cmdtyCurrID, date);
+		if ( result == null ) {
+			LOGGER.error("getBalance: Cannot transfer " + "from our commodity/currency '"
+					+ getCmdtyCurrID().toString() + "' to given commodity/currency '" 
 					+ cmdtyCurrID.toString() + "'!");
 			return null;
 		}
 	
-		return retval;
+		return result;
 	}
 
+	/**
+	 * The balance is converted with the price quotes valid on the given date.
+	 */
 	@Override
 	public FixedPointNumber getBalance(final LocalDate date, final Currency curr) {
 
@@ -242,44 +230,27 @@ public abstract class SimpleAccount extends GnuCashObjectImpl
 			}
 		}
 
-		ComplexPriceTable priceTab = getGnuCashFile().getCurrencyTable();
-
-		if ( priceTab == null ) {
-			LOGGER.warn("getBalance: Cannot transfer "
-					+ "to given currency because we have no currency-table!");
-			return null;
-		}
-
-		if ( ! priceTab.convertToBaseCurrency(retval, getCmdtyCurrID()) ) {
-			LOGGER.warn("getBalance: Cannot transfer " + "from our currency '"
-					+ getCmdtyCurrID().toString() + "' to the base-currency!");
-			return null;
-		}
-
-		if ( ! priceTab.convertFromBaseCurrency(retval, new GCshCurrID(curr)) ) {
-			LOGGER.warn("getBalance: Cannot transfer " + "from base-currenty to given currency '"
-					+ curr + "'!");
+		FixedPointNumber result = getGnuCashFile().convertAsOf(retval, getCmdtyCurrID(), new GCshCurrID(curr), date);
+		if ( result == null ) {
+			LOGGER.warn("getBalance: Cannot transfer " + "from our commodity/currency '"
+					+ getCmdtyCurrID().toString() + "' to given currency '" + curr + "'!");
 			return null;
 		}
 
-		return retval;
+		return result;
 	}
 
 	@Override
 	public FixedPointNumber getBalance(final GnuCashTransactionSplit lastIncludesSplit) {
-	
-		FixedPointNumber balance = new FixedPointNumber();
-	
-		for ( GnuCashTransactionSplit split : getTransactionSplits() ) {
-			balance.add(split.getQuantity());
-	
-			if ( split == lastIncludesSplit ) {
-				break;
-			}
-	
+		AccountSplitStore store = getTransactionSplitStore();
+		
+		int idx = ( lastIncludesSplit == null ) ? -1 : store.indexOf(lastIncludesSplit);
+		if ( idx < 0 ) {
+			// not one of our splits
+			return store.getBalance(store.size());
 		}
 	
-		return balance;
+		return store.getBalance(idx + 1);
 	}
 
 	@Override
@@ -333,17 +304,18 @@ public abstract class SimpleAccount extends GnuCashObjectImpl
 	@Override
 	public FixedPointNumber getBalanceRecursive(final LocalDate date, final Currency curr) {
 
-		FixedPointNumber retval = getBalance(date, curr);
+		ScaledAmount retval = new ScaledAmount();
 
-		if ( retval == null ) {
-			retval = new FixedPointNumber();
+		FixedPointNumber bal = getBalance(date, curr);
+		if ( bal != null ) {
+			retval.add(bal);
 		}
 
 		for ( GnuCashAccount child : getChildren() ) {
 			retval.add(child.getBalanceRecursive(date, curr));
 		}
 
-		return retval;
+		return retval.toFixedPointNumber();
 	}
 
 	@Override
@@ -359,20 +331,13 @@ public abstract class SimpleAccount extends GnuCashObjectImpl
 	@Override
 	public GnuCashTransactionSplit getLastSplitBeforeRecursive(final LocalDate date) {
 
-		GnuCashTransactionSplit lastSplit = null;
-
-		for ( GnuCashTransactionSplit split : getTransactionSplits() ) {
-			if ( date == null || 
-				 split.getTransaction().getDatePosted()
-				 	.isBefore(ChronoZonedDateTime.from(date.atStartOfDay())) ) {
-				if ( lastSplit == null ||
-					 split.getTransaction().getDatePosted()
-						.isAfter(lastSplit.getTransaction().getDatePosted()) ) {
-					lastSplit = split;
-				}
-			}
+		ZonedDateTime startOfDay_zdt = null;
+		if ( date != null ) {
+			startOfDay_zdt = date.atStartOfDay(ZoneId.systemDefault());
 		}
 
+		GnuCashTransactionSplit lastSplit = getTransactionSplitStore().getLastPostedBefore(startOfDay_zdt);
+
 		for ( GnuCashAccount account : getChildren() ) {
 			GnuCashTransactionSplit split = account.getLastSplitBeforeRecursive(date);
 			if ( split != null && 
@@ -446,16 +411,15 @@ public abstract class SimpleAccount extends GnuCashObjectImpl
 			throw new IllegalArgumentException("ID not set");
 		}
 
-		for ( GnuCashTransactionSplit split : getTransactionSplits() ) {
-			if ( id.equals(split.getID()) ) {
-				return split;
-			}
-
-		}
-
-		return null;
+		return getTransactionSplitStore().get(id);
 	}
 
+	/**
+	 * @return the store holding the transaction splits of this account
+	 *         (by ID and sorted by date), cf. {@link #getTransactionSplits()}
+	 */
+	protected abstract AccountSplitStore getTransactionSplitStore();
+
     // -----------------------------------------------------------------
 
 	@Override
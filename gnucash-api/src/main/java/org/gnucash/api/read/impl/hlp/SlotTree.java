@@ -0,0 +1,335 @@
+package org.gnucash.api.read.impl.hlp;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import org.gnucash.api.Const;
+import org.gnucash.api.generated.Slot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.xml.bind.JAXBElement;
+
+/**
+ * The slots (user-defined attributes) of one object, decoded once
+ * into an immutable tree: Each level maps the slot keys to their
+ * (decoded) values, frame slots to their sub-trees.
+ * <br>
+ * Look-ups by hierarchical key ("a.b.c", cf.
+ * {@link HasUserDefinedAttributesImpl#HIERARCHY_SEPARATOR})
+ * take one hash look-up per level.
+ * <br>
+ * If a level contains the same key more than once, the first
+ * slot wins (as it always did with the linear search).
+ */
+public class SlotTree {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(SlotTree.class);
+
+	private static final String NOT_IMPLEMENTED = "NOT IMPLEMENTED YET";
+
+	public static final SlotTree EMPTY = new SlotTree(new HashMap<String, Node>(), new ArrayList<String>());
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * One decoded slot.
+	 */
+	public static final class Node {
+		private final String   type;
+		private final String   value;   // null for frames
+		private final Object   rawValue;
+		private final SlotTree frame;   // null for non-frames
+
+		private Node(final String type, final String value, final Object rawValue, final SlotTree frame) {
+			this.type = type;
+			this.value = value;
+			this.rawValue = rawValue;
+			this.frame = frame;
+		}
+
+		/**
+		 * @return the slot's type (cf. <code>Const.XML_DATA_TYPE_XYZ</code>)
+		 */
+		public String getType() {
+			return type;
+		}
+
+		/**
+		 * @return the slot's value as a string (as returned by
+		 *         <code>getUserDefinedAttribute()</code>), null for frames
+		 */
+		public String getValue() {
+			return value;
+		}
+
+		/**
+		 * @return the sub-tree if the slot is a frame, else null
+		 */
+		public SlotTree getFrame() {
+			return frame;
+		}
+
+		public boolean isFrame() {
+			return frame != null;
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	private final Map<String, Node> nodes;
+	private final List<String>      keys;  // sic, in original order, incl. duplicates
+
+	// ---------------------------------------------------------------
+
+	private SlotTree(final Map<String, Node> nodes, final List<String> keys) {
+		this.nodes = nodes;
+		this.keys = Collections.unmodifiableList(keys);
+	}
+
+	/**
+	 * @param slotList the (JAXB) slots of one level
+	 * @return the decoded tree
+	 */
+	@SuppressWarnings("exports")
+	public static SlotTree decode(final List<Slot> slotList) {
+		if ( slotList == null ) {
+			return EMPTY;
+		}
+
+		Map<String, Node> nodes = new HashMap<String, Node>();
+		List<String> keys = new ArrayList<String>(slotList.size());
+
+		for ( Slot slot : slotList ) {
+			keys.add(slot.getSlotKey());
+			if ( slot.getSlotKey() == null ||
+				 nodes.containsKey(slot.getSlotKey()) ) {
+				continue;
+			}
+
+			nodes.put(slot.getSlotKey(), decodeNode(slot));
+		}
+
+		return new SlotTree(nodes, keys);
+	}
+
+	private static Node decodeNode(final Slot slot) {
+		String key = slot.getSlotKey();
+		String type = slot.getSlotValue().getType();
+		List<Object> objList = slot.getSlotValue().getContent();
+
+		if ( type.equals(Const.XML_DATA_TYPE_STRING) ||
+			 type.equals(Const.XML_DATA_TYPE_INTEGER) ||
+			 type.equals(Const.XML_DATA_TYPE_GUID) ) {
+			if ( objList == null || objList.size() == 0 ) {
+				return new Node(type, null, null, null);
+			}
+			return decodeLeaf(key, type, objList.get(0));
+		} else if ( type.equals(Const.XML_DATA_TYPE_GDATE) ) {
+			if ( objList == null || objList.size() == 0 ) {
+				return new Node(type, null, null, null);
+			}
+			Object valElt = null;
+			for ( Object obj : objList ) {
+				if ( obj instanceof JAXBElement ) {
+					valElt = obj;
+				}
+			}
+			return decodeLeaf(key, type, valElt);
+		} else if ( type.equals(Const.XML_DATA_TYPE_FRAME) ) {
+			if ( objList == null || objList.size() == 0 ) {
+				return new Node(type, null, null, null);
+			}
+			List<Slot> subSlots = new ArrayList<Slot>(objList.size());
+			for ( Object obj : objList ) {
+				if ( obj instanceof Slot ) {
+					subSlots.add((Slot) obj);
+				}
+			}
+			return new Node(type, null, null, decode(subSlots));
+		} else {
+			// E.g. timespec
+			LOGGER.debug("decodeNode: Unsupported slot type '" + type + "' for key '" + key + "'");
+			return new Node(type, NOT_IMPLEMENTED, null, null);
+		}
+	}
+
+	private static Node decodeLeaf(final String key, final String type, final Object valElt) {
+		if ( valElt == null ) {
+			return new Node(type, null, null, null);
+		}
+
+		if ( valElt instanceof String ) {
+			return new Node(type, (String) valElt, valElt, null);
+		} else if ( valElt instanceof JAXBElement ) {
+			Object val = ((JAXBElement<?>) valElt).getValue();
+			return new Node(type, val.toString(), val, null);
+		} else {
+			LOGGER.error("decodeLeaf: User-defined attribute for key '" + key + "' may not be a String."
+					+ " It is of UNKNOWN type [" + valElt.getClass().getName() + "]");
+			return new Node(type, "ERROR", null, null);
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @return the keys of this level, in the original order
+	 */
+	public List<String> getKeys() {
+		return keys;
+	}
+
+	public boolean isEmpty() {
+		return keys.isEmpty();
+	}
+
+	/**
+	 * @param name the (hierarchical) key
+	 * @return the slot, or null if there is none for that key
+	 */
+	public Node getNode(final String name) {
+		if ( name == null ) {
+			throw new IllegalArgumentException("null name given");
+		}
+
+		SlotTree level = this;
+		String rest = name;
+		while ( true ) {
+			if ( rest.equals("") ) {
+				return null;
+			}
+
+			String first = rest;
+			int pos = rest.indexOf(HasUserDefinedAttributesImpl.HIERARCHY_SEPARATOR);
+			if ( pos >= 0 ) {
+				first = rest.substring(0, pos);
+				rest = rest.substring(pos + HasUserDefinedAttributesImpl.HIERARCHY_SEPARATOR.length());
+			} else {
+				rest = "";
+			}
+
+			Node node = level.nodes.get(first);
+			if ( node == null ||
+				 ! node.isFrame() ) {
+				// Sic: A non-frame slot is returned even if
+				// the key has further levels
+				return node;
+			}
+
+			level = node.frame;
+		}
+	}
+
+	/**
+	 * @param name the (hierarchical) key
+	 * @return the slot's value as a string, or null if there is none
+	 *         (or the slot is a frame)
+	 */
+	public String getValue(final String name) {
+		Node node = getNode(name);
+		if ( node == null ) {
+			return null;
+		}
+
+		return node.value;
+	}
+
+	/**
+	 * @param name the (hierarchical) key
+	 * @return the slot's type, or null if there is no slot for that key
+	 */
+	public String getType(final String name) {
+		Node node = getNode(name);
+		if ( node == null ) {
+			return null;
+		}
+
+		return node.type;
+	}
+
+	/**
+	 * @param name the (hierarchical) key
+	 * @return the value of the integer slot, or null if there is none
+	 */
+	public Long getLong(final String name) {
+		Node node = getNode(name);
+		if ( node == null ||
+			 node.value == null ||
+			 ! node.type.equals(Const.XML_DATA_TYPE_INTEGER) ) {
+			return null;
+		}
+
+		return Long.valueOf(node.value.trim());
+	}
+
+	/**
+	 * @param name the (hierarchical) key
+	 * @return the value of the date slot, or null if there is none
+	 */
+	public LocalDate getDate(final String name) {
+		Node node = getNode(name);
+		if ( node == null ||
+			 node.value == null ||
+			 ! node.type.equals(Const.XML_DATA_TYPE_GDATE) ) {
+			return null;
+		}
+
+		if ( node.rawValue instanceof XMLGregorianCalendar ) {
+			XMLGregorianCalendar cal = (XMLGregorianCalendar) node.rawValue;
+			return LocalDate.of(cal.getYear(), cal.getMonth(), cal.getDay());
+		}
+
+		return LocalDate.parse(node.value.substring(0, Math.min(node.value.length(), 10)));
+	}
+
+	/**
+	 * @param name the (hierarchical) key
+	 * @return the sub-tree of the frame slot, or null if there is none
+	 */
+	public SlotTree getFrame(final String name) {
+		Node node = getNode(name);
+		if ( node == null ) {
+			return null;
+		}
+
+		return node.frame;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @return the string values of all non-frame slots of supported types
+	 *         in this tree (including the sub-trees), by hierarchical key
+	 */
+	public Map<String, String> getValuesByKey() {
+		Map<String, String> result = new LinkedHashMap<String, String>();
+		collectValues("", result);
+		return result;
+	}
+
+	private void collectValues(final String prefix, final Map<String, String> result) {
+		for ( String key : keys ) {
+			Node node = nodes.get(key);
+			if ( node == null ||
+				 result.containsKey(prefix + key) ) {
+				continue;
+			}
+
+			if ( node.isFrame() ) {
+				node.frame.collectValues(prefix + key + HasUserDefinedAttributesImpl.HIERARCHY_SEPARATOR, result);
+			} else if ( node.value != null &&
+						node.value != NOT_IMPLEMENTED ) { // sic, identity
+				result.put(prefix + key, node.value);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,64 @@
+package org.gnucash.api.read.impl.hlp;
+
+import org.gnucash.api.generated.SlotsType;
+
+/**
+ * Caches the decoded {@link SlotTree} of one facade's slots, so that
+ * the user-defined attributes are decoded only once.
+ * <br>
+ * Slot lists are changed in place, so (unlike with a {@link PeerFieldCache})
+ * the identity of the peer's object does not suffice to notice changes.
+ * Thus, the cache is keyed by the identity of the peer's <code>SlotsType</code>
+ * object <em>and</em> the file's slot modification counter
+ * (cf. <code>GnuCashFileImpl#getSlotModCount()</code>), which has to be
+ * incremented (via <code>GnuCashFileImpl#slotsModified()</code>) by every
+ * piece of code that changes a slot list of that file. That is the case
+ * for the <code>...UserDefinedAttributeCore()</code> methods of
+ * <code>HasWritableUserDefinedAttributesImpl</code>.
+ */
+public class SlotTreeCache {
+
+	private static final class Entry {
+		private final SlotsType slots;
+		private final long      modCount;
+		private final SlotTree  tree;
+
+		private Entry(final SlotsType slots, final long modCount, final SlotTree tree) {
+			this.slots = slots;
+			this.modCount = modCount;
+			this.tree = tree;
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	// Replaced as a whole, so that concurrent readers
+	// never see slots and a tree that do not match
+	private Entry entry = null;
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param slots    the current slots of the peer
+	 * @param modCount the current slot modification counter of the file
+	 * @return the decoded tree, or null if slots is null
+	 */
+	@SuppressWarnings("exports")
+	public SlotTree get(final SlotsType slots, final long modCount) {
+		if ( slots == null ) {
+			return null;
+		}
+
+		Entry curr = entry;
+		// sic, identity
+		if ( curr == null ||
+			 curr.slots != slots ||
+			 curr.modCount != modCount ) {
+			curr = new Entry(slots, modCount, SlotTree.decode(slots.getSlot()));
+			entry = curr;
+		}
+
+		return curr.tree;
+	}
+
+}
@@ -0,0 +1,131 @@
+package org.gnucash.api.read.impl.hlp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.gnucash.api.read.hlp.HasUserDefinedAttributes;
+
+/**
+ * File-wide reverse index over the user-defined attributes (slots):
+ * For each (hierarchical) key and value, the objects that have
+ * that value for that key -- e.g. all objects carrying a given
+ * external reference ID.
+ * <br>
+ * Filled once from the objects' {@link SlotTree}s; the owner
+ * has to throw it away and re-build it when slots have been changed
+ * (cf. {@link #getModCount()}) or objects have been removed.
+ * <br>
+ * Not thread-safe while being filled.
+ */
+public class SlotValueIndex {
+
+	private final Map<String, Map<String, List<HasUserDefinedAttributes>>> keyMap =
+			new HashMap<String, Map<String, List<HasUserDefinedAttributes>>>();
+
+	private final long modCount;
+
+	private int size = 0;
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * Remembers the file's current slot modification counter, 
+	 * so that the owner can tell whether the index is outdated.
+	 * 
+	 * @param modCount the current slot modification counter of the file
+	 *                 (cf. <code>GnuCashFileImpl#getSlotModCount()</code>)
+	 */
+	public SlotValueIndex(final long modCount) {
+		this.modCount = modCount;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param obj  the object
+	 * @param tree the object's decoded slots (may be null)
+	 */
+	public void add(final HasUserDefinedAttributes obj, final SlotTree tree) {
+		if ( obj == null ) {
+			throw new IllegalArgumentException("null object given");
+		}
+
+		if ( tree == null ) {
+			return;
+		}
+
+		for ( Map.Entry<String, String> entry : tree.getValuesByKey().entrySet() ) {
+			Map<String, List<HasUserDefinedAttributes>> valMap = keyMap.get(entry.getKey());
+			if ( valMap == null ) {
+				valMap = new HashMap<String, List<HasUserDefinedAttributes>>();
+				keyMap.put(entry.getKey(), valMap);
+			}
+
+			List<HasUserDefinedAttributes> objList = valMap.get(entry.getValue());
+			if ( objList == null ) {
+				objList = new ArrayList<HasUserDefinedAttributes>(1);
+				valMap.put(entry.getValue(), objList);
+			}
+
+			objList.add(obj);
+			size++;
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param name  the (hierarchical) key of the user-defined attribute
+	 * @param value the value (exact match)
+	 * @return the objects that have that value for that key
+	 *         (in the order in which they have been added)
+	 */
+	public List<HasUserDefinedAttributes> get(final String name, final String value) {
+		if ( name == null ) {
+			throw new IllegalArgumentException("null name given");
+		}
+
+		if ( value == null ) {
+			throw new IllegalArgumentException("null value given");
+		}
+
+		Map<String, List<HasUserDefinedAttributes>> valMap = keyMap.get(name);
+		if ( valMap == null ) {
+			return Collections.emptyList();
+		}
+
+		List<HasUserDefinedAttributes> objList = valMap.get(value);
+		if ( objList == null ) {
+			return Collections.emptyList();
+		}
+
+		return Collections.unmodifiableList(objList);
+	}
+
+	/**
+	 * @return the number of (key, value, object) entries
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the file's slot modification counter at the time
+	 *         the index has been created
+	 */
+	public long getModCount() {
+		return modCount;
+	}
+
+	/**
+	 * @param currModCount the current slot modification counter of the file
+	 * @return true if slots have been changed since the index has been created
+	 */
+	public boolean isOutdated(final long currModCount) {
+		return modCount != currModCount;
+	}
+
+}
@@ -0,0 +1,226 @@
+package org.gnucash.api.read.impl.hlp;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.gnucash.api.read.GnuCashTransaction;
+
+/**
+ * Transactions sorted by their date posted, keyed by the epoch day
+ * of the (local) date posted, so that all transactions posted
+ * within a date range can be found by binary search,
+ * i.e. in O(log n + k).
+ * <br>
+ * Transactions are appended; the index is only re-sorted (lazily, on
+ * the next query) if a transaction has been appended out of order.
+ * The sort is stable, i.e. transactions with the same date posted
+ * are returned in the order in which they have been added.
+ * <br>
+ * (Dates more than about five million years away from 1970 are 
+ * treated as one and the same day.)
+ * <br>
+ * The index does not notice if the date posted of a transaction
+ * is changed afterwards; the owner has to {@link #clear()}
+ * and re-fill it in that case.
+ * <br>
+ * Not thread-safe.
+ */
+public class TransactionDateIndex {
+
+	/**
+	 * Key for transactions without a date posted:
+	 * Never within a range.
+	 */
+	private static final int NO_DAY = Integer.MIN_VALUE;
+
+	// ::MAGIC
+	private static final int  DAY_SHIFT = 32;
+	private static final long POS_MASK  = 0xFFFFFFFFL;
+
+	// ---------------------------------------------------------------
+
+	// The epoch days, narrowed to int (cf. toKey()), so that 
+	// day and position fit into one long when sorting
+	private int[]                days = new int[16];
+	private GnuCashTransaction[] trxs = new GnuCashTransaction[16];
+	private int                  size = 0;
+
+	private boolean sorted = true;
+
+	// ---------------------------------------------------------------
+
+	public TransactionDateIndex() {
+	}
+
+	// ---------------------------------------------------------------
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void clear() {
+		Arrays.fill(trxs, 0, size, null);
+		size = 0;
+		sorted = true;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param trx the transaction to add
+	 */
+	public void add(final GnuCashTransaction trx) {
+		if ( trx == null ) {
+			throw new IllegalArgumentException("null transaction given");
+		}
+
+		int day = toKey(getEpochDay(trx));
+		if ( size == days.length ) {
+			int newCap = days.length * 2;
+			days = Arrays.copyOf(days, newCap);
+			trxs = Arrays.copyOf(trxs, newCap);
+		}
+
+		if ( size > 0 &&
+			 days[size - 1] > day ) {
+			sorted = false;
+		}
+
+		days[size] = day;
+		trxs[size] = trx;
+		size++;
+	}
+
+	/**
+	 * @param trxList the transactions to add, in this order
+	 */
+	public void addAll(final Collection<? extends GnuCashTransaction> trxList) {
+		for ( GnuCashTransaction trx : trxList ) {
+			add(trx);
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param fromDate first day of the range (inclusive)
+	 * @param toDate   last day of the range (inclusive)
+	 * @return the transactions that have been posted within the
+	 *         given range, sorted by their date posted
+	 */
+	public List<GnuCashTransaction> getTransactions(final LocalDate fromDate, final LocalDate toDate) {
+		if ( fromDate == null ) {
+			throw new IllegalArgumentException("null from-date given");
+		}
+
+		if ( toDate == null ) {
+			throw new IllegalArgumentException("null to-date given");
+		}
+
+		sortIfNecessary();
+
+		int from = indexOfFirstNotBefore(toKey(fromDate.toEpochDay()));
+		int to   = indexOfFirstAfter(toKey(toDate.toEpochDay()));
+
+		List<GnuCashTransaction> result = new ArrayList<GnuCashTransaction>(Math.max(to - from, 0));
+		for ( int i = from; i < to; i++ ) {
+			result.add(trxs[i]);
+		}
+
+		return result;
+	}
+
+	private int indexOfFirstNotBefore(final int day) {
+		int low = 0;
+		int high = size;
+		while ( low < high ) {
+			int mid = (low + high) >>> 1;
+			if ( days[mid] < day ) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+
+		return low;
+	}
+
+	private int indexOfFirstAfter(final int day) {
+		int low = 0;
+		int high = size;
+		while ( low < high ) {
+			int mid = (low + high) >>> 1;
+			if ( days[mid] > day ) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+
+		return low;
+	}
+
+	// ---------------------------------------------------------------
+
+	private void sortIfNecessary() {
+		if ( sorted ) {
+			return;
+		}
+
+		// Sort (day, position) pairs packed into one long each:
+		// The keys are unique, so the primitive sort is stable 
+		// with regard to the days, without boxing or a comparator
+		long[] keys = new long[size];
+		for ( int i = 0; i < size; i++ ) {
+			keys[i] = ( (long) days[i] << DAY_SHIFT ) | i;
+		}
+		Arrays.sort(keys);
+
+		int[]                newDays = new int[days.length];
+		GnuCashTransaction[] newTrxs = new GnuCashTransaction[trxs.length];
+		for ( int i = 0; i < size; i++ ) {
+			int pos = (int) ( keys[i] & POS_MASK );
+			newDays[i] = days[pos];
+			newTrxs[i] = trxs[pos];
+		}
+
+		days = newDays;
+		trxs = newTrxs;
+		sorted = true;
+	}
+
+	/**
+	 * @param trx the transaction
+	 * @return the epoch day of the transaction's (local) date posted
+	 *         (Long.MIN_VALUE if it has none)
+	 */
+	public static long getEpochDay(final GnuCashTransaction trx) {
+		ZonedDateTime datePosted = trx.getDatePosted();
+		if ( datePosted == null ) {
+			return Long.MIN_VALUE;
+		}
+
+		return datePosted.toLocalDate().toEpochDay();
+	}
+
+	/*
+	 * Narrows the epoch day to int, saturating (which keeps the order),
+	 * and keeps NO_DAY for itself
+	 */
+	private static int toKey(final long epochDay) {
+		if ( epochDay <= NO_DAY ) {
+			return epochDay == Long.MIN_VALUE ? NO_DAY : NO_DAY + 1;
+		}
+
+		return (int) Math.min(epochDay, Integer.MAX_VALUE);
+	}
+
+}
@@ -59,16 +59,13 @@ public class GnuCashCustomerInvoiceImpl extends GnuCashGenerInvoiceImpl
 			for ( GnuCashTransactionSplit splt : trx.getSplits() ) {
 				GCshID lot = splt.getLotID();
 				if ( lot != null ) {
-					for ( GnuCashGenerInvoice invc1 : splt.getTransaction().getGnuCashFile().getGenerInvoices() ) {
-						GCshID lotID = invc1.getLotID();
-						if ( lotID != null && lotID.equals(lot) ) {
-							// Check if it's a payment transaction.
-							// If so, add it to the invoice's list of payment transactions.
-							if ( splt.getAction() == GnuCashTransactionSplit.Action.PAYMENT ) {
-								addPayingTransaction(splt);
-							}
-						} // if lotID
-					} // for invc
+					if ( ! splt.getTransaction().getGnuCashFile().getGenerInvoicesByLotID(lot).isEmpty() ) {
+						// Check if it's a payment transaction.
+						// If so, add it to the invoice's list of payment transactions.
+						if ( splt.getAction() == GnuCashTransactionSplit.Action.PAYMENT ) {
+							addPayingTransaction(splt);
+						}
+					} // if invc
 				} // if lot
 			} // for splt
 		} // for trx
@@ -38,6 +38,10 @@ public class GnuCashCustomerJobImpl extends GnuCashGenerJobImpl
 		if ( job.getOwnerType() != GnuCashGenerJob.TYPE_CUSTOMER )
 			throw new WrongJobTypeException();
 
+		if ( job instanceof GnuCashGenerJobImpl ) {
+			copyOwnerLinks((GnuCashGenerJobImpl) job);
+		}
+
 		// ::TODO
 //	for ( GnuCashGenerInvoice invc : job.getInvoices() )
 //	{
@@ -58,7 +62,7 @@ public class GnuCashCustomerJobImpl extends GnuCashGenerJobImpl
 	 * {@inheritDoc}
 	 */
 	public GnuCashCustomer getCustomer() {
-		return getGnuCashFile().getCustomerByID(getCustomerID());
+		return getOwnerCustomer_int();
 	}
 
 	// -----------------------------------------------------------------
@@ -38,6 +38,10 @@ public class GnuCashVendorJobImpl extends GnuCashGenerJobImpl
 		if ( job.getOwnerType() != GnuCashGenerJob.TYPE_VENDOR )
 			throw new WrongJobTypeException();
 
+		if ( job instanceof GnuCashGenerJobImpl ) {
+			copyOwnerLinks((GnuCashGenerJobImpl) job);
+		}
+
 		// ::TODO
 //	for ( GnuCashGenerInvoice invc : job.getInvoices() )
 //	{
@@ -58,7 +62,7 @@ public class GnuCashVendorJobImpl extends GnuCashGenerJobImpl
 	 * {@inheritDoc}
 	 */
 	public GnuCashVendor getVendor() {
-		return getGnuCashFile().getVendorByID(getVendorID());
+		return getOwnerVendor_int();
 	}
 
 	// -----------------------------------------------------------------
@@ -64,7 +64,24 @@ public interface GnuCashWritableFile extends GnuCashFile,
 	public enum CompressMode {
 		COMPRESS,
 		DO_NOT_COMPRESS,
-		GUESS_FROM_FILENAME
+		GUESS_FROM_FILENAME,
+		/** Like {@link #COMPRESS}, but on several cores
+		 *  (the file is a multi-member gzip stream) */
+		COMPRESS_PARALLEL,
+		/** Like {@link #GUESS_FROM_FILENAME}, but on several cores
+		 *  (the file is a multi-member gzip stream) */
+		GUESS_FROM_FILENAME_PARALLEL
+	}
+	
+	/**
+	 * How the object model is turned into the XML file.
+	 */
+	public enum WriteMode {
+		/** Serialize the whole document on the calling thread */
+		SEQUENTIAL,
+		/** Serialize chunks of book elements on a thread pool and
+		 *  compress (if at all) in a separate pipeline stage */
+		PARALLEL
 	}
 	
 	// ---------------------------------------------------------------
@@ -91,6 +108,18 @@ public interface GnuCashWritableFile extends GnuCashFile,
 
     void writeFile(File file, CompressMode compMode) throws IOException;
 
+    /**
+     * Write the data to the given file. That file becomes the new file returned by
+     * {@link GnuCashFile#getGnuCashFile()}.<br>
+     * Both write modes produce exactly the same file.
+     * 
+     * @param file      the file to write to
+     * @param compMode  whether to compress the file
+     * @param writeMode how to serialize the data
+     * @throws IOException kn io-poblems
+     */
+    void writeFile(File file, CompressMode compMode, WriteMode writeMode) throws IOException;
+
     /**
      * The value is guaranteed not to be bigger then the maximum of the current
      * system-time and the modification-time in the file at the time of the last
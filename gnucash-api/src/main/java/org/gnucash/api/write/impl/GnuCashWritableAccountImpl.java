@@ -4,7 +4,7 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -21,6 +21,7 @@ import org.gnucash.api.read.GnuCashFile;
 import org.gnucash.api.read.GnuCashTransactionSplit;
 import org.gnucash.api.read.impl.GnuCashAccountImpl;
 import org.gnucash.api.read.impl.GnuCashFileImpl;
+import org.gnucash.api.read.impl.hlp.AccountSplitStore;
 import org.gnucash.api.read.impl.hlp.SlotListDoesNotContainKeyException;
 import org.gnucash.api.write.GnuCashWritableAccount;
 import org.gnucash.api.write.GnuCashWritableFile;
@@ -174,7 +175,7 @@ public class GnuCashWritableAccountImpl extends GnuCashAccountImpl
 	    jwsdpAcct.getActSlots().getSlot().add(slot);
 	}
 
-	file.getRootElement().getGncBook().getBookElements().add(jwsdpAcct);
+	file.addBookElement(jwsdpAcct);
 	file.setModified(true);
 
 	LOGGER.debug("createAccount_int: Created new account (core): " + jwsdpAcct.getActId().getValue());
@@ -195,7 +196,7 @@ public class GnuCashWritableAccountImpl extends GnuCashAccountImpl
 	    throw new IllegalStateException("Cannot remove account while it contains child-accounts!");
 	}
 
-	getWritableGnuCashFile().getRootElement().getGncBook().getBookElements().remove(getJwsdpPeer());
+	getWritableGnuCashFile().removeBookElement(getJwsdpPeer());
 	getWritableGnuCashFile().removeAccount(this);
     }
 
@@ -262,14 +263,13 @@ public class GnuCashWritableAccountImpl extends GnuCashAccountImpl
 			throw new UnsupportedOperationException("Setting name is forbidden for root and top-level accounts");
 		}
 			
-		List<GnuCashTransactionSplit> transactionSplits = getTransactionSplits();
-		transactionSplits.remove(splt);
+		removeTransactionSplit_int(splt);
 
 		setIsModified();
 		// <<insert code to react further to this change here
 		PropertyChangeSupport propertyChangeFirer = helper.getPropertyChangeSupport();
 		if ( propertyChangeFirer != null ) {
-			propertyChangeFirer.firePropertyChange("transactionSplits", null, transactionSplits);
+			propertyChangeFirer.firePropertyChange("transactionSplits", null, getTransactionSplits());
 		}
     }
 
@@ -299,6 +299,7 @@ public class GnuCashWritableAccountImpl extends GnuCashAccountImpl
     	}
     	
     	this.getJwsdpPeer().setActName(name);
+    	getWritableGnuCashFile().getAcctMgr().invalidateHierarchy();
     	setIsModified();
     	
     	// <<insert code to react further to this change here
@@ -430,11 +431,11 @@ public class GnuCashWritableAccountImpl extends GnuCashAccountImpl
     }
 
     /**
-     * set getWritableFile().setModified(true).
+     * set getWritableFile().markModified(...) for this account.
      */
     protected void setIsModified() {
-    	GnuCashWritableFile writableFile = getWritableGnuCashFile();
-    	writableFile.setModified(true);
+    	GnuCashWritableFileImpl writableFile = getWritableGnuCashFile();
+    	writableFile.markModified(getJwsdpPeer());
     }
 
     /**
@@ -550,6 +551,7 @@ public class GnuCashWritableAccountImpl extends GnuCashAccountImpl
     	    oldPrntAcctID = getParentAccount();
     	    jwsdpPrntID.setValue(prntAcctID.toString());
     	}
+    	getWritableGnuCashFile().getAcctMgr().invalidateHierarchy();
 		setIsModified();
 
 		// <<insert code to react further to this change here
@@ -565,6 +567,7 @@ public class GnuCashWritableAccountImpl extends GnuCashAccountImpl
     public void setParentAccount(final GnuCashAccount prntAcct) {
     	if (prntAcct == null) {
     		this.getJwsdpPeer().setActParent(null);
+    		getWritableGnuCashFile().getAcctMgr().invalidateHierarchy();
     		return;
     	}
 
@@ -657,23 +660,14 @@ public class GnuCashWritableAccountImpl extends GnuCashAccountImpl
      *         time-frame.
      */
     public FixedPointNumber getBalanceChange(final LocalDate from, final LocalDate to) {
-	FixedPointNumber retval = new FixedPointNumber();
-
-	for ( GnuCashTransactionSplit splt : getTransactionSplits() ) {
-	    LocalDateTime whenHappened = splt.getTransaction().getDatePosted().toLocalDateTime();
-	    
-	    if ( ! whenHappened.isBefore(to.atStartOfDay()) ) {
-		continue;
-	    }
-	    
-	    if ( whenHappened.isBefore(from.atStartOfDay()) ) {
-		continue;
-	    }
-	    
-	    retval = retval.add(splt.getQuantity());
+	AccountSplitStore store = getTransactionSplitStore();
+	int fromIdx = store.indexOfFirstPostedNotBefore(from.atStartOfDay(ZoneId.systemDefault()));
+	int toIdx   = store.indexOfFirstPostedNotBefore(to.atStartOfDay(ZoneId.systemDefault()));
+	if ( toIdx <= fromIdx ) {
+	    return new FixedPointNumber();
 	}
 
-	return retval;
+	return store.getBalance(toIdx).subtract(store.getBalance(fromIdx));
     }
 
     // ---------------------------------------------------------------
@@ -711,7 +705,8 @@ public class GnuCashWritableAccountImpl extends GnuCashAccountImpl
 		HasWritableUserDefinedAttributesImpl
 			.addUserDefinedAttributeCore(jwsdpPeer.getActSlots(), 
 										 getWritableGnuCashFile(), 
-										 type, name, value);	
+										 type, name, value);
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
 	@Override
@@ -737,7 +732,8 @@ public class GnuCashWritableAccountImpl extends GnuCashAccountImpl
 		HasWritableUserDefinedAttributesImpl
 			.removeUserDefinedAttributeCore(jwsdpPeer.getActSlots(), 
 										 	getWritableGnuCashFile(), 
-										 	name);	
+										 	name);
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
 	@Override
@@ -763,12 +759,8 @@ public class GnuCashWritableAccountImpl extends GnuCashAccountImpl
 		HasWritableUserDefinedAttributesImpl
 			.setUserDefinedAttributeCore(jwsdpPeer.getActSlots(), 
 										 getWritableGnuCashFile(), 
-										 name, value);	
-	}
-
-	public void clean() {
-		LOGGER.debug("clean: [account-id=" + getID() + "]");
-		HasWritableUserDefinedAttributesImpl.cleanSlots(getJwsdpPeer().getActSlots());
+										 name, value);
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
     // ---------------------------------------------------------------
@@ -83,7 +83,7 @@ public class GnuCashWritableCommodityImpl extends GnuCashCommodityImpl
      */
     public void remove() throws ObjectCascadeException {
 	GncCommodity peer = getJwsdpPeer();
-	(getGnuCashFile()).getRootElement().getGncBook().getBookElements().remove(peer);
+	(getGnuCashFile()).removeBookElement(peer);
 	(getGnuCashFile()).removeCommodity(this);
     }
 
@@ -117,7 +117,7 @@ public class GnuCashWritableCommodityImpl extends GnuCashCommodityImpl
 	jwsdpCmdty.setCmdtyId(cmdtyID.getCode());
 	jwsdpCmdty.setCmdtyXcode(Const.CMDTY_XCODE_DEFAULT);
 
-	file.getRootElement().getGncBook().getBookElements().add(jwsdpCmdty);
+	file.addBookElement(jwsdpCmdty);
 	file.setModified(true);
 	
         LOGGER.debug("createCommodity_int: Created new commodity (core): " + jwsdpCmdty.getCmdtySpace() + ":" + jwsdpCmdty.getCmdtyId());
@@ -150,7 +150,7 @@ public class GnuCashWritableCommodityImpl extends GnuCashCommodityImpl
 	getJwsdpPeer().setCmdtySpace(qualifId.getNameSpace());
 	getJwsdpPeer().setCmdtyId(qualifId.getCode());
 
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
     }
 
     @Override
@@ -181,7 +181,7 @@ public class GnuCashWritableCommodityImpl extends GnuCashCommodityImpl
 	}
 
 	getJwsdpPeer().setCmdtyXcode(xCode);
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
     }
 
     @Override
@@ -195,7 +195,8 @@ public class GnuCashWritableCommodityImpl extends GnuCashCommodityImpl
 	}
 
 	getJwsdpPeer().setCmdtyName(name);
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().getCmdtyMgr().updateCommodityName(this);
+	getGnuCashFile().markModified(getJwsdpPeer());
     }
 
     @Override
@@ -205,7 +206,7 @@ public class GnuCashWritableCommodityImpl extends GnuCashCommodityImpl
 	}
 	
 	getJwsdpPeer().setCmdtyFraction(fract);
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
     }
 
     // ---------------------------------------------------------------
@@ -243,6 +244,7 @@ public class GnuCashWritableCommodityImpl extends GnuCashCommodityImpl
     		.addUserDefinedAttributeCore(jwsdpPeer.getCmdtySlots(), 
     									 getGnuCashFile(), 
     									 type, name, value);
+    	getWritableGnuCashFile().markModified(getJwsdpPeer());
     }
 
     @Override
@@ -255,6 +257,7 @@ public class GnuCashWritableCommodityImpl extends GnuCashCommodityImpl
     		.removeUserDefinedAttributeCore(jwsdpPeer.getCmdtySlots(), 
     										getGnuCashFile(),
     										name);
+    	getWritableGnuCashFile().markModified(getJwsdpPeer());
     }
 
     @Override
@@ -267,10 +270,7 @@ public class GnuCashWritableCommodityImpl extends GnuCashCommodityImpl
     		.setUserDefinedAttributeCore(jwsdpPeer.getCmdtySlots(), 
     								 	 getGnuCashFile(), 
     								 	 name, value);
-    }
-
-    public void clean() {
-    	HasWritableUserDefinedAttributesImpl.cleanSlots(jwsdpPeer.getCmdtySlots());
+    	getWritableGnuCashFile().markModified(getJwsdpPeer());
     }
 
     // -----------------------------------------------------------------
@@ -157,7 +157,7 @@ public class GnuCashWritableCustomerImpl extends GnuCashCustomerImpl
     
         jwsdpCust.setCustActive(1);
     
-        file.getRootElement().getGncBook().getBookElements().add(jwsdpCust);
+        file.addBookElement(jwsdpCust);
         file.setModified(true);
     
         LOGGER.debug("createCustomer_int: Created new customer (core): " + jwsdpCust.getCustGuid().getValue());
@@ -173,7 +173,7 @@ public class GnuCashWritableCustomerImpl extends GnuCashCustomerImpl
     @Override
     public void remove() {
 	GncGncCustomer peer = getJwsdpPeer();
-	(getGnuCashFile()).getRootElement().getGncBook().getBookElements().remove(peer);
+	(getGnuCashFile()).removeBookElement(peer);
 	(getGnuCashFile()).removeCustomer(this);
     }
 
@@ -208,7 +208,7 @@ public class GnuCashWritableCustomerImpl extends GnuCashCustomerImpl
     public void setNumber(final String number) {
 	String oldNumber = getNumber();
 	getJwsdpPeer().setCustId(number);
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
 
 	PropertyChangeSupport propertyChangeSupport = helper.getPropertyChangeSupport();
 	if (propertyChangeSupport != null) {
@@ -231,7 +231,8 @@ public class GnuCashWritableCustomerImpl extends GnuCashCustomerImpl
 
 	String oldName = getName();
 	getJwsdpPeer().setCustName(name);
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().getCustMgr().updateCustomerName(this);
+	getGnuCashFile().markModified(getJwsdpPeer());
 
 	PropertyChangeSupport propertyChangeSupport = helper.getPropertyChangeSupport();
 	if (propertyChangeSupport != null) {
@@ -250,7 +251,7 @@ public class GnuCashWritableCustomerImpl extends GnuCashCustomerImpl
 
 	FixedPointNumber oldDiscount = getDiscount();
 	getJwsdpPeer().setCustDiscount(discount.toGnuCashString());
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
 
 	PropertyChangeSupport propertyChangeSupport = helper.getPropertyChangeSupport();
 	if (propertyChangeSupport != null) {
@@ -269,7 +270,7 @@ public class GnuCashWritableCustomerImpl extends GnuCashCustomerImpl
 
 	FixedPointNumber oldCredit = getDiscount();
 	getJwsdpPeer().setCustCredit(credit.toGnuCashString());
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
 
 	PropertyChangeSupport propertyChangeSupport = helper.getPropertyChangeSupport();
 	if (propertyChangeSupport != null) {
@@ -294,7 +295,7 @@ public class GnuCashWritableCustomerImpl extends GnuCashCustomerImpl
 
         String oldNotes = getNotes();
         getJwsdpPeer().setCustNotes(notes);
-        getGnuCashFile().setModified(true);
+        getGnuCashFile().markModified(getJwsdpPeer());
     
         PropertyChangeSupport propertyChangeSupport = helper.getPropertyChangeSupport();
         if (propertyChangeSupport != null) {
@@ -362,7 +363,7 @@ public class GnuCashWritableCustomerImpl extends GnuCashCustomerImpl
             getJwsdpPeer().getCustAddr().setAddrPhone(adr.getTel());
         }
     
-        getGnuCashFile().setModified(true);
+        getGnuCashFile().markModified(getJwsdpPeer());
     }
     
     // ----------------------------
@@ -424,7 +425,7 @@ public class GnuCashWritableCustomerImpl extends GnuCashCustomerImpl
             getJwsdpPeer().getCustShipaddr().setAddrFax(adr.getFax());
             getJwsdpPeer().getCustShipaddr().setAddrPhone(adr.getTel());
         }
-        getGnuCashFile().setModified(true);
+        getGnuCashFile().markModified(getJwsdpPeer());
     }
 
     // -----------------------------------------------------------------
@@ -560,6 +561,7 @@ public class GnuCashWritableCustomerImpl extends GnuCashCustomerImpl
 			.addUserDefinedAttributeCore(jwsdpPeer.getCustSlots(),
 									 	 getWritableGnuCashFile(),
 									 	 type, name, value);
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
     @Override
@@ -572,6 +574,7 @@ public class GnuCashWritableCustomerImpl extends GnuCashCustomerImpl
 			.removeUserDefinedAttributeCore(jwsdpPeer.getCustSlots(),
 									 	 	getWritableGnuCashFile(),
 									 	 	name);
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
     @Override
@@ -584,10 +587,7 @@ public class GnuCashWritableCustomerImpl extends GnuCashCustomerImpl
 			.setUserDefinedAttributeCore(jwsdpPeer.getCustSlots(),
 									 	 getWritableGnuCashFile(),
 									 	 name, value);
-	}
-
-	public void clean() {
-		HasWritableUserDefinedAttributesImpl.cleanSlots(getJwsdpPeer().getCustSlots());
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
     // -----------------------------------------------------------------
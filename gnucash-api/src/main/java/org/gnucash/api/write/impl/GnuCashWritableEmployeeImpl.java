@@ -157,7 +157,7 @@ public class GnuCashWritableEmployeeImpl extends GnuCashEmployeeImpl
     
         jwsdpEmpl.setEmployeeActive(1);
     
-        file.getRootElement().getGncBook().getBookElements().add(jwsdpEmpl);
+        file.addBookElement(jwsdpEmpl);
         file.setModified(true);
     
         LOGGER.debug("createEmployee_int: Created new employee (core): " + jwsdpEmpl.getEmployeeGuid().getValue());
@@ -173,7 +173,7 @@ public class GnuCashWritableEmployeeImpl extends GnuCashEmployeeImpl
     @Override
     public void remove() {
 	GncGncEmployee peer = getJwsdpPeer();
-	(getGnuCashFile()).getRootElement().getGncBook().getBookElements().remove(peer);
+	(getGnuCashFile()).removeBookElement(peer);
 	(getGnuCashFile()).removeEmployee(this);
     }
 
@@ -216,7 +216,7 @@ public class GnuCashWritableEmployeeImpl extends GnuCashEmployeeImpl
 
 	String oldNumber = getNumber();
 	getJwsdpPeer().setEmployeeId(number);
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
 
 	PropertyChangeSupport propertyChangeSupport = helper.getPropertyChangeSupport();
 	if (propertyChangeSupport != null) {
@@ -236,7 +236,8 @@ public class GnuCashWritableEmployeeImpl extends GnuCashEmployeeImpl
 
 	String oldUserName = getUserName();
 	getJwsdpPeer().setEmployeeUsername(userName);
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().getEmplMgr().updateEmployeeUserName(this);
+	getGnuCashFile().markModified(getJwsdpPeer());
 
 	PropertyChangeSupport propertyChangeSupport = helper.getPropertyChangeSupport();
 	if (propertyChangeSupport != null) {
@@ -303,7 +304,7 @@ public class GnuCashWritableEmployeeImpl extends GnuCashEmployeeImpl
             getJwsdpPeer().getEmployeeAddr().setAddrPhone(adr.getTel());
         }
     
-        getGnuCashFile().setModified(true);
+        getGnuCashFile().markModified(getJwsdpPeer());
     }
 
     // -----------------------------------------------------------------
@@ -388,6 +389,7 @@ public class GnuCashWritableEmployeeImpl extends GnuCashEmployeeImpl
 			.addUserDefinedAttributeCore(jwsdpPeer.getEmployeeSlots(),
 									 	 getWritableGnuCashFile(),
 									 	 type, name, value);
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
     @Override
@@ -400,6 +402,7 @@ public class GnuCashWritableEmployeeImpl extends GnuCashEmployeeImpl
 			.removeUserDefinedAttributeCore(jwsdpPeer.getEmployeeSlots(),
 									 	 	getWritableGnuCashFile(),
 									 	 	name);
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
     @Override
@@ -412,10 +415,7 @@ public class GnuCashWritableEmployeeImpl extends GnuCashEmployeeImpl
 			.setUserDefinedAttributeCore(jwsdpPeer.getEmployeeSlots(),
 									 	 getWritableGnuCashFile(),
 									 	 name, value);
-	}
-
-	public void clean() {
-		HasWritableUserDefinedAttributesImpl.cleanSlots(getJwsdpPeer().getEmployeeSlots());
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
     // -----------------------------------------------------------------
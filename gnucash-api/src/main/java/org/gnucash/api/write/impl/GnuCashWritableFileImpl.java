@@ -1,6 +1,7 @@
 package org.gnucash.api.write.impl;
 
 import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -11,8 +12,13 @@ import java.io.Writer;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.TreeSet;
 import java.util.zip.GZIPOutputStream;
 
@@ -55,6 +61,7 @@ import org.gnucash.api.read.aux.GCshTaxTable;
 import org.gnucash.api.read.impl.GnuCashAccountImpl;
 import org.gnucash.api.read.impl.GnuCashCommodityImpl;
 import org.gnucash.api.read.impl.GnuCashCustomerImpl;
+import org.gnucash.api.read.impl.GnuCashFileIOOptions;
 import org.gnucash.api.read.impl.GnuCashEmployeeImpl;
 import org.gnucash.api.read.impl.GnuCashFileImpl;
 import org.gnucash.api.read.impl.GnuCashGenerInvoiceImpl;
@@ -66,6 +73,8 @@ import org.gnucash.api.read.impl.aux.GCshBillTermsImpl;
 import org.gnucash.api.read.impl.aux.GCshFileStats;
 import org.gnucash.api.read.impl.aux.GCshTaxTableImpl;
 import org.gnucash.api.read.impl.aux.WrongOwnerTypeException;
+import org.gnucash.api.read.impl.hlp.BookElementIndex;
+import org.gnucash.api.read.impl.hlp.EntityManagerInitializer;
 import org.gnucash.api.read.impl.hlp.SlotListDoesNotContainKeyException;
 import org.gnucash.api.read.impl.spec.GnuCashCustomerJobImpl;
 import org.gnucash.api.read.impl.spec.GnuCashVendorJobImpl;
@@ -87,11 +96,12 @@ import org.gnucash.api.write.aux.GCshWritableBillTerms;
 import org.gnucash.api.write.aux.GCshWritableTaxTable;
 import org.gnucash.api.write.impl.aux.GCshWritableBillTermsImpl;
 import org.gnucash.api.write.impl.aux.GCshWritableTaxTableImpl;
-import org.gnucash.api.write.impl.hlp.BookElementsSorter;
 import org.gnucash.api.write.impl.hlp.FilePriceManager;
+import org.gnucash.api.write.impl.hlp.GnuCashParallelWriter;
+import org.gnucash.api.write.impl.hlp.GnuCashStAXWriter;
 import org.gnucash.api.write.impl.hlp.HasWritableUserDefinedAttributesImpl;
-import org.gnucash.api.write.impl.hlp.NamespaceAdderWriter;
-import org.gnucash.api.write.impl.hlp.WritingContentHandler;
+import org.gnucash.api.write.impl.hlp.ParallelGZIPOutputStream;
+import org.gnucash.api.write.impl.hlp.PipelinedOutputStream;
 import org.gnucash.api.write.impl.spec.GnuCashWritableCustomerInvoiceEntryImpl;
 import org.gnucash.api.write.impl.spec.GnuCashWritableCustomerInvoiceImpl;
 import org.gnucash.api.write.impl.spec.GnuCashWritableCustomerJobImpl;
@@ -152,6 +162,15 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 	 */
 	private long lastWriteTime = 0;
 
+	/**
+	 * The book elements that have been created or modified since
+	 * the last write (by identity -- the generated classes do not
+	 * implement equals()). Only those are cleaned before writing.
+	 * 
+	 * @see #markModified(Object)
+	 */
+	private final Set<Object> modifiedBookElements = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
 	// ---------------------------------------------------------------
 
 	/**
@@ -160,40 +179,87 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 	 *                                       FileNotFoundException
 	 */
 	public GnuCashWritableFileImpl(final File file) throws IOException {
-		super(file);
-		setModified(false);
+		this(file, LoadMode.JAXB);
+	}
 
-		acctMgr = new org.gnucash.api.write.impl.hlp.FileAccountManager(this);
-		trxMgr = new org.gnucash.api.write.impl.hlp.FileTransactionManager(this);
+	/**
+	 * @param file the file to load
+	 * @param mode how to parse the file
+	 * @throws IOException                   on bsic io-problems such as a
+	 *                                       FileNotFoundException
+	 */
+	public GnuCashWritableFileImpl(final File file, final LoadMode mode) throws IOException {
+		this(file, mode, false);
+	}
 
-		invcMgr = new org.gnucash.api.write.impl.hlp.FileInvoiceManager(this);
-		invcEntrMgr = new org.gnucash.api.write.impl.hlp.FileInvoiceEntryManager(this);
+	/**
+	 * @param file         the file to load
+	 * @param mode         how to parse the file
+	 * @param parallelInit if true, the entity managers are initialized
+	 *                     concurrently (where their dependencies allow it)
+	 * @throws IOException                   on bsic io-problems such as a
+	 *                                       FileNotFoundException
+	 */
+	public GnuCashWritableFileImpl(final File file, final LoadMode mode, final boolean parallelInit) throws IOException {
+		this(file, mode, parallelInit, new GnuCashFileIOOptions());
+	}
 
-		custMgr = new org.gnucash.api.write.impl.hlp.FileCustomerManager(this);
-		vendMgr = new org.gnucash.api.write.impl.hlp.FileVendorManager(this);
-		emplMgr = new org.gnucash.api.write.impl.hlp.FileEmployeeManager(this);
-		jobMgr = new org.gnucash.api.write.impl.hlp.FileJobManager(this);
+	/**
+	 * @param file         the file to load
+	 * @param mode         how to parse the file
+	 * @param parallelInit if true, the entity managers are initialized
+	 *                     concurrently (where their dependencies allow it)
+	 * @param ioOpts       buffer and block sizes for reading and writing the file
+	 * @throws IOException                   on bsic io-problems such as a
+	 *                                       FileNotFoundException
+	 */
+	public GnuCashWritableFileImpl(final File file, final LoadMode mode, final boolean parallelInit,
+								   final GnuCashFileIOOptions ioOpts) throws IOException {
+		super(file, mode, parallelInit, ioOpts);
+		setModified(false);
 
-		cmdtyMgr = new org.gnucash.api.write.impl.hlp.FileCommodityManager(this);
-		prcMgr = new org.gnucash.api.write.impl.hlp.FilePriceManager(this);
+		initWritableManagers();
 	}
 
 	public GnuCashWritableFileImpl(final InputStream is) throws IOException {
 		super(is);
 
-		acctMgr = new org.gnucash.api.write.impl.hlp.FileAccountManager(this);
-		trxMgr = new org.gnucash.api.write.impl.hlp.FileTransactionManager(this);
+		initWritableManagers();
+	}
+
+	/**
+	 * Replaces the read-only entity managers set up by the super class
+	 * by writable ones.
+	 */
+	private void initWritableManagers() {
+		getBookElementIndex();
+
+		EntityManagerInitializer init = new EntityManagerInitializer(isParallelInit());
 
-		invcMgr = new org.gnucash.api.write.impl.hlp.FileInvoiceManager(this);
-		invcEntrMgr = new org.gnucash.api.write.impl.hlp.FileInvoiceEntryManager(this);
+		// Caution: The order of the following four is relevant: 
+		// The writable accounts read the transactions (via the
+		// read-only transaction manager), the writable transactions
+		// refer to invoices (via the read-only invoice manager), and
+		// the writable invoices read the transactions (via the writable
+		// transaction manager). Cf. comments in super class.
+		init.addTask("acct", () -> acctMgr = new org.gnucash.api.write.impl.hlp.FileAccountManager(this));
+		init.addTask("trx", () -> trxMgr = new org.gnucash.api.write.impl.hlp.FileTransactionManager(this), "acct");
 
-		custMgr = new org.gnucash.api.write.impl.hlp.FileCustomerManager(this);
-		vendMgr = new org.gnucash.api.write.impl.hlp.FileVendorManager(this);
-		emplMgr = new org.gnucash.api.write.impl.hlp.FileEmployeeManager(this);
-		jobMgr = new org.gnucash.api.write.impl.hlp.FileJobManager(this);
+		init.addTask("invc", () -> invcMgr = new org.gnucash.api.write.impl.hlp.FileInvoiceManager(this), "trx");
+		init.addTask("invcEntr", () -> invcEntrMgr = new org.gnucash.api.write.impl.hlp.FileInvoiceEntryManager(this), "invc");
 
-		cmdtyMgr = new org.gnucash.api.write.impl.hlp.FileCommodityManager(this);
-		prcMgr = new org.gnucash.api.write.impl.hlp.FilePriceManager(this);
+		init.addTask("cust", () -> custMgr = new org.gnucash.api.write.impl.hlp.FileCustomerManager(this));
+		init.addTask("vend", () -> vendMgr = new org.gnucash.api.write.impl.hlp.FileVendorManager(this));
+		init.addTask("empl", () -> emplMgr = new org.gnucash.api.write.impl.hlp.FileEmployeeManager(this));
+		init.addTask("job", () -> jobMgr = new org.gnucash.api.write.impl.hlp.FileJobManager(this));
+
+		init.addTask("cmdty", () -> cmdtyMgr = new org.gnucash.api.write.impl.hlp.FileCommodityManager(this));
+		init.addTask("prc", () -> prcMgr = new org.gnucash.api.write.impl.hlp.FilePriceManager(this));
+
+		init.run();
+
+		// the links set by the super class point to the read-only objects
+		linkObjects();
 	}
 
 	// ---------------------------------------------------------------
@@ -220,7 +286,7 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 		
 		HasWritableUserDefinedAttributesImpl
 			.addUserDefinedAttributeCore(getRootElement().getGncBook().getBookSlots(), 
-										 getWritableGnuCashFile(), 
+										 this, 
 										 type, aName, aValue);
 	}
 
@@ -232,7 +298,7 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 		
 		HasWritableUserDefinedAttributesImpl
 			.removeUserDefinedAttributeCore(getRootElement().getGncBook().getBookSlots(), 
-										 	getWritableGnuCashFile(), 
+										 	this, 
 										 	aName);
 	}
 
@@ -244,7 +310,7 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 		
 		HasWritableUserDefinedAttributesImpl
 			.setUserDefinedAttributeCore(getRootElement().getGncBook().getBookSlots(), 
-										 getWritableGnuCashFile(), 
+										 this, 
 										 aName, aValue);
 	}
 
@@ -260,10 +326,39 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 	public void setModified(final boolean pModified) {
 		// boolean old = this.modified;
 		modified = pModified;
+		if ( pModified ) {
+			// Sic: Not the book element index (kept up to date
+			// by addBookElement()/removeBookElement())
+			invalidateSlotValueIndex();
+		}
 		// if (propertyChange != null)
 		// propertyChange.firePropertyChange("modified", old, pModified);
 	}
 
+	/**
+	 * Marks the given book element as modified, so that it will
+	 * be cleaned before the next write. Marks the file as modified
+	 * as well.
+	 * 
+	 * @param bookElement the element (account, transaction, etc.)
+	 */
+	public void markModified(final Object bookElement) {
+		if ( bookElement == null ) {
+			throw new IllegalArgumentException("null book element given");
+		}
+
+		modifiedBookElements.add(bookElement);
+		setModified(true);
+	}
+
+	/**
+	 * @return the book elements that will be cleaned before the next
+	 *         write (read-only view, for testing purposes)
+	 */
+	Set<Object> getModifiedBookElements() {
+		return Collections.unmodifiableSet(modifiedBookElements);
+	}
+
 	/**
 	 * @return true if this file has been modified
 	 */
@@ -291,6 +386,11 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 
 	@Override
 	public void writeFile(final File file, CompressMode compMode) throws IOException {
+		writeFile(file, compMode, WriteMode.SEQUENTIAL);
+	}
+
+	@Override
+	public void writeFile(final File file, final CompressMode compMode, final WriteMode writeMode) throws IOException {
 
 		if ( file == null ) {
 			throw new IllegalArgumentException("null not allowed for field this file");
@@ -300,39 +400,65 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 			throw new IllegalArgumentException("Given file '" + file.getAbsolutePath() + "' already exists!");
 		}
 
+		if ( writeMode == null ) {
+			throw new IllegalArgumentException("null write mode given");
+		}
+
 		checkAllCountData();
 		clean();
 
 		setFile(file);
 
+		boolean compressParallel = ( compMode == CompressMode.COMPRESS_PARALLEL ) ||
+				                   ( compMode == CompressMode.GUESS_FROM_FILENAME_PARALLEL && 
+				                     file.getName().endsWith(".gz") );
+		boolean compress = compressParallel ||
+				           ( compMode == CompressMode.COMPRESS ) ||
+				           ( compMode == CompressMode.GUESS_FROM_FILENAME && 
+				             file.getName().endsWith(".gz") );
+
 		OutputStream out = new FileOutputStream(file);
 		out = new BufferedOutputStream(out);
-		if ( compMode == CompressMode.COMPRESS ) {
+		if ( compressParallel ) {
+			// Compresses on the pool anyway
+			out = new ParallelGZIPOutputStream(out, getIOOptions().getGZIPBlockSize());
+		} else if ( compress ) {
 			out = new GZIPOutputStream(out);
-		} else if ( compMode == CompressMode.GUESS_FROM_FILENAME ) {
-			if ( file.getName().endsWith(".gz") ) {
-				out = new GZIPOutputStream(out);
+			if ( writeMode == WriteMode.PARALLEL ) {
+				// Compress while serializing
+				out = new PipelinedOutputStream(out, "gnucash-gzip");
 			}
 		}
 
-		Writer writer = new NamespaceAdderWriter(new OutputStreamWriter(out, CODEPAGE));
-		try {
-			JAXBContext context = getJAXBContext();
-			Marshaller marsh = context.createMarshaller();
-
-			// marsh.marshal(getRootElement(), writer);
-			// marsh.marshal(getRootElement(), new PrintWriter( System.out ) );
-			marsh.marshal(getRootElement(), new WritingContentHandler(writer));
+		if ( writeMode == WriteMode.PARALLEL ) {
+			try {
+				new GnuCashParallelWriter(getJAXBContext(), getIOOptions().getWriteChunkSize()).write(getRootElement(), out);
+				setModified(false);
+			} catch (JAXBException e) {
+				LOGGER.error(e.getMessage(), e);
+			} finally {
+				out.close();
+			}
+		} else {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(out, CODEPAGE));
+			try {
+				JAXBContext context = getJAXBContext();
+				Marshaller marsh = context.createMarshaller();
+
+				// Streams the model directly into the writer, 
+				// in GnuCash's own layout
+				marsh.marshal(getRootElement(), new GnuCashStAXWriter(writer));
+
+				setModified(false);
+			} catch (JAXBException e) {
+				LOGGER.error(e.getMessage(), e);
+			} finally {
+				writer.close();
+			}
 
-			setModified(false);
-		} catch (JAXBException e) {
-			LOGGER.error(e.getMessage(), e);
-		} finally {
-			writer.close();
+			out.close();
 		}
 
-		out.close();
-
 		lastWriteTime = Math.max(file.lastModified(), System.currentTimeMillis());
 	}
 
@@ -442,22 +568,16 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 	 * Calculate and set the correct values for all the following count-data.<br/>
 	 * Also check the that only valid elements are in the book-element and that they
 	 * have the correct order.
+	 * <br>
+	 * The counts are the sizes of the per-type lists of the book element index,
+	 * which is kept up to date by {@link #addBookElement(Object)} and 
+	 * {@link #removeBookElement(Object)}, and the correct order is
+	 * established by concatenating these lists (if necessary at all), 
+	 * so neither the count-data nor the book elements have to be 
+	 * scanned/sorted here.
 	 */
 	private void checkAllCountData() {
 
-		int cntAccount = 0;
-		int cntTransaction = 0;
-		int cntInvoice = 0;
-		int cntIncEntry = 0;
-		int cntCustomer = 0;
-		int cntVendor = 0;
-		int cntEmployee = 0;
-		int cntJob = 0;
-		int cntTaxTable = 0;
-		int cntBillTerm = 0;
-		int cntCommodity = 0;
-		int cntPrice = 0;
-
 		/**
 		 * <p>
 		 * Objects of the following type(s) are allowed in the list
@@ -466,64 +586,76 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 		 * {@link GncGncCustomer} {@link GncSchedxaction} {@link GncBudget}
 		 * {@link GncAccount} {@link GncPricedb} {@link GncTransaction}
 		 */
-		List<Object> bookElements = getRootElement().getGncBook().getBookElements();
-		for ( Object element : bookElements ) {
-			if ( element instanceof GncAccount ) {
-				cntAccount++;
-			} else if ( element instanceof GncTransaction ) {
-				cntTransaction++;
-			} else if ( element instanceof GncGncInvoice ) {
-				cntInvoice++;
-			} else if ( element instanceof GncGncEntry ) {
-				cntIncEntry++;
-			} else if ( element instanceof GncGncCustomer ) {
-				cntCustomer++;
-			} else if ( element instanceof GncGncVendor ) {
-				cntVendor++;
-			} else if ( element instanceof GncGncEmployee ) {
-				cntEmployee++;
-			} else if ( element instanceof GncGncJob ) {
-				cntJob++;
-			} else if ( element instanceof GncGncTaxTable ) {
-				cntTaxTable++;
-			} else if ( element instanceof GncGncBillTerm ) {
-				cntBillTerm++;
-			} else if ( element instanceof GncCommodity ) {
-				cntCommodity++;
-			} else if ( element instanceof GncPricedb ) {
-				cntPrice += ((GncPricedb) element).getPrice().size();
-			} else if ( element instanceof GncTemplateTransactions ) {
-				// ::TODO
-			} else if ( element instanceof GncSchedxaction ) {
-				// ::TODO
-			} else if ( element instanceof GncBudget ) {
-				// ::TODO
-			} else {
-				throw new IllegalStateException("Found unexpected element in GNC:Book: '" + element.toString() + "'");
-			}
-		}
-		
+		BookElementIndex bookElemIdx = getBookElementIndex();
+		if ( ! bookElemIdx.getUnknownElements().isEmpty() ) {
+			throw new IllegalStateException("Found unexpected element in GNC:Book: '" + bookElemIdx.getUnknownElements().get(0).toString() + "'");
+		}
+
+		Map<String, Integer> counts = new HashMap<String, Integer>();
+		counts.put("account", bookElemIdx.getAccounts().size());
+		counts.put("transaction", bookElemIdx.getTransactions().size());
+		counts.put("gnc:GncInvoice", bookElemIdx.getGenerInvoices().size());
+		counts.put("gnc:GncEntry", bookElemIdx.getGenerInvoiceEntries().size());
+		counts.put("gnc:GncCustomer", bookElemIdx.getCustomers().size());
+		counts.put("gnc:GncVendor", bookElemIdx.getVendors().size());
+		counts.put("gnc:GncEmployee", bookElemIdx.getEmployees().size());
+		counts.put("gnc:GncJob", bookElemIdx.getGenerJobs().size());
+		counts.put("gnc:GncTaxTable", bookElemIdx.getTaxTables().size());
+		counts.put("gnc:GncBillTerm", bookElemIdx.getBillTerms().size());
 		// Special case commoditiy-counter: 
 		// The template entry is not accounted for.
-		cntCommodity--;
-
-		setCountDataFor("account", cntAccount);
-		setCountDataFor("transaction", cntTransaction);
-		setCountDataFor("gnc:GncInvoice", cntInvoice);
-		setCountDataFor("gnc:GncEntry", cntIncEntry);
-		setCountDataFor("gnc:GncCustomer", cntCustomer);
-		setCountDataFor("gnc:GncVendor", cntVendor);
-		setCountDataFor("gnc:GncEmployee", cntEmployee);
-		setCountDataFor("gnc:GncJob", cntJob);
-		setCountDataFor("gnc:GncTaxTable", cntTaxTable);
-		setCountDataFor("gnc:GncBillTerm", cntBillTerm);
-		setCountDataFor("commodity", cntCommodity);
-		setCountDataFor("price", cntPrice);
+		counts.put("commodity", bookElemIdx.getCommodities().size() - 1);
+		counts.put("price", bookElemIdx.getNofPrices());
+		// ::TODO template transactions, sched. transactions, budgets
+
+		// One pass over the count-data
+		for ( GncCountData gncCountData : getRootElement().getGncBook().getGncCountData() ) {
+			Integer cnt = counts.get(gncCountData.getCdType());
+			if ( cnt != null && 
+				 cnt.intValue() != gncCountData.getValue() ) {
+				if ( cnt.intValue() < 0 ) {
+					throw new IllegalStateException("Negative count for type '" + gncCountData.getCdType() + "'");
+				}
+				gncCountData.setValue(cnt.intValue());
+				setModified(true);
+			}
+		}
 
 		// Make sure the correct sort-order of the entity-types is honored
 		// (we do not enforce this in the XML schema to allow for reading files
 		// that do not honor that order).
-		java.util.Collections.sort(bookElements, new BookElementsSorter());
+		bookElemIdx.sortBookElements();
+	}
+
+	/**
+	 * Adds the element to the book (at the end) and to the 
+	 * book element index.
+	 * 
+	 * @param bookElement the element (account, transaction, etc.)
+	 */
+	public void addBookElement(final Object bookElement) {
+		if ( bookElement == null ) {
+			throw new IllegalArgumentException("null book element given");
+		}
+
+		getBookElementIndex().add(bookElement);
+		// A new element is a modified one
+		modifiedBookElements.add(bookElement);
+	}
+
+	/**
+	 * Removes the element from the book and from the 
+	 * book element index.
+	 * 
+	 * @param bookElement the element (account, transaction, etc.)
+	 */
+	public void removeBookElement(final Object bookElement) {
+		if ( bookElement == null ) {
+			throw new IllegalArgumentException("null book element given");
+		}
+
+		getBookElementIndex().remove(bookElement);
+		modifiedBookElements.remove(bookElement);
 	}
 
 	// ---------------------------------------------------------------
@@ -700,7 +832,7 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 			throw new IllegalStateException("cannot remove account while it contains transaction-splits!");
 		}
 
-		getRootElement().getGncBook().getBookElements().remove(((GnuCashWritableAccountImpl) acct).getJwsdpPeer());
+		removeBookElement(((GnuCashWritableAccountImpl) acct).getJwsdpPeer());
 		setModified(true);
 		super.acctMgr.removeAccount(acct);
 	}
@@ -762,7 +894,7 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 	 * @see GnuCashTransactionImpl#createSplit(GncTransaction.TrnSplits.TrnSplit)
 	 */
 	protected void addTransaction(final GnuCashTransactionImpl trx) {
-		getRootElement().getGncBook().getBookElements().add(trx.getJwsdpPeer());
+		addBookElement(trx.getJwsdpPeer());
 		setModified(true);
 		super.trxMgr.addTransaction(trx);
 	}
@@ -780,7 +912,7 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 			element.remove();
 		}
 
-		getRootElement().getGncBook().getBookElements().remove(((GnuCashWritableTransactionImpl) trx).getJwsdpPeer());
+		removeBookElement(((GnuCashWritableTransactionImpl) trx).getJwsdpPeer());
 		setModified(true);
 		super.trxMgr.removeTransaction(trx);
 	}
@@ -1035,7 +1167,7 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 		}
 		
 		super.invcMgr.removeGenerInvoice(invc);
-		getRootElement().getGncBook().getBookElements().remove(((GnuCashWritableGenerInvoiceImpl) invc).getJwsdpPeer());
+		removeBookElement(((GnuCashWritableGenerInvoiceImpl) invc).getJwsdpPeer());
 		this.decrementCountDataFor("gnc:GncInvoice");
 		setModified(true);
 		
@@ -1202,7 +1334,7 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 		GCshID entrID = entr.getID();
 
 		super.invcEntrMgr.removeGenerInvcEntry(entr);
-		getRootElement().getGncBook().getBookElements().remove(((GnuCashWritableGenerInvoiceEntryImpl) entr).getJwsdpPeer());
+		removeBookElement(((GnuCashWritableGenerInvoiceEntryImpl) entr).getJwsdpPeer());
 		this.decrementCountDataFor("gnc:GncEntry");
 		setModified(true);
 		
@@ -1279,7 +1411,7 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 	@Override
 	public void removeCustomer(final GnuCashWritableCustomer cust) {
 		super.custMgr.removeCustomer(cust);
-		getRootElement().getGncBook().getBookElements().remove(((GnuCashWritableCustomerImpl) cust).getJwsdpPeer());
+		removeBookElement(((GnuCashWritableCustomerImpl) cust).getJwsdpPeer());
 		setModified(true);
 	}
 
@@ -1333,7 +1465,7 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 	@Override
 	public void removeVendor(final GnuCashWritableVendor vend) {
 		super.vendMgr.removeVendor(vend);
-		getRootElement().getGncBook().getBookElements().remove(((GnuCashWritableVendorImpl) vend).getJwsdpPeer());
+		removeBookElement(((GnuCashWritableVendorImpl) vend).getJwsdpPeer());
 		setModified(true);
 	}
 
@@ -1387,7 +1519,7 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 	@Override
 	public void removeEmployee(final GnuCashWritableEmployee empl) {
 		emplMgr.removeEmployee(empl);
-		getRootElement().getGncBook().getBookElements().remove(((GnuCashWritableEmployeeImpl) empl).getJwsdpPeer());
+		removeBookElement(((GnuCashWritableEmployeeImpl) empl).getJwsdpPeer());
 		setModified(true);
 	}
 
@@ -1504,7 +1636,7 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 		}
 
 		super.jobMgr.removeGenerJob(job);
-		getRootElement().getGncBook().getBookElements().remove(job.getJwsdpPeer());
+		removeBookElement(job.getJwsdpPeer());
 		setModified(true);
 	}
 
@@ -1648,7 +1780,7 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 
 		super.cmdtyMgr.removeCommodity(cmdty);
 
-		getRootElement().getGncBook().getBookElements().remove(((GnuCashWritableCommodityImpl) cmdty).getJwsdpPeer());
+		removeBookElement(((GnuCashWritableCommodityImpl) cmdty).getJwsdpPeer());
 		setModified(true);
 	}
 
@@ -1690,7 +1822,7 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 			newCurrency.setCmdtyId(pCmdtyId);
 			newCurrency.setCmdtyName(pCmdtyName);
 			newCurrency.setVersion(Const.XML_FORMAT_VERSION);
-			getRootElement().getGncBook().getBookElements().add(newCurrency);
+			addBookElement(newCurrency);
 			// incrementCountDataFor("commodity");
 		}
 		// add price-quote
@@ -1719,6 +1851,7 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 			if ( element instanceof GncPricedb ) {
 				GncPricedb prices = (GncPricedb) element;
 				prices.getPrice().add(newQuote);
+				super.prcMgr.addPrice(new GnuCashWritablePriceImpl(newQuote, this));
 				getCurrencyTable().setConversionFactor(pCmdtySpace, pCmdtyId, conversionFactor);
 				return;
 			}
@@ -1787,7 +1920,7 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 	public void removePrice(final GnuCashWritablePrice prc) {
 		super.prcMgr.removePrice(prc);
 
-		getRootElement().getGncBook().getBookElements().remove(((GnuCashWritablePriceImpl) prc).getJwsdpPeer());
+		removeBookElement(((GnuCashWritablePriceImpl) prc).getJwsdpPeer());
 		setModified(true);
 	}
 
@@ -2030,54 +2163,40 @@ public class GnuCashWritableFileImpl extends GnuCashFileImpl
 	// ::TODO Description
 	// ---------------------------------------------------------------
 
+	/**
+	 * Cleans the book elements that have been created or modified
+	 * since the last write -- and only those: The cost is proportional
+	 * to the changes, not to the size of the book.
+	 * 
+	 * @see #markModified(Object)
+	 */
 	private void clean() {
-		for ( GnuCashWritableAccount acct : getWritableAccounts() ) {
-			((GnuCashWritableAccountImpl) acct).clean();
-		}
-
-		for ( GnuCashWritableTransaction trx : getWritableTransactions() ) {
-			((GnuCashWritableTransactionImpl) trx).clean();
-		}
-
-		// ::TODO: Some funny behavior here
-//        for ( GnuCashWritableTransactionSplit splt : getWritableTransactionSplits() ) {
-//            ((GnuCashWritableTransactionSplitImpl) splt).clean();
-//        }
-
-		// ------------------------
-
-		for ( GnuCashWritableGenerInvoice invc : getWritableGenerInvoices() ) {
-			((GnuCashWritableGenerInvoiceImpl) invc).clean();
-		}
-
-		for ( GnuCashWritableGenerInvoiceEntry entr : getWritableGenerInvoiceEntries() ) {
-			((GnuCashWritableGenerInvoiceEntryImpl) entr).clean();
-		}
-
-		// ------------------------
-
-		for ( GnuCashWritableCustomer cust : getWritableCustomers() ) {
-			((GnuCashWritableCustomerImpl) cust).clean();
-		}
-
-		for ( GnuCashWritableVendor vend : getWritableVendors() ) {
-			((GnuCashWritableVendorImpl) vend).clean();
-		}
-
-		for ( GnuCashWritableEmployee empl : getWritableEmployees() ) {
-			((GnuCashWritableEmployeeImpl) empl).clean();
-		}
-		
-		// NOT GnuCashWritableGenerJob
-
-		// ------------------------
-
-		for ( GnuCashWritableCommodity cmdty : getWritableCommodities() ) {
-			((GnuCashWritableCommodityImpl) cmdty).clean();
+		LOGGER.debug("clean: " + modifiedBookElements.size() + " modified book elements");
+
+		for ( Object bookElement : modifiedBookElements ) {
+			if ( bookElement instanceof GncAccount ) {
+				HasWritableUserDefinedAttributesImpl.cleanSlots(((GncAccount) bookElement).getActSlots(), this);
+			} else if ( bookElement instanceof GncTransaction ) {
+				HasWritableUserDefinedAttributesImpl.cleanSlots(((GncTransaction) bookElement).getTrnSlots(), this);
+				// NOT the splits (their setters mark the transaction)
+			} else if ( bookElement instanceof GncGncInvoice ) {
+				HasWritableUserDefinedAttributesImpl.cleanSlots(((GncGncInvoice) bookElement).getInvoiceSlots(), this);
+			} else if ( bookElement instanceof GncGncEntry ) {
+				HasWritableUserDefinedAttributesImpl.cleanSlots(((GncGncEntry) bookElement).getEntrySlots(), this);
+			} else if ( bookElement instanceof GncGncCustomer ) {
+				HasWritableUserDefinedAttributesImpl.cleanSlots(((GncGncCustomer) bookElement).getCustSlots(), this);
+			} else if ( bookElement instanceof GncGncVendor ) {
+				HasWritableUserDefinedAttributesImpl.cleanSlots(((GncGncVendor) bookElement).getVendorSlots(), this);
+			} else if ( bookElement instanceof GncGncEmployee ) {
+				HasWritableUserDefinedAttributesImpl.cleanSlots(((GncGncEmployee) bookElement).getEmployeeSlots(), this);
+			} else if ( bookElement instanceof GncCommodity ) {
+				HasWritableUserDefinedAttributesImpl.cleanSlots(((GncCommodity) bookElement).getCmdtySlots(), this);
+			}
+			// NOT GncGncJob
+			// NOT Price
 		}
 
-		// NOT GnuCashWritablePrice
-
+		modifiedBookElements.clear();
 	}
 
 	// ---------------------------------------------------------------
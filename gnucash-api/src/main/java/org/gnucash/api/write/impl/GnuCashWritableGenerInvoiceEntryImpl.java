@@ -154,7 +154,7 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 	entry.setEntryQty(quantity.toGnuCashString());
 	entry.setVersion(Const.XML_FORMAT_VERSION);
 
-	invc.getGnuCashFile().getRootElement().getGncBook().getBookElements().add(entry);
+	invc.getGnuCashFile().addBookElement(entry);
 	invc.getGnuCashFile().setModified(true);
 	
 	LOGGER.debug("createCustInvoiceEntry_int: Created new customer invoice entry (core): " + entry.getEntryGuid().getValue());
@@ -246,7 +246,7 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 	entry.setEntryQty(quantity.toGnuCashString());
 	entry.setVersion(Const.XML_FORMAT_VERSION);
 
-	invc.getGnuCashFile().getRootElement().getGncBook().getBookElements().add(entry);
+	invc.getGnuCashFile().addBookElement(entry);
 	invc.getGnuCashFile().setModified(true);
 
 	LOGGER.debug("createVendBillEntry_int: Created new customer bill entry (core): " + entry.getEntryGuid().getValue());
@@ -328,7 +328,7 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 	entry.setEntryQty(quantity.toGnuCashString());
 	entry.setVersion(Const.XML_FORMAT_VERSION);
 
-	invc.getGnuCashFile().getRootElement().getGncBook().getBookElements().add(entry);
+	invc.getGnuCashFile().addBookElement(entry);
 	invc.getGnuCashFile().setModified(true);
 
 	LOGGER.debug("createEmplVchEntry_int: Created new employee voucher entry (core): " + entry.getEntryGuid().getValue());
@@ -497,6 +497,7 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 			.addUserDefinedAttributeCore(jwsdpPeer.getEntrySlots(),
 										 getWritableGnuCashFile(),
 										 type, name, value);
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
     @Override
@@ -509,6 +510,7 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 			.removeUserDefinedAttributeCore(jwsdpPeer.getEntrySlots(),
 										 	getWritableGnuCashFile(),
 										 	name);
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
     @Override
@@ -521,10 +523,7 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 			.setUserDefinedAttributeCore(jwsdpPeer.getEntrySlots(),
 										 getWritableGnuCashFile(),
 										 name, value);
-	}
-
-	public void clean() {
-		HasWritableUserDefinedAttributesImpl.cleanSlots(jwsdpPeer.getEntrySlots());
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
     // -----------------------------------------------------------
@@ -557,6 +556,7 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 						  ZoneId.systemDefault());
 	String dateTimeStr = dateTime.format(DATE_FORMAT_BOOK);
 	getJwsdpPeer().getEntryDate().setTsDate(dateTimeStr);
+	getWritableGnuCashFile().markModified(getJwsdpPeer());
 
 	PropertyChangeSupport propertyChangeSupport = helper.getPropertyChangeSupport();
 	if (propertyChangeSupport != null) {
@@ -582,6 +582,8 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 	}
 	String oldDescr = getDescription();
 	getJwsdpPeer().setEntryDescription(descr);
+	getGnuCashFile().getInvcEntrMgr().updateGenerInvcEntryDescription(this);
+	getWritableGnuCashFile().markModified(getJwsdpPeer());
 
 	PropertyChangeSupport propertyChangeSupport = helper.getPropertyChangeSupport();
 	if (propertyChangeSupport != null) {
@@ -621,6 +623,7 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 	} else {
 	    getJwsdpPeer().setEntryITaxable(0);
 	}
+	getWritableGnuCashFile().markModified(getJwsdpPeer());
     }
 
     /**
@@ -660,6 +663,7 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 	    }
 	    getJwsdpPeer().getEntryITaxtable().setValue(taxTab.getID().toString());
 	}
+	getWritableGnuCashFile().markModified(getJwsdpPeer());
     }
 
     // ------------------------
@@ -693,6 +697,7 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 	} else {
 	    getJwsdpPeer().setEntryBTaxable(0);
 	}
+	getWritableGnuCashFile().markModified(getJwsdpPeer());
     }
 
     /**
@@ -732,6 +737,7 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 	    }
 	    getJwsdpPeer().getEntryBTaxtable().setValue(taxTab.getID().toString());
 	}
+	getWritableGnuCashFile().markModified(getJwsdpPeer());
     }
 
     /**
@@ -764,6 +770,7 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 	} else {
 	    getJwsdpPeer().setEntryBTaxable(0);
 	}
+	getWritableGnuCashFile().markModified(getJwsdpPeer());
     }
 
     /**
@@ -803,6 +810,7 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 	    }
 	    getJwsdpPeer().getEntryBTaxtable().setValue(taxTab.getID().toString());
 	}
+	getWritableGnuCashFile().markModified(getJwsdpPeer());
     }
 
     // ------------------------
@@ -902,6 +910,7 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 	((GnuCashWritableGenerInvoiceImpl) getGenerInvoice()).subtractInvcEntry(this);
 	
 	getJwsdpPeer().setEntryIPrice(price.toGnuCashString());
+	getWritableGnuCashFile().markModified(getJwsdpPeer());
 	
 	((GnuCashWritableGenerInvoiceImpl) getGenerInvoice()).addInvcEntry(this);
 
@@ -951,6 +960,7 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 	((GnuCashWritableGenerInvoiceImpl) getGenerInvoice()).subtractBillEntry(this);
 	
 	getJwsdpPeer().setEntryBPrice(price.toGnuCashString());
+	getWritableGnuCashFile().markModified(getJwsdpPeer());
 	
 	((GnuCashWritableGenerInvoiceImpl) getGenerInvoice()).addBillEntry(this);
 
@@ -1000,6 +1010,7 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 	((GnuCashWritableGenerInvoiceImpl) getGenerInvoice()).subtractVoucherEntry(this);
 	
 	getJwsdpPeer().setEntryBPrice(price.toGnuCashString());
+	getWritableGnuCashFile().markModified(getJwsdpPeer());
 	
 	((GnuCashWritableGenerInvoiceImpl) getGenerInvoice()).addVoucherEntry(this);
 
@@ -1080,6 +1091,7 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 
 	Action oldAction = getAction();
 	getJwsdpPeer().setEntryAction(act.getLocaleString());
+	getWritableGnuCashFile().markModified(getJwsdpPeer());
 
 	PropertyChangeSupport propertyChangeSupport = helper.getPropertyChangeSupport();
 	if (propertyChangeSupport != null) {
@@ -1125,6 +1137,7 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 
 	((GnuCashWritableGenerInvoiceImpl) getGenerInvoice()).subtractInvcEntry(this);
 	getJwsdpPeer().setEntryQty(qty.toGnuCashString());
+	getWritableGnuCashFile().markModified(getJwsdpPeer());
 	((GnuCashWritableGenerInvoiceImpl) getGenerInvoice()).addInvcEntry(this);
 
 	PropertyChangeSupport propertyChangeSupport = helper.getPropertyChangeSupport();
@@ -1145,7 +1158,7 @@ public class GnuCashWritableGenerInvoiceEntryImpl extends GnuCashGenerInvoiceEnt
 	}
 	GnuCashWritableGenerInvoiceImpl gcshWrtblInvcImpl = ((GnuCashWritableGenerInvoiceImpl) getGenerInvoice());
 	gcshWrtblInvcImpl.removeInvcEntry(this);
-	gcshWrtblInvcImpl.getGnuCashFile().getRootElement().getGncBook().getBookElements().remove(this.getJwsdpPeer());
+	gcshWrtblInvcImpl.getGnuCashFile().removeBookElement(this.getJwsdpPeer());
 	((GnuCashWritableFileImpl) gcshWrtblInvcImpl.getGnuCashFile()).decrementCountDataFor("gnc:GncEntry");
     }
 
@@ -9,6 +9,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashSet;
 
 import org.gnucash.api.Const;
 import org.gnucash.api.generated.GncAccount;
@@ -121,35 +122,63 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 //		for ( GnuCashGenerInvoiceEntry entr : invc.getGenerEntries() ) {
 //		    addGenerEntry(entr);
 //		}
-		// This works: 
-		for ( GnuCashGenerInvoiceEntry entr : invc.getGnuCashFile().getGenerInvoiceEntries() ) {
-		    if ( entr.getGenerInvoiceID().equals(invc.getID()) ) {
-			addGenerEntry(entr);
-		    }
+		// This works (and does not scan all entries): 
+		GnuCashFileImpl gcshFile = (GnuCashFileImpl) invc.getGnuCashFile();
+		for ( GnuCashGenerInvoiceEntry entr : gcshFile.getInvcEntrMgr().getGenerInvoiceEntriesByInvoiceID(invc.getID()) ) {
+		    addGenerEntry(entr);
 		}
 	}
 
 	// Paying transactions
 	if ( addPayTrx ) {
-		for ( GnuCashTransaction trx : invc.getGnuCashFile().getTransactions() ) {
-		    for ( GnuCashTransactionSplit splt : trx.getSplits() ) {
-			GCshID lot = splt.getLotID();
-			if ( lot != null ) {
-			    GCshID lotID = invc.getLotID();
-			    if ( lotID != null && 
-				 lotID.equals(lot) ) {
-				// Check if it's a payment transaction.
-				// If so, add it to the invoice's list of payment transactions.
-				if ( splt.getAction() == GnuCashTransactionSplit.Action.PAYMENT ) {
-				    addPayingTransaction(splt);
-				}
-			    } // if lotID
-			} // if lot
-		    } // for splt
-		} // for trx
+		addPayingTransactionsByLot(invc);
 	}
     }
 
+    /*
+     * The paying splits have been registered with the invoice(s)
+     * in the file's lot map (cf. GnuCashTransactionSplitImpl.addToInvoices()), 
+     * so only their transactions have to be looked at, not all of them.
+     * The current facades of these transactions are taken from the file.
+     */
+    private void addPayingTransactionsByLot(final GnuCashGenerInvoiceImpl invc) {
+	GCshID lotID = invc.getLotID();
+	if ( lotID == null || 
+	     ! lotID.isSet() ) {
+	    return;
+	}
+
+	// Sic: The same transaction may have been registered by
+	// several facades
+	Collection<GCshID> trxIDs = new LinkedHashSet<GCshID>();
+	for ( GnuCashTransaction trx : invc.getPayingTransactions() ) {
+	    trxIDs.add(trx.getID());
+	}
+	for ( GnuCashGenerInvoice lotInvc : invc.getGnuCashFile().getGenerInvoicesByLotID(lotID) ) {
+	    if ( lotInvc.getID().equals(invc.getID()) ) {
+		for ( GnuCashTransaction trx : lotInvc.getPayingTransactions() ) {
+		    trxIDs.add(trx.getID());
+		}
+	    }
+	}
+
+	for ( GCshID trxID : trxIDs ) {
+	    GnuCashTransaction trx = invc.getGnuCashFile().getTransactionByID(trxID);
+	    if ( trx == null ) {
+		continue;
+	    }
+
+	    for ( GnuCashTransactionSplit splt : trx.getSplits() ) {
+		// Check if it's a payment transaction.
+		// If so, add it to the invoice's list of payment transactions.
+		if ( lotID.equals(splt.getLotID()) &&
+		     splt.getAction() == GnuCashTransactionSplit.Action.PAYMENT ) {
+		    addPayingTransaction(splt);
+		}
+	    } // for splt
+	} // for trxID
+    }
+
     // ---------------------------------------------------------------
 
     /**
@@ -621,7 +650,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 	
 	jwsdpInvc.setVersion(Const.XML_FORMAT_VERSION);
 
-	file.getRootElement().getGncBook().getBookElements().add(jwsdpInvc);
+	file.addBookElement(jwsdpInvc);
 	file.setModified(true);
 	
 	LOGGER.debug("createCustomerInvoice_int: Created new customer invoice (core): " + jwsdpInvc.getInvoiceGuid().getValue());
@@ -717,7 +746,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 	
 	jwsdpInvc.setVersion(Const.XML_FORMAT_VERSION);
 
-	file.getRootElement().getGncBook().getBookElements().add(jwsdpInvc);
+	file.addBookElement(jwsdpInvc);
 	file.setModified(true);
 	
 	LOGGER.debug("createVendorBill_int: Created new vendor bill (core): " + jwsdpInvc.getInvoiceGuid().getValue());
@@ -811,7 +840,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 	
 	jwsdpInvc.setVersion(Const.XML_FORMAT_VERSION);
 
-	file.getRootElement().getGncBook().getBookElements().add(jwsdpInvc);
+	file.addBookElement(jwsdpInvc);
 	file.setModified(true);
 	
 	LOGGER.debug("createEmployeeVoucher_int: Created new employee voucher (core): " + jwsdpInvc.getInvoiceGuid().getValue());
@@ -907,7 +936,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 	
 	jwsdpInvc.setVersion(Const.XML_FORMAT_VERSION);
 
-	file.getRootElement().getGncBook().getBookElements().add(jwsdpInvc);
+	file.addBookElement(jwsdpInvc);
 	file.setModified(true);
 	
 	LOGGER.debug("createJobInvoice_int: Created new job invoice (core): " + jwsdpInvc.getInvoiceGuid().getValue());
@@ -941,6 +970,8 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 		                                   (GnuCashAccountImpl) receivableAcct,
 		                                   amount,
 		                                   postDate, dueDate);
+	// the invoice now has a post lot
+	((GnuCashWritableFileImpl) file).getInvcMgr().updateGenerInvoiceLot(invc);
 	LOGGER.info("postCustomerInvoice: Customer invoice " + invc.getID() + " posted with Tranaction ID " + postTrxID);
     }
     
@@ -967,6 +998,8 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 		                              (GnuCashAccountImpl) payableAcct, 
 		                              amount,
 		                              postDate, dueDate);
+	// the invoice now has a post lot
+	((GnuCashWritableFileImpl) file).getInvcMgr().updateGenerInvoiceLot(bll);
 	LOGGER.info("postVendorBill: Vendor bill " + bll.getID() + " posted with Tranaction ID " + postTrxID);
     }
     
@@ -993,6 +1026,8 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
   		                              	   (GnuCashAccountImpl) payableAcct,
   		                              	   amount,
   		                              	   postDate, dueDate);
+	// the invoice now has a post lot
+	((GnuCashWritableFileImpl) file).getInvcMgr().updateGenerInvoiceLot(vch);
 	LOGGER.info("postEmployeeVoucher: Employee voucher " + vch.getID() + " posted with Tranaction ID " + postTrxID);
     }
     
@@ -1019,6 +1054,8 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 		                              (GnuCashAccountImpl) receivableAcct, 
 		                              amount,
 		                              postDate, dueDate);
+	// the invoice now has a post lot
+	((GnuCashWritableFileImpl) file).getInvcMgr().updateGenerInvoiceLot(invc);
 	LOGGER.info("postJobInvoice: Job invoice " + invc.getID() + " posted with Tranaction ID " + postTrxID);
     }
     
@@ -1416,6 +1453,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 	    slot.setSlotValue(value);
 	    slots.getSlot().add(slot);
 	}
+	file.slotsModified();
 
 	return postTrx;
     }
@@ -1700,7 +1738,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 		}
 
 		updateEntry(taxTab, isTaxable, sumExclTaxes, sumInclTaxes, postAcctID);
-		getGnuCashFile().setModified(true);
+		getGnuCashFile().markModified(getJwsdpPeer());
 	    } catch ( TaxTableNotFoundException exc ) {
 		// throw new IllegalArgumentException("The given customer invoice entry has no i-tax-table (entry ID: " + generInvcEntr.getID() + "')");
 		LOGGER.error("addInvcEntry: The given customer invoice entry has no i-tax-table (entry ID: " + generInvcEntr.getID()  + ")");
@@ -1745,7 +1783,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 		}
 
 		updateEntry(taxTab, isTaxable, sumExclTaxes, sumInclTaxes, postAcctID);
-		getGnuCashFile().setModified(true);
+		getGnuCashFile().markModified(getJwsdpPeer());
 	    } catch ( TaxTableNotFoundException exc ) {
 		// throw new IllegalArgumentException("The given vendor bill entry has no b-tax-table (entry ID: " + generInvcEntr.getID() + "')");
 		LOGGER.error("addBillEntry: The given vendor bill entry has no b-tax-table (entry ID: " + generInvcEntr.getID()  + ")");
@@ -1789,7 +1827,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 		}
 
 		updateEntry(taxTab, isTaxable, sumExclTaxes, sumInclTaxes, postAcctID);
-		getGnuCashFile().setModified(true);
+		getGnuCashFile().markModified(getJwsdpPeer());
 	    } catch ( TaxTableNotFoundException exc ) {
 		// throw new IllegalArgumentException("The given employee voucher entry has no b-tax-table (entry ID: " + generInvcEntr.getID() + ")";
 		LOGGER.error("addVoucherEntry: The given employee voucher entry has no b-tax-table (entry ID: " + generInvcEntr.getID()  + ")");
@@ -1833,7 +1871,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 		}
 		
 		updateEntry(taxTab, isTaxable, sumExclTaxes, sumInclTaxes, postAcctID);
-		getGnuCashFile().setModified(true);
+		getGnuCashFile().markModified(getJwsdpPeer());
 	    } catch ( TaxTableNotFoundException exc ) {
 		// throw new IllegalArgumentException("The given job invoice entry has no b/i-tax-table (entry ID: " + generInvcEntr.getID() + ")");
 		LOGGER.error("addJobEntry: The given job invoice entry has no b/i-tax-table (entry ID: " + generInvcEntr.getID()  + ")");
@@ -1871,7 +1909,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 	}
 
 	updateEntry(taxTab, isTaxable, sumExclTaxes, sumInclTaxes, postAcctID);
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
     }
 
     protected void subtractBillEntry(final GnuCashGenerInvoiceEntryImpl entry)
@@ -1902,7 +1940,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 	}
 
 	updateEntry(taxTab, isTaxable, sumExclTaxes, sumInclTaxes, postAcctID);
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
     }
 
     protected void subtractVoucherEntry(final GnuCashGenerInvoiceEntryImpl entry)
@@ -1933,7 +1971,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 	}
 
 	updateEntry(taxTab, isTaxable, sumExclTaxes, sumInclTaxes, postAcctID);
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
     }
 
     protected void subtractJobEntry(final GnuCashGenerInvoiceEntryImpl entry)
@@ -1970,7 +2008,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 	}
 
 	updateEntry(taxTab, isTaxable, sumExclTaxes, sumInclTaxes, postAcctID);
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
     }
 
     // ---------------------------------------------------------------
@@ -2051,7 +2089,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 	}
 
 	updateNonTaxableEntry(sumExclTaxes, sumInclTaxes, postAcctID);
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
     }
 
     private void updateEntry_taxStuff(
@@ -2210,7 +2248,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 	}
 
 	assert postTransaction.isBalanced();
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
     }
 
     /**
@@ -2256,7 +2294,8 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
     	try {
         	attemptChange();
 			getJwsdpPeer().getInvoiceOwner().getOwnerId().setValue(ownID.get());
-	    	getGnuCashFile().setModified(true);
+			getGnuCashFile().getInvcMgr().updateGenerInvoiceOwner(this, oldOwnID);
+	    	getGnuCashFile().markModified(getJwsdpPeer());
 		} catch (GCshIDNotSetException e) {
 			// TODO Auto-generated catch block
 			e.printStackTrace();
@@ -2301,7 +2340,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 	dateOpened = ZonedDateTime.of(d, LocalTime.MIN, ZoneId.systemDefault());
 	String dateOpenedStr = dateOpened.format(DATE_OPENED_FORMAT_BOOK);
 	getJwsdpPeer().getInvoiceOpened().setTsDate(dateOpenedStr);
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
     }
 
     /**
@@ -2318,7 +2357,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 
 	attemptChange();
 	setDateOpened(LocalDate.parse(d, DATE_OPENED_FORMAT));
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
     }
 
     /**
@@ -2332,7 +2371,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 	attemptChange();
 	datePosted = ZonedDateTime.of(d, LocalTime.MIN, ZoneId.systemDefault());
 	getJwsdpPeer().getInvoicePosted().setTsDate(DATE_OPENED_FORMAT.format(d));
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
 
 	// change the date of the transaction too
 	GnuCashWritableTransaction postTr = getWritablePostTransaction();
@@ -2369,7 +2408,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 
 	attemptChange();
 	getJwsdpPeer().setInvoiceId(number);
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
     }
 
     public void setDescription(final String descr) {
@@ -2384,7 +2423,8 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 
 	attemptChange();
 	getJwsdpPeer().setInvoiceNotes(descr);
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().getInvcMgr().updateGenerInvoiceDescription(this);
+	getGnuCashFile().markModified(getJwsdpPeer());
     }
 
     // ---------------------------------------------------------------
@@ -2467,6 +2507,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 			.addUserDefinedAttributeCore(jwsdpPeer.getInvoiceSlots(),
 										 getWritableGnuCashFile(),
 										 type, name, value);
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
     @Override
@@ -2479,6 +2520,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 			.removeUserDefinedAttributeCore(jwsdpPeer.getInvoiceSlots(),
 										 	getWritableGnuCashFile(),
 										 	name);
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
     @Override
@@ -2491,10 +2533,7 @@ public class GnuCashWritableGenerInvoiceImpl extends GnuCashGenerInvoiceImpl
 			.setUserDefinedAttributeCore(jwsdpPeer.getInvoiceSlots(),
 										 getWritableGnuCashFile(),
 										 name, value);
-	}
-
-	public void clean() {
-		HasWritableUserDefinedAttributesImpl.cleanSlots(jwsdpPeer.getInvoiceSlots());
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
     // ---------------------------------------------------------------
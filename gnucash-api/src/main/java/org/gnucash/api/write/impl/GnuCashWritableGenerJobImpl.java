@@ -139,7 +139,7 @@ public abstract class GnuCashWritableGenerJobImpl extends GnuCashGenerJobImpl
 			jwsdpJob.setJobOwner(owner);
 		}
 
-		file.getRootElement().getGncBook().getBookElements().add(jwsdpJob);
+		file.addBookElement(jwsdpJob);
 		file.setModified(true);
 
 		LOGGER.debug("createCustomerJob_int: Created new customer job (core): " + jwsdpJob.getJobGuid().getValue());
@@ -201,7 +201,7 @@ public abstract class GnuCashWritableGenerJobImpl extends GnuCashGenerJobImpl
 			jwsdpJob.setJobOwner(owner);
 		}
 
-		file.getRootElement().getGncBook().getBookElements().add(jwsdpJob);
+		file.addBookElement(jwsdpJob);
 		file.setModified(true);
 
 		LOGGER.debug("createVendorJob_int: Created new vendor job (core): " + jwsdpJob.getJobGuid().getValue());
@@ -260,6 +260,7 @@ public abstract class GnuCashWritableGenerJobImpl extends GnuCashGenerJobImpl
     	try {
     		attemptChange();
 			getJwsdpPeer().getJobOwner().getOwnerId().setValue(ownID.get());
+			getGnuCashFile().getJobMgr().updateGenerJobOwner(this, oldOwnID);
 	    	getGnuCashFile().setModified(true);
 		} catch (GCshIDNotSetException e) {
 			// TODO Auto-generated catch block
@@ -343,6 +344,7 @@ public abstract class GnuCashWritableGenerJobImpl extends GnuCashGenerJobImpl
 		}
 
 		getJwsdpPeer().setJobName(jobName);
+		getWritableGnuCashFile().getJobMgr().updateGenerJobName(this);
 		getWritableGnuCashFile().setModified(true);
 		// <<insert code to react further to this change here
 		PropertyChangeSupport propertyChangeFirer = helper.getPropertyChangeSupport();
@@ -154,6 +154,7 @@ public class GnuCashWritablePriceImpl extends GnuCashPriceImpl
 	jwsdpPeer.getPriceCommodity().setCmdtySpace(qualifID.getNameSpace());
 	jwsdpPeer.getPriceCommodity().setCmdtyId(qualifID.getCode());
 	getWritableGnuCashFile().setModified(true);
+	getWritableGnuCashFile().getPrcMgr().invalidatePriceSeries();
     }
 
     @Override
@@ -161,6 +162,7 @@ public class GnuCashWritablePriceImpl extends GnuCashPriceImpl
 	jwsdpPeer.getPriceCommodity().setCmdtySpace(qualifID.getNameSpace());
 	jwsdpPeer.getPriceCommodity().setCmdtyId(qualifID.getCode());
 	getWritableGnuCashFile().setModified(true);
+	getWritableGnuCashFile().getPrcMgr().invalidatePriceSeries();
     }
 
     @Override
@@ -168,6 +170,7 @@ public class GnuCashWritablePriceImpl extends GnuCashPriceImpl
 	jwsdpPeer.getPriceCommodity().setCmdtySpace(qualifID.getNameSpace());
 	jwsdpPeer.getPriceCommodity().setCmdtyId(qualifID.getCode());
 	getWritableGnuCashFile().setModified(true);
+	getWritableGnuCashFile().getPrcMgr().invalidatePriceSeries();
     }
 
     @Override
@@ -195,6 +198,7 @@ public class GnuCashWritablePriceImpl extends GnuCashPriceImpl
 	jwsdpPeer.getPriceCurrency().setCmdtySpace(qualifID.getNameSpace());
 	jwsdpPeer.getPriceCurrency().setCmdtyId(qualifID.getCode());
 	getWritableGnuCashFile().setModified(true);
+	getWritableGnuCashFile().getPrcMgr().invalidatePriceSeries();
     }
 
     @Override
@@ -202,6 +206,7 @@ public class GnuCashWritablePriceImpl extends GnuCashPriceImpl
 	jwsdpPeer.getPriceCurrency().setCmdtySpace(qualifID.getNameSpace());
 	jwsdpPeer.getPriceCurrency().setCmdtyId(qualifID.getCode());
 	getWritableGnuCashFile().setModified(true);
+	getWritableGnuCashFile().getPrcMgr().invalidatePriceSeries();
     }
 
     @Override
@@ -223,6 +228,7 @@ public class GnuCashWritablePriceImpl extends GnuCashPriceImpl
 	String datePostedStr = this.dateTime.format(DATE_FORMAT);
 	jwsdpPeer.getPriceTime().setTsDate(datePostedStr);
 	getWritableGnuCashFile().setModified(true);
+	getWritableGnuCashFile().getPrcMgr().invalidatePriceSeries();
 
 	PropertyChangeSupport propertyChangeSupport = helper.getPropertyChangeSupport();
 	if (propertyChangeSupport != null) {
@@ -237,6 +243,7 @@ public class GnuCashWritablePriceImpl extends GnuCashPriceImpl
 	String datePostedStr = this.dateTime.format(DATE_FORMAT);
 	jwsdpPeer.getPriceTime().setTsDate(datePostedStr);
 	getWritableGnuCashFile().setModified(true);
+	getWritableGnuCashFile().getPrcMgr().invalidatePriceSeries();
 
 	PropertyChangeSupport propertyChangeSupport = helper.getPropertyChangeSupport();
 	if (propertyChangeSupport != null) {
@@ -268,6 +275,7 @@ public class GnuCashWritablePriceImpl extends GnuCashPriceImpl
     public void setValue(FixedPointNumber val) {
 	jwsdpPeer.setPriceValue(val.toGnuCashString());
 	getWritableGnuCashFile().setModified(true);
+	getWritableGnuCashFile().getPrcMgr().invalidatePriceSeries();
     }
 
     // ---------------------------------------------------------------
@@ -16,6 +16,7 @@ import org.gnucash.api.generated.SlotsType;
 import org.gnucash.api.read.GnuCashAccount;
 import org.gnucash.api.read.GnuCashTransaction;
 import org.gnucash.api.read.GnuCashTransactionSplit;
+import org.gnucash.api.read.impl.GnuCashAccountImpl;
 import org.gnucash.api.read.impl.GnuCashFileImpl;
 import org.gnucash.api.read.impl.GnuCashTransactionImpl;
 import org.gnucash.api.read.impl.GnuCashTransactionSplitImpl;
@@ -228,7 +229,7 @@ public class GnuCashWritableTransactionImpl extends GnuCashTransactionImpl
      */
     public void remove(final GnuCashWritableTransactionSplit impl) {
 	getJwsdpPeer().getTrnSplits().getTrnSplit().remove(((GnuCashWritableTransactionSplitImpl) impl).getJwsdpPeer());
-	getWritableFile().setModified(true);
+	getWritableFile().markModified(getJwsdpPeer());
 	if (mySplits != null) {
 	    mySplits.remove(impl);
 	}
@@ -333,7 +334,7 @@ public class GnuCashWritableTransactionImpl extends GnuCashTransactionImpl
     
         String old = getJwsdpPeer().getTrnNum();
         getJwsdpPeer().setTrnNum(number);
-        getWritableFile().setModified(true);
+        getWritableFile().markModified(getJwsdpPeer());
     
         if (old == null || !old.equals(number)) {
             if (helper.getPropertyChangeSupport() != null) {
@@ -349,7 +350,7 @@ public class GnuCashWritableTransactionImpl extends GnuCashTransactionImpl
     public void setCmdtyCurrID(final GCshCmdtyCurrID cmdtyCurrID) {
 	this.getJwsdpPeer().getTrnCurrency().setCmdtySpace(cmdtyCurrID.getNameSpace());
 	this.getJwsdpPeer().getTrnCurrency().setCmdtyId(cmdtyCurrID.getCode());
-	getWritableFile().setModified(true);
+	getWritableFile().markModified(getJwsdpPeer());
     }
 
     /**
@@ -364,7 +365,8 @@ public class GnuCashWritableTransactionImpl extends GnuCashTransactionImpl
 	this.dateEntered = dateEntered;
 	String dateEnteredStr = this.dateEntered.format(DATE_ENTERED_FORMAT);
 	getJwsdpPeer().getTrnDateEntered().setTsDate(dateEnteredStr);
-	getWritableFile().setModified(true);
+	invalidateAccountSplitStores();
+	getWritableFile().markModified(getJwsdpPeer());
     }
 
 
@@ -381,7 +383,30 @@ public class GnuCashWritableTransactionImpl extends GnuCashTransactionImpl
 	this.datePosted = ZonedDateTime.of(datePosted, LocalTime.MIN, ZoneId.systemDefault());
 	String datePostedStr = this.datePosted.format(DATE_POSTED_FORMAT);
 	getJwsdpPeer().getTrnDatePosted().setTsDate(datePostedStr);
-	getWritableFile().setModified(true);
+	invalidateAccountSplitStores();
+	getWritableFile().getTrxMgr().updateTransactionDatePosted(this);
+	getWritableFile().markModified(getJwsdpPeer());
+    }
+
+    /**
+     * The accounts keep their splits sorted by date and cache the
+     * running balances, so they have to be told when the dates change.
+     */
+    private void invalidateAccountSplitStores() {
+	if ( getJwsdpPeer().getTrnSplits() == null ) {
+	    return;
+	}
+	
+	for ( GncTransaction.TrnSplits.TrnSplit jwsdpSplt : getJwsdpPeer().getTrnSplits().getTrnSplit() ) {
+	    if ( jwsdpSplt.getSplitAccount() == null ) {
+		continue;
+	    }
+	    
+	    GnuCashAccount acct = getGnuCashFile().getAccountByID(new GCshID(jwsdpSplt.getSplitAccount().getValue()));
+	    if ( acct instanceof GnuCashAccountImpl ) {
+		((GnuCashAccountImpl) acct).invalidateTransactionSplitStore();
+	    }
+	}
     }
 
     public void setDescription(final String descr) {
@@ -396,7 +421,8 @@ public class GnuCashWritableTransactionImpl extends GnuCashTransactionImpl
 
 	String old = getJwsdpPeer().getTrnDescription();
 	getJwsdpPeer().setTrnDescription(descr);
-	getWritableFile().setModified(true);
+	getWritableFile().getTrxMgr().updateTransactionDescription(this);
+	getWritableFile().markModified(getJwsdpPeer());
 
 	if (old == null || !old.equals(descr)) {
 	    if (helper.getPropertyChangeSupport() != null) {
@@ -430,6 +456,7 @@ public class GnuCashWritableTransactionImpl extends GnuCashTransactionImpl
 			.addUserDefinedAttributeCore(jwsdpPeer.getTrnSlots(),
 										 getWritableFile(), 
 										 type, name, value);
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
     @Override
@@ -442,6 +469,7 @@ public class GnuCashWritableTransactionImpl extends GnuCashTransactionImpl
 			.removeUserDefinedAttributeCore(jwsdpPeer.getTrnSlots(),
 										 	getWritableFile(), 
 										 	name);
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
     @Override
@@ -454,10 +482,7 @@ public class GnuCashWritableTransactionImpl extends GnuCashTransactionImpl
 			.setUserDefinedAttributeCore(jwsdpPeer.getTrnSlots(),
 										 getWritableFile(), 
 										 name, value);
-	}
-
-	public void clean() {
-		HasWritableUserDefinedAttributesImpl.cleanSlots(getJwsdpPeer().getTrnSlots());
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
     // ---------------------------------------------------------------
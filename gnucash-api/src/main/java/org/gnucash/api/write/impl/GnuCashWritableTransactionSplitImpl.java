@@ -7,8 +7,8 @@ import org.gnucash.api.generated.GncTransaction;
 import org.gnucash.api.generated.ObjectFactory;
 import org.gnucash.api.read.GnuCashAccount;
 import org.gnucash.api.read.GnuCashTransactionSplit;
+import org.gnucash.api.read.impl.GnuCashAccountImpl;
 import org.gnucash.api.read.impl.GnuCashTransactionSplitImpl;
-import org.gnucash.api.write.GnuCashWritableFile;
 import org.gnucash.api.write.GnuCashWritableTransaction;
 import org.gnucash.api.write.GnuCashWritableTransactionSplit;
 import org.gnucash.api.write.hlp.GnuCashWritableObject;
@@ -163,6 +163,14 @@ public class GnuCashWritableTransactionSplitImpl extends GnuCashTransactionSplit
 	return (GnuCashWritableTransaction) super.getTransaction();
     }
 
+    /**
+     * set getWritableFile().markModified(...) for the transaction
+     * containing this split (the split itself is not a book element).
+     */
+    protected void setIsModified() {
+	getWritableGnuCashFile().markModified(getTransaction().getJwsdpPeer());
+    }
+
     /**
      * remove this split from it's transaction.
      */
@@ -187,7 +195,10 @@ public class GnuCashWritableTransactionSplitImpl extends GnuCashTransactionSplit
 	String old = (getJwsdpPeer().getSplitAccount() == null ? null : getJwsdpPeer().getSplitAccount().getValue());
 	getJwsdpPeer().getSplitAccount().setType(Const.XML_DATA_TYPE_GUID);
 	getJwsdpPeer().getSplitAccount().setValue(account.getID().toString());
-	((GnuCashWritableFile) getGnuCashFile()).setModified(true);
+	// link to the file's account object, not to a (possibly transient)
+	// writable wrapper of it
+	linkAccount(getGnuCashFile().getAccountByID(account.getID()));
+	setIsModified();
 
 	if (old == null || !old.equals(account.getID())) {
 	    if (helper.getPropertyChangeSupport() != null) {
@@ -246,7 +257,14 @@ public class GnuCashWritableTransactionSplitImpl extends GnuCashTransactionSplit
 
 	String old = getJwsdpPeer().getSplitQuantity();
 	getJwsdpPeer().setSplitQuantity(n.toGnuCashString());
-	((GnuCashWritableFile) getGnuCashFile()).setModified(true);
+	setIsModified();
+	
+	// the account caches the running balances
+	GnuCashAccount acct = getAccount();
+	if ( acct instanceof GnuCashAccountImpl ) {
+	    ((GnuCashAccountImpl) acct).invalidateTransactionSplitStore();
+	}
+	
 	if (isCurrencyMatching()) {
 	    String oldvalue = getJwsdpPeer().getSplitValue();
 	    getJwsdpPeer().setSplitValue(n.toGnuCashString());
@@ -293,7 +311,7 @@ public class GnuCashWritableTransactionSplitImpl extends GnuCashTransactionSplit
 	}
 	String old = getJwsdpPeer().getSplitValue();
 	getJwsdpPeer().setSplitValue(n.toGnuCashString());
-	((GnuCashWritableFile) getGnuCashFile()).setModified(true);
+	setIsModified();
 	if (isCurrencyMatching()) {
 	    String oldquantity = getJwsdpPeer().getSplitQuantity();
 	    getJwsdpPeer().setSplitQuantity(n.toGnuCashString());
@@ -328,7 +346,8 @@ public class GnuCashWritableTransactionSplitImpl extends GnuCashTransactionSplit
 
 	String old = getJwsdpPeer().getSplitMemo();
 	getJwsdpPeer().setSplitMemo(descr);
-	((GnuCashWritableFile) getGnuCashFile()).setModified(true);
+	getGnuCashFile().getTrxMgr().updateTransactionSplitDescription(this);
+	setIsModified();
 
 	if (old == null || !old.equals(descr)) {
 	    if (helper.getPropertyChangeSupport() != null) {
@@ -358,7 +377,7 @@ public class GnuCashWritableTransactionSplitImpl extends GnuCashTransactionSplit
 
 	String old = getJwsdpPeer().getSplitAction();
 	getJwsdpPeer().setSplitAction(act);
-	((GnuCashWritableFile) getGnuCashFile()).setModified(true);
+	setIsModified();
 
 	if (old == null || !old.equals(act)) {
 	    if (helper.getPropertyChangeSupport() != null) {
@@ -386,6 +405,7 @@ public class GnuCashWritableTransactionSplitImpl extends GnuCashTransactionSplit
 	}
 	getJwsdpPeer().getSplitLot().setValue(lotID);
 	getJwsdpPeer().getSplitLot().setType(Const.XML_DATA_TYPE_GUID);
+	setIsModified();
 
 	// if we have a lot, and if we are a paying transaction, then check the slots
 	// ::TODO ::CHECK
@@ -458,10 +478,7 @@ public class GnuCashWritableTransactionSplitImpl extends GnuCashTransactionSplit
 			.setUserDefinedAttributeCore(jwsdpPeer.getSplitSlots(),
 										 getWritableGnuCashFile(),
 										 name, value);
-	}
-
-	public void clean() {
-		HasWritableUserDefinedAttributesImpl.cleanSlots(getJwsdpPeer().getSplitSlots());
+		setIsModified();
 	}
 
     // ---------------------------------------------------------------
@@ -136,7 +136,7 @@ public class GnuCashWritableVendorImpl extends GnuCashVendorImpl
     
         jwsdpVend.setVendorActive(1);
     
-        file.getRootElement().getGncBook().getBookElements().add(jwsdpVend);
+        file.addBookElement(jwsdpVend);
         file.setModified(true);
     
         LOGGER.debug("createVendor_int: Created new vendor (core): " + jwsdpVend.getVendorGuid().getValue());
@@ -152,7 +152,7 @@ public class GnuCashWritableVendorImpl extends GnuCashVendorImpl
     @Override
     public void remove() {
 	GncGncVendor peer = getJwsdpPeer();
-	(getGnuCashFile()).getRootElement().getGncBook().getBookElements().remove(peer);
+	(getGnuCashFile()).removeBookElement(peer);
 	(getGnuCashFile()).removeVendor(this);
     }
 
@@ -195,7 +195,7 @@ public class GnuCashWritableVendorImpl extends GnuCashVendorImpl
 
 	String oldNumber = getNumber();
 	getJwsdpPeer().setVendorId(number);
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
 
 	PropertyChangeSupport propertyChangeSupport = helper.getPropertyChangeSupport();
 	if (propertyChangeSupport != null) {
@@ -218,7 +218,8 @@ public class GnuCashWritableVendorImpl extends GnuCashVendorImpl
 
 	String oldName = getName();
 	getJwsdpPeer().setVendorName(name);
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().getVendMgr().updateVendorName(this);
+	getGnuCashFile().markModified(getJwsdpPeer());
 
 	PropertyChangeSupport propertyChangeSupport = helper.getPropertyChangeSupport();
 	if (propertyChangeSupport != null) {
@@ -243,7 +244,7 @@ public class GnuCashWritableVendorImpl extends GnuCashVendorImpl
 
 	String oldNotes = getNotes();
 	getJwsdpPeer().setVendorNotes(notes);
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
 
 	PropertyChangeSupport propertyChangeSupport = helper.getPropertyChangeSupport();
 	if (propertyChangeSupport != null) {
@@ -310,7 +311,7 @@ public class GnuCashWritableVendorImpl extends GnuCashVendorImpl
 	    getJwsdpPeer().getVendorAddr().setAddrPhone(adr.getTel());
 	}
 
-	getGnuCashFile().setModified(true);
+	getGnuCashFile().markModified(getJwsdpPeer());
     }
 
     // -----------------------------------------------------------------
@@ -446,6 +447,7 @@ public class GnuCashWritableVendorImpl extends GnuCashVendorImpl
 			.addUserDefinedAttributeCore(jwsdpPeer.getVendorSlots(),
 										 getWritableGnuCashFile(),
 										 type, name, value);
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
     @Override
@@ -458,6 +460,7 @@ public class GnuCashWritableVendorImpl extends GnuCashVendorImpl
 			.removeUserDefinedAttributeCore(jwsdpPeer.getVendorSlots(),
 										 	getWritableGnuCashFile(),
 										 	name);
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
     @Override
@@ -470,10 +473,7 @@ public class GnuCashWritableVendorImpl extends GnuCashVendorImpl
 			.setUserDefinedAttributeCore(jwsdpPeer.getVendorSlots(),
 										 getWritableGnuCashFile(),
 										 name, value);
-	}
-
-	public void clean() {
-		HasWritableUserDefinedAttributesImpl.cleanSlots(getJwsdpPeer().getVendorSlots());
+		getWritableGnuCashFile().markModified(getJwsdpPeer());
 	}
 
     // -----------------------------------------------------------------
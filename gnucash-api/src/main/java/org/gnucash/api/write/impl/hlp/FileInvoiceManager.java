@@ -19,6 +19,7 @@ import org.gnucash.api.write.spec.GnuCashWritableCustomerInvoice;
 import org.gnucash.api.write.spec.GnuCashWritableEmployeeVoucher;
 import org.gnucash.api.write.spec.GnuCashWritableJobInvoice;
 import org.gnucash.api.write.spec.GnuCashWritableVendorBill;
+import org.gnucash.base.basetypes.simple.GCshID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,7 +60,7 @@ public class FileInvoiceManager extends org.gnucash.api.read.impl.hlp.FileInvoic
 	}
 
 	// ---------------------------------------------------------------
-	// The following two methods are very important: One might think
+	// The following methods are very important: One might think
 	// that they are redundant and/or that one could implement them
 	// more elegantly by calling the according methods in the super
 	// class, but that's not the case, in fact.
@@ -71,57 +72,37 @@ public class FileInvoiceManager extends org.gnucash.api.read.impl.hlp.FileInvoic
 	// Cf. comments in GnuCashWritableCustomerImpl.
 
 	public Collection<GnuCashWritableGenerInvoice> getPaidWritableGenerInvoices() {
-		Collection<GnuCashWritableGenerInvoice> retval = new ArrayList<GnuCashWritableGenerInvoice>();
+		return getWritableGenerInvoices_int(getGenerInvoices(), true);
+	}
 
-		for ( GnuCashGenerInvoice invc : getGenerInvoices() ) {
-			// Important: instantiate writable invoice
-			// Cf. comment above.
-			GnuCashWritableGenerInvoiceImpl wrtblInvc = new GnuCashWritableGenerInvoiceImpl((GnuCashGenerInvoiceImpl) invc, true, true);
-			if ( wrtblInvc.getType() == GnuCashGenerInvoice.TYPE_CUSTOMER ) {
-					if ( wrtblInvc.isCustInvcFullyPaid() ) {
-						retval.add(wrtblInvc);
-					}
-			} else if ( wrtblInvc.getType() == GnuCashGenerInvoice.TYPE_VENDOR ) {
-					if ( wrtblInvc.isVendBllFullyPaid() ) {
-						retval.add(wrtblInvc);
-					}
-			} else if ( wrtblInvc.getType() == GnuCashGenerInvoice.TYPE_EMPLOYEE ) {
-					if ( wrtblInvc.isEmplVchFullyPaid() ) {
-						retval.add(wrtblInvc);
-					}
-			} else if ( wrtblInvc.getType() == GnuCashGenerInvoice.TYPE_JOB ) {
-					if ( wrtblInvc.isJobInvcFullyPaid() ) {
-						retval.add(wrtblInvc);
-					}
-			}
-		}
+	public Collection<GnuCashWritableGenerInvoice> getUnpaidWritableGenerInvoices() {
+		return getWritableGenerInvoices_int(getGenerInvoices(), false);
+	}
 
-		return retval;
+	public Collection<GnuCashWritableGenerInvoice> getPaidWritableGenerInvoicesByOwnerID(final GCshID ownID) {
+		return getWritableGenerInvoices_int(getGenerInvoicesByOwnerID(ownID), true);
 	}
 
-	public Collection<GnuCashWritableGenerInvoice> getUnpaidWritableGenerInvoices() {
+	public Collection<GnuCashWritableGenerInvoice> getUnpaidWritableGenerInvoicesByOwnerID(final GCshID ownID) {
+		return getWritableGenerInvoices_int(getGenerInvoicesByOwnerID(ownID), false);
+	}
+
+	private static Collection<GnuCashWritableGenerInvoice> getWritableGenerInvoices_int(
+			final Collection<GnuCashGenerInvoice> invcs, final boolean paid) {
 		Collection<GnuCashWritableGenerInvoice> retval = new ArrayList<GnuCashWritableGenerInvoice>();
 
-		for ( GnuCashGenerInvoice invc : getGenerInvoices() ) {
+		for ( GnuCashGenerInvoice invc : invcs ) {
 			// Important: instantiate writable invoice
-			// Cf. comments above.
+			// Cf. comment above.
 			GnuCashWritableGenerInvoiceImpl wrtblInvc = new GnuCashWritableGenerInvoiceImpl((GnuCashGenerInvoiceImpl) invc, true, true);
-			if ( wrtblInvc.getType() == GnuCashGenerInvoice.TYPE_CUSTOMER ) {
-					if ( wrtblInvc.isNotCustInvcFullyPaid() ) {
-						retval.add(wrtblInvc);
-					}
-			} else if ( wrtblInvc.getType() == GnuCashGenerInvoice.TYPE_VENDOR ) {
-					if ( wrtblInvc.isNotVendBllFullyPaid() ) {
-						retval.add(wrtblInvc);
-					}
-			} else if ( wrtblInvc.getType() == GnuCashGenerInvoice.TYPE_EMPLOYEE ) {
-					if ( wrtblInvc.isNotEmplVchFullyPaid() ) {
-						retval.add(wrtblInvc);
-					}
-			} else if ( wrtblInvc.getType() == GnuCashGenerInvoice.TYPE_JOB ) {
-					if ( wrtblInvc.isNotJobInvcFullyPaid() ) {
-						retval.add(wrtblInvc);
-					}
+			if ( paid ) {
+				if ( isFullyPaid(wrtblInvc) ) {
+					retval.add(wrtblInvc);
+				}
+			} else {
+				if ( isNotFullyPaid(wrtblInvc) ) {
+					retval.add(wrtblInvc);
+				}
 			}
 		}
 
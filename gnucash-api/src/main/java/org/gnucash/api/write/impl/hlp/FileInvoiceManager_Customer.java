@@ -26,11 +26,9 @@ public abstract class FileInvoiceManager_Customer {
 			final GnuCashCustomer cust) throws TaxTableNotFoundException {
 		List<GnuCashWritableCustomerInvoice> retval = new ArrayList<GnuCashWritableCustomerInvoice>();
 
-		for ( GnuCashGenerInvoice invc : invcMgr.getGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(cust.getID()) ) {
-					GnuCashWritableCustomerInvoiceImpl wrtblInvc = new GnuCashWritableCustomerInvoiceImpl((GnuCashWritableGenerInvoiceImpl) invc);
-					retval.add(wrtblInvc);
-			}
+		for ( GnuCashGenerInvoice invc : invcMgr.getGenerInvoicesByOwnerID(cust.getID()) ) {
+			GnuCashWritableCustomerInvoiceImpl wrtblInvc = new GnuCashWritableCustomerInvoiceImpl((GnuCashWritableGenerInvoiceImpl) invc);
+			retval.add(wrtblInvc);
 		}
 
 		return retval;
@@ -52,11 +50,9 @@ public abstract class FileInvoiceManager_Customer {
 			final GnuCashCustomer cust) throws TaxTableNotFoundException {
 		List<GnuCashWritableCustomerInvoice> retval = new ArrayList<GnuCashWritableCustomerInvoice>();
 
-		for ( GnuCashWritableGenerInvoice invc : invcMgr.getPaidWritableGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(cust.getID()) ) {
-					GnuCashWritableCustomerInvoiceImpl wrtblInvc = new GnuCashWritableCustomerInvoiceImpl((GnuCashWritableGenerInvoiceImpl) invc);
-					retval.add(wrtblInvc);
-			}
+		for ( GnuCashWritableGenerInvoice invc : invcMgr.getPaidWritableGenerInvoicesByOwnerID(cust.getID()) ) {
+			GnuCashWritableCustomerInvoiceImpl wrtblInvc = new GnuCashWritableCustomerInvoiceImpl((GnuCashWritableGenerInvoiceImpl) invc);
+			retval.add(wrtblInvc);
 		}
 
 		return retval;
@@ -78,11 +74,9 @@ public abstract class FileInvoiceManager_Customer {
 			final GnuCashCustomer cust) throws TaxTableNotFoundException {
 		List<GnuCashWritableCustomerInvoice> retval = new ArrayList<GnuCashWritableCustomerInvoice>();
 
-		for ( GnuCashWritableGenerInvoice invc : invcMgr.getUnpaidWritableGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(cust.getID()) ) {
-					GnuCashWritableCustomerInvoiceImpl wrtblInvc = new GnuCashWritableCustomerInvoiceImpl((GnuCashWritableGenerInvoiceImpl) invc);
-					retval.add(wrtblInvc);
-			}
+		for ( GnuCashWritableGenerInvoice invc : invcMgr.getUnpaidWritableGenerInvoicesByOwnerID(cust.getID()) ) {
+			GnuCashWritableCustomerInvoiceImpl wrtblInvc = new GnuCashWritableCustomerInvoiceImpl((GnuCashWritableGenerInvoiceImpl) invc);
+			retval.add(wrtblInvc);
 		}
 
 		return retval;
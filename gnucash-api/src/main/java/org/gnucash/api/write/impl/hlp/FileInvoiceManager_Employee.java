@@ -23,11 +23,9 @@ public abstract class FileInvoiceManager_Employee {
 			final GnuCashEmployee empl) throws TaxTableNotFoundException {
 		List<GnuCashWritableEmployeeVoucher> retval = new ArrayList<GnuCashWritableEmployeeVoucher>();
 
-		for ( GnuCashGenerInvoice invc : invcMgr.getGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(empl.getID()) ) {
-					GnuCashWritableEmployeeVoucherImpl wrtblVch = new GnuCashWritableEmployeeVoucherImpl((GnuCashWritableGenerInvoiceImpl) invc);
-					retval.add(wrtblVch);
-			}
+		for ( GnuCashGenerInvoice invc : invcMgr.getGenerInvoicesByOwnerID(empl.getID()) ) {
+			GnuCashWritableEmployeeVoucherImpl wrtblVch = new GnuCashWritableEmployeeVoucherImpl((GnuCashWritableGenerInvoiceImpl) invc);
+			retval.add(wrtblVch);
 		}
 
 		return retval;
@@ -37,11 +35,9 @@ public abstract class FileInvoiceManager_Employee {
 			final GnuCashEmployee empl) throws TaxTableNotFoundException {
 		List<GnuCashWritableEmployeeVoucher> retval = new ArrayList<GnuCashWritableEmployeeVoucher>();
 
-		for ( GnuCashWritableGenerInvoice invc : invcMgr.getPaidWritableGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(empl.getID()) ) {
-					GnuCashWritableEmployeeVoucherImpl wrtblVch = new GnuCashWritableEmployeeVoucherImpl((GnuCashWritableGenerInvoiceImpl) invc);
-					retval.add(wrtblVch);
-			}
+		for ( GnuCashWritableGenerInvoice invc : invcMgr.getPaidWritableGenerInvoicesByOwnerID(empl.getID()) ) {
+			GnuCashWritableEmployeeVoucherImpl wrtblVch = new GnuCashWritableEmployeeVoucherImpl((GnuCashWritableGenerInvoiceImpl) invc);
+			retval.add(wrtblVch);
 		}
 
 		return retval;
@@ -51,11 +47,9 @@ public abstract class FileInvoiceManager_Employee {
 			final GnuCashEmployee empl) throws TaxTableNotFoundException {
 		List<GnuCashWritableEmployeeVoucher> retval = new ArrayList<GnuCashWritableEmployeeVoucher>();
 
-		for ( GnuCashWritableGenerInvoice invc : invcMgr.getUnpaidWritableGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(empl.getID()) ) {
-					GnuCashWritableEmployeeVoucherImpl wrtblVch = new GnuCashWritableEmployeeVoucherImpl((GnuCashWritableGenerInvoiceImpl) invc);
-					retval.add(wrtblVch);
-			}
+		for ( GnuCashWritableGenerInvoice invc : invcMgr.getUnpaidWritableGenerInvoicesByOwnerID(empl.getID()) ) {
+			GnuCashWritableEmployeeVoucherImpl wrtblVch = new GnuCashWritableEmployeeVoucherImpl((GnuCashWritableGenerInvoiceImpl) invc);
+			retval.add(wrtblVch);
 		}
 
 		return retval;
@@ -23,11 +23,9 @@ public abstract class FileInvoiceManager_Job {
 			final GnuCashGenerJob job) throws TaxTableNotFoundException {
 		List<GnuCashWritableJobInvoice> retval = new ArrayList<GnuCashWritableJobInvoice>();
 
-		for ( GnuCashGenerInvoice invc : invcMgr.getGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(job.getID()) ) {
-					GnuCashWritableJobInvoiceImpl wrtblInvc = new GnuCashWritableJobInvoiceImpl((GnuCashWritableGenerInvoiceImpl) invc);
-					retval.add(wrtblInvc);
-			}
+		for ( GnuCashGenerInvoice invc : invcMgr.getGenerInvoicesByOwnerID(job.getID()) ) {
+			GnuCashWritableJobInvoiceImpl wrtblInvc = new GnuCashWritableJobInvoiceImpl((GnuCashWritableGenerInvoiceImpl) invc);
+			retval.add(wrtblInvc);
 		}
 
 		return retval;
@@ -37,11 +35,9 @@ public abstract class FileInvoiceManager_Job {
 			final GnuCashGenerJob job) throws TaxTableNotFoundException {
 		List<GnuCashWritableJobInvoice> retval = new ArrayList<GnuCashWritableJobInvoice>();
 
-		for ( GnuCashWritableGenerInvoice invc : invcMgr.getPaidWritableGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(job.getID()) ) {
-					GnuCashWritableJobInvoiceImpl wrtblInvc = new GnuCashWritableJobInvoiceImpl((GnuCashWritableGenerInvoiceImpl) invc);
-					retval.add(wrtblInvc);
-			}
+		for ( GnuCashWritableGenerInvoice invc : invcMgr.getPaidWritableGenerInvoicesByOwnerID(job.getID()) ) {
+			GnuCashWritableJobInvoiceImpl wrtblInvc = new GnuCashWritableJobInvoiceImpl((GnuCashWritableGenerInvoiceImpl) invc);
+			retval.add(wrtblInvc);
 		}
 
 		return retval;
@@ -51,11 +47,9 @@ public abstract class FileInvoiceManager_Job {
 			final GnuCashGenerJob job) throws TaxTableNotFoundException {
 		List<GnuCashWritableJobInvoice> retval = new ArrayList<GnuCashWritableJobInvoice>();
 
-		for ( GnuCashWritableGenerInvoice invc : invcMgr.getUnpaidWritableGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(job.getID()) ) {
-					GnuCashWritableJobInvoiceImpl wrtblInvc = new GnuCashWritableJobInvoiceImpl((GnuCashWritableGenerInvoiceImpl) invc);
-					retval.add(wrtblInvc);
-			}
+		for ( GnuCashWritableGenerInvoice invc : invcMgr.getUnpaidWritableGenerInvoicesByOwnerID(job.getID()) ) {
+			GnuCashWritableJobInvoiceImpl wrtblInvc = new GnuCashWritableJobInvoiceImpl((GnuCashWritableGenerInvoiceImpl) invc);
+			retval.add(wrtblInvc);
 		}
 
 		return retval;
@@ -26,11 +26,9 @@ public abstract class FileInvoiceManager_Vendor {
 			final GnuCashVendor vend) throws TaxTableNotFoundException {
 		List<GnuCashWritableVendorBill> retval = new ArrayList<GnuCashWritableVendorBill>();
 
-		for ( GnuCashGenerInvoice invc : invMgr.getGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(vend.getID()) ) {
-					GnuCashWritableVendorBillImpl wrtblInvc = new GnuCashWritableVendorBillImpl((GnuCashWritableGenerInvoiceImpl) invc);
-					retval.add(wrtblInvc);
-			}
+		for ( GnuCashGenerInvoice invc : invMgr.getGenerInvoicesByOwnerID(vend.getID()) ) {
+			GnuCashWritableVendorBillImpl wrtblInvc = new GnuCashWritableVendorBillImpl((GnuCashWritableGenerInvoiceImpl) invc);
+			retval.add(wrtblInvc);
 		}
 
 		return retval;
@@ -52,11 +50,9 @@ public abstract class FileInvoiceManager_Vendor {
 			final GnuCashVendor vend) throws TaxTableNotFoundException {
 		List<GnuCashWritableVendorBill> retval = new ArrayList<GnuCashWritableVendorBill>();
 
-		for ( GnuCashWritableGenerInvoice invc : invMgr.getPaidWritableGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(vend.getID()) ) {
-					GnuCashWritableVendorBillImpl wrtblInvc = new GnuCashWritableVendorBillImpl((GnuCashWritableGenerInvoiceImpl) invc);
-					retval.add(wrtblInvc);
-			}
+		for ( GnuCashWritableGenerInvoice invc : invMgr.getPaidWritableGenerInvoicesByOwnerID(vend.getID()) ) {
+			GnuCashWritableVendorBillImpl wrtblInvc = new GnuCashWritableVendorBillImpl((GnuCashWritableGenerInvoiceImpl) invc);
+			retval.add(wrtblInvc);
 		}
 
 		return retval;
@@ -78,11 +74,9 @@ public abstract class FileInvoiceManager_Vendor {
 			final GnuCashVendor vend) throws TaxTableNotFoundException {
 		List<GnuCashWritableVendorBill> retval = new ArrayList<GnuCashWritableVendorBill>();
 
-		for ( GnuCashWritableGenerInvoice invc : invMgr.getUnpaidWritableGenerInvoices() ) {
-			if ( invc.getOwnerID(GnuCashGenerInvoice.ReadVariant.DIRECT).equals(vend.getID()) ) {
-					GnuCashWritableVendorBillImpl wrtblInvc = new GnuCashWritableVendorBillImpl((GnuCashWritableGenerInvoiceImpl) invc);
-					retval.add(wrtblInvc);
-			}
+		for ( GnuCashWritableGenerInvoice invc : invMgr.getUnpaidWritableGenerInvoicesByOwnerID(vend.getID()) ) {
+			GnuCashWritableVendorBillImpl wrtblInvc = new GnuCashWritableVendorBillImpl((GnuCashWritableGenerInvoiceImpl) invc);
+			retval.add(wrtblInvc);
 		}
 
 		return retval;
@@ -20,11 +20,9 @@ public abstract class FileJobManager_Customer {
 	public static List<GnuCashWritableCustomerJob> getJobsByCustomer(final FileJobManager jobMgr, final GnuCashCustomer cust) {
 		List<GnuCashWritableCustomerJob> retval = new ArrayList<GnuCashWritableCustomerJob>();
 
-		for ( GnuCashGenerJob job : jobMgr.getGenerJobs() ) {
-			if ( job.getOwnerID().equals(cust.getID()) ) {
-					GnuCashWritableCustomerJobImpl wrtblJob = new GnuCashWritableCustomerJobImpl((GnuCashWritableGenerJobImpl) job);
-					retval.add(wrtblJob);
-			}
+		for ( GnuCashGenerJob job : jobMgr.getGenerJobsByOwnerID(cust.getID()) ) {
+			GnuCashWritableCustomerJobImpl wrtblJob = new GnuCashWritableCustomerJobImpl((GnuCashWritableGenerJobImpl) job);
+			retval.add(wrtblJob);
 		}
 
 		return retval;
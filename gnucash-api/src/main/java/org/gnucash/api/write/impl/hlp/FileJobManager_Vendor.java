@@ -20,11 +20,9 @@ public abstract class FileJobManager_Vendor {
 	public static List<GnuCashWritableVendorJob> getJobsByVendor(final FileJobManager jobMgr, final GnuCashVendor vend) {
 		List<GnuCashWritableVendorJob> retval = new ArrayList<GnuCashWritableVendorJob>();
 
-		for ( GnuCashGenerJob job : jobMgr.getGenerJobs() ) {
-			if ( job.getOwnerID().equals(vend.getID()) ) {
-					GnuCashWritableVendorJobImpl wrtblJob = new GnuCashWritableVendorJobImpl((GnuCashWritableGenerJobImpl) job);
-					retval.add(wrtblJob);
-			}
+		for ( GnuCashGenerJob job : jobMgr.getGenerJobsByOwnerID(vend.getID()) ) {
+			GnuCashWritableVendorJobImpl wrtblJob = new GnuCashWritableVendorJobImpl((GnuCashWritableGenerJobImpl) job);
+			retval.add(wrtblJob);
 		}
 
 		return retval;
@@ -0,0 +1,251 @@
+package org.gnucash.api.write.impl.hlp;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+
+import org.gnucash.api.generated.GncBook;
+import org.gnucash.api.generated.GncCountData;
+import org.gnucash.api.generated.GncV2;
+import org.gnucash.api.generated.SlotsType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+
+/**
+ * Writes a GnuCash file with the book elements (accounts, transactions,
+ * invoices, etc.) serialized concurrently.
+ * <br>
+ * The book elements are independent XML fragments: They are split into
+ * chunks of consecutive elements, each of which is marshalled into a byte
+ * buffer on the common {@link ForkJoinPool} (cf. {@link GnuCashStAXWriter#createSiblingWriter(Writer)}).
+ * The chunks are written to the output stream in their original order, so the
+ * result is byte-for-byte what a sequential write produces.
+ * The rest of the document (header, count-data, book ID and slots) is written
+ * by the calling thread, just like {@link org.gnucash.api.read.impl.hlp.GnuCashStAXLoader}
+ * reads it.
+ * <br>
+ * Only a limited number of chunks are in flight at any time, so
+ * the memory needed does not grow with the size of the book.
+ */
+public class GnuCashParallelWriter {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(GnuCashParallelWriter.class);
+
+	// ---------------------------------------------------------------
+
+	// ::MAGIC
+	public static final int DEFAULT_CHUNK_SIZE = 500; // book elements
+
+	private static final String ELT_ROOT = "gnc-v2";
+	private static final String ELT_BOOK = "gnc_book";
+	private static final String ELT_BOOK_ID = "book_id";
+	private static final String ELT_BOOK_SLOTS = "book_slots";
+
+	private static final String ATTR_BOOK_VERSION = "version";
+
+	// ---------------------------------------------------------------
+
+	private final JAXBContext jaxbContext;
+	private final int chunkSize;
+	private final ForkJoinPool pool;
+
+	// ---------------------------------------------------------------
+
+	@SuppressWarnings("exports")
+	public GnuCashParallelWriter(final JAXBContext jaxbContext) {
+		this(jaxbContext, DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * @param jaxbContext the JAXB context
+	 * @param chunkSize   number of book elements serialized in one go
+	 */
+	@SuppressWarnings("exports")
+	public GnuCashParallelWriter(final JAXBContext jaxbContext, final int chunkSize) {
+		if ( jaxbContext == null ) {
+			throw new IllegalArgumentException("null JAXB context given");
+		}
+
+		if ( chunkSize <= 0 ) {
+			throw new IllegalArgumentException("chunk size <= 0 given");
+		}
+
+		this.jaxbContext = jaxbContext;
+		this.chunkSize = chunkSize;
+		this.pool = ForkJoinPool.commonPool();
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param root the root element of the GnuCash file
+	 * @param out  the (uncompressed) stream to write to; not closed
+	 * @throws IOException   on low-level writing errors
+	 * @throws JAXBException if an element cannot be marshalled
+	 */
+	@SuppressWarnings("exports")
+	public void write(final GncV2 root, final OutputStream out) throws IOException, JAXBException {
+		if ( root == null ) {
+			throw new IllegalArgumentException("null root element given");
+		}
+
+		if ( out == null ) {
+			throw new IllegalArgumentException("null output stream given");
+		}
+
+		long start = System.currentTimeMillis();
+
+		Writer wrt = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		GnuCashStAXWriter staxWrt = new GnuCashStAXWriter(wrt);
+		Marshaller marsh = createMarshaller();
+
+		try {
+			GncBook book = root.getGncBook();
+
+			staxWrt.writeStartDocument();
+			staxWrt.writeStartElement(ELT_ROOT);
+			if ( root.getGncCountData() != null ) {
+				marsh.marshal(root.getGncCountData(), staxWrt);
+			}
+
+			staxWrt.writeStartElement(ELT_BOOK);
+			staxWrt.writeAttribute(ATTR_BOOK_VERSION, book.getVersion());
+			marsh.marshal(new JAXBElement<GncBook.BookId>(new QName(ELT_BOOK_ID), GncBook.BookId.class, book.getBookId()), staxWrt);
+			if ( book.getBookSlots() != null ) {
+				marsh.marshal(new JAXBElement<SlotsType>(new QName(ELT_BOOK_SLOTS), SlotsType.class, book.getBookSlots()), staxWrt);
+			}
+			for ( GncCountData countData : book.getGncCountData() ) {
+				marsh.marshal(countData, staxWrt);
+			}
+
+			// Sic: The book elements' bytes go directly to the stream
+			staxWrt.flush();
+			int nofChunks = writeBookElements(book.getBookElements(), staxWrt, out);
+
+			staxWrt.writeEndElement(); // book
+			staxWrt.writeEndElement(); // root
+			staxWrt.writeEndDocument();
+			staxWrt.flush();
+
+			long end = System.currentTimeMillis();
+			LOGGER.debug("write: Wrote " + book.getBookElements().size() + " book elements in " + nofChunks
+					+ " chunks in " + (end - start) + " ms");
+		} catch (XMLStreamException exc) {
+			throw toIOException(exc);
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	private int writeBookElements(final List<Object> bookElements, final GnuCashStAXWriter staxWrt,
+			final OutputStream out) throws IOException, JAXBException {
+		// Sic: at least one chunk per thread, but not too many in flight
+		int maxInFlight = 2 * pool.getParallelism();
+		Deque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<CompletableFuture<byte[]>>();
+
+		int nofChunks = 0;
+		int next = 0;
+		try {
+			while ( next < bookElements.size() || ! inFlight.isEmpty() ) {
+				while ( next < bookElements.size() &&
+						inFlight.size() < maxInFlight ) {
+					List<Object> chunk = bookElements.subList(next, Math.min(next + chunkSize, bookElements.size()));
+					inFlight.add(CompletableFuture.supplyAsync(() -> writeChunk(chunk, staxWrt), pool));
+					next += chunk.size();
+					nofChunks++;
+				}
+
+				out.write(inFlight.removeFirst().join());
+			}
+		} catch (CompletionException exc) {
+			for ( CompletableFuture<byte[]> future : inFlight ) {
+				future.cancel(false);
+			}
+
+			Throwable cause = exc.getCause();
+			if ( cause instanceof ChunkException ) {
+				cause = cause.getCause();
+			}
+			if ( cause instanceof JAXBException ) {
+				throw (JAXBException) cause;
+			} else if ( cause instanceof IOException ) {
+				throw (IOException) cause;
+			} else if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			} else if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+
+		return nofChunks;
+	}
+
+	/*
+	 * Runs on the pool
+	 */
+	private byte[] writeChunk(final List<Object> chunk, final GnuCashStAXWriter staxWrt) {
+		try {
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream(chunk.size() * 1024);
+			Writer wrt = new BufferedWriter(new OutputStreamWriter(buffer, StandardCharsets.UTF_8));
+			GnuCashStAXWriter sibWrt = staxWrt.createSiblingWriter(wrt);
+
+			// Sic: Marshallers are not thread-safe
+			Marshaller marsh = createMarshaller();
+			for ( Object bookElement : chunk ) {
+				marsh.marshal(bookElement, sibWrt);
+			}
+
+			wrt.close();
+			return buffer.toByteArray();
+		} catch (JAXBException | IOException exc) {
+			throw new ChunkException(exc);
+		}
+	}
+
+	private Marshaller createMarshaller() throws JAXBException {
+		Marshaller marsh = jaxbContext.createMarshaller();
+		marsh.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+		return marsh;
+	}
+
+	private static IOException toIOException(final XMLStreamException exc) {
+		if ( exc.getCause() instanceof IOException ) {
+			return (IOException) exc.getCause();
+		}
+
+		return new IOException(exc);
+	}
+
+	// ---------------------------------------------------------------
+
+	/*
+	 * Carries a checked exception out of a chunk task
+	 */
+	private static class ChunkException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		private ChunkException(final Exception cause) {
+			super(cause);
+		}
+	}
+
+}
@@ -0,0 +1,636 @@
+package org.gnucash.api.write.impl.hlp;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.gnucash.api.Const;
+
+/**
+ * Streaming writer for GnuCash files: JAXB marshals the model
+ * directly into it (cf. <code>Marshaller.marshal(Object, XMLStreamWriter)</code>),
+ * and it writes the events to the underlying writer in exactly the layout
+ * that GnuCash itself uses (indentation, empty elements, lower-case GUIDs,
+ * namespace declarations in the header, etc.).
+ * <br>
+ * The tag and attribute names of the generated classes are the
+ * GnuCash names with ':' replaced by '_' (cf. <code>GnuCashNamespaceStreamReader</code>).
+ * They are mapped back once per distinct name, not per character written.
+ * <br>
+ * Not thread-safe; one instance per file written.
+ */
+public class GnuCashStAXWriter implements XMLStreamWriter {
+
+	// ::MAGIC
+	private static final int LAST_WAS_OPEN_ELEMENT   = 1;
+	private static final int LAST_WAS_CLOSE_ELEMENT  = 2;
+	private static final int LAST_WAS_CHARACTER_DATA = 3;
+
+	private static final int MAX_DEPTH_1 = 4;
+	private static final int MAX_DEPTH_2 = 6;
+
+	// ---------------------------------------------------------------
+
+	private static final String ROOT_TAG = "gnc-v2";
+	private static final String TEMPLATE_TRX_TAG = "gnc_template-transactions";
+	private static final String TRX_DESCR_TAG = "trn_description";
+	private static final String SLOT_VALUE_TAG = "slot_value";
+	private static final String TYPE_ATTR = "type";
+
+	private static final String NAMESPACE_DECLARATIONS = "\n"
+			+ "     xmlns:gnc=\"http://www.gnucash.org/XML/gnc\"\n"
+			+ "     xmlns:act=\"http://www.gnucash.org/XML/act\"\n"
+			+ "     xmlns:book=\"http://www.gnucash.org/XML/book\"\n"
+			+ "     xmlns:cd=\"http://www.gnucash.org/XML/cd\"\n"
+			+ "     xmlns:cmdty=\"http://www.gnucash.org/XML/cmdty\"\n"
+			+ "     xmlns:price=\"http://www.gnucash.org/XML/price\"\n"
+			+ "     xmlns:slot=\"http://www.gnucash.org/XML/slot\"\n"
+			+ "     xmlns:split=\"http://www.gnucash.org/XML/split\"\n"
+			+ "     xmlns:sx=\"http://www.gnucash.org/XML/sx\"\n"
+			+ "     xmlns:trn=\"http://www.gnucash.org/XML/trn\"\n"
+			+ "     xmlns:ts=\"http://www.gnucash.org/XML/ts\"\n"
+			+ "     xmlns:fs=\"http://www.gnucash.org/XML/fs\"\n"
+			+ "     xmlns:bgt=\"http://www.gnucash.org/XML/bgt\"\n"
+			+ "     xmlns:recurrence=\"http://www.gnucash.org/XML/recurrence\"\n"
+			+ "     xmlns:lot=\"http://www.gnucash.org/XML/lot\"\n"
+			+ "     xmlns:addr=\"http://www.gnucash.org/XML/addr\"\n"
+			+ "     xmlns:billterm=\"http://www.gnucash.org/XML/billterm\"\n"
+			+ "     xmlns:bt-days=\"http://www.gnucash.org/XML/bt-days\"\n"
+			+ "     xmlns:bt-prox=\"http://www.gnucash.org/XML/bt-prox\"\n"
+			+ "     xmlns:cust=\"http://www.gnucash.org/XML/cust\"\n"
+			+ "     xmlns:employee=\"http://www.gnucash.org/XML/employee\"\n"
+			+ "     xmlns:entry=\"http://www.gnucash.org/XML/entry\"\n"
+			+ "     xmlns:invoice=\"http://www.gnucash.org/XML/invoice\"\n"
+			+ "     xmlns:job=\"http://www.gnucash.org/XML/job\"\n"
+			+ "     xmlns:order=\"http://www.gnucash.org/XML/order\"\n"
+			+ "     xmlns:owner=\"http://www.gnucash.org/XML/owner\"\n"
+			+ "     xmlns:taxtable=\"http://www.gnucash.org/XML/taxtable\"\n"
+			+ "     xmlns:tte=\"http://www.gnucash.org/XML/tte\"\n"
+			+ "     xmlns:vendor=\"http://www.gnucash.org/XML/vendor\"";
+
+	// Names in which the '_' after the prefix is part of the
+	// GnuCash name and has to be kept:
+	// cmdty:quote_source, cmdty:get_quotes, fs:ui_type,
+	// invoice:billing_id, recurrence:period_type
+	private static final String[] KEEP_UNDERSCORE_AFTER = new String[] {
+			"fs:ui", "cmdty:get", "cmdty:quote", "invoice:billing", "recurrence:period" };
+
+	// ---------------------------------------------------------------
+
+	private final Writer wrt;
+
+	// internal name -> GnuCash name
+	private final Map<String, String> nameMap = new HashMap<String, String>();
+	// (internal) names of the currently open elements
+	private final List<String> openElements = new ArrayList<String>();
+
+	private int depth = 0;
+	private int last_was = 0;
+	private char[] spaces;
+
+	private String  currElement = null;
+	private boolean isGUID = false;
+	private boolean isSlotvalueTypeString = false;
+	private boolean isTrnDescription = false;
+	private boolean insideGncTemplateTransactions = false;
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param wrt the writer to write to (preferably buffered);
+	 *            is not closed by {@link #close()}
+	 */
+	public GnuCashStAXWriter(final Writer wrt) {
+		if ( wrt == null ) {
+			throw new IllegalArgumentException("null writer given");
+		}
+
+		this.wrt = wrt;
+	}
+
+	/**
+	 * Creates a writer for the siblings that follow the element just closed
+	 * by this one (e.g., a chunk of book elements), so that they can be
+	 * written separately (and concurrently) and be concatenated afterwards.
+	 * <br>
+	 * As the state of this writer after an element has been closed does not
+	 * depend on that element's contents, each of several such writers
+	 * produces exactly what this writer itself would have produced, and
+	 * this writer is in the same state after them as it is now.
+	 *
+	 * @param sibWrt the writer to write the siblings to
+	 * @return the new writer
+	 */
+	public GnuCashStAXWriter createSiblingWriter(final Writer sibWrt) {
+		if ( last_was != LAST_WAS_CLOSE_ELEMENT ) {
+			throw new IllegalStateException("No element has just been closed");
+		}
+
+		GnuCashStAXWriter result = new GnuCashStAXWriter(sibWrt);
+		result.depth = depth;
+		result.last_was = last_was;
+		result.insideGncTemplateTransactions = insideGncTemplateTransactions;
+		return result;
+	}
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param name the tag or attribute name as used in the generated classes
+	 * @return the name as written by GnuCash
+	 */
+	public static String toGnuCashName(final String name) {
+		if ( name.indexOf('_') < 0 ) {
+			return name;
+		}
+
+		char[] chars = name.toCharArray();
+		for ( int i = 0; i < chars.length; i++ ) {
+			if ( chars[i] == '_' &&
+				 ! keepUnderscore(chars, i) ) {
+				chars[i] = ':';
+			}
+		}
+
+		return new String(chars);
+	}
+
+	private static boolean keepUnderscore(final char[] chars, final int pos) {
+		for ( String prefix : KEEP_UNDERSCORE_AFTER ) {
+			int start = pos - prefix.length();
+			if ( start >= 0 &&
+				 new String(chars, start, prefix.length()).equals(prefix) ) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private String mapName(final String name) {
+		String result = nameMap.get(name);
+		if ( result == null ) {
+			result = toGnuCashName(name);
+			nameMap.put(name, result);
+		}
+
+		return result;
+	}
+
+	// ---------------------------------------------------------------
+
+	@Override
+	public void writeStartDocument() throws XMLStreamException {
+		try {
+			wrt.write("<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n");
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeStartDocument(final String version) throws XMLStreamException {
+		writeStartDocument();
+	}
+
+	@Override
+	public void writeStartDocument(final String encoding, final String version) throws XMLStreamException {
+		writeStartDocument();
+	}
+
+	@Override
+	public void writeEndDocument() throws XMLStreamException {
+		while ( ! openElements.isEmpty() ) {
+			writeEndElement();
+		}
+
+		try {
+			wrt.write("\n\n");
+			wrt.write("<!-- Local variables: -->\n");
+			wrt.write("<!-- mode: xml        -->\n");
+			wrt.write("<!-- End: Written by JGnuCashLib, " + LocalDateTime.now() + " -->\n");
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	@Override
+	public void writeStartElement(final String localName) throws XMLStreamException {
+		try {
+			startElement(localName);
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeStartElement(final String namespaceURI, final String localName) throws XMLStreamException {
+		writeStartElement(localName);
+	}
+
+	@Override
+	public void writeStartElement(final String prefix, final String localName, final String namespaceURI) throws XMLStreamException {
+		writeStartElement(qualifiedName(prefix, localName));
+	}
+
+	@Override
+	public void writeEmptyElement(final String localName) throws XMLStreamException {
+		writeStartElement(localName);
+		writeEndElement();
+	}
+
+	@Override
+	public void writeEmptyElement(final String namespaceURI, final String localName) throws XMLStreamException {
+		writeEmptyElement(localName);
+	}
+
+	@Override
+	public void writeEmptyElement(final String prefix, final String localName, final String namespaceURI) throws XMLStreamException {
+		writeEmptyElement(qualifiedName(prefix, localName));
+	}
+
+	@Override
+	public void writeEndElement() throws XMLStreamException {
+		if ( openElements.isEmpty() ) {
+			throw new XMLStreamException("No open element");
+		}
+
+		try {
+			endElement(openElements.remove(openElements.size() - 1));
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeAttribute(final String localName, final String value) throws XMLStreamException {
+		if ( last_was != LAST_WAS_OPEN_ELEMENT ) {
+			throw new XMLStreamException("Attribute '" + localName + "' outside of start tag");
+		}
+
+		try {
+			attribute(localName, value);
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeAttribute(final String namespaceURI, final String localName, final String value) throws XMLStreamException {
+		writeAttribute(localName, value);
+	}
+
+	@Override
+	public void writeAttribute(final String prefix, final String namespaceURI, final String localName, final String value) throws XMLStreamException {
+		writeAttribute(qualifiedName(prefix, localName), value);
+	}
+
+	/*
+	 * Keeps an explicit prefix (e.g. "xsi:nil"), as the SAX-based
+	 * writer did with the qualified name
+	 */
+	private static String qualifiedName(final String prefix, final String localName) {
+		if ( prefix == null || 
+			 prefix.isEmpty() ) {
+			return localName;
+		}
+
+		return prefix + ":" + localName;
+	}
+
+	@Override
+	public void writeNamespace(final String prefix, final String namespaceURI) throws XMLStreamException {
+		// Sic: The GnuCash namespaces are declared in the
+		// header, no matter what JAXB thinks
+	}
+
+	@Override
+	public void writeDefaultNamespace(final String namespaceURI) throws XMLStreamException {
+		// Sic, cf. above
+	}
+
+	// ---------------------------------------------------------------
+
+	@Override
+	public void writeCharacters(final String text) throws XMLStreamException {
+		try {
+			characters(text, null, 0, text.length());
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeCharacters(final char[] text, final int start, final int len) throws XMLStreamException {
+		try {
+			characters(null, text, start, len);
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeCData(final String data) throws XMLStreamException {
+		writeCharacters(data);
+	}
+
+	@Override
+	public void writeComment(final String data) throws XMLStreamException {
+		try {
+			wrt.write("<!--" + data + "-->");
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeProcessingInstruction(final String target) throws XMLStreamException {
+		writeProcessingInstruction(target, null);
+	}
+
+	@Override
+	public void writeProcessingInstruction(final String target, final String data) throws XMLStreamException {
+		try {
+			wrt.write("<?" + target);
+			if ( data != null ) {
+				wrt.write(data);
+			}
+
+			wrt.write("?>\n");
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeDTD(final String dtd) throws XMLStreamException {
+		try {
+			wrt.write(dtd);
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void writeEntityRef(final String name) throws XMLStreamException {
+		try {
+			wrt.write("&" + name + ";");
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	@Override
+	public String getPrefix(final String uri) throws XMLStreamException {
+		return null;
+	}
+
+	@Override
+	public void setPrefix(final String prefix, final String uri) throws XMLStreamException {
+	}
+
+	@Override
+	public void setDefaultNamespace(final String uri) throws XMLStreamException {
+	}
+
+	@Override
+	public void setNamespaceContext(final NamespaceContext context) throws XMLStreamException {
+	}
+
+	@Override
+	public NamespaceContext getNamespaceContext() {
+		return null;
+	}
+
+	@Override
+	public Object getProperty(final String name) throws IllegalArgumentException {
+		throw new IllegalArgumentException("Property '" + name + "' not supported");
+	}
+
+	@Override
+	public void flush() throws XMLStreamException {
+		try {
+			wrt.flush();
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	@Override
+	public void close() throws XMLStreamException {
+		// Sic: Does not close the underlying writer
+		flush();
+	}
+
+	// ---------------------------------------------------------------
+
+	private void startElement(final String localName) throws IOException {
+		String name = mapName(localName);
+
+		if ( last_was == LAST_WAS_OPEN_ELEMENT ) {
+			wrt.write(">\n");
+			writeSpaces();
+		}
+
+		if ( last_was == LAST_WAS_CLOSE_ELEMENT ) {
+			wrt.write("\n");
+			writeSpaces();
+		}
+
+		wrt.write('<');
+		wrt.write(name);
+
+		if ( openElements.isEmpty() &&
+			 localName.equals(ROOT_TAG) ) {
+			wrt.write(NAMESPACE_DECLARATIONS);
+		}
+
+		if ( localName.equals(TEMPLATE_TRX_TAG) ) {
+			insideGncTemplateTransactions = true;
+		}
+
+		currElement = localName;
+		isTrnDescription = localName.equals(TRX_DESCR_TAG);
+		isGUID = false;
+		isSlotvalueTypeString = false;
+
+		openElements.add(localName);
+		depth += 2;
+
+		last_was = LAST_WAS_OPEN_ELEMENT;
+	}
+
+	private void attribute(final String localName, final String value) throws IOException {
+		// Sic: no escaping (never has been)
+		wrt.write(' ');
+		wrt.write(mapName(localName));
+		wrt.write("=\"");
+		wrt.write(value);
+		wrt.write('"');
+
+		if ( localName.equals(TYPE_ATTR) ) {
+			if ( value.equals(Const.XML_DATA_TYPE_GUID) ) {
+				isGUID = true;
+			}
+
+			if ( currElement.equals(SLOT_VALUE_TAG) &&
+				 value.equals(Const.XML_DATA_TYPE_STRING) ) {
+				isSlotvalueTypeString = true;
+			}
+		}
+	}
+
+	private void endElement(final String localName) throws IOException {
+		// create <slot:value type="string"></slot:value> instead of
+		// <slot:value type="string"/>
+		if ( ( isTrnDescription ||
+			   isSlotvalueTypeString ) &&
+			 last_was != LAST_WAS_CHARACTER_DATA ) {
+			characters("", null, 0, 0);
+		}
+
+		if ( localName.equals(TEMPLATE_TRX_TAG) ) {
+			insideGncTemplateTransactions = false;
+		}
+
+		String name = mapName(localName);
+		depth -= 2;
+
+		if ( last_was == LAST_WAS_CLOSE_ELEMENT ) {
+			wrt.write('\n');
+			writeSpaces();
+			writeEndTag(name);
+		}
+
+		if ( last_was == LAST_WAS_OPEN_ELEMENT ) {
+			wrt.write("/>");
+		}
+
+		if ( last_was == LAST_WAS_CHARACTER_DATA ) {
+			writeEndTag(name);
+		}
+
+		last_was = LAST_WAS_CLOSE_ELEMENT;
+	}
+
+	private void writeEndTag(final String name) throws IOException {
+		wrt.write("</");
+		wrt.write(name);
+		wrt.write('>');
+	}
+
+	/*
+	 * Either str or chars is given
+	 */
+	private void characters(final String str, final char[] chars, final int start, final int len) throws IOException {
+		if ( last_was == LAST_WAS_OPEN_ELEMENT ) {
+			wrt.write('>');
+		}
+
+		// Sic: Text after a closing tag (i.e., whitespace in mixed
+		// content such as slot frames) is dropped
+		if ( last_was == LAST_WAS_CLOSE_ELEMENT ) {
+			return;
+		}
+
+		if ( isGUID ) {
+			// make sure GUIDs are written with non-capital letters
+			String guid = ( str != null ) ? str : new String(chars, start, len);
+			wrt.write(guid.toLowerCase());
+		} else {
+			writeEscaped(str, chars, start, len);
+		}
+
+		last_was = LAST_WAS_CHARACTER_DATA;
+	}
+
+	/*
+	 * Writes the runs of characters that need no escaping
+	 * in one go.
+	 */
+	private void writeEscaped(final String str, final char[] chars, final int start, final int len) throws IOException {
+		int runStart = start;
+		for ( int i = start; i < start + len; i++ ) {
+			char c = ( str != null ) ? str.charAt(i) : chars[i];
+			String repl;
+			switch ( c ) {
+			case '&':
+				repl = "&amp;";
+				break;
+			case '>':
+				repl = "&gt;";
+				break;
+			case '<':
+				repl = "&lt;";
+				break;
+			case '"':
+				repl = "&quot;";
+				break;
+			default:
+				continue;
+			}
+
+			writeRun(str, chars, runStart, i);
+			wrt.write(repl);
+			runStart = i + 1;
+		}
+
+		writeRun(str, chars, runStart, start + len);
+	}
+
+	private void writeRun(final String str, final char[] chars, final int from, final int to) throws IOException {
+		if ( from >= to ) {
+			return;
+		}
+
+		if ( str != null ) {
+			wrt.write(str, from, to - from);
+		} else {
+			wrt.write(chars, from, to - from);
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	private void writeSpaces() throws IOException {
+
+		if ( insideGncTemplateTransactions ) {
+			if ( depth < MAX_DEPTH_2 ) {
+				return;
+			}
+
+			wrt.write(getSpaces(), 0, depth - 6);
+			return;
+		}
+
+		if ( depth < MAX_DEPTH_1 ) {
+			return;
+		}
+
+		wrt.write(getSpaces(), 0, depth - 4);
+	}
+
+	private char[] getSpaces() {
+		if ( spaces == null ||
+			 spaces.length < depth ) {
+			spaces = new char[depth];
+			Arrays.fill(spaces, ' ');
+		}
+
+		return spaces;
+	}
+
+}
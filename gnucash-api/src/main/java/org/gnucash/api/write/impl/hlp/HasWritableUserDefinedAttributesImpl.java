@@ -14,7 +14,7 @@ import org.gnucash.api.generated.SlotsType;
 import org.gnucash.api.read.impl.hlp.HasUserDefinedAttributesImpl;
 import org.gnucash.api.read.impl.hlp.SlotListAlreadyContainsKeyException;
 import org.gnucash.api.read.impl.hlp.SlotListDoesNotContainKeyException;
-import org.gnucash.api.write.GnuCashWritableFile;
+import org.gnucash.api.write.impl.GnuCashWritableFileImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,7 +31,7 @@ public class HasWritableUserDefinedAttributesImpl extends HasUserDefinedAttribut
 	// ---------------------------------------------------------------
 
 	public static void addUserDefinedAttributeCore(SlotsType slots,
-												   final GnuCashWritableFile gcshFile,
+												   final GnuCashWritableFileImpl gcshFile,
 												   final String type, final String name, final String value) {
 		if ( slots == null )
 			throw new IllegalArgumentException("null slot list given");
@@ -67,7 +67,7 @@ public class HasWritableUserDefinedAttributesImpl extends HasUserDefinedAttribut
 	}
 	
 	public static void removeUserDefinedAttributeCore(SlotsType slots, 
-													  final GnuCashWritableFile gcshFile,
+													  final GnuCashWritableFileImpl gcshFile,
 													  final String name) {
 		if ( slots == null )
 			throw new IllegalArgumentException("null slot list given");
@@ -89,7 +89,7 @@ public class HasWritableUserDefinedAttributesImpl extends HasUserDefinedAttribut
 	}
 
 	public static void setUserDefinedAttributeCore(SlotsType slots,
-            									   final GnuCashWritableFile gcshFile,
+            									   final GnuCashWritableFileImpl gcshFile,
             									   final String name, final String value) {
 		if ( slots == null )
 			throw new IllegalArgumentException("null slot list given");
@@ -104,7 +104,7 @@ public class HasWritableUserDefinedAttributesImpl extends HasUserDefinedAttribut
 	// ---------------------------------------------------------------
 
 	private static void addUserDefinedAttributeCore(List<Slot> slotList,
-			                                        final GnuCashWritableFile gcshFile,
+			                                        final GnuCashWritableFileImpl gcshFile,
 			                                        final String type, final String name, 
 			                                        final String value) {
 		if ( slotList == null )
@@ -146,11 +146,12 @@ public class HasWritableUserDefinedAttributesImpl extends HasUserDefinedAttribut
 
 		slotList.add(newSlot);
 
+		gcshFile.slotsModified();
 		gcshFile.setModified(true);
 	}
 
 	private static void removeUserDefinedAttributeCore(List<Slot> slotList,
-            										   final GnuCashWritableFile gcshFile,
+            										   final GnuCashWritableFileImpl gcshFile,
             										   final String name) {
 		if ( slotList == null )
 			throw new IllegalArgumentException("null slot list given");
@@ -174,6 +175,7 @@ public class HasWritableUserDefinedAttributesImpl extends HasUserDefinedAttribut
 
 				slotList.remove(slt);
 
+				gcshFile.slotsModified();
 				gcshFile.setModified(true);
 				return;
 			}
@@ -181,7 +183,7 @@ public class HasWritableUserDefinedAttributesImpl extends HasUserDefinedAttribut
 	}
 
 	private static void setUserDefinedAttributeCore(List<Slot> slotList,
-            									    final GnuCashWritableFile gcshFile,
+            									    final GnuCashWritableFileImpl gcshFile,
             									    final String name, final String value) {
 		if ( slotList == null )
 			throw new IllegalArgumentException("null slot list given");
@@ -257,6 +259,7 @@ public class HasWritableUserDefinedAttributesImpl extends HasUserDefinedAttribut
 					}
 				}
 
+				gcshFile.slotsModified();
 				gcshFile.setModified(true);
 				return;
 			}
@@ -266,13 +269,14 @@ public class HasWritableUserDefinedAttributesImpl extends HasUserDefinedAttribut
 	// ---------------------------------------------------------------
 
 	// Remove slots with dummy content
-	public static void cleanSlots(SlotsType slots) {
+	public static void cleanSlots(SlotsType slots, final GnuCashWritableFileImpl gcshFile) {
 		if ( slots == null )
 			return;
 
 		for ( Slot slot : slots.getSlot() ) {
 			if ( slot.getSlotKey().equals(Const.SLOT_KEY_DUMMY) ) {
 				slots.getSlot().remove(slot);
+				gcshFile.slotsModified();
 				break;
 			}
 		}
@@ -0,0 +1,201 @@
+package org.gnucash.api.write.impl.hlp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Output stream that gzip-compresses the data written to it on
+ * several cores.
+ * <br>
+ * The data is cut into blocks of a fixed size, each of which is compressed
+ * into a gzip member of its own on the common {@link ForkJoinPool}. The members
+ * are written to the target stream in their original order. The result is a
+ * standard multi-member gzip stream (RFC 1952, section 2.2), which can be read by
+ * <code>GZIPInputStream</code>, by gzip/zcat and by GnuCash itself.
+ * <br>
+ * The bigger the blocks, the better the compression ratio (each block
+ * starts with an empty dictionary), but the more memory is needed.
+ * Only a limited number of blocks are in flight at any time.
+ * <br>
+ * {@link #close()} closes the target stream.
+ * To be used by one producer thread only.
+ */
+public class ParallelGZIPOutputStream extends OutputStream {
+
+	// ::MAGIC
+	public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+	// ---------------------------------------------------------------
+
+	private final OutputStream target;
+	private final int blockSize;
+	private final ForkJoinPool pool;
+	private final int maxInFlight;
+
+	private final Deque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<CompletableFuture<byte[]>>();
+
+	private byte[] block;
+	private int blockLen = 0;
+
+	private boolean closed = false;
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param target the stream to write the compressed data to
+	 */
+	public ParallelGZIPOutputStream(final OutputStream target) {
+		this(target, DEFAULT_BLOCK_SIZE);
+	}
+
+	/**
+	 * @param target    the stream to write the compressed data to
+	 * @param blockSize number of uncompressed bytes per gzip member
+	 */
+	public ParallelGZIPOutputStream(final OutputStream target, final int blockSize) {
+		if ( target == null ) {
+			throw new IllegalArgumentException("null target stream given");
+		}
+
+		if ( blockSize <= 0 ) {
+			throw new IllegalArgumentException("block size <= 0 given");
+		}
+
+		this.target = target;
+		this.blockSize = blockSize;
+		this.pool = ForkJoinPool.commonPool();
+		// Sic: at least one block per thread, but not too many in flight
+		this.maxInFlight = 2 * pool.getParallelism();
+		this.block = new byte[blockSize];
+	}
+
+	// ---------------------------------------------------------------
+
+	@Override
+	public void write(final int b) throws IOException {
+		checkOpen();
+		if ( blockLen == block.length ) {
+			submitBlock();
+		}
+
+		block[blockLen++] = (byte) b;
+	}
+
+	@Override
+	public void write(final byte[] b, final int off, final int len) throws IOException {
+		checkOpen();
+
+		int pos = off;
+		int rest = len;
+		while ( rest > 0 ) {
+			if ( blockLen == block.length ) {
+				submitBlock();
+			}
+
+			int n = Math.min(rest, block.length - blockLen);
+			System.arraycopy(b, pos, block, blockLen, n);
+			blockLen += n;
+			pos += n;
+			rest -= n;
+		}
+	}
+
+	/**
+	 * Writes all blocks that are compressed completely.
+	 * <br>
+	 * Sic: Does not cut the current block short, as every
+	 * flush would cost compression ratio otherwise.
+	 */
+	@Override
+	public void flush() throws IOException {
+		checkOpen();
+		while ( ! inFlight.isEmpty() &&
+				inFlight.peekFirst().isDone() ) {
+			writeFirst();
+		}
+		target.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if ( closed ) {
+			return;
+		}
+
+		try {
+			if ( blockLen > 0 ||
+				 inFlight.isEmpty() ) { // sic: an empty stream is one empty member
+				submitBlock();
+			}
+
+			while ( ! inFlight.isEmpty() ) {
+				writeFirst();
+			}
+		} finally {
+			closed = true;
+			for ( CompletableFuture<byte[]> future : inFlight ) {
+				future.cancel(false);
+			}
+			inFlight.clear();
+			target.close();
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	private void submitBlock() throws IOException {
+		byte[] data = block;
+		int dataLen = blockLen;
+		inFlight.add(CompletableFuture.supplyAsync(() -> compress(data, dataLen), pool));
+
+		block = new byte[blockSize];
+		blockLen = 0;
+
+		while ( inFlight.size() >= maxInFlight ) {
+			writeFirst();
+		}
+	}
+
+	private void writeFirst() throws IOException {
+		try {
+			target.write(inFlight.removeFirst().join());
+		} catch (CompletionException exc) {
+			if ( exc.getCause() instanceof UncheckedIOException ) {
+				throw ((UncheckedIOException) exc.getCause()).getCause();
+			}
+			throw exc;
+		}
+	}
+
+	/*
+	 * Runs on the pool
+	 */
+	private static byte[] compress(final byte[] data, final int len) {
+		try {
+			// Sic: compressed text is typically < 1/4 of the original
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(len / 4, 64));
+			GZIPOutputStream gzip = new GZIPOutputStream(buffer);
+			gzip.write(data, 0, len);
+			gzip.close();
+			return buffer.toByteArray();
+		} catch (IOException exc) {
+			// cannot really happen on a byte array
+			throw new UncheckedIOException(exc);
+		}
+	}
+
+	private void checkOpen() throws IOException {
+		if ( closed ) {
+			throw new IOException("Stream already closed");
+		}
+	}
+
+}
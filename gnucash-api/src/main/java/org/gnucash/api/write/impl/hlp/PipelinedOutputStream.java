@@ -0,0 +1,281 @@
+package org.gnucash.api.write.impl.hlp;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Output stream that hands the data written to it, in blocks, to a
+ * background thread which writes it to the target stream. Thus,
+ * an expensive target stream (typically, a <code>GZIPOutputStream</code>)
+ * runs as a pipeline stage concurrently with the code producing the data.
+ * <br>
+ * The number of blocks in flight is bounded, so a slow target stream
+ * throttles the producer.
+ * <br>
+ * Errors of the target stream are re-thrown by the next call
+ * of {@link #write(byte[], int, int)}, {@link #flush()} or {@link #close()}.
+ * {@link #close()} waits until all data has been written and then
+ * closes the target stream.
+ * <br>
+ * To be used by one producer thread only.
+ */
+public class PipelinedOutputStream extends OutputStream {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PipelinedOutputStream.class);
+
+	// ::MAGIC
+	private static final int BLOCK_SIZE = 256 * 1024;
+	private static final int MAX_BLOCKS_IN_FLIGHT = 8;
+
+	private static final byte[] END_OF_STREAM = new byte[0];
+
+	// ---------------------------------------------------------------
+
+	private final OutputStream target;
+	private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<byte[]>(MAX_BLOCKS_IN_FLIGHT);
+	private final Thread worker;
+
+	private byte[] block = new byte[BLOCK_SIZE];
+	private int blockLen = 0;
+
+	private volatile IOException error = null;
+	private boolean closed = false;
+
+	// ---------------------------------------------------------------
+
+	/**
+	 * @param target the stream to write to in the background
+	 * @param name   name of the background thread
+	 */
+	public PipelinedOutputStream(final OutputStream target, final String name) {
+		if ( target == null ) {
+			throw new IllegalArgumentException("null target stream given");
+		}
+
+		this.target = target;
+		this.worker = new Thread(this::drain, name);
+		this.worker.setDaemon(true);
+		this.worker.start();
+	}
+
+	// ---------------------------------------------------------------
+
+	@Override
+	public void write(final int b) throws IOException {
+		checkOpen();
+		if ( blockLen == block.length ) {
+			handOver();
+		}
+
+		block[blockLen++] = (byte) b;
+	}
+
+	@Override
+	public void write(final byte[] b, final int off, final int len) throws IOException {
+		checkOpen();
+
+		if ( len >= BLOCK_SIZE ) {
+			// Large chunks are passed on as they are (well, copied)
+			handOver();
+			byte[] copy = new byte[len];
+			System.arraycopy(b, off, copy, 0, len);
+			put(copy);
+			return;
+		}
+
+		int pos = off;
+		int rest = len;
+		while ( rest > 0 ) {
+			if ( blockLen == block.length ) {
+				handOver();
+			}
+
+			int n = Math.min(rest, block.length - blockLen);
+			System.arraycopy(b, pos, block, blockLen, n);
+			blockLen += n;
+			pos += n;
+			rest -= n;
+		}
+	}
+
+	/**
+	 * Hands the data written so far to the background thread
+	 * (does not wait for it to be written).
+	 */
+	@Override
+	public void flush() throws IOException {
+		checkOpen();
+		handOver();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if ( closed ) {
+			return;
+		}
+
+		IOException handOverExc = null;
+		boolean interrupted = false;
+		try {
+			try {
+				handOver();
+			} catch (InterruptedIOException exc) {
+				// Sic: reported below, but the background
+				// thread has to be ended in any case
+				handOverExc = exc;
+				interrupted = true;
+			} catch (IOException exc) {
+				// dto.
+				handOverExc = exc;
+			}
+
+			try {
+				queue.put(END_OF_STREAM);
+			} catch (InterruptedException exc) {
+				// We are the only producer, so there is room
+				// for the end marker once the queue is empty
+				interrupted = true;
+				queue.clear();
+				queue.offer(END_OF_STREAM);
+			}
+
+			// The background thread ends on the end marker
+			// in any case, so this does not block forever
+			while ( worker.isAlive() ) {
+				try {
+					worker.join();
+				} catch (InterruptedException exc) {
+					interrupted = true;
+				}
+			}
+		} finally {
+			closed = true;
+			if ( interrupted ) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		if ( error != null ) {
+			throw error;
+		}
+
+		if ( handOverExc != null ) {
+			throw handOverExc;
+		}
+
+		if ( interrupted ) {
+			throw new InterruptedIOException("Interrupted while waiting for the background writer");
+		}
+	}
+
+	// ---------------------------------------------------------------
+
+	private void handOver() throws IOException {
+		if ( blockLen == 0 ) {
+			return;
+		}
+
+		byte[] full = block;
+		if ( blockLen < full.length ) {
+			full = new byte[blockLen];
+			System.arraycopy(block, 0, full, 0, blockLen);
+		} else {
+			block = new byte[BLOCK_SIZE];
+		}
+
+		blockLen = 0;
+		put(full);
+	}
+
+	private void put(final byte[] data) throws IOException {
+		try {
+			queue.put(data);
+		} catch (InterruptedException exc) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while handing over data");
+		}
+
+		if ( error != null ) {
+			throw error;
+		}
+	}
+
+	private void checkOpen() throws IOException {
+		if ( closed ) {
+			throw new IOException("Stream already closed");
+		}
+
+		if ( error != null ) {
+			throw error;
+		}
+	}
+
+	/*
+	 * Background thread
+	 */
+	private void drain() {
+		boolean endOfStream = false;
+		try {
+			while ( ! endOfStream ) {
+				byte[] data = takeUninterruptibly();
+				if ( data == END_OF_STREAM ) { // sic, identity
+					endOfStream = true;
+				} else {
+					target.write(data);
+				}
+			}
+
+			target.close();
+		} catch (IOException exc) {
+			LOGGER.error("drain: Error writing to target stream", exc);
+			error = exc;
+			if ( ! endOfStream ) {
+				discardRest();
+			}
+		}
+	}
+
+	/*
+	 * After an error: Keep on taking the data up to the end marker, 
+	 * so that the producer does not block
+	 */
+	private void discardRest() {
+		try {
+			target.close();
+		} catch (IOException exc) {
+			// nothing to do, the first error is the one reported
+		}
+
+		while ( takeUninterruptibly() != END_OF_STREAM ) { // sic, identity
+			// just discard
+		}
+	}
+
+	/*
+	 * Sic: The background thread must not end before the end marker, 
+	 * as the producer might block otherwise
+	 */
+	private byte[] takeUninterruptibly() {
+		boolean interrupted = false;
+		try {
+			while ( true ) {
+				try {
+					return queue.take();
+				} catch (InterruptedException exc) {
+					interrupted = true;
+				}
+			}
+		} finally {
+			if ( interrupted ) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+}
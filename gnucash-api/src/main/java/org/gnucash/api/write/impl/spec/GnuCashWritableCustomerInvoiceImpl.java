@@ -121,16 +121,13 @@ public class GnuCashWritableCustomerInvoiceImpl extends GnuCashWritableGenerInvo
 			for ( GnuCashTransactionSplit splt : trx.getSplits() ) {
 				GCshID lot = splt.getLotID();
 				if ( lot != null ) {
-					for ( GnuCashGenerInvoice invc1 : splt.getTransaction().getGnuCashFile().getGenerInvoices() ) {
-						GCshID lotID = invc1.getLotID();
-						if ( lotID != null && lotID.equals(lot) ) {
-							// Check if it's a payment transaction.
-							// If so, add it to the invoice's list of payment transactions.
-							if ( splt.getAction() == GnuCashTransactionSplit.Action.PAYMENT ) {
-								addPayingTransaction(splt);
-							}
-						} // if lotID
-					} // for invc
+					if ( ! splt.getTransaction().getGnuCashFile().getGenerInvoicesByLotID(lot).isEmpty() ) {
+						// Check if it's a payment transaction.
+						// If so, add it to the invoice's list of payment transactions.
+						if ( splt.getAction() == GnuCashTransactionSplit.Action.PAYMENT ) {
+							addPayingTransaction(splt);
+						}
+					} // if invc
 				} // if lot
 			} // for splt
 		} // for trx
@@ -154,6 +151,7 @@ public class GnuCashWritableCustomerInvoiceImpl extends GnuCashWritableGenerInvo
 
     	attemptChange();
 		getJwsdpPeer().getInvoiceOwner().getOwnerId().setValue(cust.getID().toString());
+		getWritableGnuCashFile().getInvcMgr().updateGenerInvoiceOwner(this, oldCust.getID());
 		getWritableGnuCashFile().setModified(true);
 
 		// <<insert code to react further to this change here
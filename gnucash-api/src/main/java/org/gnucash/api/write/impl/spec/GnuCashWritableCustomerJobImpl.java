@@ -82,7 +82,7 @@ public class GnuCashWritableCustomerJobImpl extends GnuCashWritableGenerJobImpl
 			throw new IllegalStateException("cannot remove a job that has invoices!");
 		}
 		GnuCashWritableFileImpl writableFile = (GnuCashWritableFileImpl) getGnuCashFile();
-		writableFile.getRootElement().getGncBook().getBookElements().remove(getJwsdpPeer());
+		writableFile.removeBookElement(getJwsdpPeer());
 		writableFile.removeGenerJob(this);
 	}
 
@@ -145,6 +145,10 @@ public class GnuCashWritableCustomerJobImpl extends GnuCashWritableGenerJobImpl
 
 		attemptChange();
 		getJwsdpPeer().getJobOwner().getOwnerId().setValue(cust.getID().toString());
+		// link to the file's object, not to a (possibly transient)
+		// writable wrapper of it
+		linkOwner(getGnuCashFile().getCustomerByID(cust.getID()));
+		getWritableGnuCashFile().getJobMgr().updateGenerJobOwner(this, oldCust.getID());
 		getWritableGnuCashFile().setModified(true);
 		
 		// <<insert code to react further to this change here
@@ -82,7 +82,7 @@ public class GnuCashWritableVendorJobImpl extends GnuCashWritableGenerJobImpl
 			throw new IllegalStateException("cannot remove a job that has invoices!");
 		}
 		GnuCashWritableFileImpl writableFile = (GnuCashWritableFileImpl) getGnuCashFile();
-		writableFile.getRootElement().getGncBook().getBookElements().remove(getJwsdpPeer());
+		writableFile.removeBookElement(getJwsdpPeer());
 		writableFile.removeGenerJob(this);
 	}
 
@@ -167,6 +167,10 @@ public class GnuCashWritableVendorJobImpl extends GnuCashWritableGenerJobImpl
 
 		attemptChange();
 		getJwsdpPeer().getJobOwner().getOwnerId().setValue(vend.getID().toString());
+		// link to the file's object, not to a (possibly transient)
+		// writable wrapper of it
+		linkOwner(getGnuCashFile().getVendorByID(vend.getID()));
+		getWritableGnuCashFile().getJobMgr().updateGenerJobOwner(this, oldVend.getID());
 		getWritableGnuCashFile().setModified(true);
 		
 		// <<insert code to react further to this change here
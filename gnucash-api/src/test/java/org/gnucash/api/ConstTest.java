@@ -7,6 +7,10 @@ public class ConstTest extends Const {
     public static final String GCSH_FILENAME_IN  = GCSH_FILENAME;
 
     public static final String GCSH_FILENAME_OUT = "test_out.gnucash";
+
+    // The test file as written by the original (SAX-based) writer,
+    // cf. TestGnuCashStAXWriter
+    public static final String GCSH_FILENAME_GOLDEN = "test_golden.xml";
     
     // ---------------------------------------------------------------
     // Stats for above-mentioned GnuCash test file (before write operations)
@@ -0,0 +1,134 @@
+package org.gnucash.api.currency;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+
+import org.gnucash.api.ConstTest;
+import org.gnucash.api.read.GnuCashFile;
+import org.gnucash.api.read.impl.GnuCashFileImpl;
+import org.gnucash.base.basetypes.complex.GCshCmdtyCurrID;
+import org.gnucash.base.basetypes.complex.GCshCmdtyCurrNameSpace;
+import org.gnucash.base.basetypes.complex.GCshCmdtyID_Exchange;
+import org.gnucash.base.basetypes.complex.GCshCurrID;
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.JUnit4TestAdapter;
+import xyz.schnorxoborx.base.numbers.FixedPointNumber;
+
+public class TestPriceConversionGraph {
+	private static final GCshCmdtyCurrID EUR = new GCshCurrID("EUR");
+	private static final GCshCmdtyCurrID USD = new GCshCurrID("USD");
+	private static final GCshCmdtyCurrID CMDTY_A = new GCshCmdtyCurrID("TEST", "A");
+	private static final GCshCmdtyCurrID CMDTY_B = new GCshCmdtyCurrID("TEST", "B");
+	private static final GCshCmdtyCurrID CMDTY_C = new GCshCmdtyCurrID("OTHER", "C");
+	private static final GCshCmdtyCurrID CMDTY_D = new GCshCmdtyCurrID("OTHER", "D");
+
+	// -----------------------------------------------------------------
+
+	private GnuCashFile gcshFile = null;
+	private PriceConversionGraph graph = null;
+
+	// -----------------------------------------------------------------
+
+	public static void main(String[] args) throws Exception {
+		junit.textui.TestRunner.run(suite());
+	}
+
+	@SuppressWarnings("exports")
+	public static junit.framework.Test suite() {
+		return new JUnit4TestAdapter(TestPriceConversionGraph.class);
+	}
+
+	@Before
+	public void initialize() throws Exception {
+		ClassLoader classLoader = getClass().getClassLoader();
+		// URL gcshFileURL = classLoader.getResource(Const.GCSH_FILENAME);
+		// System.err.println("GnuCash test file resource: '" + gcshFileURL + "'");
+		InputStream gcshFileStream = null;
+		try {
+			gcshFileStream = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME);
+		} catch (Exception exc) {
+			System.err.println("Cannot generate input stream from resource");
+			return;
+		}
+
+		try {
+			gcshFile = new GnuCashFileImpl(gcshFileStream);
+		} catch (Exception exc) {
+			System.err.println("Cannot parse GnuCash file");
+			exc.printStackTrace();
+		}
+
+		// ---
+
+		graph = new PriceConversionGraph(EUR);
+		// sic, not in order
+		graph.addQuote(CMDTY_A, EUR, LocalDate.of(2024, 2, 1), new FixedPointNumber("3.0"));
+		graph.addQuote(CMDTY_A, EUR, LocalDate.of(2024, 1, 1), new FixedPointNumber("2.0"));
+		graph.addQuote(USD, EUR, LocalDate.of(2024, 1, 15), new FixedPointNumber("0.5"));
+		graph.addQuote(CMDTY_B, USD, LocalDate.of(2024, 1, 10), new FixedPointNumber("10"));
+		graph.addQuote(CMDTY_D, CMDTY_C, LocalDate.of(2024, 1, 1), new FixedPointNumber("4"));
+	}
+
+	// -----------------------------------------------------------------
+
+	@Test
+	public void test01_1() throws Exception {
+		assertEquals(4, graph.getNofEdges());
+		assertEquals(5, graph.getNofBuckets()); // 4 distinct dates
+
+		FixedPointNumber one = new FixedPointNumber(1);
+
+		assertEquals(2.0, graph.convert(one, CMDTY_A, EUR, LocalDate.of(2024, 1, 20)).doubleValue(), ConstTest.DIFF_TOLERANCE);
+		assertEquals(3.0, graph.convert(one, CMDTY_A, EUR, LocalDate.of(2024, 2, 1)).doubleValue(), ConstTest.DIFF_TOLERANCE);
+		assertEquals(3.0, graph.convert(one, CMDTY_A, EUR, null).doubleValue(), ConstTest.DIFF_TOLERANCE);
+		// before the first quote: earliest one
+		assertEquals(2.0, graph.convert(one, CMDTY_A, EUR, LocalDate.of(2023, 12, 1)).doubleValue(), ConstTest.DIFF_TOLERANCE);
+
+		// inverse direction
+		assertEquals(0.5, graph.convert(one, EUR, CMDTY_A, LocalDate.of(2024, 1, 20)).doubleValue(), ConstTest.DIFF_TOLERANCE);
+
+		// amount is not changed
+		assertEquals(1.0, one.doubleValue(), ConstTest.DIFF_TOLERANCE);
+	}
+
+	@Test
+	public void test01_2() throws Exception {
+		FixedPointNumber one = new FixedPointNumber(1);
+
+		// triangulated: B -> USD -> EUR <- A
+		assertEquals(2.5, graph.convert(one, CMDTY_B, CMDTY_A, LocalDate.of(2024, 1, 20)).doubleValue(), ConstTest.DIFF_TOLERANCE);
+		assertEquals(5.0 / 3.0, graph.convert(one, CMDTY_B, CMDTY_A, null).doubleValue(), ConstTest.DIFF_TOLERANCE);
+
+		// not connected to the base currency
+		assertEquals(32.0, graph.convert(new FixedPointNumber(8), CMDTY_D, CMDTY_C, null).doubleValue(), ConstTest.DIFF_TOLERANCE);
+		assertEquals(0.25, graph.getConversionFactor(CMDTY_C, CMDTY_D, null).doubleValue(), ConstTest.DIFF_TOLERANCE);
+
+		// no path at all
+		assertEquals(null, graph.convert(one, CMDTY_A, CMDTY_C, null));
+		assertEquals(null, graph.convert(one, CMDTY_A, new GCshCurrID("CHF"), null));
+	}
+
+	@Test
+	public void test02_1() throws Exception {
+		assertNotEquals(null, gcshFile);
+
+		GCshCmdtyCurrID sap = new GCshCmdtyID_Exchange(GCshCmdtyCurrNameSpace.Exchange.EURONEXT, "SAP");
+
+		// direct
+		assertEquals(14500.0, gcshFile.convertAsOf(new FixedPointNumber(100), sap, EUR, null).doubleValue(),
+				ConstTest.DIFF_TOLERANCE);
+		assertEquals(12500.0, gcshFile.convertAsOf(new FixedPointNumber(100), sap, EUR, LocalDate.of(2023, 7, 19)).doubleValue(),
+				ConstTest.DIFF_TOLERANCE);
+
+		// triangulated via EUR (1 USD = 100/93 EUR)
+		assertEquals(13485.0, gcshFile.convertAsOf(new FixedPointNumber(100), sap, USD, null).doubleValue(),
+				ConstTest.DIFF_TOLERANCE);
+		assertEquals(11625.0, gcshFile.convertAsOf(new FixedPointNumber(100), sap, USD, LocalDate.of(2023, 7, 19)).doubleValue(),
+				ConstTest.DIFF_TOLERANCE);
+	}
+}
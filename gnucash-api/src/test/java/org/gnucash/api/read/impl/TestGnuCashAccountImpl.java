@@ -2,19 +2,26 @@ package org.gnucash.api.read.impl;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 
 import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.gnucash.api.ConstTest;
 import org.gnucash.api.read.GnuCashAccount;
 import org.gnucash.api.read.GnuCashFile;
 import org.gnucash.api.read.GnuCashTransaction;
+import org.gnucash.api.read.GnuCashTransactionSplit;
 import org.gnucash.base.basetypes.simple.GCshID;
 import org.junit.Before;
 import org.junit.Test;
 
 import junit.framework.JUnit4TestAdapter;
+import xyz.schnorxoborx.base.numbers.FixedPointNumber;
 
 public class TestGnuCashAccountImpl {
     public static final GCshID ROOT_ACCT_ID = new GCshID("14305dc80e034834b3f531696d81b493"); // Root Account
@@ -235,4 +242,102 @@ public class TestGnuCashAccountImpl {
     	assertEquals(2, acct.getTransactions().size());
     	assertEquals("cc9fe6a245df45ba9b494660732a7755", acct.getTransactions().get(0).getID().toString());
     }
+
+    // -----------------------------------------------------------------
+
+    @Test
+    public void test02_1() throws Exception {
+    	acct = gcshFile.getAccountByID(ACCT_1_ID);
+    	assertNotEquals(null, acct);
+
+    	List<GnuCashTransactionSplit> spltList = acct.getTransactionSplits();
+    	assertEquals(9, spltList.size());
+    	for ( GnuCashTransactionSplit splt : spltList ) {
+    		assertSame(splt, acct.getTransactionSplitByID(splt.getID()));
+    	}
+
+    	assertEquals(null, acct.getTransactionSplitByID(new GCshID("00000000000000000000000000000000")));
+    }
+
+    @Test
+    public void test02_2() throws Exception {
+    	acct = gcshFile.getAccountByID(ACCT_1_ID);
+    	assertNotEquals(null, acct);
+
+    	// Compare binary search with brute force
+    	for ( GnuCashTransactionSplit refSplt : acct.getTransactionSplits() ) {
+    		for ( int offset = -1; offset <= 1; offset++ ) {
+    			LocalDate date = refSplt.getTransaction().getDatePosted().toLocalDate().plusDays(offset);
+    			assertSame(getLastSplitBefore_bruteForce(acct, date), acct.getLastSplitBeforeRecursive(date));
+    		}
+    	}
+
+    	assertSame(getLastSplitBefore_bruteForce(acct, null), acct.getLastSplitBeforeRecursive(null));
+    	assertEquals(null, acct.getLastSplitBeforeRecursive(LocalDate.of(1900, 1, 1)));
+    }
+
+    @Test
+    public void test02_3() throws Exception {
+    	acct = gcshFile.getAccountByID(ACCT_1_ID);
+    	assertNotEquals(null, acct);
+
+    	// Compare running balances with brute force
+    	FixedPointNumber bal = new FixedPointNumber();
+    	for ( GnuCashTransactionSplit refSplt : acct.getTransactionSplits() ) {
+    		bal.add(refSplt.getQuantity());
+    		assertEquals(bal, acct.getBalance(refSplt));
+
+    		for ( int offset = -1; offset <= 1; offset++ ) {
+    			LocalDate date = refSplt.getTransaction().getDatePosted().toLocalDate().plusDays(offset);
+    			List<GnuCashTransactionSplit> after = new ArrayList<GnuCashTransactionSplit>();
+    			assertEquals(getBalance_bruteForce(acct, date), acct.getBalance(date, after));
+    			assertEquals(acct.getTransactionSplits().size() - after.size(), 
+    					     getNofSplitsUpTo_bruteForce(acct, date));
+    		}
+    	}
+
+    	assertEquals(bal, acct.getBalance((LocalDate) null));
+    	assertEquals(new FixedPointNumber(), acct.getBalance(LocalDate.of(1900, 1, 1)));
+    }
+
+    private static GnuCashTransactionSplit getLastSplitBefore_bruteForce(final GnuCashAccount acct, final LocalDate date) {
+    	GnuCashTransactionSplit result = null;
+
+    	for ( GnuCashTransactionSplit splt : acct.getTransactionSplits() ) {
+    		ZonedDateTime datePosted = splt.getTransaction().getDatePosted();
+    		if ( date == null ||
+    			 datePosted.isBefore(date.atStartOfDay(ZoneId.systemDefault())) ) {
+    			if ( result == null ||
+    				 datePosted.isAfter(result.getTransaction().getDatePosted()) ) {
+    				result = splt;
+    			}
+    		}
+    	}
+
+    	return result;
+    }
+
+    private static FixedPointNumber getBalance_bruteForce(final GnuCashAccount acct, final LocalDate date) {
+    	FixedPointNumber result = new FixedPointNumber();
+
+    	for ( GnuCashTransactionSplit splt : acct.getTransactionSplits() ) {
+    		if ( ! splt.getTransaction().getDatePosted().isAfter(date.atStartOfDay(ZoneId.systemDefault())) ) {
+    			result.add(splt.getQuantity());
+    		}
+    	}
+
+    	return result;
+    }
+
+    private static int getNofSplitsUpTo_bruteForce(final GnuCashAccount acct, final LocalDate date) {
+    	int result = 0;
+
+    	for ( GnuCashTransactionSplit splt : acct.getTransactionSplits() ) {
+    		if ( ! splt.getTransaction().getDatePosted().isAfter(date.atStartOfDay(ZoneId.systemDefault())) ) {
+    			result++;
+    		}
+    	}
+
+    	return result;
+    }
 }
@@ -3,20 +3,40 @@ package org.gnucash.api.read.impl;
 import static org.junit.Assert.assertEquals;
 
 import java.io.InputStream;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.gnucash.api.ConstTest;
+import org.gnucash.api.read.GnuCashAccount;
+import org.gnucash.api.read.GnuCashCommodity;
+import org.gnucash.api.read.GnuCashCustomer;
+import org.gnucash.api.read.GnuCashEmployee;
+import org.gnucash.api.read.GnuCashFile;
+import org.gnucash.api.read.GnuCashGenerInvoice;
+import org.gnucash.api.read.GnuCashGenerInvoiceEntry;
+import org.gnucash.api.read.GnuCashGenerJob;
+import org.gnucash.api.read.GnuCashTransaction;
+import org.gnucash.api.read.GnuCashTransactionSplit;
+import org.gnucash.api.read.GnuCashVendor;
 import org.gnucash.api.read.impl.aux.GCshFileStats;
 import org.junit.Before;
 import org.junit.Test;
 
+import jakarta.xml.bind.Marshaller;
 import junit.framework.JUnit4TestAdapter;
 
 public class TestGnuCashFileImpl {
 	private GnuCashFileImpl gcshFile  = null;
 	private GnuCashFileImpl gcshFile2 = null;
+	private GnuCashFileImpl gcshFile3 = null;
+	private GnuCashFileImpl gcshFile4 = null;
 
 	private GCshFileStats gcshFileStats  = null;
 	private GCshFileStats gcshFileStats2 = null;
+	private GCshFileStats gcshFileStats3 = null;
+	private GCshFileStats gcshFileStats4 = null;
 
 	// -----------------------------------------------------------------
 
@@ -36,9 +56,13 @@ public class TestGnuCashFileImpl {
 		// System.err.println("GnuCash test file resource: '" + gcshFileURL + "'");
 		InputStream gcshFileStream = null;
 		InputStream gcshFileStream2 = null;
+		InputStream gcshFileStream3 = null;
+		InputStream gcshFileStream4 = null;
 		try {
 			gcshFileStream = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME);
 			gcshFileStream2 = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME);
+			gcshFileStream3 = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME);
+			gcshFileStream4 = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME);
 		} catch (Exception exc) {
 			System.err.println("Cannot generate input stream from resource");
 			return;
@@ -47,6 +71,8 @@ public class TestGnuCashFileImpl {
 		try {
 			gcshFile = new GnuCashFileImpl(gcshFileStream);
 			gcshFile2 = new GnuCashFileImpl(gcshFileStream2);
+			gcshFile3 = new GnuCashFileImpl(gcshFileStream3, GnuCashFile.LoadMode.STAX);
+			gcshFile4 = new GnuCashFileImpl(gcshFileStream4, GnuCashFile.LoadMode.JAXB, true);
 		} catch (Exception exc) {
 			System.err.println("Cannot parse GnuCash file");
 			exc.printStackTrace();
@@ -54,6 +80,8 @@ public class TestGnuCashFileImpl {
 
 		gcshFileStats = new GCshFileStats(gcshFile);
 		gcshFileStats2 = new GCshFileStats(gcshFile2);
+		gcshFileStats3 = new GCshFileStats(gcshFile3);
+		gcshFileStats4 = new GCshFileStats(gcshFile4);
 	}
 
 	// -----------------------------------------------------------------
@@ -226,4 +254,233 @@ public class TestGnuCashFileImpl {
 		assertEquals(gcshFile.getBillTerms().toString(), gcshFile2.getBillTerms().toString());
 	}
 
+	// ---------------------------------------------------------------
+	// StAX-loaded file has to be indistinguishable from JAXB-loaded one
+
+	@Test
+	public void test25() throws Exception {
+		assertEquals(GnuCashFile.LoadMode.STAX, gcshFile3.getLoadMode());
+		assertEquals(gcshFile.toString(), gcshFile3.toString());
+		assertEquals(true, gcshFileStats3.equals(gcshFileStats));
+		assertEquals(gcshFile.getDefaultCurrencyID(), gcshFile3.getDefaultCurrencyID());
+		assertEquals(gcshFile.getUserDefinedAttributeKeys(), gcshFile3.getUserDefinedAttributeKeys());
+		assertEquals(marshal(gcshFile), marshal(gcshFile3));
+	}
+
+	@Test
+	public void test26() throws Exception {
+		assertEquals(gcshFile.getAccounts().toString(), gcshFile3.getAccounts().toString());
+		assertEquals(gcshFile.getTransactions().toString(), gcshFile3.getTransactions().toString());
+		assertEquals(gcshFile.getTransactionSplits().toString(), gcshFile3.getTransactionSplits().toString());
+		assertEquals(gcshFile.getGenerInvoices().toString(), gcshFile3.getGenerInvoices().toString());
+		assertEquals(gcshFile.getGenerInvoiceEntries().toString(), gcshFile3.getGenerInvoiceEntries().toString());
+		assertEquals(gcshFile.getCustomers().toString(), gcshFile3.getCustomers().toString());
+		assertEquals(gcshFile.getVendors().toString(), gcshFile3.getVendors().toString());
+		assertEquals(gcshFile.getEmployees().toString(), gcshFile3.getEmployees().toString());
+		assertEquals(gcshFile.getGenerJobs().toString(), gcshFile3.getGenerJobs().toString());
+		assertEquals(gcshFile.getCommodities().toString(), gcshFile3.getCommodities().toString());
+		assertEquals(gcshFile.getPrices().toString(), gcshFile3.getPrices().toString());
+		assertEquals(gcshFile.getTaxTables().toString(), gcshFile3.getTaxTables().toString());
+		assertEquals(gcshFile.getBillTerms().toString(), gcshFile3.getBillTerms().toString());
+	}
+
+	// ---------------------------------------------------------------
+	// Same for parallel initialization of the entity managers
+
+	@Test
+	public void test27() throws Exception {
+		assertEquals(true, gcshFile4.isParallelInit());
+		assertEquals(gcshFile.toString(), gcshFile4.toString());
+		assertEquals(true, gcshFileStats4.equals(gcshFileStats));
+	}
+
+	@Test
+	public void test28() throws Exception {
+		assertEquals(gcshFile.getAccounts().toString(), gcshFile4.getAccounts().toString());
+		assertEquals(gcshFile.getTransactions().toString(), gcshFile4.getTransactions().toString());
+		assertEquals(gcshFile.getTransactionSplits().toString(), gcshFile4.getTransactionSplits().toString());
+		assertEquals(gcshFile.getGenerInvoices().toString(), gcshFile4.getGenerInvoices().toString());
+		assertEquals(gcshFile.getGenerInvoiceEntries().toString(), gcshFile4.getGenerInvoiceEntries().toString());
+		assertEquals(gcshFile.getCustomers().toString(), gcshFile4.getCustomers().toString());
+		assertEquals(gcshFile.getVendors().toString(), gcshFile4.getVendors().toString());
+		assertEquals(gcshFile.getEmployees().toString(), gcshFile4.getEmployees().toString());
+		assertEquals(gcshFile.getGenerJobs().toString(), gcshFile4.getGenerJobs().toString());
+		assertEquals(gcshFile.getCommodities().toString(), gcshFile4.getCommodities().toString());
+		assertEquals(gcshFile.getPrices().toString(), gcshFile4.getPrices().toString());
+		assertEquals(gcshFile.getTaxTables().toString(), gcshFile4.getTaxTables().toString());
+		assertEquals(gcshFile.getBillTerms().toString(), gcshFile4.getBillTerms().toString());
+		for ( GnuCashAccount acct : gcshFile.getAccounts() ) {
+			assertEquals(acct.getBalance(), gcshFile4.getAccountByID(acct.getID()).getBalance());
+			assertEquals(acct.getTransactionSplits().size(), 
+						 gcshFile4.getAccountByID(acct.getID()).getTransactionSplits().size());
+		}
+	}
+
+	@Test
+	public void test29() throws Exception {
+		LocalDate[][] ranges = {
+			{ LocalDate.of(1970, 1, 1), LocalDate.of(2100, 1, 1) },
+			{ LocalDate.of(2023, 7, 1), LocalDate.of(2023, 7, 31) },
+			{ LocalDate.of(2023, 8, 1), LocalDate.of(2023, 8, 1) },
+			{ LocalDate.of(2024, 1, 1), LocalDate.of(2023, 1, 1) }, // empty
+		};
+
+		for ( LocalDate[] range : ranges ) {
+			List<GnuCashTransaction> expected = new ArrayList<GnuCashTransaction>();
+			for ( GnuCashTransaction trx : gcshFile.getTransactions() ) {
+				if ( isWithin(trx, range[0], range[1]) ) {
+					expected.add(trx);
+				}
+			}
+			List<GnuCashTransaction> actual = new ArrayList<GnuCashTransaction>(gcshFile.getTransactions(range[0], range[1]));
+			assertEquals(expected.size(), actual.size());
+			assertEquals(true, actual.containsAll(expected));
+			for ( int i = 1; i < actual.size(); i++ ) {
+				assertEquals(false, actual.get(i).getDatePosted().toLocalDate().isBefore(actual.get(i - 1).getDatePosted().toLocalDate()));
+			}
+
+			for ( GnuCashAccount acct : gcshFile.getAccounts() ) {
+				List<GnuCashTransaction> expectedAcct = new ArrayList<GnuCashTransaction>();
+				for ( GnuCashTransaction trx : acct.getTransactions() ) {
+					if ( isWithin(trx, range[0], range[1]) ) {
+						expectedAcct.add(trx);
+					}
+				}
+				assertEquals(expectedAcct, acct.getTransactions(range[0], range[1]));
+			}
+		}
+
+		assertEquals(gcshFile.getTransactions().size(), 
+					 gcshFile.getTransactions(LocalDate.of(1970, 1, 1), LocalDate.of(2100, 1, 1)).size());
+	}
+
+	@Test
+	public void test30() throws Exception {
+		String[] exprs = { "dividend", "GmbH", "r", "", "no such text" };
+
+		for ( String expr : exprs ) {
+			String exprLC = expr.toLowerCase();
+
+			int cnt = 0;
+			for ( GnuCashTransaction trx : gcshFile.getTransactions() ) {
+				if ( trx.getDescription().toLowerCase().contains(exprLC) ) {
+					cnt++;
+				}
+			}
+			assertEquals(cnt, gcshFile.getTransactionsByDescription(expr).size());
+
+			cnt = 0;
+			for ( GnuCashTransactionSplit splt : gcshFile.getTransactionSplits() ) {
+				if ( splt.getDescription().toLowerCase().contains(exprLC) ) {
+					cnt++;
+				}
+			}
+			assertEquals(cnt, gcshFile.getTransactionSplitsByDescription(expr).size());
+
+			cnt = 0;
+			for ( GnuCashGenerInvoice invc : gcshFile.getGenerInvoices() ) {
+				if ( invc.getDescription() != null &&
+					 invc.getDescription().toLowerCase().contains(exprLC) ) {
+					cnt++;
+				}
+			}
+			assertEquals(cnt, gcshFile.getGenerInvoicesByDescription(expr).size());
+
+			cnt = 0;
+			for ( GnuCashGenerInvoiceEntry entr : gcshFile.getGenerInvoiceEntries() ) {
+				if ( entr.getDescription().toLowerCase().contains(exprLC) ) {
+					cnt++;
+				}
+			}
+			assertEquals(cnt, gcshFile.getGenerInvoiceEntriesByDescription(expr).size());
+		}
+
+		assertEquals(true, gcshFile.getTransactionsByDescription("dividend").size() > 0);
+	}
+
+	@Test
+	public void test31() throws Exception {
+		String[] exprs = { "Unfug", "unfug", "AG", "Gmbh", "e", "no such name" };
+
+		for ( String expr : exprs ) {
+			for ( boolean relaxed : new boolean[] { false, true } ) {
+				int cnt = 0;
+				for ( GnuCashAccount acct : gcshFile.getAccounts() ) {
+					if ( matches(acct.getName(), expr, relaxed) ) {
+						cnt++;
+					}
+				}
+				assertEquals(cnt, gcshFile.getAccountsByName(expr, false, relaxed).size());
+
+				cnt = 0;
+				for ( GnuCashCustomer cust : gcshFile.getCustomers() ) {
+					if ( matches(cust.getName(), expr, relaxed) ) {
+						cnt++;
+					}
+				}
+				assertEquals(cnt, gcshFile.getCustomersByName(expr, relaxed).size());
+
+				cnt = 0;
+				for ( GnuCashVendor vend : gcshFile.getVendors() ) {
+					if ( matches(vend.getName(), expr, relaxed) ) {
+						cnt++;
+					}
+				}
+				assertEquals(cnt, gcshFile.getVendorsByName(expr, relaxed).size());
+
+				cnt = 0;
+				for ( GnuCashEmployee empl : gcshFile.getEmployees() ) {
+					if ( matches(empl.getUserName(), expr, relaxed) ) {
+						cnt++;
+					}
+				}
+				assertEquals(cnt, gcshFile.getEmployeesByUserName(expr, relaxed).size());
+
+				cnt = 0;
+				for ( GnuCashGenerJob job : gcshFile.getGenerJobs() ) {
+					if ( matches(job.getName(), expr, relaxed) ) {
+						cnt++;
+					}
+				}
+				assertEquals(cnt, gcshFile.getGenerJobsByName(expr, relaxed).size());
+
+				cnt = 0;
+				for ( GnuCashCommodity cmdty : gcshFile.getCommodities() ) {
+					if ( matches(cmdty.getName(), expr, relaxed) ) {
+						cnt++;
+					}
+				}
+				assertEquals(cnt, gcshFile.getCommoditiesByName(expr, relaxed).size());
+			}
+		}
+
+		assertEquals(true, gcshFile.getCustomersByName("unfug", true).size() > 0);
+	}
+
+	// -----------------------------------------------------------------
+
+	private static boolean matches(final String name, final String expr, final boolean relaxed) {
+		if ( name == null ) {
+			return false;
+		}
+
+		if ( relaxed ) {
+			return name.trim().toLowerCase().contains(expr.trim().toLowerCase());
+		} else {
+			return name.equals(expr);
+		}
+	}
+
+	private static boolean isWithin(final GnuCashTransaction trx, final LocalDate fromDate, final LocalDate toDate) {
+		LocalDate date = trx.getDatePosted().toLocalDate();
+		return ! date.isBefore(fromDate) && ! date.isAfter(toDate);
+	}
+
+	private static String marshal(final GnuCashFileImpl file) throws Exception {
+		StringWriter out = new StringWriter();
+		Marshaller marsh = file.getJAXBContext().createMarshaller();
+		marsh.marshal(file.getRootElement(), out);
+		return out.toString();
+	}
+
 }
@@ -273,4 +273,24 @@ public class TestGnuCashGenerInvoiceImpl {
 		assertNotEquals(null, invc);
 		assertEquals("https://my.customer.invoice.link.01", invc.getURL());
 	}
+
+	// -----------------------------------------------------------------
+
+	@Test
+	public void test07_1() throws Exception {
+		// Every posted invoice can be found via its lot,
+		// unposted ones have none
+		for ( GnuCashGenerInvoice invc : gcshFile.getGenerInvoices() ) {
+			GCshID lotID = invc.getLotID();
+			if ( lotID == null ) {
+				continue;
+			}
+
+			List<GnuCashGenerInvoice> invcList = gcshFile.getGenerInvoicesByLotID(lotID);
+			assertEquals(1, invcList.size());
+			assertEquals(invc.getID(), invcList.get(0).getID());
+		}
+
+		assertEquals(0, gcshFile.getGenerInvoicesByLotID(new GCshID("00000000000000000000000000000000")).size());
+	}
 }
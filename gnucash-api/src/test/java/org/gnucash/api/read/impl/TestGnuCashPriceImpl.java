@@ -266,6 +266,38 @@ public class TestGnuCashPriceImpl {
 		}
 	}
 
+	@Test
+	public void test03_1() throws Exception {
+		GCshCmdtyID cmdtyID = new GCshCmdtyID("EURONEXT", "SAP");
+
+		assertEquals(145.0, gcshFile.getLatestPrice(cmdtyID).doubleValue(), ConstTest.DIFF_TOLERANCE);
+
+		assertEquals(145.0, gcshFile.getPriceAsOf(cmdtyID, LocalDate.of(2023, 7, 20)).doubleValue(),
+				ConstTest.DIFF_TOLERANCE);
+		assertEquals(125.0, gcshFile.getPriceAsOf(cmdtyID, LocalDate.of(2023, 7, 19)).doubleValue(),
+				ConstTest.DIFF_TOLERANCE);
+		assertEquals(51390000.0, gcshFile.getPriceAsOf(cmdtyID, LocalDate.of(2023, 1, 1)).doubleValue(),
+				ConstTest.DIFF_TOLERANCE);
+		assertEquals(51080000.0, gcshFile.getPriceAsOf(cmdtyID, LocalDate.of(2012, 3, 1)).doubleValue(),
+				ConstTest.DIFF_TOLERANCE);
+		assertEquals(null, gcshFile.getPriceAsOf(cmdtyID, LocalDate.of(2012, 2, 29)));
+	}
+
+	@Test
+	public void test03_2() throws Exception {
+		GCshCmdtyID cmdtyID = new GCshCmdtyID("EURONEXT", "MBG");
+
+		assertEquals(11.265, gcshFile.getLatestPrice(cmdtyID).doubleValue(), ConstTest.DIFF_TOLERANCE);
+		assertEquals(22.53, gcshFile.getPriceAsOf(cmdtyID, LocalDate.of(2024, 5, 31)).doubleValue(),
+				ConstTest.DIFF_TOLERANCE);
+
+		// youngest first
+		List<GnuCashPrice> prcList = gcshFile.getPricesByCmdtyID(cmdtyID);
+		assertEquals(2, prcList.size());
+		assertEquals(LocalDate.of(2024, 6, 1), prcList.get(0).getDate());
+		assertEquals(PRC_1_ID, prcList.get(1).getID());
+	}
+
 	// ::TODO
 	/*
 	 * @Test public void test02_2_2() throws Exception { taxTab =
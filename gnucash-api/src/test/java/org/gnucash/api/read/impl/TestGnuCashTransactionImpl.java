@@ -2,13 +2,17 @@ package org.gnucash.api.read.impl;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 
 import java.io.InputStream;
 
 import org.gnucash.api.ConstTest;
 import org.gnucash.base.basetypes.simple.GCshID;
+import org.gnucash.api.read.GnuCashAccount;
 import org.gnucash.api.read.GnuCashFile;
+import org.gnucash.api.read.GnuCashGenerInvoice;
 import org.gnucash.api.read.GnuCashTransaction;
+import org.gnucash.api.read.GnuCashTransactionSplit;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -19,6 +23,8 @@ public class TestGnuCashTransactionImpl {
 	public static final GCshID TRX_2_ID = new GCshID("c97032ba41684b2bb5d1391c9d7547e9");
 	public static final GCshID TRX_3_ID = new GCshID("d465b802d5c940c9bba04b87b63ba23f");
 
+	public static final GCshID INVC_1_ID = new GCshID("d9967c10fdf1465e9394a3e4b1e7bd79");
+
 	// -----------------------------------------------------------------
 
 	private GnuCashFile gcshFile = null;
@@ -97,4 +103,51 @@ public class TestGnuCashTransactionImpl {
 		assertNotEquals(null, trx);
 		assertEquals("https://my.transaction.link.01", trx.getURL());
 	}
+
+	@Test
+	public void test04() throws Exception {
+		GnuCashTransactionImpl trxImpl = (GnuCashTransactionImpl) gcshFile.getTransactionByID(TRX_1_ID);
+		assertEquals(0, trxImpl.getInvoiceIDs().size());
+		assertEquals(0, trxImpl.getInvoices().size());
+
+		// posting transaction of an invoice
+		trxImpl = (GnuCashTransactionImpl) gcshFile.getTransactionByID(TRX_2_ID);
+		assertEquals(1, trxImpl.getInvoiceIDs().size());
+		assertEquals(INVC_1_ID, trxImpl.getInvoiceIDs().get(0));
+		assertEquals(1, trxImpl.getInvoices().size());
+		assertSame(gcshFile.getGenerInvoiceByID(INVC_1_ID), trxImpl.getInvoices().get(0));
+
+		// direct references
+		for ( GnuCashTransactionSplit splt : trxImpl.getSplits() ) {
+			assertSame(gcshFile.getAccountByID(splt.getAccountID()), splt.getAccount());
+			assertSame(splt.getAccount(), splt.getAccount());
+		}
+	}
+
+	@Test
+	public void test05() throws Exception {
+		GnuCashFileImpl gcshFileImpl = (GnuCashFileImpl) gcshFile;
+		GnuCashTransactionImpl trxImpl = (GnuCashTransactionImpl) gcshFile.getTransactionByID(TRX_2_ID);
+		GnuCashTransactionSplit splt = trxImpl.getSplits().get(0);
+		GnuCashAccount acct = splt.getAccount();
+		GnuCashGenerInvoice invc = trxImpl.getInvoices().get(0);
+
+		// direct references after the objects have been replaced
+		// in the managers
+		GnuCashAccountImpl acctNew = new GnuCashAccountImpl(((GnuCashAccountImpl) acct).getJwsdpPeer(), gcshFile);
+		gcshFileImpl.getAcctMgr().addAccount(acctNew);
+		GnuCashGenerInvoiceImpl invcNew = new GnuCashGenerInvoiceImpl(invc);
+		gcshFileImpl.getInvcMgr().addGenerInvoice(invcNew);
+
+		assertSame(acctNew, splt.getAccount());
+		assertEquals(1, trxImpl.getInvoices().size());
+		assertSame(invcNew, trxImpl.getInvoices().get(0));
+
+		// ... and after they have been removed
+		gcshFileImpl.getAcctMgr().removeAccount(acctNew);
+		gcshFileImpl.getInvcMgr().removeGenerInvoice(invcNew);
+
+		assertEquals(null, splt.getAccount());
+		assertEquals(0, trxImpl.getInvoices().size());
+	}
 }
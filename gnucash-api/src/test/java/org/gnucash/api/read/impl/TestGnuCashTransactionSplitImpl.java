@@ -1,6 +1,7 @@
 package org.gnucash.api.read.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import java.io.InputStream;
 import java.util.Locale;
@@ -12,6 +13,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import junit.framework.JUnit4TestAdapter;
+import xyz.schnorxoborx.base.numbers.FixedPointNumber;
 
 public class TestGnuCashTransactionSplitImpl {
 	private GnuCashFile gcshFile = null;
@@ -62,6 +64,22 @@ public class TestGnuCashTransactionSplitImpl {
 		assertEquals("Facture fournisseur", GnuCashTransactionSplit.Action.BILL.getLocaleString(Locale.FRENCH));
 	}
 
+	@Test
+	public void test03_2() throws Exception {
+		for ( GnuCashTransactionSplit splt : gcshFile.getTransactionSplits() ) {
+			// The decoded values are cached, but handed out as copies
+			double val = splt.getValue().doubleValue();
+			splt.getValue().add(new FixedPointNumber(1000));
+			assertEquals(val, splt.getValue().doubleValue(), ConstTest.DIFF_TOLERANCE);
+
+			double qty = splt.getQuantity().doubleValue();
+			splt.getQuantity().negate().add(new FixedPointNumber(1));
+			assertEquals(qty, splt.getQuantity().doubleValue(), ConstTest.DIFF_TOLERANCE);
+
+			assertSame(splt.getAction(), splt.getAction());
+		}
+	}
+
 	// redundant:
 	//  @Test
 	//  public void test04() throws Exception
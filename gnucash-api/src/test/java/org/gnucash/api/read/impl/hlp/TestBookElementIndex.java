@@ -0,0 +1,97 @@
+package org.gnucash.api.read.impl.hlp;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.gnucash.api.generated.GncAccount;
+import org.gnucash.api.generated.GncBook;
+import org.gnucash.api.generated.GncCommodity;
+import org.gnucash.api.generated.GncGncCustomer;
+import org.gnucash.api.generated.GncTransaction;
+import org.gnucash.api.generated.ObjectFactory;
+import org.junit.Test;
+
+import junit.framework.JUnit4TestAdapter;
+
+public class TestBookElementIndex {
+
+	private static final ObjectFactory FACTORY = new ObjectFactory();
+
+	// -----------------------------------------------------------------
+
+	public static void main(String[] args) throws Exception {
+		junit.textui.TestRunner.run(suite());
+	}
+
+	@SuppressWarnings("exports")
+	public static junit.framework.Test suite() {
+		return new JUnit4TestAdapter(TestBookElementIndex.class);
+	}
+
+	// -----------------------------------------------------------------
+
+	@Test
+	public void test01_1() throws Exception {
+		GncCommodity   cmdty = FACTORY.createGncCommodity();
+		GncAccount     acct1 = FACTORY.createGncAccount();
+		GncAccount     acct2 = FACTORY.createGncAccount();
+		GncTransaction trx   = FACTORY.createGncTransaction();
+		GncGncCustomer cust  = FACTORY.createGncGncCustomer();
+
+		GncBook book = FACTORY.createGncBook();
+		book.getBookElements().addAll(Arrays.asList(cmdty, acct1, trx));
+
+		BookElementIndex idx = new BookElementIndex(book);
+		assertEquals(true, idx.isInCanonicalOrder());
+		assertEquals(3, idx.getNofElements());
+
+		// appended in canonical order
+		idx.add(cust);
+		assertEquals(true, idx.isInCanonicalOrder());
+		assertEquals(Arrays.asList(cmdty, acct1, trx, cust), book.getBookElements());
+
+		// appended out of canonical order
+		idx.add(acct2);
+		assertEquals(false, idx.isInCanonicalOrder());
+		assertEquals(2, idx.getAccounts().size());
+		assertEquals(1, idx.getCustomers().size());
+		assertEquals(Arrays.asList(cmdty, acct1, trx, cust, acct2), book.getBookElements());
+
+		assertEquals(Arrays.asList(cmdty, acct1, acct2, trx, cust), idx.getElementsInCanonicalOrder());
+
+		idx.sortBookElements();
+		assertEquals(true, idx.isInCanonicalOrder());
+		assertEquals(Arrays.asList(cmdty, acct1, acct2, trx, cust), book.getBookElements());
+
+		// removed
+		assertEquals(true, idx.remove(acct1));
+		assertEquals(false, idx.remove(acct1));
+		assertEquals(1, idx.getAccounts().size());
+		assertEquals(4, idx.getNofElements());
+		assertEquals(Arrays.asList(cmdty, acct2, trx, cust), book.getBookElements());
+		assertEquals(Arrays.asList(cmdty, acct2, trx, cust), idx.getElementsInCanonicalOrder());
+	}
+
+	@Test
+	public void test01_2() throws Exception {
+		GncBook book = FACTORY.createGncBook();
+		book.getBookElements().addAll(Arrays.asList(FACTORY.createGncTransaction(),
+				                                    FACTORY.createGncAccount()));
+
+		BookElementIndex idx = new BookElementIndex(book);
+		assertEquals(false, idx.isInCanonicalOrder());
+
+		// remove + add (same size as before): 
+		// book and index must still agree
+		GncAccount acct = idx.getAccounts().get(0);
+		GncGncCustomer cust = FACTORY.createGncGncCustomer();
+		idx.remove(acct);
+		idx.add(cust);
+		assertEquals(2, book.getBookElements().size());
+		assertEquals(0, idx.getAccounts().size());
+		assertEquals(Arrays.asList(cust), idx.getCustomers());
+		assertEquals(book.getBookElements().get(1), cust);
+	}
+
+}
@@ -0,0 +1,90 @@
+package org.gnucash.api.read.impl.hlp;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.gnucash.base.basetypes.simple.GCshID;
+import org.junit.Test;
+
+import junit.framework.JUnit4TestAdapter;
+
+public class TestFullTextIndex {
+
+	private static final GCshID ID_1 = new GCshID("00000000000000000000000000000001");
+	private static final GCshID ID_2 = new GCshID("00000000000000000000000000000002");
+	private static final GCshID ID_3 = new GCshID("00000000000000000000000000000003");
+
+	// -----------------------------------------------------------------
+
+	public static void main(String[] args) throws Exception {
+		junit.textui.TestRunner.run(suite());
+	}
+
+	@SuppressWarnings("exports")
+	public static junit.framework.Test suite() {
+		return new JUnit4TestAdapter(TestFullTextIndex.class);
+	}
+
+	// -----------------------------------------------------------------
+
+	@Test
+	public void test01_1() throws Exception {
+		FullTextIndex<GCshID, String> idx = new FullTextIndex<GCshID, String>();
+		idx.put(ID_1, "one", "Dividende Siemens AG");
+		idx.put(ID_2, "two", "Unfug und Quatsch GmbH");
+		idx.put(ID_3, "three", null); // not indexed
+		assertEquals(2, idx.size());
+
+		assertEquals(Arrays.asList("one"), idx.search("siemens"));
+		assertEquals(Arrays.asList("one"), idx.search("DEND"));
+		assertEquals(Arrays.asList("two"), idx.search("g und q"));
+		assertEquals(Arrays.asList("one", "two"), idx.search("g"));
+		assertEquals(Arrays.asList("one", "two"), idx.search(""));
+		assertEquals(0, idx.search("xyz").size());
+
+		// trigrams present, but not adjacent
+		assertEquals(0, idx.search("sie AG").size());
+	}
+
+	@Test
+	public void test01_2() throws Exception {
+		FullTextIndex<GCshID, String> idx = new FullTextIndex<GCshID, String>();
+		idx.put(ID_1, "one", "Dividende Siemens AG");
+		idx.put(ID_2, "two", "Unfug und Quatsch GmbH");
+
+		idx.put(ID_1, "one", "Dividende BASF SE");
+		assertEquals(2, idx.size());
+		assertEquals(0, idx.search("siemens").size());
+		assertEquals(Arrays.asList("one"), idx.search("basf"));
+
+		assertEquals(true, idx.remove(ID_2));
+		assertEquals(false, idx.remove(ID_2));
+		assertEquals(0, idx.search("quatsch").size());
+		assertEquals(1, idx.size());
+
+		// text changed to null
+		idx.put(ID_1, "one", null);
+		assertEquals(0, idx.size());
+		assertEquals(0, idx.search("").size());
+		assertEquals(0, idx.search("basf").size());
+	}
+
+	@Test
+	public void test02_1() throws Exception {
+		// enough changes to trigger compaction
+		FullTextIndex<GCshID, Integer> idx = new FullTextIndex<GCshID, Integer>();
+		for ( int i = 0; i < 5000; i++ ) {
+			idx.put(ID_1, i, "Entry no. " + i);
+			idx.put(ID_2, -i, "Other entry");
+		}
+
+		assertEquals(2, idx.size());
+		List<Integer> result = idx.search("entry");
+		assertEquals(Arrays.asList(4999, -4999), result);
+		assertEquals(Arrays.asList(4999), idx.search("no. 4999"));
+		assertEquals(0, idx.search("no. 4998").size());
+	}
+
+}
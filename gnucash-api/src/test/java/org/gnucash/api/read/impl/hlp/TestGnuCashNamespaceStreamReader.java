@@ -0,0 +1,67 @@
+package org.gnucash.api.read.impl.hlp;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringReader;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+
+import org.junit.Test;
+
+import junit.framework.JUnit4TestAdapter;
+
+public class TestGnuCashNamespaceStreamReader {
+
+	private static final String XML = "<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n"
+			+ "<gnc-v2\n"
+			+ "     xmlns:gnc=\"http://www.gnucash.org/XML/gnc\"\n"
+			+ "     xmlns:cd=\"http://www.gnucash.org/XML/cd\"\n"
+			+ "     xmlns:cmdty=\"http://www.gnucash.org/XML/cmdty\">\n"
+			+ "<gnc:count-data cd:type=\"book\">1</gnc:count-data>\n"
+			+ "<cmdty:quote_source>a:b &amp; c</cmdty:quote_source>\n"
+			+ "</gnc-v2>\n";
+
+	// -----------------------------------------------------------------
+
+	public static void main(String[] args) throws Exception {
+		junit.textui.TestRunner.run(suite());
+	}
+
+	@SuppressWarnings("exports")
+	public static junit.framework.Test suite() {
+		return new JUnit4TestAdapter(TestGnuCashNamespaceStreamReader.class);
+	}
+
+	// -----------------------------------------------------------------
+
+	@Test
+	public void test01() throws Exception {
+		XMLStreamReader xsr = GnuCashNamespaceStreamReader.create(new StringReader(XML));
+
+		xsr.nextTag();
+		assertEquals("gnc-v2", xsr.getLocalName());
+		assertEquals(0, xsr.getNamespaceCount());
+
+		xsr.nextTag();
+		assertEquals("gnc_count-data", xsr.getLocalName());
+		assertEquals("", xsr.getNamespaceURI());
+		assertEquals(1, xsr.getAttributeCount());
+		assertEquals("cd_type", xsr.getAttributeLocalName(0));
+		assertEquals("", xsr.getAttributeNamespace(0));
+		assertEquals("book", xsr.getAttributeValue(null, "cd_type"));
+		assertEquals("1", xsr.getElementText());
+
+		// text is not touched
+		xsr.nextTag();
+		assertEquals("cmdty_quote_source", xsr.getLocalName());
+		assertEquals("a:b & c", xsr.getElementText());
+
+		xsr.nextTag();
+		assertEquals(XMLStreamConstants.END_ELEMENT, xsr.getEventType());
+		assertEquals("gnc-v2", xsr.getLocalName());
+
+		xsr.close();
+	}
+
+}
@@ -4,14 +4,19 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 
 import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.Collection;
 
+import org.gnucash.api.Const;
 import org.gnucash.api.ConstTest;
 import org.gnucash.api.read.GnuCashAccount;
 import org.gnucash.api.read.GnuCashCommodity;
 import org.gnucash.api.read.GnuCashFile;
 import org.gnucash.api.read.GnuCashGenerInvoice;
 import org.gnucash.api.read.GnuCashTransaction;
+import org.gnucash.api.read.hlp.HasUserDefinedAttributes;
 import org.gnucash.api.read.impl.GnuCashFileImpl;
+import org.gnucash.api.read.impl.GnuCashTransactionImpl;
 import org.gnucash.base.basetypes.complex.GCshCmdtyCurrNameSpace;
 import org.gnucash.base.basetypes.complex.GCshCmdtyID_Exchange;
 import org.gnucash.base.basetypes.complex.GCshCmdtyID_SecIdType;
@@ -200,6 +205,44 @@ public class TestHasUserDefinedAttributesImpl {
 		assertEquals("2023-10-01", trx.getUserDefinedAttribute(ConstTest.SLOT_KEY_TRX_DATE_POSTED));
 	}
 
+	// Typed access
+	@Test
+	public void test_trx_04() throws Exception {
+		GnuCashTransactionImpl trx = (GnuCashTransactionImpl) gcshFile.getTransactionByID(TRX_3_ID);
+		assertNotEquals(null, trx);
+
+		SlotTree tree = trx.getUserDefinedAttributeTree();
+		assertNotEquals(null, tree);
+		assertEquals(Const.XML_DATA_TYPE_GDATE, tree.getType(ConstTest.SLOT_KEY_TRX_DATE_POSTED));
+		assertEquals(LocalDate.of(2023, 10, 1), tree.getDate(ConstTest.SLOT_KEY_TRX_DATE_POSTED));
+		assertEquals(null, tree.getDate(ConstTest.SLOT_KEY_ASSOC_URI));
+		assertEquals(null, tree.getNode("abc"));
+
+		// decoded only once
+		assertEquals(true, tree == trx.getUserDefinedAttributeTree());
+	}
+
+	// Reverse look-up
+	@Test
+	public void test_trx_05() throws Exception {
+		Collection<HasUserDefinedAttributes> objs = 
+				gcshFile.getObjectsByUserDefinedAttribute(ConstTest.SLOT_KEY_ASSOC_URI, "https://my.transaction.link.01");
+		assertEquals(1, objs.size());
+		assertEquals(TRX_3_ID, ((GnuCashTransaction) objs.iterator().next()).getID());
+
+		int cnt = 0;
+		for ( GnuCashTransaction trx : gcshFile.getTransactions() ) {
+			if ( "2023-07-01".equals(trx.getUserDefinedAttribute(ConstTest.SLOT_KEY_TRX_DATE_POSTED)) ) {
+				cnt++;
+			}
+		}
+		assertEquals(true, cnt > 0);
+		assertEquals(cnt, gcshFile.getObjectsByUserDefinedAttribute(ConstTest.SLOT_KEY_TRX_DATE_POSTED, "2023-07-01").size());
+
+		assertEquals(0, gcshFile.getObjectsByUserDefinedAttribute(ConstTest.SLOT_KEY_ASSOC_URI, "no such value").size());
+		assertEquals(0, gcshFile.getObjectsByUserDefinedAttribute("no such key", "").size());
+	}
+
 	// -----------------------------------------------------------------
 	// Transaction Split
 	// -----------------------------------------------------------------
@@ -0,0 +1,77 @@
+package org.gnucash.api.read.impl.hlp;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.gnucash.base.basetypes.simple.GCshID;
+import org.junit.Test;
+
+import junit.framework.JUnit4TestAdapter;
+
+public class TestNameIndex {
+
+	private static final GCshID ID_1 = new GCshID("00000000000000000000000000000001");
+	private static final GCshID ID_2 = new GCshID("00000000000000000000000000000002");
+	private static final GCshID ID_3 = new GCshID("00000000000000000000000000000003");
+
+	// -----------------------------------------------------------------
+
+	public static void main(String[] args) throws Exception {
+		junit.textui.TestRunner.run(suite());
+	}
+
+	@SuppressWarnings("exports")
+	public static junit.framework.Test suite() {
+		return new JUnit4TestAdapter(TestNameIndex.class);
+	}
+
+	// -----------------------------------------------------------------
+
+	@Test
+	public void test01_1() throws Exception {
+		NameIndex<GCshID, String> idx = new NameIndex<GCshID, String>();
+		idx.put(ID_1, "one", "Unfug und Quatsch GmbH");
+		idx.put(ID_2, "two", "Unfug und Quatsch GmbH");
+		idx.put(ID_3, "three", "Mega Corp");
+		assertEquals(3, idx.size());
+
+		// exact: case-sensitive
+		assertEquals(Arrays.asList("one", "two"), idx.getByName("Unfug und Quatsch GmbH"));
+		assertEquals(0, idx.getByName("unfug und quatsch gmbh").size());
+		assertEquals(0, idx.getByName("Unfug").size());
+
+		// relaxed: case-insensitive, substring
+		assertEquals(Arrays.asList("one", "two"), idx.getByNamePart("unfug"));
+		assertEquals(Arrays.asList("three"), idx.getByNamePart("CORP"));
+		assertEquals(Arrays.asList("three"), idx.getByNamePart("a c"));
+		assertEquals(0, idx.getByNamePart("xyz").size());
+	}
+
+	@Test
+	public void test01_2() throws Exception {
+		NameIndex<GCshID, String> idx = new NameIndex<GCshID, String>();
+		idx.put(ID_1, "one", "Unfug und Quatsch GmbH");
+		idx.put(ID_2, "two", "Unfug und Quatsch GmbH");
+
+		// renamed
+		idx.put(ID_1, "one", "Mega Corp");
+		assertEquals(2, idx.size());
+		assertEquals(Arrays.asList("two"), idx.getByName("Unfug und Quatsch GmbH"));
+		assertEquals(Arrays.asList("one"), idx.getByName("Mega Corp"));
+		assertEquals(Arrays.asList("two"), idx.getByNamePart("quatsch"));
+
+		// removed
+		assertEquals(true, idx.remove(ID_2));
+		assertEquals(false, idx.remove(ID_2));
+		assertEquals(1, idx.size());
+		assertEquals(0, idx.getByName("Unfug und Quatsch GmbH").size());
+		assertEquals(0, idx.getByNamePart("quatsch").size());
+
+		// no name: not indexed
+		idx.put(ID_3, "three", null);
+		assertEquals(1, idx.size());
+		assertEquals(Arrays.asList("one"), idx.getByNamePart(""));
+	}
+
+}
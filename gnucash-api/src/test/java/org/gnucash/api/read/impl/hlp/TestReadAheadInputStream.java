@@ -0,0 +1,118 @@
+package org.gnucash.api.read.impl.hlp;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Test;
+
+import junit.framework.JUnit4TestAdapter;
+
+public class TestReadAheadInputStream {
+
+	public static void main(String[] args) throws Exception {
+		junit.textui.TestRunner.run(suite());
+	}
+
+	@SuppressWarnings("exports")
+	public static junit.framework.Test suite() {
+		return new JUnit4TestAdapter(TestReadAheadInputStream.class);
+	}
+
+	// -----------------------------------------------------------------
+
+	@Test
+	public void test01() throws Exception {
+		byte[] data = new byte[10000];
+		for ( int i = 0; i < data.length; i++ ) {
+			data[i] = (byte) i;
+		}
+
+		// Sic: small buffers, so that the background thread has to wait
+		ReadAheadInputStream in = new ReadAheadInputStream(new ByteArrayInputStream(data), "test", 33, 2);
+		ByteArrayOutputStream result = new ByteArrayOutputStream();
+		result.write(in.read());
+		byte[] buf = new byte[50];
+		int n;
+		while ( ( n = in.read(buf, 0, buf.length) ) >= 0 ) {
+			result.write(buf, 0, n);
+		}
+		assertEquals(-1, in.read());
+		in.close();
+
+		assertArrayEquals(data, result.toByteArray());
+	}
+
+	@Test
+	public void test02() throws Exception {
+		InputStream failing = new InputStream() {
+			private int count = 0;
+
+			@Override
+			public int read() throws IOException {
+				if ( count++ == 100 ) {
+					throw new IOException("test");
+				}
+				return 'x';
+			}
+		};
+
+		ReadAheadInputStream in = new ReadAheadInputStream(failing, "test", 10, 2);
+		try {
+			in.readAllBytes();
+			fail("Exception expected");
+		} catch (IOException exc) {
+			assertEquals("test", exc.getMessage());
+		}
+		in.close();
+	}
+
+	@Test
+	public void test03() throws Exception {
+		// Closing before the end must not hang
+		ReadAheadInputStream in = new ReadAheadInputStream(new ByteArrayInputStream(new byte[10000]), "test", 10, 2);
+		in.read();
+		in.close();
+	}
+
+	@Test(timeout = 10000)
+	public void test04() throws Exception {
+		// Runtime exceptions and errors of the source stream must not
+		// leave the consumer waiting forever
+		test04_check(new IllegalStateException("test"));
+		test04_check(new AssertionError("test"));
+	}
+
+	private void test04_check(final Throwable toThrow) throws Exception {
+		InputStream failing = new InputStream() {
+			private int count = 0;
+
+			@Override
+			public int read() throws IOException {
+				if ( count++ == 100 ) {
+					if ( toThrow instanceof RuntimeException ) {
+						throw (RuntimeException) toThrow;
+					}
+					throw (Error) toThrow;
+				}
+				return 'x';
+			}
+		};
+
+		ReadAheadInputStream in = new ReadAheadInputStream(failing, "test", 10, 2);
+		try {
+			in.readAllBytes();
+			fail("Exception expected");
+		} catch (IOException exc) {
+			assertSame(toThrow, exc.getCause());
+		}
+		in.close();
+	}
+
+}
@@ -0,0 +1,135 @@
+package org.gnucash.api.read.impl.hlp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+import org.gnucash.api.ConstTest;
+import org.junit.Test;
+
+import junit.framework.JUnit4TestAdapter;
+import xyz.schnorxoborx.base.numbers.FixedPointNumber;
+
+public class TestScaledAmount {
+
+	public static void main(String[] args) throws Exception {
+		junit.textui.TestRunner.run(suite());
+	}
+
+	@SuppressWarnings("exports")
+	public static junit.framework.Test suite() {
+		return new JUnit4TestAdapter(TestScaledAmount.class);
+	}
+
+	// -----------------------------------------------------------------
+
+	@Test
+	public void test01_1() throws Exception {
+		ScaledAmount amt = new ScaledAmount(100);
+
+		amt.add("12345/100");
+		amt.add("-45/100");
+		amt.subtract("100/100");
+		assertFalse(amt.isOverflowed());
+		assertEquals(12200, amt.getUnits());
+		assertEquals(100, amt.getFraction());
+		assertEquals(122.0, amt.toFixedPointNumber().doubleValue(), ConstTest.DIFF_TOLERANCE);
+
+		// other denominator: rescaled to the common multiple
+		amt.add("5/1000");
+		assertEquals(122005, amt.getUnits());
+		assertEquals(1000, amt.getFraction());
+
+		amt.add(1, 3);
+		assertEquals(3000, amt.getFraction());
+		assertEquals(122.005 + 1.0 / 3.0, amt.toFixedPointNumber().doubleValue(), ConstTest.DIFF_TOLERANCE);
+
+		amt.reset();
+		assertTrue(amt.isZero());
+		amt.add(new FixedPointNumber("-1.25"));
+		assertEquals(-1, amt.signum());
+		assertEquals(-1.25, amt.toBigDecimal().doubleValue(), ConstTest.DIFF_TOLERANCE);
+	}
+
+	@Test
+	public void test01_2() throws Exception {
+		assertEquals(0, ScaledAmount.signum("0/100"));
+		assertEquals(0, ScaledAmount.signum("-000/100"));
+		assertEquals(1, ScaledAmount.signum("1/100"));
+		assertEquals(-1, ScaledAmount.signum("-10/100"));
+	}
+
+	@Test
+	public void test02_1() throws Exception {
+		ScaledAmount amt = new ScaledAmount(100);
+
+		// sum does not fit into a long any more
+		amt.add(Long.MAX_VALUE, 100);
+		assertFalse(amt.isOverflowed());
+		amt.add(Long.MAX_VALUE, 100);
+		assertTrue(amt.isOverflowed());
+
+		BigDecimal expected = BigDecimal.valueOf(Long.MAX_VALUE, 2).multiply(BigDecimal.valueOf(2));
+		assertEquals(0, expected.compareTo(amt.toBigDecimal()));
+
+		amt.subtract("1/100");
+		assertEquals(0, expected.subtract(new BigDecimal("0.01")).compareTo(amt.toBigDecimal()));
+
+		// numerator does not fit into a long
+		ScaledAmount amt2 = new ScaledAmount();
+		amt2.add("123456789012345678901234567890/100");
+		assertTrue(amt2.isOverflowed());
+		assertEquals(0, new BigDecimal("1234567890123456789012345678.90").compareTo(amt2.toBigDecimal()));
+	}
+
+	@Test
+	public void test03_1() throws Exception {
+		// denominators that are no powers of ten: kept as a fraction...
+		ScaledAmount amt = new ScaledAmount(100);
+		amt.add(1, 3);
+		amt.add(1, 3);
+		amt.add("1/3");
+		amt.subtract("100/100");
+		assertEquals(0, BigDecimal.ZERO.compareTo(amt.toBigDecimal()));
+
+		// ... exact if the quotient terminates ...
+		assertEquals(new BigDecimal("0.125"), ScaledAmount.toBigDecimal(1, 8));
+		assertEquals(new BigDecimal("-0.04"), ScaledAmount.toBigDecimal(-1, 25));
+		assertEquals(new BigDecimal("0.125"), new ScaledAmount().add(1, 8).toBigDecimal());
+
+		// ... else rounded to 34 significant digits, on conversion only
+		assertEquals(new BigDecimal("0.3333333333333333333333333333333333"), 
+				     ScaledAmount.toBigDecimal(1, 3));
+		assertEquals(new BigDecimal("0.6666666666666666666666666666666667"), 
+				     new ScaledAmount().add(1, 3).add(1, 3).toBigDecimal());
+	}
+
+	@Test
+	public void test03_2() throws Exception {
+		// the same after an overflow
+		ScaledAmount amt = new ScaledAmount();
+		amt.add(Long.MAX_VALUE, 3);
+		amt.add(Long.MAX_VALUE, 3);
+		assertTrue(amt.isOverflowed());
+		amt.add(1, 3);
+		// (2^64 - 1) / 3
+		assertEquals(new BigDecimal("6148914691236517205"), amt.toBigDecimal());
+
+		amt.add(new BigDecimal("0.5"));
+		assertEquals(new BigDecimal("6148914691236517205.5"), amt.toBigDecimal());
+
+		amt.add(1, 3);
+		BigInteger expNum = new BigInteger("36893488147419103235"); // 6 * (6148914691236517205.5 + 1/3)
+		assertEquals(new BigDecimal(expNum).divide(BigDecimal.valueOf(6), MathContext.DECIMAL128), 
+				     amt.toBigDecimal());
+
+		ScaledAmount amt2 = new ScaledAmount();
+		amt2.subtract(Long.MIN_VALUE, 4);
+		assertEquals(new BigDecimal("2305843009213693952"), amt2.toBigDecimal());
+	}
+
+}
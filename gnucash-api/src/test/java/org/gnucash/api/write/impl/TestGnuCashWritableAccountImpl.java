@@ -28,7 +28,7 @@ public class TestGnuCashWritableAccountImpl {
 	//    private static final GCshID ACCT_4_ID = TestGnuCashAccountImpl.ACCT_4_ID;
 	//    private static final GCshID ACCT_5_ID = TestGnuCashAccountImpl.ACCT_5_ID;
 	//    private static final GCshID ACCT_6_ID = TestGnuCashAccountImpl.ACCT_6_ID;
-	//    private static final GCshID ACCT_7_ID = TestGnuCashAccountImpl.ACCT_7_ID;
+	private static final GCshID ACCT_7_ID = TestGnuCashAccountImpl.ACCT_7_ID;
 
 	// -----------------------------------------------------------------
 
@@ -193,7 +193,35 @@ public class TestGnuCashWritableAccountImpl {
 
 	@Test
 	public void test02_2() throws Exception {
-		// ::TODO
+		GnuCashWritableAccount acct = gcshInFile.getWritableAccountByID(ACCT_1_ID);
+		GnuCashWritableAccount prntAcctOld = gcshInFile.getWritableAccountByID(acct.getParentAccountID());
+		GnuCashWritableAccount prntAcctNew = gcshInFile.getWritableAccountByID(ACCT_2_ID);
+
+		assertEquals(4, gcshInFile.getAcctMgr().getAccountDepth(ACCT_1_ID));
+		assertEquals(2, prntAcctNew.getChildren().size());
+		int nofChildrenOld = prntAcctOld.getChildren().size();
+
+		// ----------------------------
+		// Move the account to another parent
+
+		acct.setParentAccount(prntAcctNew);
+
+		assertEquals("Root Account:Aktiva:Depots:Depot RaiBa:Giro RaiBa", acct.getQualifiedName());
+		assertEquals(4, gcshInFile.getAcctMgr().getAccountDepth(ACCT_1_ID));
+		assertEquals(nofChildrenOld - 1, prntAcctOld.getChildren().size());
+		assertEquals(3, prntAcctNew.getChildren().size());
+		assertEquals(ACCT_7_ID, prntAcctNew.getChildren().get(0).getID());
+		assertEquals(ACCT_1_ID, prntAcctNew.getChildren().get(2).getID());
+
+		// ----------------------------
+		// Rename the new parent: the child's qualified name
+		// has to follow
+
+		prntAcctNew.setName("Depot Bossa Nova");
+
+		assertEquals("Root Account:Aktiva:Depots:Depot Bossa Nova:Giro RaiBa", acct.getQualifiedName());
+		assertEquals("Root Account:Aktiva:Depots:Depot Bossa Nova:DE0007100000 Mercedes-Benz", 
+					 gcshInFile.getAccountByID(ACCT_7_ID).getQualifiedName());
 	}
 
 	private void test02_1_check_memory(GnuCashWritableAccount acct) throws Exception {
@@ -5,6 +5,7 @@ import static org.junit.Assert.assertNotEquals;
 
 import java.io.File;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -208,7 +209,22 @@ public class TestGnuCashWritableCustomerImpl {
 
 	@Test
 	public void test02_2() throws Exception {
-		// ::TODO
+		// build the name index first
+		assertEquals(1, gcshInFile.getCustomersByName("Unfug und Quatsch GmbH", false).size());
+
+		GnuCashWritableCustomer cust = gcshInFile.getWritableCustomerByID(CUST_1_ID);
+		assertNotEquals(null, cust);
+
+		cust.setName("Lucky Luke");
+
+		// Check whether the name index has been updated
+		assertEquals(0, gcshInFile.getCustomersByName("Unfug und Quatsch GmbH", false).size());
+		assertEquals(0, gcshInFile.getCustomersByName("unfug", true).size());
+
+		List<GnuCashCustomer> custList = new ArrayList<GnuCashCustomer>(gcshInFile.getCustomersByName("lucky", true));
+		assertEquals(1, custList.size());
+		assertEquals(CUST_1_ID, custList.get(0).getID());
+		assertEquals(1, gcshInFile.getCustomersByName("Lucky Luke", false).size());
 	}
 
 	private void test02_1_check_memory(GnuCashWritableCustomer cust) throws Exception {
@@ -7,16 +7,29 @@ import static org.junit.Assert.assertTrue;
 import java.io.File;
 import java.io.InputStream;
 
+import org.gnucash.api.Const;
 import org.gnucash.api.ConstTest;
+import org.gnucash.api.generated.GncAccount;
+import org.gnucash.api.generated.ObjectFactory;
+import org.gnucash.api.generated.Slot;
+import org.gnucash.api.generated.SlotValue;
+import org.gnucash.api.generated.SlotsType;
 import org.gnucash.api.read.GnuCashAccount;
 import org.gnucash.api.read.GnuCashCommodity;
+import org.gnucash.api.read.GnuCashFile;
 import org.gnucash.api.read.GnuCashGenerInvoice;
 import org.gnucash.api.read.GnuCashTransaction;
+import org.gnucash.api.read.impl.GnuCashFileIOOptions;
 import org.gnucash.api.read.impl.GnuCashFileImpl;
 import org.gnucash.api.read.impl.TestGnuCashAccountImpl;
 import org.gnucash.api.read.impl.TestGnuCashGenerInvoiceImpl;
 import org.gnucash.api.read.impl.TestGnuCashTransactionImpl;
 import org.gnucash.api.read.impl.aux.GCshFileStats;
+import org.gnucash.api.write.GnuCashWritableAccount;
+import org.gnucash.api.write.GnuCashWritableFile;
+import org.gnucash.api.write.GnuCashWritableGenerInvoiceEntry;
+import org.gnucash.api.write.GnuCashWritableTransaction;
+import org.gnucash.api.write.GnuCashWritableTransactionSplit;
 import org.gnucash.base.basetypes.complex.GCshCmdtyCurrNameSpace;
 import org.gnucash.base.basetypes.complex.GCshCmdtyID_SecIdType;
 import org.gnucash.base.basetypes.simple.GCshID;
@@ -30,6 +43,7 @@ import junit.framework.JUnit4TestAdapter;
 public class TestGnuCashWritableFileImpl {
 
 	private static final GCshID ACCT_1_ID     = TestGnuCashAccountImpl.ACCT_1_ID;
+	private static final GCshID ACCT_2_ID     = TestGnuCashAccountImpl.ACCT_2_ID;
 	private static final GCshID TRX_1_ID      = TestGnuCashTransactionImpl.TRX_1_ID;
 	private static final GCshID INVC_1_ID     = TestGnuCashGenerInvoiceImpl.INVC_1_ID;
 	private static final String CMDTY_4_ISIN  = "DE000BASF111";
@@ -256,6 +270,59 @@ public class TestGnuCashWritableFileImpl {
 		test04_1_check_2();
 	}
 
+	@Test
+	public void test04_2() throws Exception {
+		File outFile = folder.newFile(ConstTest.GCSH_FILENAME_OUT + ".gz");
+		outFile.delete(); // sic, cf. above
+		gcshInFile.writeFile(outFile, GnuCashWritableFile.CompressMode.GUESS_FROM_FILENAME, 
+				             GnuCashWritableFile.WriteMode.PARALLEL);
+
+		gcshOutFile = new GnuCashWritableFileImpl(outFile);
+		gcshOutFileStats = new GCshFileStats(gcshOutFile);
+
+		test04_1_check_1();
+		test04_1_check_2();
+	}
+
+	@Test
+	public void test04_3() throws Exception {
+		File outFile = folder.newFile(ConstTest.GCSH_FILENAME_OUT + ".gz");
+		outFile.delete(); // sic, cf. above
+		gcshInFile.writeFile(outFile, GnuCashWritableFile.CompressMode.GUESS_FROM_FILENAME_PARALLEL, 
+				             GnuCashWritableFile.WriteMode.PARALLEL);
+
+		gcshOutFile = new GnuCashWritableFileImpl(outFile);
+		gcshOutFileStats = new GCshFileStats(gcshOutFile);
+
+		test04_1_check_1();
+		test04_1_check_2();
+	}
+
+	@Test
+	public void test04_4() throws Exception {
+		// Sic: tiny sizes, so that many buffers, blocks and chunks are needed
+		GnuCashFileIOOptions ioOpts = new GnuCashFileIOOptions();
+		ioOpts.setGZIPBlockSize(1000);
+		ioOpts.setWriteChunkSize(3);
+		gcshInFile.setIOOptions(ioOpts);
+
+		File outFile = folder.newFile(ConstTest.GCSH_FILENAME_OUT + ".gz");
+		outFile.delete(); // sic, cf. above
+		gcshInFile.writeFile(outFile, GnuCashWritableFile.CompressMode.GUESS_FROM_FILENAME_PARALLEL, 
+				             GnuCashWritableFile.WriteMode.PARALLEL);
+
+		ioOpts = new GnuCashFileIOOptions();
+		ioOpts.setGZIPBufferSize(100);
+		ioOpts.setReadAheadBufferSize(333);
+		ioOpts.setReadAheadMaxBuffers(2);
+		gcshOutFile = new GnuCashWritableFileImpl(outFile, GnuCashFile.LoadMode.JAXB, false, ioOpts);
+		assertEquals(333, gcshOutFile.getIOOptions().getReadAheadBufferSize());
+		gcshOutFileStats = new GCshFileStats(gcshOutFile);
+
+		test04_1_check_1();
+		test04_1_check_2();
+	}
+
 	private void test04_1_check_1() {
 		// Does not work:
 		// assertEquals(gcshFileStats, gcshFileStats2);
@@ -361,4 +428,97 @@ public class TestGnuCashWritableFileImpl {
 		assertEquals(cmdty11.getQuotes().size(), cmdty12.getQuotes().size());
 	}
 
+	// -----------------------------------------------------------------
+	// PART 6: Only the book elements modified since the last write
+	// are cleaned before the next one
+	
+	@Test
+	public void test06_1() throws Exception {
+		GnuCashWritableAccount acct1 = gcshInFile.getWritableAccountByID(ACCT_1_ID);
+		GnuCashWritableAccount acct2 = gcshInFile.getWritableAccountByID(ACCT_2_ID);
+		GncAccount acct1Peer = ((GnuCashWritableAccountImpl) acct1).getJwsdpPeer();
+		GncAccount acct2Peer = ((GnuCashWritableAccountImpl) acct2).getJwsdpPeer();
+		
+		// Sic: Directly on the peers, so that the accounts are not marked
+		addDummySlot(acct1Peer);
+		addDummySlot(acct2Peer);
+		assertEquals(0, gcshInFile.getModifiedBookElements().size());
+		
+		acct1.setDescription("Modified");
+		
+		assertEquals(1, gcshInFile.getModifiedBookElements().size());
+		assertTrue(gcshInFile.getModifiedBookElements().contains(acct1Peer));
+
+		File outFile = folder.newFile(ConstTest.GCSH_FILENAME_OUT);
+		outFile.delete(); // sic, cf. above
+		gcshInFile.writeFile(outFile);
+
+		assertEquals(0, gcshInFile.getModifiedBookElements().size());
+		assertEquals(false, hasDummySlot(acct1Peer.getActSlots()));
+		assertEquals(true, hasDummySlot(acct2Peer.getActSlots()));
+	}
+
+	@Test
+	public void test06_2() throws Exception {
+		// invoice entry (of an invoice without payments, i.e. a modifiable one)
+		GnuCashWritableGenerInvoiceEntry entr = null;
+		for ( GnuCashWritableGenerInvoiceEntry elt : gcshInFile.getWritableGenerInvoiceEntries() ) {
+			if ( elt.getGenerInvoice().isModifiable() ) {
+				entr = elt;
+				break;
+			}
+		}
+		assertNotEquals(null, entr);
+		
+		GnuCashWritableTransaction trx = gcshInFile.getWritableTransactionByID(TRX_1_ID);
+		GnuCashWritableTransactionSplit splt = trx.getWritableSplits().get(0);
+		
+		// Sic: Generating the writable splits links them to their
+		// (writable) accounts, which marks the latter
+		File outFile = folder.newFile(ConstTest.GCSH_FILENAME_OUT);
+		outFile.delete(); // sic, cf. above
+		gcshInFile.writeFile(outFile);
+		assertEquals(0, gcshInFile.getModifiedBookElements().size());
+
+		entr.setDescription("Modified");
+		
+		assertEquals(1, gcshInFile.getModifiedBookElements().size());
+		assertTrue(gcshInFile.getModifiedBookElements().contains(entr.getJwsdpPeer()));
+		
+		// transaction split: marks the transaction (the book element
+		// it is nested in)
+		splt.setDescription("Modified");
+
+		assertEquals(2, gcshInFile.getModifiedBookElements().size());
+		assertTrue(gcshInFile.getModifiedBookElements().contains(trx.getJwsdpPeer()));
+	}
+
+	private static void addDummySlot(final GncAccount acctPeer) {
+		ObjectFactory factory = new ObjectFactory();
+		
+		if ( acctPeer.getActSlots() == null ) {
+			acctPeer.setActSlots(factory.createSlotsType());
+		}
+
+		SlotValue value = factory.createSlotValue();
+		value.setType(Const.XML_DATA_TYPE_STRING);
+		value.getContent().add(Const.SLOT_KEY_DUMMY);
+
+		Slot slot = factory.createSlot();
+		slot.setSlotKey(Const.SLOT_KEY_DUMMY);
+		slot.setSlotValue(value);
+
+		acctPeer.getActSlots().getSlot().add(slot);
+	}
+
+	private static boolean hasDummySlot(final SlotsType slots) {
+		for ( Slot slot : slots.getSlot() ) {
+			if ( slot.getSlotKey().equals(Const.SLOT_KEY_DUMMY) ) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+
 }
@@ -14,6 +14,7 @@ import org.gnucash.api.read.GnuCashGenerInvoice;
 import org.gnucash.api.read.GnuCashGenerInvoiceEntry;
 import org.gnucash.api.read.GnuCashTransaction;
 import org.gnucash.api.read.aux.GCshOwner;
+import org.gnucash.api.read.impl.GnuCashFileImpl;
 import org.gnucash.api.read.impl.TestGnuCashGenerInvoiceImpl;
 import org.gnucash.api.write.GnuCashWritableGenerInvoice;
 import org.gnucash.base.basetypes.simple.GCshID;
@@ -275,6 +276,41 @@ public class TestGnuCashWritableGenerInvoiceImpl {
 		assertEquals("https://my.customer.invoice.link.01", invc.getURL());
 	}
 
+	@Test
+	public void test07_1() throws Exception {
+		// Entries and paying transactions are looked up via the entry and lot
+		// indexes -- make sure they match those of the read-only counterparts
+		GnuCashFileImpl gcshRdOnlyFile = new GnuCashFileImpl(getClass().getClassLoader().getResourceAsStream(ConstTest.GCSH_FILENAME_IN));
+
+		for ( GnuCashGenerInvoice invcRdOnly : gcshRdOnlyFile.getGenerInvoices() ) {
+			GnuCashWritableGenerInvoice invc = gcshInFile.getWritableGenerInvoiceByID(invcRdOnly.getID());
+			assertNotEquals(null, invc);
+
+			assertEquals(getEntryIDs(invcRdOnly), getEntryIDs(invc));
+			assertEquals(getPayingTrxIDs(invcRdOnly), getPayingTrxIDs(invc));
+		}
+	}
+
+	// Sic: The read-only invoice keeps its entries in file order,
+	// the writable one in the manager's (sorted) order
+	private static List<String> getEntryIDs(final GnuCashGenerInvoice invc) {
+		List<String> result = new ArrayList<String>();
+		for ( GnuCashGenerInvoiceEntry entr : invc.getGenerEntries() ) {
+			result.add(entr.getID().toString());
+		}
+		Collections.sort(result);
+		return result;
+	}
+
+	private static List<String> getPayingTrxIDs(final GnuCashGenerInvoice invc) {
+		List<String> result = new ArrayList<String>();
+		for ( GnuCashTransaction trx : invc.getPayingTransactions() ) {
+			result.add(trx.getID().toString());
+		}
+		Collections.sort(result);
+		return result;
+	}
+
 	// -----------------------------------------------------------------
 	// PART 2: Modify existing objects
 	// -----------------------------------------------------------------
@@ -303,6 +303,8 @@ public class TestGnuCashWritablePriceImpl {
 		assertNotEquals(null, prc);
 
 		assertEquals(PRC_1_ID, prc.getID());
+		// sic, fills the decoded-value cache before the modification
+		assertEquals(22.53, prc.getValue().doubleValue(), ConstTest.DIFF_TOLERANCE);
 
 		// ----------------------------
 		// Modify the object
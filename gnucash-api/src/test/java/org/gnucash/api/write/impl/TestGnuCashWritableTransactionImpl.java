@@ -182,6 +182,40 @@ public class TestGnuCashWritableTransactionImpl {
 		// ::TODO
 	}
 
+	@Test
+	public void test02_3() throws Exception {
+		// build the indexes before modifying
+		String oldDescr = gcshInFile.getTransactionByID(TRX_1_ID).getDescription();
+		assertEquals(true, containsID(gcshInFile.getTransactionsByDescription(oldDescr), TRX_1_ID));
+		assertEquals(true, containsID(gcshInFile.getTransactions(LocalDate.of(2023, 1, 1), LocalDate.of(2024, 12, 31)), TRX_1_ID));
+
+		GnuCashWritableTransaction trx = gcshInFile.getWritableTransactionByID(TRX_1_ID);
+		trx.setDescription("Super dividend");
+		trx.setDatePosted(LocalDate.of(1970, 1, 1));
+
+		assertEquals(false, containsID(gcshInFile.getTransactionsByDescription(oldDescr), TRX_1_ID));
+		assertEquals(1, gcshInFile.getTransactionsByDescription("super DIVI").size());
+		assertEquals(TRX_1_ID, gcshInFile.getTransactionsByDescription("super DIVI").iterator().next().getID());
+
+		assertEquals(false, containsID(gcshInFile.getTransactions(LocalDate.of(2023, 1, 1), LocalDate.of(2024, 12, 31)), TRX_1_ID));
+		assertEquals(true, containsID(gcshInFile.getTransactions(LocalDate.of(1970, 1, 1), LocalDate.of(1970, 1, 1)), TRX_1_ID));
+
+		GnuCashWritableTransactionSplit splt = trx.getWritableSplits().get(0);
+		splt.setDescription("Chattanooga Choo-Choo");
+		assertEquals(1, gcshInFile.getTransactionSplitsByDescription("choo-choo").size());
+		assertEquals(splt.getID(), gcshInFile.getTransactionSplitsByDescription("choo-choo").iterator().next().getID());
+	}
+
+	private static boolean containsID(final Iterable<? extends GnuCashTransaction> trxList, final GCshID trxID) {
+		for ( GnuCashTransaction trx : trxList ) {
+			if ( trx.getID().equals(trxID) ) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
 	private void test02_1_check_memory(GnuCashWritableTransaction trx) throws Exception {
 		assertEquals(ConstTest.Stats.NOF_TRX, gcshInFileStats.getNofEntriesTransactions(GCshFileStats.Type.RAW));
 		assertEquals(ConstTest.Stats.NOF_TRX, gcshInFileStats.getNofEntriesTransactions(GCshFileStats.Type.COUNTER));
@@ -29,4 +29,9 @@ public class GnuCashWritableFileImplTestHelper extends GnuCashWritableFileImpl
 		return (org.gnucash.api.write.impl.hlp.FilePriceManager) prcMgr;
 	}
 
+	@SuppressWarnings("exports")
+	public jakarta.xml.bind.JAXBContext getJAXBContextForTest() {
+		return getJAXBContext();
+	}
+
 }
@@ -0,0 +1,67 @@
+package org.gnucash.api.write.impl.hlp;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.gnucash.api.ConstTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import jakarta.xml.bind.Marshaller;
+import junit.framework.JUnit4TestAdapter;
+
+public class TestGnuCashParallelWriter {
+
+	private GnuCashWritableFileImplTestHelper gcshFile = null;
+
+	// -----------------------------------------------------------------
+
+	public static void main(String[] args) throws Exception {
+		junit.textui.TestRunner.run(suite());
+	}
+
+	@SuppressWarnings("exports")
+	public static junit.framework.Test suite() {
+		return new JUnit4TestAdapter(TestGnuCashParallelWriter.class);
+	}
+
+	@Before
+	public void initialize() throws Exception {
+		ClassLoader classLoader = getClass().getClassLoader();
+		InputStream gcshFileStream = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME_IN);
+		gcshFile = new GnuCashWritableFileImplTestHelper(gcshFileStream);
+	}
+
+	// -----------------------------------------------------------------
+
+	@Test
+	public void test01() throws Exception {
+		String expected = writeSequential();
+
+		// one element per chunk, some chunks, all in one chunk
+		for ( int chunkSize : new int[] { 1, 7, 100000 } ) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			new GnuCashParallelWriter(gcshFile.getJAXBContextForTest(), chunkSize).write(gcshFile.getRootElement(), out);
+			assertEquals(expected, withoutTimestamp(out.toString(StandardCharsets.UTF_8)));
+		}
+	}
+
+	private String writeSequential() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Writer wrt = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+		Marshaller marsh = gcshFile.getJAXBContextForTest().createMarshaller();
+		marsh.marshal(gcshFile.getRootElement(), new GnuCashStAXWriter(wrt));
+		wrt.close();
+		return withoutTimestamp(out.toString(StandardCharsets.UTF_8));
+	}
+
+	private static String withoutTimestamp(final String xml) {
+		return xml.substring(0, xml.lastIndexOf("<!-- End: Written by"));
+	}
+
+}
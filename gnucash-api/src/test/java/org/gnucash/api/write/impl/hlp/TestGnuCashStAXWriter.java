@@ -0,0 +1,161 @@
+package org.gnucash.api.write.impl.hlp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.gnucash.api.Const;
+import org.gnucash.api.ConstTest;
+import org.gnucash.api.write.GnuCashWritableFile;
+import org.gnucash.api.write.impl.GnuCashWritableFileImpl;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import junit.framework.JUnit4TestAdapter;
+
+public class TestGnuCashStAXWriter {
+
+	// The only part of the output that may differ
+	private static final String TRAILER_TIMESTAMP = "(<!-- End: Written by JGnuCashLib, )[^ ]*( -->)";
+
+	// -----------------------------------------------------------------
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	// -----------------------------------------------------------------
+
+	public static void main(String[] args) throws Exception {
+		junit.textui.TestRunner.run(suite());
+	}
+
+	@SuppressWarnings("exports")
+	public static junit.framework.Test suite() {
+		return new JUnit4TestAdapter(TestGnuCashStAXWriter.class);
+	}
+
+	// -----------------------------------------------------------------
+
+	@Test
+	public void test01() throws Exception {
+		assertEquals("gnc-v2", GnuCashStAXWriter.toGnuCashName("gnc-v2"));
+		assertEquals("gnc:book", GnuCashStAXWriter.toGnuCashName("gnc_book"));
+		assertEquals("cd:type", GnuCashStAXWriter.toGnuCashName("cd_type"));
+		assertEquals("gnc:template-transactions", GnuCashStAXWriter.toGnuCashName("gnc_template-transactions"));
+
+		// '_' that belongs to the GnuCash name
+		assertEquals("cmdty:quote_source", GnuCashStAXWriter.toGnuCashName("cmdty_quote_source"));
+		assertEquals("cmdty:get_quotes", GnuCashStAXWriter.toGnuCashName("cmdty_get_quotes"));
+		assertEquals("fs:ui_type", GnuCashStAXWriter.toGnuCashName("fs_ui_type"));
+		assertEquals("invoice:billing_id", GnuCashStAXWriter.toGnuCashName("invoice_billing_id"));
+		assertEquals("recurrence:period_type", GnuCashStAXWriter.toGnuCashName("recurrence_period_type"));
+	}
+
+	@Test
+	public void test02() throws Exception {
+		StringWriter out = new StringWriter();
+		GnuCashStAXWriter wrt = new GnuCashStAXWriter(out);
+
+		wrt.writeStartDocument();
+		wrt.writeStartElement("gnc-v2");
+		wrt.writeStartElement("gnc_book");
+		wrt.writeAttribute("version", "2.0.0");
+		wrt.writeStartElement("gnc_transaction");
+		wrt.writeStartElement("trn_id");
+		wrt.writeAttribute("type", Const.XML_DATA_TYPE_GUID);
+		wrt.writeCharacters("ABCDEF");
+		wrt.writeEndElement();
+		wrt.writeStartElement("trn_description");
+		wrt.writeEndElement();
+		wrt.writeStartElement("trn_num");
+		wrt.writeCharacters("a & <b> \"c\"".toCharArray(), 0, 11);
+		wrt.writeEndElement();
+		wrt.writeStartElement("trn_slots");
+		wrt.writeEndElement();
+		wrt.writeEndElement();
+		wrt.writeEndDocument();
+		wrt.close();
+
+		String result = out.toString();
+		assertTrue(result.startsWith("<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n"
+				+ "<gnc-v2\n"
+				+ "     xmlns:gnc=\"http://www.gnucash.org/XML/gnc\"\n"));
+		assertTrue(result.contains("     xmlns:vendor=\"http://www.gnucash.org/XML/vendor\">\n"
+				+ "<gnc:book version=\"2.0.0\">\n"
+				+ "<gnc:transaction>\n"
+				+ "  <trn:id type=\"guid\">abcdef</trn:id>\n"
+				+ "  <trn:description></trn:description>\n"
+				+ "  <trn:num>a &amp; &lt;b&gt; &quot;c&quot;</trn:num>\n"
+				+ "  <trn:slots/>\n"
+				+ "</gnc:transaction>\n"
+				+ "</gnc:book>\n"
+				+ "</gnc-v2>\n"
+				+ "\n"
+				+ "<!-- Local variables: -->\n"));
+	}
+
+	@Test
+	public void test03() throws Exception {
+		StringWriter out = new StringWriter();
+		GnuCashStAXWriter wrt = new GnuCashStAXWriter(out);
+
+		// prefixes given explicitly are kept
+		wrt.writeStartElement("gnc_book");
+		wrt.writeAttribute("xsi", "http://www.w3.org/2001/XMLSchema-instance", "nil", "true");
+		wrt.writeAttribute("", "", "version", "2.0.0");
+		wrt.writeEmptyElement("foo", "bar_baz", "urn:foo");
+		wrt.writeEndElement();
+		wrt.flush();
+
+		assertEquals("<gnc:book xsi:nil=\"true\" version=\"2.0.0\">\n"
+				+ "<foo:bar:baz/>\n"
+				+ "</gnc:book>", out.toString());
+	}
+
+	// -----------------------------------------------------------------
+	// Golden-file regression: The test file, written by the writable file,
+	// has to be byte-identical to what the original SAX-based writer
+	// (WritingContentHandler + NamespaceAdderWriter) produced for it.
+
+	@Test
+	public void test04_1() throws Exception {
+		test04_check(GnuCashWritableFile.WriteMode.SEQUENTIAL);
+	}
+
+	@Test
+	public void test04_2() throws Exception {
+		test04_check(GnuCashWritableFile.WriteMode.PARALLEL);
+	}
+
+	private void test04_check(final GnuCashWritableFile.WriteMode writeMode) throws Exception {
+		ClassLoader classLoader = getClass().getClassLoader();
+		GnuCashWritableFileImpl gcshFile = null;
+		try ( InputStream gcshInFileStream = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME_IN) ) {
+			gcshFile = new GnuCashWritableFileImpl(gcshInFileStream);
+		}
+
+		File outFile = folder.newFile(ConstTest.GCSH_FILENAME_OUT);
+		outFile.delete(); // sic, the file must not exist
+		gcshFile.writeFile(outFile, GnuCashWritableFile.CompressMode.DO_NOT_COMPRESS, writeMode);
+
+		byte[] expected;
+		try ( InputStream goldenStream = classLoader.getResourceAsStream(ConstTest.GCSH_FILENAME_GOLDEN) ) {
+			expected = goldenStream.readAllBytes();
+		}
+		byte[] actual = Files.readAllBytes(outFile.toPath());
+
+		assertEquals(maskTrailerTimestamp(expected), maskTrailerTimestamp(actual));
+	}
+
+	private static String maskTrailerTimestamp(final byte[] bytes) {
+		// ISO-8859-1: one char per byte, so that the comparison is byte by byte
+		return new String(bytes, StandardCharsets.ISO_8859_1).replaceFirst(TRAILER_TIMESTAMP, "$1...$2");
+	}
+
+}
@@ -12,8 +12,10 @@ import org.gnucash.api.read.GnuCashCommodity;
 import org.gnucash.api.read.GnuCashGenerInvoice;
 import org.gnucash.api.read.GnuCashTransaction;
 import org.gnucash.api.read.impl.GnuCashFileImpl;
+import org.gnucash.api.read.impl.GnuCashTransactionImpl;
 import org.gnucash.api.read.impl.hlp.HasUserDefinedAttributesImpl;
 import org.gnucash.api.read.impl.hlp.SlotListDoesNotContainKeyException;
+import org.gnucash.api.read.impl.hlp.SlotTree;
 import org.gnucash.api.read.impl.hlp.TestHasUserDefinedAttributesImpl;
 import org.gnucash.api.write.GnuCashWritableAccount;
 import org.gnucash.api.write.GnuCashWritableCommodity;
@@ -551,6 +553,7 @@ public class TestHasWritableUserDefinedAttributesImpl {
 		assertNotEquals(null, trx);
 
 		assertEquals(TRX_1_ID, trx.getID());
+		assertEquals(0, gcshInFile.getObjectsByUserDefinedAttribute("abc", "http://bore.dom").size());
 
 		// ----------------------------
 		// Modify the object
@@ -588,6 +591,7 @@ public class TestHasWritableUserDefinedAttributesImpl {
 		assertNotEquals(null, trx.getUserDefinedAttributeKeys()); // changed
 		assertEquals(1, trx.getUserDefinedAttributeKeys().size()); // changed
 		assertEquals("http://bore.dom", trx.getUserDefinedAttribute("abc")); // changed
+		assertEquals(1, gcshInFile.getObjectsByUserDefinedAttribute("abc", "http://bore.dom").size()); // changed
 	}
 
 	private void test_02_trx_01_check_persisted(File outFile) throws Exception {
@@ -602,6 +606,24 @@ public class TestHasWritableUserDefinedAttributesImpl {
 		assertEquals("http://bore.dom", trx.getUserDefinedAttribute("abc")); // changed
 	}
 
+	// Slot changes in one file do not affect the decoded slots of another one
+	@Test
+	public void test_02_trx_03() throws Exception {
+		GnuCashFileImpl gcshOtherFile = new GnuCashFileImpl(getClass().getClassLoader().getResourceAsStream(ConstTest.GCSH_FILENAME_IN));
+		GnuCashTransactionImpl trxOther = (GnuCashTransactionImpl) gcshOtherFile.getTransactionByID(TRX_3_ID);
+		SlotTree treeOther = trxOther.getUserDefinedAttributeTree();
+		assertNotEquals(null, treeOther);
+		long modCntOther = gcshOtherFile.getSlotModCount();
+		long modCnt = gcshInFile.getSlotModCount();
+
+		GnuCashWritableTransaction trx = gcshInFile.getWritableTransactionByID(TRX_1_ID);
+		trx.addUserDefinedAttribute(ConstTest.SLOT_KEY_ASSOC_URI, "abc", "http://bore.dom");
+
+		assertNotEquals(modCnt, gcshInFile.getSlotModCount()); // changed
+		assertEquals(modCntOther, gcshOtherFile.getSlotModCount()); // unchanged
+		assertEquals(true, treeOther == trxOther.getUserDefinedAttributeTree()); // not decoded again
+	}
+
 	// ----------------------------
 	// One or more slots
 
@@ -0,0 +1,64 @@
+package org.gnucash.api.write.impl.hlp;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+
+import junit.framework.JUnit4TestAdapter;
+
+public class TestParallelGZIPOutputStream {
+
+	public static void main(String[] args) throws Exception {
+		junit.textui.TestRunner.run(suite());
+	}
+
+	@SuppressWarnings("exports")
+	public static junit.framework.Test suite() {
+		return new JUnit4TestAdapter(TestParallelGZIPOutputStream.class);
+	}
+
+	// -----------------------------------------------------------------
+
+	@Test
+	public void test01() throws Exception {
+		byte[] data = new byte[100000];
+		Random rand = new Random(4711);
+		for ( int i = 0; i < data.length; i++ ) {
+			data[i] = (byte) ( 'a' + rand.nextInt(8) );
+		}
+
+		// many members, block size not a divisor, one member
+		for ( int blockSize : new int[] { 1000, 777, 1000000 } ) {
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			ParallelGZIPOutputStream out = new ParallelGZIPOutputStream(buffer, blockSize);
+			out.write(data, 0, 10);
+			out.write(data[10]);
+			out.write(data, 11, data.length - 11);
+			out.close();
+
+			assertArrayEquals(data, gunzip(buffer.toByteArray()));
+		}
+	}
+
+	@Test
+	public void test02() throws Exception {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		new ParallelGZIPOutputStream(buffer, 100).close();
+
+		// Sic: still a valid (empty) gzip stream
+		assertArrayEquals(new byte[0], gunzip(buffer.toByteArray()));
+	}
+
+	private static byte[] gunzip(final byte[] data) throws Exception {
+		GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data));
+		byte[] result = in.readAllBytes();
+		in.close();
+		return result;
+	}
+
+}
@@ -0,0 +1,101 @@
+package org.gnucash.api.write.impl.hlp;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.junit.Test;
+
+import junit.framework.JUnit4TestAdapter;
+
+public class TestPipelinedOutputStream {
+
+	public static void main(String[] args) throws Exception {
+		junit.textui.TestRunner.run(suite());
+	}
+
+	@SuppressWarnings("exports")
+	public static junit.framework.Test suite() {
+		return new JUnit4TestAdapter(TestPipelinedOutputStream.class);
+	}
+
+	// -----------------------------------------------------------------
+
+	@Test(timeout = 10000)
+	public void test01() throws Exception {
+		byte[] data = new byte[1000000];
+		for ( int i = 0; i < data.length; i++ ) {
+			data[i] = (byte) i;
+		}
+
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		PipelinedOutputStream out = new PipelinedOutputStream(buffer, "test");
+		out.write(data[0]);
+		out.write(data, 1, 99);
+		out.write(data, 100, data.length - 100);
+		out.close();
+
+		assertArrayEquals(data, buffer.toByteArray());
+	}
+
+	@Test(timeout = 10000)
+	public void test02() throws Exception {
+		// Sic: fails on close only (e.g., disk full while writing a trailer)
+		OutputStream failing = new FilterOutputStream(new ByteArrayOutputStream()) {
+			@Override
+			public void close() throws IOException {
+				throw new IOException("test");
+			}
+		};
+
+		PipelinedOutputStream out = new PipelinedOutputStream(failing, "test");
+		out.write(new byte[100]);
+		try {
+			out.close();
+			fail("Exception expected");
+		} catch (IOException exc) {
+			assertEquals("test", exc.getMessage());
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void test03() throws Exception {
+		OutputStream failing = new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				throw new IOException("test");
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				throw new IOException("test");
+			}
+		};
+
+		// Sic: more than fits into the queue, so the producer 
+		// would block if the data were not discarded
+		PipelinedOutputStream out = new PipelinedOutputStream(failing, "test");
+		try {
+			for ( int i = 0; i < 100; i++ ) {
+				out.write(new byte[100000]);
+			}
+			fail("Exception expected");
+		} catch (IOException exc) {
+			assertEquals("test", exc.getMessage());
+		}
+
+		// ... and once more on close
+		try {
+			out.close();
+			fail("Exception expected");
+		} catch (IOException exc) {
+			assertEquals("test", exc.getMessage());
+		}
+	}
+
+}
@@ -40,7 +40,7 @@ public class TestGnuCashWritableCustomerJobImpl {
 
 	private static final GCshID CUST_1_ID = TestGnuCashCustomerImpl.CUST_1_ID;
 	//    private static final GCshID CUST_2_ID = TestGnuCashCustomerImpl.CUST_2_ID;
-	//    private static final GCshID CUST_3_ID = TestGnuCashCustomerImpl.CUST_3_ID;
+	private static final GCshID CUST_3_ID = TestGnuCashCustomerImpl.CUST_3_ID;
 
 	// ----------------------------
 
@@ -150,7 +150,22 @@ public class TestGnuCashWritableCustomerJobImpl {
 	// Check whether the GnuCashWritableCustomerJob objects returned by
 	// can actually be modified -- both in memory and persisted in file.
 
-	// ::TODO
+	@Test
+	public void test02_1() throws Exception {
+		GnuCashCustomer cust3 = gcshInFile.getWritableCustomerByID(CUST_3_ID);
+		int nofJobsCust1 = cust1.getJobs().size();
+		int nofJobsCust3 = cust3.getJobs().size();
+
+		GnuCashWritableCustomerJob job = gcshInFile.createWritableCustomerJob(cust1, "J124", "Job to be moved");
+		assertEquals(nofJobsCust1 + 1, cust1.getJobs().size());
+		assertEquals(nofJobsCust3, cust3.getJobs().size());
+
+		// Owner index has to follow the change
+		job.setCustomer(cust3);
+		assertEquals(CUST_3_ID, job.getOwnerID());
+		assertEquals(nofJobsCust1, cust1.getJobs().size());
+		assertEquals(nofJobsCust3 + 1, cust3.getJobs().size());
+	}
 
 	// -----------------------------------------------------------------
 	// PART 3: Create new objects
@@ -1,11 +1,24 @@
 package org.gnucash.base.basetypes.simple;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * A technical entry ID for all GnuCash entities except GnuCashCommodity.
  * (essentially a wrapper for a GUID-string, primarily defined for type safety).
+ * <br>
+ * Internally, the 128 bits of the GUID are kept in two longs;
+ * the string form is only generated on demand (and then kept).
+ * <br>
+ * Instances returned by {@link #intern(String)} are shared and 
+ * therefore immutable. The ID getters of the API never hand them out
+ * directly but return (mutable) copies, so that callers which re-use 
+ * such an ID (e.g. via {@link #set(String)}) keep working.
  */
 public class GCshID {
 
@@ -16,11 +29,62 @@ public class GCshID {
     // ::MAGIC
     private static final int STANDARD_LENGTH = 32;
     private static final int HEX             = 16;
+    private static final int HALF_LENGTH     = STANDARD_LENGTH / 2;
     
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * The canonical instances, see {@link #intern(String)}.
+     * <br>
+     * Keyed by the bits only, so that the keys do not keep the
+     * instances alive; stale entries are removed via INTERN_QUEUE.
+     */
+    private static final ConcurrentHashMap<InternKey, InternRef> INTERN_TABLE = new ConcurrentHashMap<InternKey, InternRef>();
+    private static final ReferenceQueue<GCshID> INTERN_QUEUE = new ReferenceQueue<GCshID>();
+
+    private static final class InternKey {
+	private final long hiBits;
+	private final long loBits;
+
+	private InternKey(long hiBits, long loBits) {
+	    this.hiBits = hiBits;
+	    this.loBits = loBits;
+	}
+
+	@Override
+	public int hashCode() {
+	    return Long.hashCode(hiBits) * 31 + Long.hashCode(loBits);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+	    if ( ! ( obj instanceof InternKey ) )
+		return false;
+	    InternKey other = (InternKey) obj;
+	    return hiBits == other.hiBits && 
+		   loBits == other.loBits;
+	}
+    }
+
+    private static final class InternRef extends WeakReference<GCshID> {
+	private final InternKey key;
+
+	private InternRef(GCshID id, InternKey key) {
+	    super(id, INTERN_QUEUE);
+	    this.key = key;
+	}
+    }
+
     // -----------------------------------------------------------------
 
-    protected String gcshID;
+    private long    hiBits;
+    private long    loBits;
     private boolean isSet;
+    private boolean isImmutable = false;
+
+    // The string form and its hash code (both lazily generated)
+    private String gcshID;
+    private int    strHash = 0;
 
     // -----------------------------------------------------------------
 
@@ -32,10 +96,27 @@ public class GCshID {
 	set(idStr);
     }
 
+    /**
+     * @param other the ID to copy. The copy is mutable, 
+     *              even if <code>other</code> is shared.
+     */
+    public GCshID(GCshID other) {
+	hiBits = other.hiBits;
+	loBits = other.loBits;
+	gcshID = other.isSet ? other.gcshID : "";
+	strHash = other.strHash;
+	isSet = other.isSet;
+    }
+
     // -----------------------------------------------------------------
 
     public void reset() {
+	checkMutable();
+	
+	hiBits = 0L;
+	loBits = 0L;
 	gcshID = "";
+	strHash = 0;
 	isSet = false;
     }
 
@@ -43,51 +124,205 @@ public class GCshID {
 	if (!isSet)
 	    throw new GCshIDNotSetException();
 
-	return gcshID;
+	return getString();
+    }
+
+    private String getString() {
+	String result = gcshID;
+	if ( result == null ) {
+	    char[] buf = new char[STANDARD_LENGTH];
+	    formatHex(hiBits, buf, 0);
+	    formatHex(loBits, buf, HALF_LENGTH);
+	    result = new String(buf);
+	    gcshID = result;
+	}
+
+	return result;
     }
 
     public boolean isSet() {
 	return isSet;
     }
 
+    /**
+     * @return the upper 64 bits of the ID
+     */
+    public long getMostSignificantBits() throws GCshIDNotSetException {
+	if (!isSet)
+	    throw new GCshIDNotSetException();
+
+	return hiBits;
+    }
+
+    /**
+     * @return the lower 64 bits of the ID
+     */
+    public long getLeastSignificantBits() throws GCshIDNotSetException {
+	if (!isSet)
+	    throw new GCshIDNotSetException();
+
+	return loBits;
+    }
+
     // -----------------------------------------------------------------
 
     public void set(GCshID value) throws GCshIDNotSetException {
-	set(value.get());
+	if (!value.isSet)
+	    throw new GCshIDNotSetException();
+
+	checkMutable();
+
+	hiBits = value.hiBits;
+	loBits = value.loBits;
+	gcshID = value.gcshID;
+	strHash = value.strHash;
+	isSet = true;
     }
 
     public void set(String idStr) throws InvalidGCshIDException {
-	this.gcshID = idStr;
-	standardize();
-	validate();
+	checkMutable();
+	
+	if ( idStr == null )
+	    throw new InvalidGCshIDException("No valid GnuCash ID string: null");
+
+	// Same as trim(), but without creating a new string
+	int start = 0;
+	int end = idStr.length();
+	while ( start < end && idStr.charAt(start) <= ' ' )
+	    start++;
+	while ( end > start && idStr.charAt(end - 1) <= ' ' )
+	    end--;
+
+	if ( end - start != STANDARD_LENGTH )
+	    throw new InvalidGCshIDException("No valid GnuCash ID string: '" + idStr.trim() + "': wrong string length");
+
+	boolean isCanonical = ( start == 0 && end == idStr.length() );
+	long newHiBits = 0L;
+	long newLoBits = 0L;
+	for ( int i = 0; i < STANDARD_LENGTH; i++ ) {
+	    char chr = idStr.charAt(start + i);
+	    int digit;
+	    if ( chr >= '0' && chr <= '9' ) {
+		digit = chr - '0';
+	    } else if ( chr >= 'a' && chr <= 'f' ) {
+		digit = chr - 'a' + 10;
+	    } else if ( chr >= 'A' && chr <= 'F' ) {
+		digit = chr - 'A' + 10;
+		isCanonical = false;
+	    } else {
+		LOGGER.error("Char '" + chr + "' is invalid in GCshID '" + idStr.trim() + "'");
+		throw new InvalidGCshIDException("No valid GnuCash ID string: '" + idStr.trim() + "': wrong character at pos " + i);
+	    }
+
+	    if ( i < HALF_LENGTH )
+		newHiBits = (newHiBits << 4) | digit;
+	    else
+		newLoBits = (newLoBits << 4) | digit;
+	}
+
+	hiBits = newHiBits;
+	loBits = newLoBits;
+	strHash = 0;
+	// If the given string already is in standard form, keep it
+	gcshID = isCanonical ? idStr : null;
 	isSet = true;
     }
 
     // -----------------------------------------------------------------
 
+    /**
+     * Kept for compatibility: A set ID is always valid.
+     */
     public void validate() throws InvalidGCshIDException {
-	if ( gcshID.length() != STANDARD_LENGTH )
-	    throw new InvalidGCshIDException("No valid GnuCash ID string: '" + gcshID + "': wrong string length");
+	if ( ! isSet )
+	    throw new InvalidGCshIDException("No valid GnuCash ID string: '': wrong string length");
+    }
 
-	for ( int i = 0; i < STANDARD_LENGTH; i++ ) {
-	    if ( ! Character.isDigit(gcshID.charAt(i) ) &&
-		 gcshID.charAt(i) != 'a' &&
-		 gcshID.charAt(i) != 'b' &&
-		 gcshID.charAt(i) != 'c' &&
-		 gcshID.charAt(i) != 'd' &&
-		 gcshID.charAt(i) != 'e' &&
-		 gcshID.charAt(i) != 'f' ) 
-	    {
-		LOGGER.error("Char '" + gcshID.charAt(i) + "' is invalid in GCshID '" + gcshID + "'");
-		throw new InvalidGCshIDException("No valid GnuCash ID string: '" + gcshID + "': wrong character at pos " + i);
+    // -----------------------------------------------------------------
+
+    /**
+     * Kept for compatibility: A set ID always is in standard form
+     * (lower case, no surrounding whitespace).
+     */
+    public void standardize() {
+    }
+
+    // -----------------------------------------------------------------
+
+    /**
+     * @param idStr the ID as a string
+     * @return the canonical (shared, immutable) instance for that ID
+     * @throws InvalidGCshIDException if the string is no valid ID
+     */
+    public static GCshID intern(String idStr) throws InvalidGCshIDException {
+	GCshID newID = new GCshID(idStr);
+	newID.isImmutable = true;
+	return intern_int(newID);
+    }
+
+    /**
+     * @param id the ID to look up
+     * @return the canonical (shared, immutable) instance for that ID
+     *         (not necessarily the given object)
+     */
+    public static GCshID intern(GCshID id) throws GCshIDNotSetException {
+	if ( id.isImmutable )
+	    return intern_int(id);
+	
+	GCshID newID = new GCshID();
+	newID.set(id);
+	newID.isImmutable = true;
+	return intern_int(newID);
+    }
+
+    private static GCshID intern_int(GCshID newID) {
+	expungeStaleEntries();
+	
+	InternKey key = new InternKey(newID.hiBits, newID.loBits);
+	// No global lock: concurrent loaders only contend on the same ID
+	while ( true ) {
+	    InternRef ref = INTERN_TABLE.get(key);
+	    GCshID result = ( ref == null ) ? null : ref.get();
+	    if ( result != null )
+		return result;
+
+	    InternRef newRef = new InternRef(newID, key);
+	    if ( ref == null ) {
+		if ( INTERN_TABLE.putIfAbsent(key, newRef) == null )
+		    return newID;
+	    } else {
+		if ( INTERN_TABLE.replace(key, ref, newRef) )
+		    return newID;
 	    }
+	    // else: another thread has been faster -- retry
 	}
     }
 
+    private static void expungeStaleEntries() {
+	Reference<? extends GCshID> ref;
+	while ( ( ref = INTERN_QUEUE.poll() ) != null ) {
+	    InternRef internRef = (InternRef) ref;
+	    // only if not already replaced by a live entry
+	    INTERN_TABLE.remove(internRef.key, internRef);
+	}
+    }
+
+    public boolean isImmutable() {
+	return isImmutable;
+    }
+
+    private void checkMutable() {
+	if ( isImmutable )
+	    throw new IllegalStateException("GCshID '" + this + "' is shared and cannot be changed");
+    }
+
     // -----------------------------------------------------------------
 
-    public void standardize() {
-	gcshID = gcshID.trim().toLowerCase();
+    private static void formatHex(long bits, char[] buf, int offset) {
+	for ( int i = HALF_LENGTH - 1; i >= 0; i-- ) {
+	    buf[offset + i] = HEX_DIGITS[(int) (bits & 0xF)];
+	    bits >>>= 4;
+	}
     }
 
     // -----------------------------------------------------------------
@@ -97,7 +332,26 @@ public class GCshID {
 	final int prime = 31;
 	int result = 1;
 	result = prime * result + (isSet ? 1231 : 1237);
-	result = prime * result + ((gcshID == null) ? 0 : gcshID.hashCode());
+	result = prime * result + (isSet ? getStringHashCode() : 0);
+	return result;
+    }
+
+    /**
+     * @return the same value as <code>get().hashCode()</code>, but 
+     *         without generating the string (thus, hash-based collections
+     *         keep the iteration order they had with the string-based
+     *         implementation)
+     */
+    private int getStringHashCode() {
+	int result = strHash;
+	if ( result != 0 )
+	    return result;
+	
+	for ( int i = HALF_LENGTH - 1; i >= 0; i-- )
+	    result = 31 * result + HEX_DIGITS[(int) ((hiBits >>> (4 * i)) & 0xF)];
+	for ( int i = HALF_LENGTH - 1; i >= 0; i-- )
+	    result = 31 * result + HEX_DIGITS[(int) ((loBits >>> (4 * i)) & 0xF)];
+	strHash = result;
 	return result;
     }
 
@@ -112,10 +366,9 @@ public class GCshID {
 	GCshID other = (GCshID) obj;
 	if (isSet != other.isSet)
 	    return false;
-	if (gcshID == null) {
-	    if (other.gcshID != null)
-		return false;
-	} else if (!gcshID.equals(other.gcshID))
+	if (hiBits != other.hiBits)
+	    return false;
+	if (loBits != other.loBits)
 	    return false;
 	return true;
     }
@@ -148,7 +401,7 @@ public class GCshID {
     @Override
     public String toString() {
 	if (isSet)
-	    return gcshID;
+	    return getString();
 	else
 	    return "(unset)";
     }
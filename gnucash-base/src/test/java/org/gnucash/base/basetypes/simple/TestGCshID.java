@@ -1,6 +1,8 @@
 package org.gnucash.base.basetypes.simple;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -73,4 +75,83 @@ public class TestGCshID {
 	    assertEquals(0, 0);
 	}
     }
+
+    @Test
+    public void test04() throws Exception {
+	gcshID.set("  2B5F38B679E848EE8E397A3A43ED0EB2 ");
+	assertEquals(0x2b5f38b679e848eeL, gcshID.getMostSignificantBits());
+	assertEquals(0x8e397a3a43ed0eb2L, gcshID.getLeastSignificantBits());
+	assertEquals("2b5f38b679e848ee8e397a3a43ed0eb2", gcshID.toString());
+
+	GCshID other = new GCshID("2b5f38b679e848ee8e397a3a43ed0eb2");
+	assertEquals(gcshID, other);
+	assertEquals(gcshID.hashCode(), other.hashCode());
+	
+	assertNotEquals(new GCshID(GCshID.NULL_ID), new GCshID());
+    }
+
+    @Test
+    public void test05() throws Exception {
+	GCshID id1 = GCshID.intern("2b5f38b679e848ee8e397a3a43ed0eb2");
+	GCshID id2 = GCshID.intern("2B5F38B679E848EE8E397A3A43ED0EB2");
+	assertSame(id1, id2);
+	assertSame(id1, GCshID.intern(new GCshID("2b5f38b679e848ee8e397a3a43ed0eb2")));
+	assertEquals(true, id1.isImmutable());
+
+	try {
+	    id1.set("c258aa23358040a08fcfe1efad2a906c");
+	    assertEquals(1, 0);
+	} catch (IllegalStateException exc) {
+	    assertEquals(0, 0);
+	}
+	assertEquals("2b5f38b679e848ee8e397a3a43ed0eb2", id1.get());
+
+	// copies of shared instances can be changed
+	gcshID.set(id1);
+	gcshID.set("c258aa23358040a08fcfe1efad2a906c");
+	assertEquals("c258aa23358040a08fcfe1efad2a906c", gcshID.get());
+    }
+
+    @Test
+    public void test06() throws Exception {
+	GCshID shared = GCshID.intern("2b5f38b679e848ee8e397a3a43ed0eb2");
+	GCshID copy = new GCshID(shared);
+	assertEquals(shared, copy);
+	assertEquals(shared.hashCode(), copy.hashCode());
+	assertEquals(false, copy.isImmutable());
+
+	// the copy can be changed, the shared instance is unaffected
+	copy.set("c258aa23358040a08fcfe1efad2a906c");
+	assertEquals("c258aa23358040a08fcfe1efad2a906c", copy.get());
+	assertEquals("2b5f38b679e848ee8e397a3a43ed0eb2", shared.get());
+	
+	GCshID unsetCopy = new GCshID(new GCshID());
+	assertEquals(false, unsetCopy.isSet());
+	assertEquals(new GCshID(), unsetCopy);
+    }
+
+    @Test
+    public void test07() throws Exception {
+	// concurrent interning yields one instance per ID
+	final int nofThreads = 4;
+	final GCshID[][] results = new GCshID[nofThreads][100];
+	Thread[] threads = new Thread[nofThreads];
+	for ( int t = 0; t < nofThreads; t++ ) {
+	    final int thrIdx = t;
+	    threads[t] = new Thread(() -> {
+		for ( int i = 0; i < 100; i++ ) {
+		    results[thrIdx][i] = GCshID.intern(String.format("%032x", i + 1000));
+		}
+	    });
+	    threads[t].start();
+	}
+	for ( Thread thr : threads )
+	    thr.join();
+
+	for ( int i = 0; i < 100; i++ ) {
+	    assertEquals(String.format("%032x", i + 1000), results[0][i].get());
+	    for ( int t = 1; t < nofThreads; t++ )
+		assertSame(results[0][i], results[t][i]);
+	}
+    }
 }